@@ -15,12 +15,13 @@ package org.eclipse.core.commands;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.commands.common.HandleObjectManager;
 import org.eclipse.core.commands.common.NamedHandleObject;
@@ -34,6 +35,15 @@ import org.eclipse.core.runtime.ListenerList;
  * possible to listen to changes in the collection of commands by attaching a
  * listener to the manager.
  * </p>
+ * <p>
+ * The commands, categories and parameter types themselves may be looked up
+ * from any thread without further synchronization: a lookup never corrupts the
+ * manager, and all threads get the same object for an identifier. This does
+ * not extend to the state of these objects. Defining a command is not
+ * synchronized, so a thread other than the one making changes, usually the UI
+ * thread, may see a command as undefined or only partly defined. Many changes
+ * can be made with a single notification using {@link #runBatch(Runnable)}.
+ * </p>
  *
  * @see CommandManager#getCommand(String)
  * @since 3.1
@@ -224,13 +234,13 @@ public final class CommandManager extends HandleObjectManager implements
 	 * <code>Category</code>). This collection may be empty, but it is never
 	 * <code>null</code>.
 	 */
-	private final Map<String, Category> categoriesById = new HashMap<>();
+	private final Map<String, Category> categoriesById = new ConcurrentHashMap<>();
 
 	/**
 	 * The set of identifiers for those categories that are defined. This value
 	 * may be empty, but it is never <code>null</code>.
 	 */
-	private final Set<String> definedCategoryIds = new HashSet<>();
+	private final Set<String> definedCategoryIds = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * The set of identifiers for those command parameter types that are
@@ -238,7 +248,7 @@ public final class CommandManager extends HandleObjectManager implements
 	 *
 	 * @since 3.2
 	 */
-	private final Set<String> definedParameterTypeIds = new HashSet<>();
+	private final Set<String> definedParameterTypeIds = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * The execution listener for this command manager. This just forwards
@@ -271,7 +281,24 @@ public final class CommandManager extends HandleObjectManager implements
 	 *
 	 * @since 3.2
 	 */
-	private final Map<String, ParameterType> parameterTypesById = new HashMap<>();
+	private final Map<String, ParameterType> parameterTypesById = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of nested calls to {@link #runBatch(Runnable)} in progress.
+	 */
+	private int batchDepth;
+
+	/**
+	 * The identifiers of the categories, commands and parameter types whose
+	 * defined state changed during the current batch, mapped to whether they
+	 * were defined before the batch. These maps are empty unless a batch is in
+	 * progress.
+	 */
+	private final Map<String, Boolean> batchedCategoryIds = new LinkedHashMap<>();
+
+	private final Map<String, Boolean> batchedCommandIds = new LinkedHashMap<>();
+
+	private final Map<String, Boolean> batchedParameterTypeIds = new LinkedHashMap<>();
 
 	/**
 	 * Adds a listener to this command manager. The listener will be notified
@@ -327,7 +354,9 @@ public final class CommandManager extends HandleObjectManager implements
 			} else {
 				definedCategoryIds.remove(categoryId);
 			}
-			if (isListenerAttached()) {
+			if (batchDepth > 0) {
+				batchedCategoryIds.putIfAbsent(categoryId, Boolean.valueOf(!categoryIdAdded));
+			} else if (isListenerAttached()) {
 				fireCommandManagerChanged(new CommandManagerEvent(this, null,
 						false, false, categoryId, categoryIdAdded, true));
 			}
@@ -345,7 +374,9 @@ public final class CommandManager extends HandleObjectManager implements
 			} else {
 				definedHandleObjects.remove(command);
 			}
-			if (isListenerAttached()) {
+			if (batchDepth > 0) {
+				batchedCommandIds.putIfAbsent(commandId, Boolean.valueOf(!commandIdAdded));
+			} else if (isListenerAttached()) {
 				fireCommandManagerChanged(new CommandManagerEvent(this,
 						commandId, commandIdAdded, true, null, false, false));
 			}
@@ -467,6 +498,47 @@ public final class CommandManager extends HandleObjectManager implements
 		}
 	}
 
+	/**
+	 * Notifies all of the listeners of the changes made during a batch, in one
+	 * call per listener. The category events come first, then the command
+	 * events, then the parameter type events, each in the order the objects
+	 * first changed. Only the objects whose defined state differs from the
+	 * state before the batch are reported.
+	 */
+	private void fireBatchedChanges() {
+		final List<CommandManagerEvent> events = new ArrayList<>();
+		for (Map.Entry<String, Boolean> entry : batchedCategoryIds.entrySet()) {
+			final boolean defined = definedCategoryIds.contains(entry.getKey());
+			if (defined != entry.getValue().booleanValue()) {
+				events.add(new CommandManagerEvent(this, null, false, false, entry.getKey(), defined, true));
+			}
+		}
+		for (Map.Entry<String, Boolean> entry : batchedCommandIds.entrySet()) {
+			final boolean defined = getCommand(entry.getKey()).isDefined();
+			if (defined != entry.getValue().booleanValue()) {
+				events.add(new CommandManagerEvent(this, entry.getKey(), defined, true, null, false, false));
+			}
+		}
+		for (Map.Entry<String, Boolean> entry : batchedParameterTypeIds.entrySet()) {
+			final boolean defined = definedParameterTypeIds.contains(entry.getKey());
+			if (defined != entry.getValue().booleanValue()) {
+				events.add(new CommandManagerEvent(this, entry.getKey(), defined, true));
+			}
+		}
+		batchedCategoryIds.clear();
+		batchedCommandIds.clear();
+		batchedParameterTypeIds.clear();
+
+		if (events.isEmpty() || !isListenerAttached()) {
+			return;
+		}
+		final CommandManagerEvent[] eventArray = events.toArray(new CommandManagerEvent[events.size()]);
+		for (Object listener : getListeners()) {
+			final ICommandManagerListener commandManagerListener = (ICommandManagerListener) listener;
+			commandManagerListener.commandManagerChanged(eventArray);
+		}
+	}
+
 	/**
 	 * Returns all of the commands known by this manager -- defined and
 	 * undefined.
@@ -499,9 +571,15 @@ public final class CommandManager extends HandleObjectManager implements
 
 		Category category = categoriesById.get(categoryId);
 		if (category == null) {
-			category = new Category(categoryId);
-			categoriesById.put(categoryId, category);
-			category.addCategoryListener(this);
+			// listen before publishing, so other threads only see complete objects
+			final Category newCategory = new Category(categoryId);
+			newCategory.addCategoryListener(this);
+			category = categoriesById.putIfAbsent(categoryId, newCategory);
+			if (category == null) {
+				category = newCategory;
+			} else {
+				newCategory.removeCategoryListener(this);
+			}
 		}
 
 		return category;
@@ -523,13 +601,24 @@ public final class CommandManager extends HandleObjectManager implements
 
 		Command command = (Command) handleObjectsById.get(commandId);
 		if (command == null) {
-			command = new Command(commandId);
-			command.shouldFireEvents = shouldCommandFireEvents;
-			handleObjectsById.put(commandId, command);
-			command.addCommandListener(this);
-
-			if (executionListener != null) {
-				command.addExecutionListener(executionListener);
+			// listen before publishing, so other threads only see complete objects
+			final Command newCommand = new Command(commandId);
+			newCommand.shouldFireEvents = shouldCommandFireEvents;
+			newCommand.addCommandListener(this);
+			final IExecutionListener commandExecutionListener = executionListener;
+			if (commandExecutionListener != null) {
+				newCommand.addExecutionListener(commandExecutionListener);
+			}
+			@SuppressWarnings("unchecked")
+			final Map<String, Command> commandsById = handleObjectsById;
+			command = commandsById.putIfAbsent(commandId, newCommand);
+			if (command == null) {
+				command = newCommand;
+			} else {
+				newCommand.removeCommandListener(this);
+				if (commandExecutionListener != null) {
+					newCommand.removeExecutionListener(commandExecutionListener);
+				}
 			}
 		}
 
@@ -544,14 +633,11 @@ public final class CommandManager extends HandleObjectManager implements
 	 * @since 3.2
 	 */
 	public Category[] getDefinedCategories() {
-		final Category[] categories = new Category[definedCategoryIds.size()];
-		final Iterator<String> categoryIdItr = definedCategoryIds.iterator();
-		int i = 0;
-		while (categoryIdItr.hasNext()) {
-			String categoryId = categoryIdItr.next();
-			categories[i++] = getCategory(categoryId);
+		final List<Category> categories = new ArrayList<>(definedCategoryIds.size());
+		for (String categoryId : definedCategoryIds) {
+			categories.add(getCategory(categoryId));
 		}
-		return categories;
+		return categories.toArray(new Category[categories.size()]);
 	}
 
 	/**
@@ -608,15 +694,11 @@ public final class CommandManager extends HandleObjectManager implements
 	 * @since 3.2
 	 */
 	public ParameterType[] getDefinedParameterTypes() {
-		final ParameterType[] parameterTypes = new ParameterType[definedParameterTypeIds
-				.size()];
-		final Iterator<String> iterator = definedParameterTypeIds.iterator();
-		int i = 0;
-		while (iterator.hasNext()) {
-			final String parameterTypeId = iterator.next();
-			parameterTypes[i++] = getParameterType(parameterTypeId);
+		final List<ParameterType> parameterTypes = new ArrayList<>(definedParameterTypeIds.size());
+		for (String parameterTypeId : definedParameterTypeIds) {
+			parameterTypes.add(getParameterType(parameterTypeId));
 		}
-		return parameterTypes;
+		return parameterTypes.toArray(new ParameterType[parameterTypes.size()]);
 	}
 
 	/**
@@ -742,9 +824,15 @@ public final class CommandManager extends HandleObjectManager implements
 
 		ParameterType parameterType = parameterTypesById.get(parameterTypeId);
 		if (parameterType == null) {
-			parameterType = new ParameterType(parameterTypeId);
-			parameterTypesById.put(parameterTypeId, parameterType);
-			parameterType.addListener(this);
+			// listen before publishing, so other threads only see complete objects
+			final ParameterType newParameterType = new ParameterType(parameterTypeId);
+			newParameterType.addListener(this);
+			parameterType = parameterTypesById.putIfAbsent(parameterTypeId, newParameterType);
+			if (parameterType == null) {
+				parameterType = newParameterType;
+			} else {
+				newParameterType.removeListener(this);
+			}
 		}
 
 		return parameterType;
@@ -767,7 +855,44 @@ public final class CommandManager extends HandleObjectManager implements
 				definedParameterTypeIds.remove(parameterTypeId);
 			}
 
-			fireCommandManagerChanged(new CommandManagerEvent(this, parameterTypeId, parameterTypeIdAdded, true));
+			if (batchDepth > 0) {
+				batchedParameterTypeIds.putIfAbsent(parameterTypeId, Boolean.valueOf(!parameterTypeIdAdded));
+			} else {
+				fireCommandManagerChanged(new CommandManagerEvent(this, parameterTypeId, parameterTypeIdAdded, true));
+			}
+		}
+	}
+
+	/**
+	 * Runs the given changes as one batch. Categories, commands and parameter
+	 * types defined or undefined while the batch runs are reported to the
+	 * command manager listeners once, when the batch ends, through
+	 * {@link ICommandManagerListener#commandManagerChanged(CommandManagerEvent[])}:
+	 * first the categories, then the commands, then the parameter types.
+	 * An object that is defined and undefined again within the batch is not
+	 * reported at all. Batches may be nested; the changes are reported when the
+	 * outermost batch ends.
+	 * <p>
+	 * This is meant for defining many commands at once, like when reading them
+	 * from the extension registry.
+	 * </p>
+	 *
+	 * @param changes
+	 *            The changes to make; must not be <code>null</code>.
+	 * @since 3.11
+	 */
+	public void runBatch(final Runnable changes) {
+		if (changes == null) {
+			throw new NullPointerException("The changes cannot be null"); //$NON-NLS-1$
+		}
+
+		batchDepth++;
+		try {
+			changes.run();
+		} finally {
+			if (--batchDepth == 0) {
+				fireBatchedChanges();
+			}
 		}
 	}
 
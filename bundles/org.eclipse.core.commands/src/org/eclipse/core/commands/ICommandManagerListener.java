@@ -36,4 +36,25 @@ public interface ICommandManagerListener {
 	 *            <code>null</code>.
 	 */
 	void commandManagerChanged(CommandManagerEvent commandManagerEvent);
+
+	/**
+	 * Notifies that several changes were made to an instance of
+	 * <code>ICommandManager</code> in one batch. The default implementation
+	 * passes each event to {@link #commandManagerChanged(CommandManagerEvent)}.
+	 * Listeners that can handle many changes at once more efficiently may
+	 * override it.
+	 *
+	 * @param commandManagerEvents
+	 *            the commandManager events: first those for categories, then
+	 *            those for commands, then those for parameter types, each in
+	 *            the order the objects first changed. Guaranteed not to be
+	 *            <code>null</code> or empty.
+	 * @see CommandManager#runBatch(Runnable)
+	 * @since 3.11
+	 */
+	default void commandManagerChanged(CommandManagerEvent[] commandManagerEvents) {
+		for (CommandManagerEvent commandManagerEvent : commandManagerEvents) {
+			commandManagerChanged(commandManagerEvent);
+		}
+	}
 }
@@ -15,11 +15,11 @@
 
 package org.eclipse.core.commands.common;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>
@@ -36,18 +36,26 @@ public abstract class HandleObjectManager extends EventManager {
 
 	/**
 	 * The set of handle objects that are defined. This value may be empty, but
-	 * it is never <code>null</code>.
+	 * it is never <code>null</code>. It may be read from any thread.
+	 * <p>
+	 * Since 3.11 this is a concurrent set, which does not accept
+	 * <code>null</code> elements.
+	 * </p>
 	 */
 	@SuppressWarnings("rawtypes")
-	protected final Set definedHandleObjects = new HashSet<>();
+	protected final Set definedHandleObjects = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * The map of identifiers (<code>String</code>) to handle objects (
 	 * <code>HandleObject</code>). This collection may be empty, but it is
-	 * never <code>null</code>.
+	 * never <code>null</code>. It may be read from any thread.
+	 * <p>
+	 * Since 3.11 this is a concurrent map, which does not accept
+	 * <code>null</code> keys or values.
+	 * </p>
 	 */
 	@SuppressWarnings("rawtypes")
-	protected final Map handleObjectsById = new HashMap<>();
+	protected final Map handleObjectsById = new ConcurrentHashMap<>();
 
 	/**
 	 * Verifies that the identifier is valid. Exceptions will be thrown if the
@@ -15,6 +15,7 @@ package org.eclipse.core.commands.operations;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.runtime.Assert;
@@ -37,6 +38,14 @@ import org.eclipse.core.runtime.IStatus;
  * @since 3.1
  */
 public abstract class AbstractOperation implements IUndoableOperation {
+	/**
+	 * The counter of context changes of the {@link DefaultOperationHistory}
+	 * holding this operation, so that the history can tell whether its
+	 * filtered histories are still valid, or <code>null</code> if the
+	 * operation is not in a history.
+	 */
+	volatile AtomicLong historyContextChanges;
+
 	List<IUndoContext> contexts = new ArrayList<>();
 
 	private String label = ""; //$NON-NLS-1$
@@ -57,6 +66,7 @@ public abstract class AbstractOperation implements IUndoableOperation {
 	public void addContext(IUndoContext context) {
 		if (!contexts.contains(context)) {
 			contexts.add(context);
+			contextsChanged();
 		}
 	}
 
@@ -124,7 +134,19 @@ public abstract class AbstractOperation implements IUndoableOperation {
 
 	@Override
 	public void removeContext(IUndoContext context) {
-		contexts.remove(context);
+		if (contexts.remove(context)) {
+			contextsChanged();
+		}
+	}
+
+	/*
+	 * Tell the history holding this operation that its contexts changed.
+	 */
+	void contextsChanged() {
+		AtomicLong changes = historyContextChanges;
+		if (changes != null) {
+			changes.incrementAndGet();
+		}
 	}
 
 	@Override
@@ -19,9 +19,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.internal.util.Tracing;
@@ -66,6 +68,23 @@ import org.eclipse.core.runtime.Status;
  * be properly synchronized using the techniques specified by the client's
  * widget library.
  * </p>
+ * <p>
+ * The undo and redo history filtered for an undo context is remembered and
+ * updated as operations are added and removed, so that repeated requests for
+ * the same context, such as {@link #canUndo(IUndoContext)}, do not search the
+ * whole history. It is only remembered for instances of {@link UndoContext}
+ * and {@link ObjectUndoContext} themselves and for the
+ * {@link IOperationHistory#GLOBAL_UNDO_CONTEXT}, and only while all operations
+ * in the history extend {@link AbstractOperation}, are not held by another
+ * history, and have only such contexts. Otherwise, for example with undo
+ * contexts that override {@link IUndoContext#matches(IUndoContext)}, the
+ * history is searched on every request.
+ * </p>
+ * <p>
+ * The memory retained by the history can be limited with
+ * {@link #setMemoryLimit(long)}, based on the estimates of operations that
+ * implement {@link IAdvancedUndoableOperation3}.
+ * </p>
  *
  * <p>
  * This implementation is not intended to be subclassed.
@@ -137,12 +156,39 @@ public final class DefaultOperationHistory implements IOperationHistory {
 	/**
 	 * the list of operations available for redo, LIFO
 	 */
-	private List<IUndoableOperation> redoList = Collections.synchronizedList(new ArrayList<>());
+	private OperationList redoList = new OperationList();
 
 	/**
 	 * the list of operations available for undo, LIFO
 	 */
-	private List<IUndoableOperation> undoList = Collections.synchronizedList(new ArrayList<>());
+	private OperationList undoList = new OperationList();
+
+	/**
+	 * the size estimates of the operations in the undo and redo history that
+	 * provide one, as of when they were added or last changed
+	 */
+	private final Map<IUndoableOperation, Long> sizeEstimates = new IdentityHashMap<>();
+
+	/**
+	 * the operations that were compacted since they were added to the undo or
+	 * redo history or last grew
+	 */
+	private final Set<IUndoableOperation> compactedOperations = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * the sum of the size estimates
+	 */
+	private long totalSizeEstimate;
+
+	/**
+	 * the number of bytes the history may retain, 0 if unlimited
+	 */
+	private volatile long memoryLimit;
+
+	/**
+	 * counts the changes to the contexts of the operations in this history
+	 */
+	private final AtomicLong contextChanges = new AtomicLong();
 
 	/**
 	 * a lock that is used to synchronize access between the undo and redo
@@ -200,6 +246,7 @@ public final class DefaultOperationHistory implements IOperationHistory {
 			for (IUndoContext context : contexts) {
 				flushRedo(context);
 			}
+			checkMemoryLimit();
 		} else {
 			// Dispose the operation since we will not have a reference to it.
 			operation.dispose();
@@ -321,6 +368,10 @@ public final class DefaultOperationHistory implements IOperationHistory {
 			flushUndo(context);
 			flushRedo(context);
 			limits.remove(context);
+			synchronized (undoRedoHistoryLock) {
+				undoList.clearFilters();
+				redoList.clearFilters();
+			}
 			return;
 		}
 		if (flushUndo) {
@@ -382,6 +433,7 @@ public final class DefaultOperationHistory implements IOperationHistory {
 			if (!addedToUndo) {
 				operation.dispose();
 			}
+			checkMemoryLimit();
 
 			// notify listeners must happen after history is updated
 			notifyRedone(operation);
@@ -441,6 +493,7 @@ public final class DefaultOperationHistory implements IOperationHistory {
 			if (!addedToRedo) {
 				operation.dispose();
 			}
+			checkMemoryLimit();
 			// notification occurs after the undo and redo histories are
 			// adjusted
 			notifyUndone(operation);
@@ -522,32 +575,6 @@ public final class DefaultOperationHistory implements IOperationHistory {
 		return status;
 	}
 
-	/*
-	 * Filter the specified list to include only the specified undo context.
-	 */
-	private IUndoableOperation[] filter(List<IUndoableOperation> list, IUndoContext context) {
-		/*
-		 * This method is used whenever there is a need to filter the undo or
-		 * redo history on a particular context. Currently there are no caches
-		 * kept to optimize repeated requests for the same filter. If benchmarks
-		 * show this to be a common pattern that causes performances problems,
-		 * we could implement a filtered cache here that is nullified whenever
-		 * the global history changes.
-		 */
-
-		List<IUndoableOperation> filtered = new ArrayList<>();
-		synchronized (undoRedoHistoryLock) {
-			Iterator<IUndoableOperation> iterator = list.iterator();
-			while (iterator.hasNext()) {
-				IUndoableOperation operation = iterator.next();
-				if (operation.hasContext(context)) {
-					filtered.add(operation);
-				}
-			}
-		}
-		return filtered.toArray(new IUndoableOperation[filtered.size()]);
-	}
-
 	/*
 	 * Flush the redo stack of all operations that have the given context.
 	 */
@@ -558,7 +585,7 @@ public final class DefaultOperationHistory implements IOperationHistory {
 
 		synchronized (undoRedoHistoryLock) {
 
-			Object[] filtered = filter(redoList, context);
+			Object[] filtered = redoList.filter(context);
 			for (Object element : filtered) {
 				IUndoableOperation operation = (IUndoableOperation) element;
 				if (context == GLOBAL_UNDO_CONTEXT || operation.getContexts().length == 1) {
@@ -597,7 +624,7 @@ public final class DefaultOperationHistory implements IOperationHistory {
 		synchronized (undoRedoHistoryLock) {
 
 			// Get all operations that have the context (or one that matches)
-			Object[] filtered = filter(undoList, context);
+			Object[] filtered = undoList.filter(context);
 			for (Object element : filtered) {
 				IUndoableOperation operation = (IUndoableOperation) element;
 				if (context == GLOBAL_UNDO_CONTEXT || operation.getContexts().length == 1) {
@@ -654,7 +681,7 @@ public final class DefaultOperationHistory implements IOperationHistory {
 	 */
 	private void forceRedoLimit(IUndoContext context, int max) {
 		synchronized (undoRedoHistoryLock) {
-			Object[] filtered = filter(redoList, context);
+			Object[] filtered = redoList.filter(context);
 			int size = filtered.length;
 			if (size > 0) {
 				int index = 0;
@@ -688,7 +715,7 @@ public final class DefaultOperationHistory implements IOperationHistory {
 	 */
 	private void forceUndoLimit(IUndoContext context, int max) {
 		synchronized (undoRedoHistoryLock) {
-			Object[] filtered = filter(undoList, context);
+			Object[] filtered = undoList.filter(context);
 			int size = filtered.length;
 			if (size > 0) {
 				int index = 0;
@@ -748,21 +775,17 @@ public final class DefaultOperationHistory implements IOperationHistory {
 	@Override
 	public IUndoableOperation[] getRedoHistory(IUndoContext context) {
 		Assert.isNotNull(context);
-		return filter(redoList, context);
+		synchronized (undoRedoHistoryLock) {
+			return redoList.filter(context).clone();
+		}
 	}
 
 	@Override
 	public IUndoableOperation getRedoOperation(IUndoContext context) {
 		Assert.isNotNull(context);
 		synchronized (undoRedoHistoryLock) {
-			for (int i = redoList.size() - 1; i >= 0; i--) {
-				IUndoableOperation operation = redoList.get(i);
-				if (operation.hasContext(context)) {
-					return operation;
-				}
-			}
+			return redoList.getTop(context);
 		}
-		return null;
 	}
 
 	/*
@@ -789,21 +812,17 @@ public final class DefaultOperationHistory implements IOperationHistory {
 	@Override
 	public IUndoableOperation[] getUndoHistory(IUndoContext context) {
 		Assert.isNotNull(context);
-		return filter(undoList, context);
+		synchronized (undoRedoHistoryLock) {
+			return undoList.filter(context).clone();
+		}
 	}
 
 	@Override
 	public IUndoableOperation getUndoOperation(IUndoContext context) {
 		Assert.isNotNull(context);
 		synchronized (undoRedoHistoryLock) {
-			for (int i = undoList.size() - 1; i >= 0; i--) {
-				IUndoableOperation operation = undoList.get(i);
-				if (operation.hasContext(context)) {
-					return operation;
-				}
-			}
+			return undoList.getTop(context);
 		}
-		return null;
 	}
 
 	/*
@@ -1077,6 +1096,7 @@ public final class DefaultOperationHistory implements IOperationHistory {
 			for (IUndoableOperation replacement : replacements) {
 				notifyAdd(replacement);
 			}
+			checkMemoryLimit();
 			return;
 		}
 
@@ -1107,6 +1127,7 @@ public final class DefaultOperationHistory implements IOperationHistory {
 		for (IUndoableOperation replacement : replacements) {
 			notifyAdd(replacement);
 		}
+		checkMemoryLimit();
 	}
 
 	@Override
@@ -1229,8 +1250,384 @@ public final class DefaultOperationHistory implements IOperationHistory {
 
 	@Override
 	public void operationChanged(IUndoableOperation operation) {
-		if (undoList.contains(operation) || redoList.contains(operation)) {
+		boolean inHistory;
+		synchronized (undoRedoHistoryLock) {
+			inHistory = undoList.contains(operation) || redoList.contains(operation);
+			if (inHistory) {
+				// the operation may have grown
+				addSizeEstimate(operation);
+			}
+		}
+		if (inHistory) {
 			notifyChanged(operation);
+			checkMemoryLimit();
+		}
+	}
+
+	/**
+	 * Set the number of bytes the operations in the undo and redo history may
+	 * retain, as estimated by the operations implementing
+	 * {@link IAdvancedUndoableOperation3}. Operations that do not implement it
+	 * are not taken into account.
+	 * <p>
+	 * When the limit is exceeded, the oldest operations are asked to
+	 * {@link IAdvancedUndoableOperation3#compact() compact} themselves. If that
+	 * is not enough, the oldest operations in the undo history and then the
+	 * operations in the redo history that would be redone last are removed
+	 * from the history, regardless of their undo context. The most recently
+	 * added operation is never removed.
+	 * </p>
+	 *
+	 * @param limit
+	 *            the number of bytes, or <code>0</code> if the memory retained
+	 *            by the history should not be limited, which is the default.
+	 * @since 3.11
+	 */
+	public void setMemoryLimit(long limit) {
+		Assert.isTrue(limit >= 0);
+		memoryLimit = limit;
+		checkMemoryLimit();
+	}
+
+	/**
+	 * Return the number of bytes the operations in the history may retain.
+	 *
+	 * @return the number of bytes, or <code>0</code> if unlimited.
+	 * @see #setMemoryLimit(long)
+	 * @since 3.11
+	 */
+	public long getMemoryLimit() {
+		return memoryLimit;
+	}
+
+	/**
+	 * Return the number of bytes retained by the operations in the undo and
+	 * redo history, as estimated by the operations implementing
+	 * {@link IAdvancedUndoableOperation3}.
+	 *
+	 * @return the estimated number of bytes
+	 * @since 3.11
+	 */
+	public long getSizeEstimate() {
+		synchronized (undoRedoHistoryLock) {
+			return totalSizeEstimate;
+		}
+	}
+
+	/*
+	 * Record the current size estimate of an operation in the history.
+	 */
+	private void addSizeEstimate(IUndoableOperation operation) {
+		if (operation instanceof IAdvancedUndoableOperation3) {
+			long size = Math.max(0, ((IAdvancedUndoableOperation3) operation).getSizeEstimate());
+			Long previous = sizeEstimates.put(operation, Long.valueOf(size));
+			totalSizeEstimate += size - (previous == null ? 0 : previous.longValue());
+			if (previous != null && size > previous.longValue()) {
+				// grown since it was compacted, so it may be compacted again
+				compactedOperations.remove(operation);
+			}
+		}
+	}
+
+	/*
+	 * Forget the size estimate of an operation leaving the history.
+	 */
+	private void removeSizeEstimate(IUndoableOperation operation) {
+		Long previous = sizeEstimates.remove(operation);
+		if (previous != null) {
+			totalSizeEstimate -= previous.longValue();
+		}
+		compactedOperations.remove(operation);
+	}
+
+	/*
+	 * Compact, and if that is not enough remove, the oldest operations until
+	 * the history is within the memory limit.
+	 */
+	private void checkMemoryLimit() {
+		long limit = memoryLimit;
+		if (limit <= 0) {
+			return;
+		}
+		// compact outside of the synchronized block, since it runs client code
+		IAdvancedUndoableOperation3 operation;
+		while ((operation = nextToCompact(limit)) != null) {
+			long size = Math.max(0, operation.compact());
+			synchronized (undoRedoHistoryLock) {
+				// the operation may have left the history in the meantime
+				Long previous = sizeEstimates.get(operation);
+				if (previous != null) {
+					sizeEstimates.put(operation, Long.valueOf(size));
+					totalSizeEstimate += size - previous.longValue();
+				}
+			}
+		}
+		List<IUndoableOperation> removed = new ArrayList<>();
+		synchronized (undoRedoHistoryLock) {
+			while (totalSizeEstimate > limit && undoList.size() > 1) {
+				removed.add(undoList.remove(0));
+			}
+			while (totalSizeEstimate > limit && !redoList.isEmpty()) {
+				removed.add(redoList.remove(0));
+			}
+		}
+		if (DEBUG_OPERATION_HISTORY_DISPOSE && !removed.isEmpty()) {
+			Tracing.printTrace(OPERATIONHISTORY, "Removing " + removed.size() //$NON-NLS-1$
+					+ " operations to stay within the memory limit of " + limit); //$NON-NLS-1$
+		}
+		// notify outside of the synchronized block.
+		for (IUndoableOperation removedOperation : removed) {
+			internalRemove(removedOperation);
+		}
+	}
+
+	/*
+	 * Return the oldest operation that was not compacted since it was added
+	 * or last grew, marked as compacted, or null if the history is within the
+	 * memory limit or there is nothing left to compact. The most recent operation is not compacted
+	 * since it is the most likely to be undone.
+	 */
+	private IAdvancedUndoableOperation3 nextToCompact(long limit) {
+		synchronized (undoRedoHistoryLock) {
+			if (totalSizeEstimate <= limit) {
+				return null;
+			}
+			IAdvancedUndoableOperation3 operation = nextToCompact(undoList, undoList.size() - 1);
+			return operation != null ? operation : nextToCompact(redoList, redoList.size());
+		}
+	}
+
+	private IAdvancedUndoableOperation3 nextToCompact(OperationList list, int count) {
+		for (int i = 0; i < count; i++) {
+			IUndoableOperation operation = list.get(i);
+			if (operation instanceof IAdvancedUndoableOperation3 && compactedOperations.add(operation)) {
+				return (IAdvancedUndoableOperation3) operation;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * An undo or redo history. It keeps the size estimate of the history up to
+	 * date, and remembers the operations it contains for each undo context
+	 * asked for. The remembered operations are updated as operations are added
+	 * and removed, and forgotten when the contexts of an operation in the
+	 * history or the matches of an object undo context change. Only contexts
+	 * whose matching cannot change unnoticed are remembered. It is only
+	 * accessed while holding the {@link #undoRedoHistoryLock}.
+	 */
+	private final class OperationList extends ArrayList<IUndoableOperation> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Map<IUndoContext, List<IUndoableOperation>> filtered = new HashMap<>();
+
+		private int filteredModCount;
+
+		private long filteredContextChanges = -1;
+
+		private long filteredMatchChanges = -1;
+
+		/**
+		 * the operations whose context changes are not counted by this history
+		 */
+		private final transient Set<IUndoableOperation> untracked = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+
+		/**
+		 * the operations that have a context whose matching may change unnoticed
+		 */
+		private final transient Set<IUndoableOperation> unstable = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+
+		@Override
+		public boolean add(IUndoableOperation operation) {
+			boolean current = filteredModCount == modCount;
+			super.add(operation);
+			added(operation);
+			if (current) {
+				for (Map.Entry<IUndoContext, List<IUndoableOperation>> entry : filtered.entrySet()) {
+					if (operation.hasContext(entry.getKey())) {
+						entry.getValue().add(operation);
+					}
+				}
+				filteredModCount = modCount;
+			}
+			return true;
+		}
+
+		@Override
+		public void add(int index, IUndoableOperation operation) {
+			boolean current = filteredModCount == modCount;
+			super.add(index, operation);
+			added(operation);
+			if (current) {
+				// rare, so the affected contexts are simply filtered again
+				filtered.keySet().removeIf(operation::hasContext);
+				filteredModCount = modCount;
+			}
+		}
+
+		@Override
+		public IUndoableOperation remove(int index) {
+			boolean current = filteredModCount == modCount;
+			IUndoableOperation operation = super.remove(index);
+			removed(operation, current);
+			return operation;
+		}
+
+		@Override
+		public boolean remove(Object operation) {
+			boolean current = filteredModCount == modCount;
+			if (super.remove(operation)) {
+				removed((IUndoableOperation) operation, current);
+				return true;
+			}
+			return false;
+		}
+
+		private void added(IUndoableOperation operation) {
+			if (operation instanceof AbstractOperation) {
+				AbstractOperation abstractOperation = (AbstractOperation) operation;
+				if (abstractOperation.historyContextChanges == null) {
+					abstractOperation.historyContextChanges = contextChanges;
+				}
+				if (abstractOperation.historyContextChanges != contextChanges) {
+					// counted by another history
+					untracked.add(operation);
+				}
+			} else {
+				untracked.add(operation);
+			}
+			if (!isStable(operation)) {
+				unstable.add(operation);
+			}
+			addSizeEstimate(operation);
+		}
+
+		private void removed(IUndoableOperation operation, boolean current) {
+			untracked.remove(operation);
+			unstable.remove(operation);
+			if (operation instanceof AbstractOperation
+					&& ((AbstractOperation) operation).historyContextChanges == contextChanges
+					&& !undoList.contains(operation) && !redoList.contains(operation)) {
+				((AbstractOperation) operation).historyContextChanges = null;
+			}
+			if (current) {
+				for (List<IUndoableOperation> operations : filtered.values()) {
+					removeIdentical(operations, operation);
+				}
+				filteredModCount = modCount;
+			}
+			removeSizeEstimate(operation);
+		}
+
+		/**
+		 * Return the operations that have the given context, oldest first.
+		 */
+		IUndoableOperation[] filter(IUndoContext context) {
+			List<IUndoableOperation> operations = getFiltered(context);
+			if (operations == null) {
+				return computeFilter(context);
+			}
+			return operations.toArray(new IUndoableOperation[operations.size()]);
+		}
+
+		/**
+		 * Return the most recent operation that has the given context, or
+		 * <code>null</code> if there is none.
+		 */
+		IUndoableOperation getTop(IUndoContext context) {
+			List<IUndoableOperation> operations = getFiltered(context);
+			if (operations == null) {
+				IUndoableOperation[] computed = computeFilter(context);
+				return computed.length == 0 ? null : computed[computed.length - 1];
+			}
+			return operations.isEmpty() ? null : operations.get(operations.size() - 1);
+		}
+
+		void clearFilters() {
+			filtered.clear();
+		}
+
+		/*
+		 * Return the remembered operations that have the given context, or
+		 * null if they cannot be remembered.
+		 */
+		private List<IUndoableOperation> getFiltered(IUndoContext context) {
+			// read before filtering, so that a concurrent change is noticed
+			// by the next request
+			long currentContextChanges = contextChanges.get();
+			long currentMatchChanges = ObjectUndoContext.matchChanges.get();
+			if (filteredContextChanges != currentContextChanges) {
+				// the contexts of an operation may have become unstable
+				unstable.clear();
+				for (IUndoableOperation operation : this) {
+					if (!isStable(operation)) {
+						unstable.add(operation);
+					}
+				}
+			}
+			if (filteredModCount != modCount || filteredContextChanges != currentContextChanges
+					|| filteredMatchChanges != currentMatchChanges) {
+				filtered.clear();
+				filteredModCount = modCount;
+				filteredContextChanges = currentContextChanges;
+				filteredMatchChanges = currentMatchChanges;
+			}
+			if (!untracked.isEmpty() || !unstable.isEmpty() || !isStable(context)) {
+				return null;
+			}
+			List<IUndoableOperation> operations = filtered.get(context);
+			if (operations == null) {
+				operations = new ArrayList<>(Arrays.asList(computeFilter(context)));
+				filtered.put(context, operations);
+			}
+			return operations;
+		}
+
+		private IUndoableOperation[] computeFilter(IUndoContext context) {
+			List<IUndoableOperation> operations = new ArrayList<>();
+			for (IUndoableOperation operation : this) {
+				if (operation.hasContext(context)) {
+					operations.add(operation);
+				}
+			}
+			return operations.toArray(new IUndoableOperation[operations.size()]);
+		}
+
+		private boolean isStable(IUndoableOperation operation) {
+			for (IUndoContext context : operation.getContexts()) {
+				if (!isStable(context)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/*
+		 * Whether the matching of the context only changes in ways the history
+		 * observes. Subclasses of undo contexts may override matches(...).
+		 */
+		private boolean isStable(IUndoContext context) {
+			Class<?> type = context.getClass();
+			return type == UndoContext.class || type == ObjectUndoContext.class
+					|| context == GLOBAL_UNDO_CONTEXT;
+		}
+
+		private void removeIdentical(List<IUndoableOperation> operations, IUndoableOperation operation) {
+			// operations usually leave at either end of the history
+			int last = operations.size() - 1;
+			if (last >= 0 && operations.get(last) == operation) {
+				operations.remove(last);
+				return;
+			}
+			for (int i = 0; i < last; i++) {
+				if (operations.get(i) == operation) {
+					operations.remove(i);
+					return;
+				}
+			}
 		}
 	}
 }
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.core.commands.operations;
+
+/**
+ * <p>
+ * IAdvancedUndoableOperation3 defines methods that allow an operation history
+ * to bound the memory retained by the operations in its undo and redo history.
+ * Operations that keep large amounts of state in order to be undone or redone,
+ * such as the text replaced by an edit, report an estimate of that state, and
+ * can be asked to move it to a cheaper store when the history holds too much.
+ * </p>
+ *
+ * @see DefaultOperationHistory#setMemoryLimit(long)
+ * @since 3.11
+ */
+public interface IAdvancedUndoableOperation3 {
+
+	/**
+	 * Return an estimate of the number of bytes the receiver retains in order
+	 * to be undone or redone. This method is called whenever the operation is
+	 * added to the undo or redo history, so it should be fast to compute.
+	 *
+	 * @return the estimated size in bytes, or <code>0</code> if unknown.
+	 */
+	long getSizeEstimate();
+
+	/**
+	 * Reduce the memory retained by the receiver, for example by writing its
+	 * state compressed to a local file and reading it back when it is undone
+	 * or redone. The receiver must remain undoable and redoable as before.
+	 * <p>
+	 * The history calls this method on its oldest operations when the memory
+	 * limit of the history is exceeded, at most once while the operation
+	 * remains in the undo or redo history, unless its size estimate grows
+	 * afterwards as reported through
+	 * {@link IOperationHistory#operationChanged(IUndoableOperation)}. The
+	 * history does not hold its lock while calling it, so other threads may
+	 * use the history meanwhile.
+	 * </p>
+	 *
+	 * @return the estimated size in bytes after compacting, or <code>0</code>
+	 *         if unknown.
+	 */
+	long compact();
+}
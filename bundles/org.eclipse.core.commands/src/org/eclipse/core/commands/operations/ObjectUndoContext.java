@@ -15,6 +15,7 @@ package org.eclipse.core.commands.operations;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>
@@ -27,6 +28,13 @@ import java.util.List;
  */
 public final class ObjectUndoContext extends UndoContext {
 
+	/**
+	 * Counts the changes to the matches of all object undo contexts. These are
+	 * rare, and the operation histories cannot tell which of their operations
+	 * a match affects, so any change invalidates their filtered histories.
+	 */
+	static final AtomicLong matchChanges = new AtomicLong();
+
 	private Object object;
 
 	private String label;
@@ -91,6 +99,7 @@ public final class ObjectUndoContext extends UndoContext {
 	 */
 	public void addMatch(IUndoContext context) {
 		children.add(context);
+		matchChanges.incrementAndGet();
 	}
 
 	/**
@@ -104,7 +113,9 @@ public final class ObjectUndoContext extends UndoContext {
 	 *            context
 	 */
 	public void removeMatch(IUndoContext context) {
-		children.remove(context);
+		if (children.remove(context)) {
+			matchChanges.incrementAndGet();
+		}
 	}
 
 	@Override
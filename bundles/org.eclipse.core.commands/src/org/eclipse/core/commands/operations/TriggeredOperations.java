@@ -44,7 +44,7 @@ import org.eclipse.core.runtime.Status;
  */
 public final class TriggeredOperations extends AbstractOperation implements
 		ICompositeOperation, IAdvancedUndoableOperation, IAdvancedUndoableOperation2,
-		IContextReplacingOperation {
+		IAdvancedUndoableOperation3, IContextReplacingOperation {
 
 	private IUndoableOperation triggeringOperation;
 
@@ -280,6 +280,7 @@ public final class TriggeredOperations extends AbstractOperation implements
 			}
 		}
 		contexts = allContexts;
+		contextsChanged();
 
 	}
 
@@ -441,4 +442,43 @@ public final class TriggeredOperations extends AbstractOperation implements
 		}
 		return false;
 	}
+
+	/**
+	 * Return the sum of the size estimates of the triggering operation and the
+	 * triggered operations.
+	 *
+	 * @since 3.11
+	 */
+	@Override
+	public long getSizeEstimate() {
+		long size = 0;
+		if (triggeringOperation instanceof IAdvancedUndoableOperation3) {
+			size += ((IAdvancedUndoableOperation3) triggeringOperation).getSizeEstimate();
+		}
+		for (IUndoableOperation child : children) {
+			if (child instanceof IAdvancedUndoableOperation3) {
+				size += ((IAdvancedUndoableOperation3) child).getSizeEstimate();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Compact the triggering operation and the triggered operations.
+	 *
+	 * @since 3.11
+	 */
+	@Override
+	public long compact() {
+		long size = 0;
+		if (triggeringOperation instanceof IAdvancedUndoableOperation3) {
+			size += ((IAdvancedUndoableOperation3) triggeringOperation).compact();
+		}
+		for (IUndoableOperation child : children) {
+			if (child instanceof IAdvancedUndoableOperation3) {
+				size += ((IAdvancedUndoableOperation3) child).compact();
+			}
+		}
+		return size;
+	}
 }
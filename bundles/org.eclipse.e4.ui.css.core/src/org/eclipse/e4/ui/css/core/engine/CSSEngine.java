@@ -26,6 +26,7 @@ import org.w3c.css.sac.InputSource;
 import org.w3c.css.sac.Selector;
 import org.w3c.css.sac.SelectorList;
 import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSRule;
 import org.w3c.dom.css.CSSStyleDeclaration;
 import org.w3c.dom.css.CSSStyleSheet;
 import org.w3c.dom.css.CSSValue;
@@ -413,6 +414,18 @@ public interface CSSEngine {
 	 */
 	void reset();
 
+	/**
+	 * Remove all style sheets registered into CSS Engine, but keep the styles
+	 * already applied and the cached resources. Used together with
+	 * {@link #reapply(Collection)} to replace the style sheets and restyle only
+	 * what changed. By default this is the same as {@link #reset()}.
+	 *
+	 * @since 0.14
+	 */
+	default void resetStyleSheets() {
+		reset();
+	}
+
 	/*--------------- Resources Registry -----------------*/
 
 	/**
@@ -528,6 +541,20 @@ public interface CSSEngine {
 	 */
 	void reapply();
 
+	/**
+	 * Reapply the styles to the objects managed by this engine which are matched
+	 * by at least one of the given rules. The rules are the ones which were
+	 * added or removed since the styles were last applied, so that objects
+	 * matched by none of them keep their current style. By default all styles
+	 * are reapplied.
+	 *
+	 * @param changedRules the rules which were added or removed
+	 * @since 0.14
+	 */
+	default void reapply(Collection<? extends CSSRule> changedRules) {
+		reapply();
+	}
+
 	/**
 	 * Handle disposal of a styled widget.
 	 *
@@ -1027,6 +1027,11 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	@Override
 	public void reset() {
+		resetStyleSheets();
+	}
+
+	@Override
+	public void resetStyleSheets() {
 		// Remove All Style Sheets
 		documentCSS.removeAllStyleSheets();
 	}
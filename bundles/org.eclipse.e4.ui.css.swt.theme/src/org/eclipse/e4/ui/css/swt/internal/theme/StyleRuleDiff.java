@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.swt.internal.theme;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.swt.helpers.CSSSWTColorHelper;
+import org.w3c.dom.css.CSSPrimitiveValue;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSStyleRule;
+import org.w3c.dom.css.CSSStyleSheet;
+import org.w3c.dom.css.CSSValue;
+import org.w3c.dom.css.CSSValueList;
+import org.w3c.dom.stylesheets.StyleSheetList;
+
+/**
+ * Computes the style rules which differ between the style sheets of two
+ * themes, so that only the widgets matched by them need to be restyled.
+ */
+final class StyleRuleDiff {
+
+	private StyleRuleDiff() {
+	}
+
+	/**
+	 * Returns the rules of all style sheets of the engine, in cascade order.
+	 */
+	static List<CSSRule> collectRules(CSSEngine engine) {
+		List<CSSRule> rules = new ArrayList<>();
+		StyleSheetList styleSheets = engine.getDocumentCSS().getStyleSheets();
+		for (int i = 0; i < styleSheets.getLength(); i++) {
+			if (styleSheets.item(i) instanceof CSSStyleSheet) {
+				CSSRuleList ruleList = ((CSSStyleSheet) styleSheets.item(i)).getCssRules();
+				for (int j = 0; j < ruleList.getLength(); j++) {
+					rules.add(ruleList.item(j));
+				}
+			}
+		}
+		return rules;
+	}
+
+	/**
+	 * Returns the rules which were removed from <code>oldRules</code> or added
+	 * to <code>newRules</code>, or <code>null</code> if the difference cannot
+	 * be expressed as such rules and all styles have to be reapplied.
+	 * <p>
+	 * Rules are compared by their text. Rules which use <code>url()</code>
+	 * values or theme element definitions are always considered changed, since
+	 * they resolve differently from one theme to the next.
+	 * </p>
+	 */
+	static List<CSSRule> computeChangedRules(List<CSSRule> oldRules, List<CSSRule> newRules) {
+		Map<String, Integer> newCounts = new HashMap<>();
+		for (CSSRule rule : newRules) {
+			if (rule.getType() != CSSRule.STYLE_RULE) {
+				// @import, @media, @font-face... are not matched to widgets
+				return null;
+			}
+			if (isStable((CSSStyleRule) rule)) {
+				newCounts.merge(rule.getCssText(), Integer.valueOf(1), Integer::sum);
+			}
+		}
+
+		Set<CSSRule> changed = new LinkedHashSet<>();
+		List<String> keptOld = new ArrayList<>();
+		Map<String, Integer> oldCounts = new HashMap<>();
+		for (CSSRule rule : oldRules) {
+			if (rule.getType() != CSSRule.STYLE_RULE) {
+				return null;
+			}
+			String text = rule.getCssText();
+			Integer remaining = newCounts.get(text);
+			if (remaining != null && remaining.intValue() > 0 && isStable((CSSStyleRule) rule)) {
+				newCounts.put(text, Integer.valueOf(remaining.intValue() - 1));
+				oldCounts.merge(text, Integer.valueOf(1), Integer::sum);
+				keptOld.add(text);
+			} else {
+				changed.add(rule);
+			}
+		}
+
+		List<String> keptNew = new ArrayList<>();
+		for (CSSRule rule : newRules) {
+			String text = rule.getCssText();
+			Integer remaining = oldCounts.get(text);
+			if (remaining != null && remaining.intValue() > 0 && isStable((CSSStyleRule) rule)) {
+				oldCounts.put(text, Integer.valueOf(remaining.intValue() - 1));
+				keptNew.add(text);
+			} else {
+				changed.add(rule);
+			}
+		}
+
+		// Equal rules in a different order may cascade differently
+		if (!keptOld.equals(keptNew)) {
+			return null;
+		}
+		return new ArrayList<>(changed);
+	}
+
+	private static boolean isStable(CSSStyleRule rule) {
+		CSSStyleDeclaration style = rule.getStyle();
+		for (int i = 0; i < style.getLength(); i++) {
+			if (!isStable(style.getPropertyCSSValue(style.item(i)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isStable(CSSValue value) {
+		if (value == null) {
+			return true;
+		}
+		if (value instanceof CSSValueList) {
+			CSSValueList list = (CSSValueList) value;
+			for (int i = 0; i < list.getLength(); i++) {
+				if (!isStable(list.item(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (value instanceof CSSPrimitiveValue) {
+			short type = ((CSSPrimitiveValue) value).getPrimitiveType();
+			if (type == CSSPrimitiveValue.CSS_URI) {
+				return false;
+			}
+			if (type == CSSPrimitiveValue.CSS_STRING || type == CSSPrimitiveValue.CSS_IDENT) {
+				// definitions are referenced by '#id' for colors and fonts
+				return !CSSSWTColorHelper.hasColorDefinitionAsValue(((CSSPrimitiveValue) value).getStringValue());
+			}
+		}
+		return true;
+	}
+}
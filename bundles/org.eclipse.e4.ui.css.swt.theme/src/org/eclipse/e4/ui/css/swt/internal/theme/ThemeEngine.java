@@ -62,6 +62,7 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.prefs.BackingStoreException;
 import org.w3c.css.sac.InputSource;
 import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSRule;
 import org.w3c.dom.css.CSSStyleDeclaration;
 
 public class ThemeEngine implements IThemeEngine {
@@ -89,6 +90,12 @@ public class ThemeEngine implements IThemeEngine {
 
 	public static final String DISABLE_OS_DARK_THEME_INHERIT = "org.eclipse.e4.ui.css.theme.disableOSDarkThemeInherit";
 
+	/**
+	 * Restyle every widget when switching themes, instead of only the widgets
+	 * matched by the rules which differ between the two themes.
+	 */
+	private static final boolean FULL_THEME_REAPPLY = Boolean.getBoolean("org.eclipse.e4.ui.css.theme.fullReapply");
+
 	public ThemeEngine(Display display) {
 		this.display = display;
 
@@ -439,6 +446,8 @@ public class ThemeEngine implements IThemeEngine {
 	public void setTheme(ITheme theme, boolean restore, boolean force) {
 		Assert.isNotNull(theme, "The theme must not be null");
 
+		Map<CSSEngine, List<CSSRule>> previousRules = new HashMap<>();
+
 		if (this.currentTheme != theme || force) {
 			if (currentTheme != null) {
 				for (IResourceLocator l : getResourceLocators(currentTheme
@@ -450,9 +459,16 @@ public class ThemeEngine implements IThemeEngine {
 				}
 			}
 
+			// Without a previous theme there is nothing to compare with
+			boolean incremental = currentTheme != null && !force && !FULL_THEME_REAPPLY;
 			this.currentTheme = theme;
 			for (CSSEngine engine : cssEngines) {
-				engine.reset();
+				if (incremental) {
+					previousRules.put(engine, StyleRuleDiff.collectRules(engine));
+					engine.resetStyleSheets();
+				} else {
+					engine.reset();
+				}
 			}
 
 			for (IResourceLocator l : getResourceLocators(theme.getId())) {
@@ -461,34 +477,7 @@ public class ThemeEngine implements IThemeEngine {
 					.registerResourceLocator(l);
 				}
 			}
-			for (String stylesheet : getAllStyles(theme)) {
-				URL url;
-				InputStream stream = null;
-				try {
-					url = FileLocator.resolve(new URL(stylesheet));
-					for (CSSEngine engine : cssEngines) {
-						try {
-							stream = url.openStream();
-							InputSource source = new InputSource();
-							source.setByteStream(stream);
-							source.setURI(url.toString());
-							engine.parseStyleSheet(source);
-						} catch (IOException e) {
-							ThemeEngineManager.logError(e.getMessage(), e);
-						} finally {
-							if (stream != null) {
-								try {
-									stream.close();
-								} catch (IOException e) {
-									ThemeEngineManager.logError(e.getMessage(), e);
-								}
-							}
-						}
-					}
-				} catch (IOException e) {
-					ThemeEngineManager.logError(e.getMessage(), e);
-				}
-			}
+			parseStyleSheets(theme, cssEngines);
 		}
 
 		if (restore) {
@@ -506,7 +495,50 @@ public class ThemeEngine implements IThemeEngine {
 		sendThemeChangeEvent(restore);
 
 		for (CSSEngine engine : cssEngines) {
-			engine.reapply();
+			List<CSSRule> oldRules = previousRules.get(engine);
+			List<CSSRule> changedRules = oldRules == null ? null
+					: StyleRuleDiff.computeChangedRules(oldRules, StyleRuleDiff.collectRules(engine));
+			if (changedRules != null) {
+				engine.reapply(changedRules);
+			} else {
+				if (oldRules != null) {
+					// The styles applied so far were not reset, start over
+					engine.reset();
+					parseStyleSheets(theme, Collections.singletonList(engine));
+				}
+				engine.reapply();
+			}
+		}
+	}
+
+	private void parseStyleSheets(ITheme theme, List<CSSEngine> engines) {
+		for (String stylesheet : getAllStyles(theme)) {
+			URL url;
+			InputStream stream = null;
+			try {
+				url = FileLocator.resolve(new URL(stylesheet));
+				for (CSSEngine engine : engines) {
+					try {
+						stream = url.openStream();
+						InputSource source = new InputSource();
+						source.setByteStream(stream);
+						source.setURI(url.toString());
+						engine.parseStyleSheet(source);
+					} catch (IOException e) {
+						ThemeEngineManager.logError(e.getMessage(), e);
+					} finally {
+						if (stream != null) {
+							try {
+								stream.close();
+							} catch (IOException e) {
+								ThemeEngineManager.logError(e.getMessage(), e);
+							}
+						}
+					}
+				}
+			} catch (IOException e) {
+				ThemeEngineManager.logError(e.getMessage(), e);
+			}
 		}
 	}
 
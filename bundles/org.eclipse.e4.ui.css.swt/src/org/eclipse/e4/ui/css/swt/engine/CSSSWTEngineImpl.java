@@ -14,15 +14,31 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.css.swt.engine;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.RegistryFactory;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.engine.CSSElementContext;
 import org.eclipse.e4.ui.css.core.impl.engine.RegistryCSSElementProvider;
 import org.eclipse.e4.ui.css.core.impl.engine.RegistryCSSPropertyHandlerProvider;
+import org.eclipse.e4.ui.css.swt.dom.WidgetElement;
+import org.eclipse.e4.ui.css.swt.resources.ResourceByDefinitionKey;
+import org.eclipse.e4.ui.css.swt.resources.SWTResourcesRegistry;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Widget;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.dom.css.CSSRule;
 
 /**
  * CSS SWT Engine implementation which configure CSSEngineImpl to apply styles
@@ -80,4 +96,88 @@ public class CSSSWTEngineImpl extends AbstractCSSSWTEngineImpl {
 		}
 	}
 
+	/**
+	 * Restyles only the widgets matched by the given rules. Each matched widget
+	 * is reset and styled again against the current style sheets; its children
+	 * are restyled only if they are matched themselves.
+	 */
+	@Override
+	public void reapply(Collection<? extends CSSRule> changedRules) {
+		List<Selector> selectors = new ArrayList<>();
+		for (CSSRule rule : changedRules) {
+			if (!(rule instanceof ExtendedCSSRule)) {
+				reapply();
+				return;
+			}
+			SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+			for (int i = 0; i < selectorList.getLength(); i++) {
+				selectors.add(selectorList.item(i));
+			}
+		}
+		if (selectors.isEmpty()) {
+			return;
+		}
+
+		// Values of theme element definitions may have changed along with
+		// the rules, don't answer them from the cache
+		if (getResourcesRegistry() instanceof SWTResourcesRegistry) {
+			((SWTResourcesRegistry) getResourcesRegistry())
+					.removeResourcesByKeyTypeAndType(ResourceByDefinitionKey.class, Color.class, Font.class);
+		}
+
+		// Collect first, styling may add element contexts
+		Map<Shell, List<WidgetElement>> matchedByShell = new LinkedHashMap<>();
+		for (CSSElementContext context : new ArrayList<>(getElementsContext().values())) {
+			if (!(context.getElement() instanceof WidgetElement)) {
+				continue;
+			}
+			WidgetElement element = (WidgetElement) context.getElement();
+			Widget widget = (Widget) element.getNativeWidget();
+			if (widget == null || widget.isDisposed() || !matchesAny(selectors, element)) {
+				continue;
+			}
+			Shell shell = widget instanceof Control ? ((Control) widget).getShell() : null;
+			matchedByShell.computeIfAbsent(shell, s -> new ArrayList<>()).add(element);
+		}
+
+		for (Map.Entry<Shell, List<WidgetElement>> entry : matchedByShell.entrySet()) {
+			Shell shell = entry.getKey();
+			try {
+				if (shell != null) {
+					shell.setRedraw(false);
+				}
+				for (WidgetElement element : entry.getValue()) {
+					Widget widget = (Widget) element.getNativeWidget();
+					if (!widget.isDisposed()) {
+						element.reset();
+						applyStyles(widget, false);
+					}
+				}
+			} catch (Exception e) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+			} finally {
+				if (shell != null && !shell.isDisposed()) {
+					shell.setRedraw(true);
+				}
+			}
+		}
+	}
+
+	private boolean matchesAny(List<Selector> selectors, WidgetElement element) {
+		String[] pseudoInstances = getStaticPseudoInstances(element);
+		for (Selector selector : selectors) {
+			if (matches(selector, element, null)) {
+				return true;
+			}
+			if (pseudoInstances != null) {
+				for (String pseudoInstance : pseudoInstances) {
+					if (matches(selector, element, pseudoInstance)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
 }
@@ -16,7 +16,10 @@ package org.eclipse.e4.ui.css.swt.properties.converters;
 import org.eclipse.e4.ui.css.core.dom.properties.converters.ICSSValueConverter;
 import org.eclipse.e4.ui.css.core.dom.properties.converters.ICSSValueConverterConfig;
 import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.core.resources.ResourceRegistryKeyFactory;
 import org.eclipse.e4.ui.css.swt.helpers.CSSSWTFontHelper;
+import org.eclipse.e4.ui.css.swt.resources.SWTResourceRegistryKeyFactory;
+import org.eclipse.e4.ui.css.swt.resources.SWTResourcesRegistry;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.widgets.Display;
@@ -27,6 +30,9 @@ public class CSSValueSWTFontConverterImpl extends
 
 	public static final ICSSValueConverter INSTANCE = new CSSValueSWTFontConverterImpl();
 
+	/* creates the keys the SWT engines cache converted values with */
+	private static final ResourceRegistryKeyFactory KEY_FACTORY = new SWTResourceRegistryKeyFactory();
+
 	public CSSValueSWTFontConverterImpl() {
 		super(Font.class);
 	}
@@ -37,6 +43,12 @@ public class CSSValueSWTFontConverterImpl extends
 		FontData fontData = (FontData) super.convert(value, engine, context);
 		if (fontData != null) {
 			Display display = super.getDisplay(context);
+			if (engine.getResourcesRegistry() instanceof SWTResourcesRegistry
+					&& KEY_FACTORY.createKey(value) != null) {
+				// The engine caches the font, share it through the JFace resources.
+				// Fonts it does not cache are owned by the caller.
+				return ((SWTResourcesRegistry) engine.getResourcesRegistry()).createFont(fontData, display);
+			}
 			return new Font(display, fontData);
 		}
 		return null;
@@ -15,24 +15,73 @@
 package org.eclipse.e4.ui.css.swt.resources;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import org.eclipse.e4.ui.css.core.resources.AbstractResourcesRegistry;
+import org.eclipse.jface.resource.DeviceResourceDescriptor;
+import org.eclipse.jface.resource.FontDescriptor;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.resource.ResourceManager;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CTabFolder;
+import org.eclipse.swt.custom.CTabItem;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Cursor;
 import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
 
 /**
  * SWT Resources Registry to cache SWT Resource like Color, Cursor and Font and
  * dispose it.
+ * <p>
+ * Fonts created through {@link #createFont(FontData, Display)} are allocated
+ * from the global JFace resource manager of the display, so that equal fonts are
+ * shared with other CSS engines and the JFace registries. Such fonts are released
+ * to that manager instead of being disposed.
+ * </p>
  */
 public class SWTResourcesRegistry extends AbstractResourcesRegistry {
 
+	/**
+	 * Holds the descriptor of a resource allocated from the shared resource
+	 * manager, and how often it has been allocated for this registry.
+	 */
+	private static class PooledResource {
+		final ResourceManager manager;
+		final DeviceResourceDescriptor descriptor;
+		int references;
+
+		PooledResource(ResourceManager manager, DeviceResourceDescriptor descriptor) {
+			this.manager = manager;
+			this.descriptor = descriptor;
+		}
+	}
+
+	private final Map<Object, PooledResource> pooledResources = new IdentityHashMap<>();
+
+	/**
+	 * Shared resources removed from the cache which may still be in use by
+	 * widgets; released once no control or tab item uses them any more, or
+	 * when this registry is disposed.
+	 */
+	private final Set<Object> retiredResources = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private boolean releaseScheduled;
+
+	private final Display display;
+
 	public SWTResourcesRegistry(Display display) {
+		this.display = display;
 		if (display == null) {
 			return;
 		}
@@ -79,10 +128,108 @@ public class SWTResourcesRegistry extends AbstractResourcesRegistry {
 		}
 
 		super.registerResource(type, key, resource);
+		scheduleReleaseOfRetiredResources();
+	}
+
+	/**
+	 * Releases the retired resources no widget uses any more, once the widgets
+	 * being restyled had the chance to pick up their replacements. Resources
+	 * still in use are checked again the next time a resource is registered.
+	 */
+	private void scheduleReleaseOfRetiredResources() {
+		if (retiredResources.isEmpty() || releaseScheduled || display == null || display.isDisposed()) {
+			return;
+		}
+		releaseScheduled = true;
+		display.asyncExec(() -> {
+			releaseScheduled = false;
+			if (retiredResources.isEmpty() || display.isDisposed()) {
+				return;
+			}
+			Set<Object> used = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (Shell shell : display.getShells()) {
+				collectFonts(shell, used);
+			}
+			for (Iterator<Object> iter = retiredResources.iterator(); iter.hasNext();) {
+				Object resource = iter.next();
+				if (!used.contains(resource)) {
+					iter.remove();
+					releasePooledResource(resource);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Collects the fonts of the given control, its tab items and its children;
+	 * the widgets the CSS engine sets fonts on.
+	 */
+	private static void collectFonts(Control control, Set<Object> fonts) {
+		if (control.isDisposed()) {
+			return;
+		}
+		fonts.add(control.getFont());
+		if (control instanceof CTabFolder) {
+			for (CTabItem item : ((CTabFolder) control).getItems()) {
+				fonts.add(item.getFont());
+			}
+		}
+		if (control instanceof Composite) {
+			for (Control child : ((Composite) control).getChildren()) {
+				collectFonts(child, fonts);
+			}
+		}
+	}
+
+	/**
+	 * Creates a font for the given data from the shared resource manager of the
+	 * display. The font is released when it is removed from this registry.
+	 *
+	 * @param fontData the font data
+	 * @param display  the display to create the font on
+	 * @return the shared font
+	 */
+	public Font createFont(FontData fontData, Display display) {
+		ResourceManager manager = JFaceResources.getResources(display);
+		FontDescriptor descriptor = FontDescriptor.createFrom(fontData);
+		Font font = manager.createFont(descriptor);
+		pooledResources.computeIfAbsent(font, f -> new PooledResource(manager, descriptor)).references++;
+		return font;
+	}
+
+	/**
+	 * Releases a resource created by this registry to the shared resource
+	 * manager.
+	 *
+	 * @return <code>true</code> if the resource was shared, <code>false</code>
+	 *         if it is owned by this registry
+	 */
+	private boolean releasePooledResource(Object resource) {
+		PooledResource pooled = pooledResources.get(resource);
+		if (pooled == null) {
+			return false;
+		}
+		if (--pooled.references == 0) {
+			pooledResources.remove(resource);
+		}
+		pooled.manager.destroy(pooled.descriptor);
+		return true;
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+		for (Object resource : retiredResources) {
+			releasePooledResource(resource);
+		}
+		retiredResources.clear();
 	}
 
 	@Override
 	public void disposeResource(Object type, Object key, Object resource) {
+		if (releasePooledResource(resource)) {
+			return;
+		}
 		// Dispose SWT Resource
 		if (resource instanceof Cursor) {
 			((Cursor)resource).dispose();
@@ -125,7 +272,16 @@ public class SWTResourcesRegistry extends AbstractResourcesRegistry {
 			while (iter.hasNext()) {
 				Entry<Object, Object> entry = iter.next();
 				if (keyType.isAssignableFrom(entry.getKey().getClass())) {
-					removedResources.add(entry.getValue());
+					if (pooledResources.containsKey(entry.getValue())) {
+						// shared with other clients and maybe still used by widgets,
+						// must not be disposed by the caller
+						if (!retiredResources.add(entry.getValue())) {
+							// retired twice, it holds one more reference
+							releasePooledResource(entry.getValue());
+						}
+					} else {
+						removedResources.add(entry.getValue());
+					}
 					iter.remove();
 				}
 			}
@@ -17,11 +17,17 @@
 package org.eclipse.e4.ui.workbench.renderers.swt;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import org.eclipse.core.expressions.Expression;
 import org.eclipse.core.expressions.ExpressionInfo;
 import org.eclipse.core.expressions.OrExpression;
@@ -30,6 +36,8 @@ import org.eclipse.e4.core.contexts.EclipseContextFactory;
 import org.eclipse.e4.core.contexts.IContextFunction;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.ui.internal.workbench.ContributionsAnalyzer;
+import org.eclipse.e4.ui.internal.workbench.swt.Policy;
+import org.eclipse.e4.ui.internal.workbench.swt.WorkbenchSWTActivator;
 import org.eclipse.e4.ui.model.application.ui.MCoreExpression;
 import org.eclipse.e4.ui.model.application.ui.MElementContainer;
 import org.eclipse.e4.ui.model.application.ui.MExpression;
@@ -55,6 +63,15 @@ public class ContributionRecord {
 	private IEclipseContext infoContext;
 	private Runnable factoryDispose;
 
+	/* what the visibility depends on, variableNames is null if more than variables */
+	private long dependencyGeneration = -1;
+	private String[] variableNames;
+	private String[] identifierNames;
+	private boolean readsDefaultVariable;
+	/* the visibility computed for lastValues */
+	private Object[] lastValues;
+	private Map<MMenuElement, Boolean> lastVisibility;
+
 	public ContributionRecord(MMenu menuModel, MMenuContribution contribution,
 			MenuManagerRenderer renderer) {
 		this.menuModel = menuModel;
@@ -89,25 +106,39 @@ public class ContributionRecord {
 	}
 
 	/**
+	 * Updates the visibility of the elements of this record. If the
+	 * visibility expressions only read context variables and none of their
+	 * values changed since the last update, the expressions are not evaluated
+	 * again and the previous results are applied.
+	 *
 	 * @param context
 	 */
 	public void updateVisibility(IEclipseContext context) {
+		long start = System.nanoTime();
 		ExpressionContext exprContext = new ExpressionContext(context);
-		updateIsVisible(exprContext);
-		HashSet<ContributionRecord> recentlyUpdated = new HashSet<>();
-		recentlyUpdated.add(this);
-		boolean changed = false;
-		for (MMenuElement item : generatedElements) {
-			boolean currentVisibility = computeVisibility(recentlyUpdated,
-					item, exprContext);
-			if (item.isVisible() != currentVisibility) {
-				changed = true;
-				item.setVisible(currentVisibility);
+		Object[] values = getDependencyValues(exprContext);
+		boolean reused = values != null && lastVisibility != null && Arrays.equals(values, lastValues);
+		Map<MMenuElement, Boolean> visibility;
+		if (reused) {
+			visibility = lastVisibility;
+		} else {
+			visibility = new LinkedHashMap<>();
+			updateIsVisible(exprContext);
+			HashSet<ContributionRecord> recentlyUpdated = new HashSet<>();
+			recentlyUpdated.add(this);
+			for (MMenuElement item : generatedElements) {
+				visibility.put(item, Boolean.valueOf(computeVisibility(recentlyUpdated, item, exprContext)));
+			}
+			for (MMenuElement item : sharedElements) {
+				visibility.put(item, Boolean.valueOf(computeVisibility(recentlyUpdated, item, exprContext)));
 			}
+			lastValues = values;
+			lastVisibility = values == null ? null : visibility;
 		}
-		for (MMenuElement item : sharedElements) {
-			boolean currentVisibility = computeVisibility(recentlyUpdated,
-					item, exprContext);
+		boolean changed = false;
+		for (Entry<MMenuElement, Boolean> entry : visibility.entrySet()) {
+			MMenuElement item = entry.getKey();
+			boolean currentVisibility = entry.getValue().booleanValue();
 			if (item.isVisible() != currentVisibility) {
 				changed = true;
 				item.setVisible(currentVisibility);
@@ -120,6 +151,112 @@ public class ContributionRecord {
 				manager.markDirty();
 			}
 		}
+		renderer.visibilityUpdated(reused);
+		if (Policy.DEBUG_MENUS) {
+			WorkbenchSWTActivator.trace(Policy.DEBUG_MENUS_FLAG, "ContributionRecord: " //$NON-NLS-1$
+					+ (reused ? "reused" : "evaluated") + " visibility of " + menuContribution.getElementId() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ " in " + (System.nanoTime() - start) / 1000 + " us" + (changed ? ", changed" : ""), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					null);
+		}
+	}
+
+	/**
+	 * Reads the current values of what the visibility of the elements depends
+	 * on.
+	 *
+	 * @return the values, or <code>null</code> if the visibility may depend on
+	 *         more than the values of context variables
+	 */
+	private Object[] getDependencyValues(ExpressionContext exprContext) {
+		long generation = renderer.getRecordGeneration();
+		if (generation != dependencyGeneration) {
+			// records sharing our elements came or went
+			computeDependencies();
+			dependencyGeneration = generation;
+		}
+		if (variableNames == null) {
+			return null;
+		}
+		Object[] values = new Object[variableNames.length + identifierNames.length + 1];
+		int i = 0;
+		for (String name : variableNames) {
+			values[i++] = snapshot(exprContext.getVariable(name));
+		}
+		for (String name : identifierNames) {
+			values[i++] = snapshot(exprContext.eclipseContext.get(name));
+		}
+		values[i] = readsDefaultVariable ? snapshot(exprContext.getDefaultVariable()) : null;
+		return values;
+	}
+
+	/*
+	 * Collections may be changed in place, so their contents are compared.
+	 */
+	private static Object snapshot(Object value) {
+		if (value instanceof Set<?>) {
+			return new HashSet<>((Set<?>) value);
+		}
+		if (value instanceof Collection<?>) {
+			return new ArrayList<>((Collection<?>) value);
+		}
+		return value;
+	}
+
+	private void computeDependencies() {
+		invalidateVisibility();
+		ExpressionInfo info = new ExpressionInfo();
+		Set<String> identifiers = new LinkedHashSet<>();
+		boolean cacheable = collectDependencies(info, menuContribution.getVisibleWhen());
+		for (MMenuElement item : generatedElements) {
+			cacheable &= collectDependencies(info, item.getVisibleWhen());
+			addIdentifier(identifiers, item);
+		}
+		for (MMenuElement item : sharedElements) {
+			cacheable &= collectDependencies(info, item.getVisibleWhen());
+			addIdentifier(identifiers, item);
+			// the visibility of shared elements depends on all their records
+			for (ContributionRecord rec : renderer.getList(item)) {
+				cacheable &= collectDependencies(info, rec.menuContribution.getVisibleWhen());
+			}
+		}
+		if (!cacheable || info.hasSystemPropertyAccess() || info.getAccessedPropertyNames().length > 0
+				|| info.getMisbehavingExpressionTypes() != null) {
+			// property testers and imperative expressions may answer
+			// differently for the same variables
+			variableNames = null;
+			return;
+		}
+		variableNames = info.getAccessedVariableNames();
+		identifierNames = identifiers.toArray(new String[identifiers.size()]);
+		readsDefaultVariable = info.hasDefaultVariableAccess();
+	}
+
+	private static boolean collectDependencies(ExpressionInfo info, MExpression expression) {
+		if (expression == null) {
+			return true;
+		}
+		if (!(expression instanceof MCoreExpression)) {
+			return false;
+		}
+		try {
+			ContributionsAnalyzer.collectInfo(info, expression);
+		} catch (RuntimeException e) {
+			// e.g. an undefined reference, evaluate it every time
+			return false;
+		}
+		return true;
+	}
+
+	private static void addIdentifier(Set<String> identifiers, MMenuElement item) {
+		String identifier = item.getPersistedState().get(MenuManagerRenderer.VISIBILITY_IDENTIFIER);
+		if (identifier != null) {
+			identifiers.add(identifier);
+		}
+	}
+
+	private void invalidateVisibility() {
+		lastValues = null;
+		lastVisibility = null;
 	}
 
 	public void collectInfo(ExpressionInfo info) {
@@ -206,6 +343,8 @@ public class ContributionRecord {
 	}
 
 	public boolean mergeIntoModel() {
+		invalidateVisibility();
+		dependencyGeneration = -1;
 		int idx = getIndex(menuModel, menuContribution.getPositionInParent());
 		if (idx == -1) {
 			return false;
@@ -315,6 +454,8 @@ public class ContributionRecord {
 	}
 
 	public void dispose() {
+		invalidateVisibility();
+		dependencyGeneration = -1;
 		for (MMenuElement copy : generatedElements) {
 			menuModel.getChildren().remove(copy);
 		}
@@ -108,6 +108,11 @@ public class MenuManagerRenderer extends SWTPartRenderer {
 
 	private Collection<IContributionManager> mgrToUpdate = new LinkedHashSet<>();
 
+	/* changes whenever records start or stop sharing an element */
+	private long recordGeneration;
+	private long visibilityEvaluationCount;
+	private long visibilityReuseCount;
+
 	@Inject
 	private Logger logger;
 
@@ -588,6 +593,7 @@ public class MenuManagerRenderer extends SWTPartRenderer {
 			sharedElementToRecord.put(item, tmp);
 		}
 		tmp.add(rec);
+		recordGeneration++;
 	}
 
 	public void removeRecord(MMenuElement item, ContributionRecord rec) {
@@ -597,9 +603,38 @@ public class MenuManagerRenderer extends SWTPartRenderer {
 			if (tmp.isEmpty()) {
 				sharedElementToRecord.remove(item);
 			}
+			recordGeneration++;
+		}
+	}
+
+	long getRecordGeneration() {
+		return recordGeneration;
+	}
+
+	void visibilityUpdated(boolean reused) {
+		if (reused) {
+			visibilityReuseCount++;
+		} else {
+			visibilityEvaluationCount++;
 		}
 	}
 
+	/**
+	 * @return the number of times the visibility expressions of a contribution
+	 *         record were evaluated so far
+	 */
+	public long getVisibilityEvaluationCount() {
+		return visibilityEvaluationCount;
+	}
+
+	/**
+	 * @return the number of times the visibility of a contribution record was
+	 *         reused so far, since nothing its expressions read had changed
+	 */
+	public long getVisibilityReuseCount() {
+		return visibilityReuseCount;
+	}
+
 	private void removeMenuContributions(final MMenu menuModel,
 			final List<MMenuElement> menuContributionsToRemove) {
 		for (MMenuElement item : menuContributionsToRemove) {
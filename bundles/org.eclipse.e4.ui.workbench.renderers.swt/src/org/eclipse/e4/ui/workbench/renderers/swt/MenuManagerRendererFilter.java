@@ -18,6 +18,7 @@ package org.eclipse.e4.ui.workbench.renderers.swt;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Set;
 import javax.inject.Inject;
 import org.eclipse.core.commands.ParameterizedCommand;
 import org.eclipse.core.expressions.ExpressionInfo;
@@ -182,15 +183,33 @@ public class MenuManagerRendererFilter implements Listener {
 			MenuManagerRenderer renderer, MenuManager menuManager,
 			final IEclipseContext evalContext, final int recurseLevel,
 			boolean updateEnablement) {
+		updateElementVisibility(menuModel, renderer, menuManager, evalContext, recurseLevel, updateEnablement,
+				new HashSet<>());
+	}
+
+	/**
+	 * @param menuModel
+	 * @param renderer
+	 * @param menuManager
+	 * @param evalContext
+	 * @param recurseLevel
+	 * @param updateEnablement
+	 * @param evaluated
+	 *            the contribution records and elements of the menu whose
+	 *            visibility was updated already, and is not updated again;
+	 *            receives the ones updated by this call
+	 */
+	static void updateElementVisibility(final MMenu menuModel, MenuManagerRenderer renderer,
+			MenuManager menuManager, final IEclipseContext evalContext, final int recurseLevel,
+			boolean updateEnablement, Set<Object> evaluated) {
 		final ExpressionContext exprContext = new ExpressionContext(evalContext);
-		HashSet<ContributionRecord> records = new HashSet<>();
 		for (MMenuElement element : menuModel.getChildren()) {
 			ContributionRecord record = renderer.getContributionRecord(element);
 			if (record != null) {
-				if (records.add(record)) {
+				if (evaluated.add(record)) {
 					record.updateVisibility(evalContext);
 				}
-			} else {
+			} else if (evaluated.add(element)) {
 				MenuManagerRenderer.updateVisibility(menuManager, element,
 						exprContext);
 			}
@@ -200,7 +219,7 @@ public class MenuManagerRendererFilter implements Listener {
 				MenuManager childManager = renderer.getManager(childMenu);
 				if (childManager != null) {
 					updateElementVisibility(childMenu, renderer, childManager,
-							evalContext, recurseLevel - 1, false);
+							evalContext, recurseLevel - 1, false, new HashSet<>());
 				}
 			}
 
@@ -17,9 +17,13 @@
 package org.eclipse.e4.ui.workbench.renderers.swt;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
+import org.eclipse.e4.core.commands.ExpressionContext;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
 import org.eclipse.e4.core.contexts.EclipseContextFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
@@ -110,33 +114,54 @@ public class MenuManagerShowProcessor implements IMenuListener2 {
 		MenuManager menuManager = (MenuManager) manager;
 		final MMenu menuModel = renderer.getMenuModel(menuManager);
 		if (menuModel != null) {
-			processDynamicElements(menuModel, menuManager);
-			showMenu(menuModel, menuManager);
+			IEclipseContext evalContext = getEvalContext(menuModel);
+			Set<Object> evaluated = new HashSet<>();
+			processDynamicElements(menuModel, menuManager, evalContext, evaluated);
+			showMenu(menuModel, menuManager, evalContext, evaluated);
 		}
 	}
 
 	/**
 	 * HashMap key for storage of {@link MDynamicMenuContribution} elements used
-	 * in {@link #processDynamicElements(MMenu, MenuManager)}
+	 * in
+	 * {@link #processDynamicElements(MMenu, MenuManager, IEclipseContext, Set)}
 	 */
 	protected static final String DYNAMIC_ELEMENT_STORAGE_KEY = MenuManagerShowProcessor.class
 			.getSimpleName() + ".dynamicElements"; //$NON-NLS-1$
 
+	/* marks contributions which were reported to be slow */
+	private static final String SLOW_KEY = MenuManagerShowProcessor.class.getSimpleName() + ".slow"; //$NON-NLS-1$
+
+	private static final long BUDGET = Long.getLong("DynamicMenuContributionBudgetInMs", 100); //$NON-NLS-1$
+
 	/**
 	 * Process dynamic menu contributions provided by
-	 * {@link MDynamicMenuContribution} application model elements
+	 * {@link MDynamicMenuContribution} application model elements. The items of
+	 * a contribution are only computed if the contribution itself is shown.
+	 * Contributions taking longer than the budget are reported once.
 	 *
 	 * @param menuModel
 	 * @param menuManager
+	 * @param evalContext
+	 * @param evaluated
+	 *            collects the contribution records and elements whose
+	 *            visibility was updated
 	 *
 	 */
-	private void processDynamicElements(MMenu menuModel, MenuManager menuManager) {
+	private void processDynamicElements(MMenu menuModel, MenuManager menuManager, IEclipseContext evalContext,
+			Set<Object> evaluated) {
 		MMenuElement[] menuElements = menuModel.getChildren().toArray(
 				new MMenuElement[menuModel.getChildren().size()]);
 		for (MMenuElement currentMenuElement : menuElements) {
 
 			if (currentMenuElement instanceof MDynamicMenuContribution) {
 				MDynamicMenuContribution dmc = (MDynamicMenuContribution) currentMenuElement;
+				if (!isShown(menuManager, dmc, evalContext, evaluated)) {
+					if (Policy.DEBUG_MENUS) {
+						trace("Skipping hidden dynamic contribution " + dmc.getElementId(), menuManager, menuModel); //$NON-NLS-1$
+					}
+					continue;
+				}
 				Object contribution = dmc.getObject();
 				if (contribution == null) {
 					IEclipseContext context = modelService.getContainingContext(menuModel);
@@ -149,10 +174,20 @@ public class MenuManagerShowProcessor implements IMenuListener2 {
 				dynamicMenuContext.set(List.class, mel);
 				dynamicMenuContext.set(MDynamicMenuContribution.class, dmc);
 				IEclipseContext parentContext = modelService.getContainingContext(currentMenuElement);
+				long start = System.nanoTime();
 				Object rc = ContextInjectionFactory.invoke(contribution,
 						AboutToShow.class, parentContext, dynamicMenuContext,
 						this);
+				long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
 				dynamicMenuContext.dispose();
+				if (Policy.DEBUG_MENUS) {
+					trace("Computed " + mel.size() + " items of dynamic contribution " + dmc.getElementId() //$NON-NLS-1$ //$NON-NLS-2$
+							+ " in " + elapsed + " ms", menuManager, menuModel); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				if (elapsed > BUDGET && logger != null && dmc.getTransientData().put(SLOW_KEY, Boolean.TRUE) == null) {
+					logger.warn("Computing the items of dynamic menu contribution " + dmc.getElementId() + " (" //$NON-NLS-1$ //$NON-NLS-2$
+							+ contribution.getClass().getName() + ") took " + elapsed + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
 				if (rc == this) {
 					if (logger != null) {
 						logger.error("Missing @AboutToShow method in " + contribution); //$NON-NLS-1$
@@ -244,17 +279,39 @@ public class MenuManagerShowProcessor implements IMenuListener2 {
 				originalChild);
 	}
 
-	private void showMenu(final MMenu menuModel,
-			MenuManager menuManager) {
-
-		final IEclipseContext evalContext;
+	private IEclipseContext getEvalContext(MMenu menuModel) {
 		if (menuModel instanceof MContext) {
-			evalContext = ((MContext) menuModel).getContext();
-		} else {
-			evalContext = modelService.getContainingContext(menuModel);
+			return ((MContext) menuModel).getContext();
 		}
+		return modelService.getContainingContext(menuModel);
+	}
+
+	private void showMenu(final MMenu menuModel, MenuManager menuManager, IEclipseContext evalContext,
+			Set<Object> evaluated) {
 		MenuManagerRendererFilter.updateElementVisibility(menuModel, renderer,
-				menuManager, evalContext, 2, true);
+				menuManager, evalContext, 2, true, evaluated);
+	}
+
+	/**
+	 * Updates the visibility of the dynamic contribution itself, unless it was
+	 * updated already.
+	 *
+	 * @return whether the items of the contribution would be shown
+	 */
+	private boolean isShown(MenuManager menuManager, MDynamicMenuContribution dmc, IEclipseContext evalContext,
+			Set<Object> evaluated) {
+		if (!dmc.isToBeRendered()) {
+			return false;
+		}
+		ContributionRecord record = renderer.getContributionRecord(dmc);
+		if (record != null) {
+			if (evaluated.add(record)) {
+				record.updateVisibility(evalContext);
+			}
+		} else if (evaluated.add(dmc)) {
+			MenuManagerRenderer.updateVisibility(menuManager, dmc, new ExpressionContext(evalContext));
+		}
+		return dmc.isVisible();
 	}
 
 }
@@ -51,6 +51,7 @@ import org.eclipse.e4.ui.internal.workbench.swt.CSSRenderingUtils;
 import org.eclipse.e4.ui.internal.workbench.swt.Policy;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.commands.MCommand;
 import org.eclipse.e4.ui.model.application.ui.MElementContainer;
 import org.eclipse.e4.ui.model.application.ui.MUIElement;
 import org.eclipse.e4.ui.model.application.ui.SideValue;
@@ -301,16 +302,49 @@ public class ToolBarManagerRenderer extends SWTPartRenderer {
 	private void subscribeTopicUpdateToolbarEnablement(
 			@UIEventTopic(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC) Event eventData) {
 		final Object v = eventData != null ? eventData.getProperty(IEventBroker.DATA) : UIEvents.ALL_ELEMENT_ID;
-		Selector s;
 		if (v instanceof Selector) {
-			s = (Selector) v;
+			getUpdater().updateContributionItems((Selector) v);
 		} else if (v == null || UIEvents.ALL_ELEMENT_ID.equals(v)) {
-			s = ALL_SELECTOR;
+			getUpdater().updateContributionItems(ALL_SELECTOR);
+		} else if (v instanceof MCommand) {
+			getUpdater().updateContributionItemsForCommand(((MCommand) v).getElementId());
+		} else if (v instanceof String) {
+			getUpdater().updateContributionItemsForElement((String) v);
 		} else {
-			s = element -> v.equals(element.getElementId());
+			getUpdater().updateContributionItems(element -> v.equals(element.getElementId()));
 		}
+	}
+
+	@Inject
+	@Optional
+	private void subscribeTopicElementIdChanged(
+			@UIEventTopic(UIEvents.ApplicationElement.TOPIC_ELEMENTID) Event event) {
+		Object changedObj = event.getProperty(EventTags.ELEMENT);
+		if (changedObj instanceof MToolBarElement) {
+			reindexContribution((MToolBarElement) changedObj);
+		} else if (changedObj instanceof MCommand) {
+			// the items executing the command are indexed by its old id
+			Object oldId = event.getProperty(EventTags.OLD_VALUE);
+			if (oldId instanceof String) {
+				getUpdater().reindexCommand((String) oldId);
+			}
+		}
+	}
 
-		getUpdater().updateContributionItems(s);
+	@Inject
+	@Optional
+	private void subscribeTopicCommandChanged(@UIEventTopic(UIEvents.HandledItem.TOPIC_COMMAND) Event event) {
+		Object changedObj = event.getProperty(EventTags.ELEMENT);
+		if (changedObj instanceof MToolBarElement) {
+			reindexContribution((MToolBarElement) changedObj);
+		}
+	}
+
+	private void reindexContribution(MToolBarElement itemModel) {
+		IContributionItem ici = getContribution(itemModel);
+		if (ici instanceof AbstractContributionItem) {
+			getUpdater().reindex((AbstractContributionItem) ici);
+		}
 	}
 
 	@Inject
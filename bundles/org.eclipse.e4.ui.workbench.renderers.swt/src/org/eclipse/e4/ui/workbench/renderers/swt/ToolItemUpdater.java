@@ -15,20 +15,48 @@
 package org.eclipse.e4.ui.workbench.renderers.swt;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import org.eclipse.e4.ui.internal.workbench.swt.Policy;
+import org.eclipse.e4.ui.internal.workbench.swt.WorkbenchSWTActivator;
+import org.eclipse.e4.ui.model.application.commands.MCommand;
+import org.eclipse.e4.ui.model.application.ui.menu.MHandledItem;
+import org.eclipse.e4.ui.model.application.ui.menu.MItem;
 import org.eclipse.e4.ui.workbench.Selector;
 import org.eclipse.swt.widgets.Display;
 
+/**
+ * Updates the enablement of the tool items, delayed and batched.
+ * <p>
+ * The items are indexed by the element id of their model and by the id of the
+ * command they execute, so that an update request for an element or a command
+ * only evaluates the matching items. The renderer re-indexes an item when
+ * the element id or the command of its model changes, and the items of a
+ * command when its id changes. The item is only updated if its enablement
+ * actually changed.
+ * </p>
+ */
 public class ToolItemUpdater implements Runnable {
 
 	private static int DELAY = 100;
 	private long timestampOfEarliestQueuedUpdate = 0;
-	private List<AbstractContributionItem> itemsToCheck = new ArrayList<>();
+	/* registered items and the ids they are indexed with */
+	private final Map<AbstractContributionItem, String[]> itemsToCheck = new LinkedHashMap<>();
+	private final Map<String, Set<AbstractContributionItem>> itemsByElementId = new HashMap<>();
+	private final Map<String, Set<AbstractContributionItem>> itemsByCommandId = new HashMap<>();
 	private final List<AbstractContributionItem> orphanedToolItems = new ArrayList<>();
 	private final Set<AbstractContributionItem> itemsToUpdateLater = new LinkedHashSet<>();
 
+	private long evaluationCount;
+	private long enablementChangeCount;
+
 	public ToolItemUpdater() {
 		String delayProperty = System.getProperty("ToolItemUpdaterDelayInMs"); //$NON-NLS-1$
 		if (delayProperty != null) {
@@ -37,18 +65,138 @@ public class ToolItemUpdater implements Runnable {
 	}
 
 	void registerItem(AbstractContributionItem item) {
-		if (!itemsToCheck.contains(item)) {
-			itemsToCheck.add(item);
+		if (!itemsToCheck.containsKey(item)) {
+			MItem model = item.getModel();
+			String elementId = model == null ? null : model.getElementId();
+			String commandId = getCommandId(model);
+			itemsToCheck.put(item, new String[] { elementId, commandId });
+			addToIndex(itemsByElementId, elementId, item);
+			addToIndex(itemsByCommandId, commandId, item);
 		}
 	}
 
 	void removeItem(AbstractContributionItem item) {
-		itemsToCheck.remove(item);
+		String[] ids = itemsToCheck.remove(item);
+		if (ids != null) {
+			removeFromIndex(itemsByElementId, ids[0], item);
+			removeFromIndex(itemsByCommandId, ids[1], item);
+		}
+	}
+
+	/**
+	 * Indexes the given item by the ids its model has now. Called when the
+	 * element id or the command of the model changed after the item was
+	 * registered.
+	 *
+	 * @param item
+	 *            the item whose model changed
+	 */
+	void reindex(AbstractContributionItem item) {
+		String[] ids = itemsToCheck.get(item);
+		if (ids == null) {
+			return;
+		}
+		MItem model = item.getModel();
+		String elementId = model == null ? null : model.getElementId();
+		String commandId = getCommandId(model);
+		if (!Objects.equals(ids[0], elementId)) {
+			removeFromIndex(itemsByElementId, ids[0], item);
+			addToIndex(itemsByElementId, elementId, item);
+			ids[0] = elementId;
+		}
+		if (!Objects.equals(ids[1], commandId)) {
+			removeFromIndex(itemsByCommandId, ids[1], item);
+			addToIndex(itemsByCommandId, commandId, item);
+			ids[1] = commandId;
+		}
+	}
+
+	/**
+	 * Indexes the items executing a command by its new id. Called when the
+	 * id of the command changed.
+	 *
+	 * @param oldCommandId
+	 *            the id the command had before
+	 */
+	void reindexCommand(String oldCommandId) {
+		for (AbstractContributionItem item : getIndexed(itemsByCommandId, oldCommandId)) {
+			reindex(item);
+		}
+	}
+
+	private static String getCommandId(MItem model) {
+		if (model instanceof MHandledItem) {
+			MCommand command = ((MHandledItem) model).getCommand();
+			if (command != null) {
+				return command.getElementId();
+			}
+		}
+		return null;
+	}
+
+	private static void addToIndex(Map<String, Set<AbstractContributionItem>> index, String id,
+			AbstractContributionItem item) {
+		if (id != null) {
+			index.computeIfAbsent(id, k -> new LinkedHashSet<>()).add(item);
+		}
+	}
+
+	private static void removeFromIndex(Map<String, Set<AbstractContributionItem>> index, String id,
+			AbstractContributionItem item) {
+		if (id != null) {
+			Set<AbstractContributionItem> items = index.get(id);
+			if (items != null && items.remove(item) && items.isEmpty()) {
+				index.remove(id);
+			}
+		}
 	}
 
+	/**
+	 * Schedules an enablement update of the items whose model is selected.
+	 * All items are tested against the selector.
+	 *
+	 * @param selector
+	 *            selects the models of the items to update
+	 */
 	public void updateContributionItems(Selector selector) {
+		updateContributionItems(itemsToCheck.keySet(), selector);
+	}
+
+	/**
+	 * Schedules an enablement update of the items whose model has the given
+	 * element id.
+	 *
+	 * @param elementId
+	 *            the element id of the models of the items to update
+	 */
+	public void updateContributionItemsForElement(String elementId) {
+		updateContributionItems(getIndexed(itemsByElementId, elementId),
+				element -> elementId.equals(element.getElementId()));
+	}
+
+	/**
+	 * Schedules an enablement update of the items which execute the command
+	 * with the given id.
+	 *
+	 * @param commandId
+	 *            the id of the command
+	 */
+	public void updateContributionItemsForCommand(String commandId) {
+		updateContributionItems(getIndexed(itemsByCommandId, commandId),
+				element -> element instanceof MItem && commandId.equals(getCommandId((MItem) element)));
+	}
+
+	private static Collection<AbstractContributionItem> getIndexed(Map<String, Set<AbstractContributionItem>> index,
+			String id) {
+		Set<AbstractContributionItem> items = index.get(id);
+		// copied, since orphans are removed while iterating
+		return items == null ? Collections.emptyList() : new ArrayList<>(items);
+	}
+
+	private void updateContributionItems(Collection<AbstractContributionItem> items, Selector selector) {
 		boolean doRunNow = false;
-		for (final AbstractContributionItem ci : itemsToCheck) {
+		boolean schedule = false;
+		for (final AbstractContributionItem ci : items) {
 			if (ci.getModel() != null && ci.getModel().getParent() != null) {
 				if (selector.select(ci.getModel())) {
 					itemsToUpdateLater.add(ci);
@@ -62,7 +210,7 @@ public class ToolItemUpdater implements Runnable {
 						// never be executed.
 						doRunNow = true;
 					} else {
-						Display.getDefault().timerExec(DELAY, this);
+						schedule = true;
 					}
 				}
 			} else {
@@ -70,11 +218,15 @@ public class ToolItemUpdater implements Runnable {
 			}
 		}
 		if (!orphanedToolItems.isEmpty()) {
-			itemsToCheck.removeAll(orphanedToolItems);
+			for (AbstractContributionItem orphan : orphanedToolItems) {
+				removeItem(orphan);
+			}
 			orphanedToolItems.clear();
 		}
 		if (doRunNow) {
 			run();
+		} else if (schedule) {
+			Display.getDefault().timerExec(DELAY, this);
 		}
 	}
 
@@ -83,8 +235,35 @@ public class ToolItemUpdater implements Runnable {
 		timestampOfEarliestQueuedUpdate = 0;
 		AbstractContributionItem[] copy = itemsToUpdateLater.toArray(new AbstractContributionItem[] {});
 		itemsToUpdateLater.clear();
+		int changes = 0;
 		for (AbstractContributionItem it : copy) {
+			MItem model = it.getModel();
+			boolean wasEnabled = model != null && model.isEnabled();
 			it.updateItemEnablement();
+			if (model != null && model.isEnabled() != wasEnabled) {
+				changes++;
+			}
+		}
+		evaluationCount += copy.length;
+		enablementChangeCount += changes;
+		if (Policy.DEBUG_RENDERER && copy.length > 0) {
+			WorkbenchSWTActivator.trace(Policy.DEBUG_RENDERER_FLAG, "ToolItemUpdater: evaluated " + copy.length //$NON-NLS-1$
+					+ " of " + itemsToCheck.size() + " items, " + changes + " changed", null); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		}
 	}
+
+	/**
+	 * @return the number of enablement evaluations of tool items so far
+	 */
+	public long getEvaluationCount() {
+		return evaluationCount;
+	}
+
+	/**
+	 * @return the number of evaluations so far which changed the enablement of
+	 *         a tool item
+	 */
+	public long getEnablementChangeCount() {
+		return enablementChangeCount;
+	}
 }
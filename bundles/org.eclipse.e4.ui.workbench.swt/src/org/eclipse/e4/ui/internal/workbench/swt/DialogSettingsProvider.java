@@ -23,6 +23,7 @@ import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Optional;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IPath;
@@ -72,6 +73,23 @@ public final class DialogSettingsProvider implements IDialogSettingsProvider {
 	 */
 	private static final String KEY_DEFAULT_DIALOG_SETTINGS_ROOTURL = "default_dialog_settings_rootUrl"; //$NON-NLS-1$
 
+	/**
+	 * The name of the dialog settings file in the binary format (value
+	 * <code>"dialog_settings.bin"</code>). It is kept apart from
+	 * {@link #FN_DIALOG_SETTINGS}, so that anything else reading that file keeps
+	 * finding XML there.
+	 */
+	private static final String FN_DIALOG_SETTINGS_BINARY = "dialog_settings.bin"; //$NON-NLS-1$
+
+	/**
+	 * System property which, when <code>true</code>, makes the settings be saved
+	 * in the binary format of {@link DialogSettings#saveBinary(String)}, to
+	 * {@link #FN_DIALOG_SETTINGS_BINARY}. Saving in either format deletes the
+	 * file of the other one, and the newer file is loaded, so switching the
+	 * property on or off migrates the settings the next time they are saved.
+	 */
+	private static final String PROP_BINARY_DIALOG_SETTINGS = "org.eclipse.ui.binaryDialogSettings"; //$NON-NLS-1$
+
 	private Bundle fBundle;
 
 	private IDialogSettings fDialogSettings;
@@ -171,8 +189,13 @@ public final class DialogSettingsProvider implements IDialogSettingsProvider {
 			return Optional.empty();
 		}
 		// try r/w state area in the local file system
-		String readWritePath = dataLocation.append(FN_DIALOG_SETTINGS).toOSString();
-		File settingsFile = new File(readWritePath);
+		File settingsFile = dataLocation.append(FN_DIALOG_SETTINGS).toFile();
+		File binaryFile = dataLocation.append(FN_DIALOG_SETTINGS_BINARY).toFile();
+		if (binaryFile.exists() && binaryFile.lastModified() >= settingsFile.lastModified()) {
+			// saving deletes the other file, should that have failed load the newer
+			settingsFile = binaryFile;
+		}
+		String readWritePath = settingsFile.getPath();
 		if (settingsFile.exists()) {
 			try {
 				IDialogSettings dialogSettings = createEmptySettings();
@@ -252,8 +275,15 @@ public final class DialogSettingsProvider implements IDialogSettingsProvider {
 			if (path == null) {
 				return;
 			}
-			String readWritePath = path.append(FN_DIALOG_SETTINGS).toOSString();
-			dialogSettings.save(readWritePath);
+			File settingsFile = path.append(FN_DIALOG_SETTINGS).toFile();
+			File binaryFile = path.append(FN_DIALOG_SETTINGS_BINARY).toFile();
+			if (dialogSettings instanceof DialogSettings && Boolean.getBoolean(PROP_BINARY_DIALOG_SETTINGS)) {
+				((DialogSettings) dialogSettings).saveBinary(binaryFile.getPath());
+				Files.deleteIfExists(settingsFile.toPath());
+			} else {
+				dialogSettings.save(settingsFile.getPath());
+				Files.deleteIfExists(binaryFile.toPath());
+			}
 		} catch (IOException | IllegalStateException e) {
 			Platform.getLog(bundle).log(new Status(IStatus.ERROR, bundle.getSymbolicName(),
 					"No state location. Failed to save dialog settings for bundle: " + bundle.getBundleId(), e)); //$NON-NLS-1$
@@ -62,6 +62,7 @@ public class Activator implements BundleActivator, DebugOptionsListener {
 
 	private ServiceTracker<DebugOptions, DebugOptions> debugTracker;
 	private ServiceTracker<LogService, LogService> logTracker;
+	private EventTopicSubscriptions eventTopicSubscriptions;
 
 	/** Tracks all bundles which are in the state: RESOLVED, STARTING, ACTIVE or STOPPING. */
 	private BundleTracker<List<Bundle>> resolvedBundles;
@@ -125,6 +126,12 @@ public class Activator implements BundleActivator, DebugOptionsListener {
 			logTracker.close();
 			logTracker = null;
 		}
+		synchronized (this) {
+			if (eventTopicSubscriptions != null) {
+				eventTopicSubscriptions.close();
+				eventTopicSubscriptions = null;
+			}
+		}
 		if (resolvedBundles != null) {
 			// the close of the BundleTracker will also remove all entries form the BundleFinder
 			resolvedBundles.close();
@@ -154,6 +161,19 @@ public class Activator implements BundleActivator, DebugOptionsListener {
 		activator.getTrace().trace(option, msg, error);
 	}
 
+	/**
+	 * @return the topics of the registered event handlers, or <code>null</code>
+	 *         if the bundle is not active
+	 */
+	synchronized EventTopicSubscriptions getEventTopicSubscriptions() {
+		if (eventTopicSubscriptions == null && context != null) {
+			eventTopicSubscriptions = new EventTopicSubscriptions(context);
+			// handlers may be wired to another version of the event package
+			eventTopicSubscriptions.open(true);
+		}
+		return eventTopicSubscriptions;
+	}
+
 	public LogService getLogService() {
 		LogService logService = null;
 		if (logTracker != null) {
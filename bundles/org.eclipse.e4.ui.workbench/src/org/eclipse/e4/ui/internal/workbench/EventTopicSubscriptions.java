@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+import org.osgi.util.tracker.ServiceTracker;
+
+/**
+ * Tracks the topics of all registered {@link EventHandler} services, so that
+ * events which no handler would receive need not be formatted and sent.
+ * <p>
+ * Only the topics are taken into account; an event filter of a handler is
+ * ignored, so the answer errs on the side of sending an event.
+ * </p>
+ */
+final class EventTopicSubscriptions extends ServiceTracker<EventHandler, EventTopicSubscriptions.Subscription> {
+
+	static final class Subscription {
+		String[] topics;
+
+		Subscription(String[] topics) {
+			this.topics = topics;
+		}
+	}
+
+	private static final String WILDCARD = "*"; //$NON-NLS-1$
+
+	// all guarded by this
+	private final Map<String, Integer> topicCounts = new HashMap<>();
+
+	private final Map<String, Boolean> answers = new HashMap<>();
+
+	/**
+	 * @param context
+	 *            the context in which the handlers are looked up
+	 */
+	EventTopicSubscriptions(BundleContext context) {
+		super(context, EventHandler.class, null);
+	}
+
+	/**
+	 * Tests whether some handler is registered for the given topic.
+	 *
+	 * @param topic
+	 *            the topic of an event, without wildcards
+	 * @return <code>true</code> if an event with the topic may be delivered to
+	 *         a handler
+	 */
+	synchronized boolean hasSubscriber(String topic) {
+		Boolean answer = answers.get(topic);
+		if (answer == null) {
+			answer = Boolean.valueOf(computeHasSubscriber(topic));
+			answers.put(topic, answer);
+		}
+		return answer.booleanValue();
+	}
+
+	private boolean computeHasSubscriber(String topic) {
+		if (topicCounts.containsKey(topic) || topicCounts.containsKey(WILDCARD)) {
+			return true;
+		}
+		// "a/b/*" subscribes to all topics below "a/b"
+		for (int i = topic.lastIndexOf('/'); i > 0; i = topic.lastIndexOf('/', i - 1)) {
+			if (topicCounts.containsKey(topic.substring(0, i + 1) + WILDCARD)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Subscription addingService(ServiceReference<EventHandler> reference) {
+		Subscription subscription = new Subscription(getTopics(reference));
+		update(subscription.topics, 1);
+		return subscription;
+	}
+
+	@Override
+	public void modifiedService(ServiceReference<EventHandler> reference, Subscription subscription) {
+		String[] topics = getTopics(reference);
+		update(subscription.topics, -1);
+		update(topics, 1);
+		subscription.topics = topics;
+	}
+
+	@Override
+	public void removedService(ServiceReference<EventHandler> reference, Subscription subscription) {
+		update(subscription.topics, -1);
+	}
+
+	private synchronized void update(String[] topics, int delta) {
+		for (String topic : topics) {
+			Integer count = topicCounts.get(topic);
+			int newCount = (count == null ? 0 : count.intValue()) + delta;
+			if (newCount > 0) {
+				topicCounts.put(topic, Integer.valueOf(newCount));
+			} else {
+				topicCounts.remove(topic);
+			}
+		}
+		answers.clear();
+	}
+
+	private static String[] getTopics(ServiceReference<EventHandler> reference) {
+		Object property = reference.getProperty(EventConstants.EVENT_TOPIC);
+		if (property instanceof String) {
+			return new String[] { (String) property };
+		}
+		if (property instanceof String[]) {
+			return ((String[]) property).clone();
+		}
+		if (property instanceof Collection<?>) {
+			return ((Collection<?>) property).stream().filter(String.class::isInstance).toArray(String[]::new);
+		}
+		return new String[0];
+	}
+}
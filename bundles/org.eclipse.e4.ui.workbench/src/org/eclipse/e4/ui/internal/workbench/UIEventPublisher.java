@@ -14,11 +14,18 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.internal.workbench;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.di.UISynchronize;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.impl.StringToObjectMapImpl;
 import org.eclipse.e4.ui.model.application.impl.StringToStringMapImpl;
@@ -27,17 +34,39 @@ import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
 import org.eclipse.e4.ui.workbench.UIEvents.EventTypes;
 import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.util.EContentAdapter;
 
 /**
  * Transforms E4 MPart events into 3.x legacy events.
+ * <p>
+ * Events are only formatted and sent for topics some event handler is
+ * subscribed to. In coalescing mode, repeated changes of the same attribute
+ * of an element are merged into one event, which is sent at the end of the
+ * current UI thread turn or before any other model event.
+ * </p>
  */
 public class UIEventPublisher extends EContentAdapter {
 
+	/**
+	 * System property enabling the coalescing mode for all publishers.
+	 */
+	public static final String COALESCE_EVENTS_PROPERTY = "org.eclipse.e4.ui.workbench.coalesceModelEvents"; //$NON-NLS-1$
+
 	private IEclipseContext context;
 
+	/* topics of the model features, indexed by notification event type */
+	private final Map<EStructuralFeature, String[]> featureTopics = new ConcurrentHashMap<>();
+
+	private boolean coalescing = Boolean.getBoolean(COALESCE_EVENTS_PROPERTY);
+
+	/* coalesced events not sent yet, guarded by itself */
+	private final Map<PendingKey, PendingEvent> pendingEvents = new LinkedHashMap<>();
+
+	private boolean flushScheduled;
+
 	/**
 	 * @param e4Context
 	 */
@@ -45,6 +74,21 @@ public class UIEventPublisher extends EContentAdapter {
 		this.context = e4Context;
 	}
 
+	/**
+	 * Enables or disables the coalescing of attribute changes. Events which
+	 * are pending when coalescing is disabled are sent immediately.
+	 *
+	 * @param coalescing
+	 *            <code>true</code> to merge repeated changes of an attribute
+	 *            within one UI thread turn
+	 */
+	public void setCoalescing(boolean coalescing) {
+		this.coalescing = coalescing;
+		if (!coalescing) {
+			flushPendingEvents();
+		}
+	}
+
 	@Override
 	public void notifyChanged(Notification notification) {
 		super.notifyChanged(notification);
@@ -53,15 +97,163 @@ public class UIEventPublisher extends EContentAdapter {
 		if (notification.isTouch())
 			return;
 
+		// Nobody would receive the event, so do not bother formatting it
+		String topic = getTopic(notification);
+		if (topic == null || !hasSubscriber(topic)) {
+			return;
+		}
+
 		// Format the EMF event as an E4 UIEvent
-		Map<String, Object> argMap = new HashMap<>();
+		Map<String, Object> argMap = new HashMap<>(16);
 
-		String topic = formatData(notification, argMap);
+		topic = formatData(notification, argMap);
 
 		if (topic != null) {
-			IEventBroker eventManager = context.get(IEventBroker.class);
-			eventManager.send(topic, argMap);
+			if (coalescing) {
+				if (isCoalescable(notification) && coalesce(topic, argMap)) {
+					return;
+				}
+				// keep the order of the events
+				flushPendingEvents();
+			}
+			send(topic, argMap);
+		}
+	}
+
+	private boolean hasSubscriber(String topic) {
+		Activator activator = Activator.getDefault();
+		EventTopicSubscriptions subscriptions = activator == null ? null : activator.getEventTopicSubscriptions();
+		// Without the service registry we cannot tell, so send everything
+		return subscriptions == null || subscriptions.hasSubscriber(topic);
+	}
+
+	private void send(String topic, Map<String, Object> argMap) {
+		IEventBroker eventManager = context.get(IEventBroker.class);
+		eventManager.send(topic, Collections.unmodifiableMap(argMap));
+	}
+
+	private static boolean isCoalescable(Notification notification) {
+		return notification.getEventType() == Notification.SET
+				&& notification.getNotifier() instanceof MApplicationElement
+				&& notification.getFeature() instanceof EAttribute;
+	}
+
+	/**
+	 * Merges the event into a pending event for the same attribute of the same
+	 * element, or adds it as a pending event.
+	 *
+	 * @return <code>false</code> if the event cannot be delayed and has to be
+	 *         sent now
+	 */
+	private boolean coalesce(String topic, Map<String, Object> argMap) {
+		UISynchronize uiSync = context.get(UISynchronize.class);
+		if (uiSync == null) {
+			return false;
+		}
+		PendingKey key = new PendingKey(argMap.get(EventTags.ELEMENT), topic);
+		boolean schedule;
+		synchronized (pendingEvents) {
+			PendingEvent pending = pendingEvents.get(key);
+			if (pending == null) {
+				pendingEvents.put(key, new PendingEvent(topic, argMap));
+			} else {
+				// keep the value before the first change
+				Object oldValue = pending.argMap.get(EventTags.OLD_VALUE);
+				pending.argMap = argMap;
+				if (oldValue == null) {
+					argMap.remove(EventTags.OLD_VALUE);
+				} else {
+					argMap.put(EventTags.OLD_VALUE, oldValue);
+				}
+			}
+			schedule = !flushScheduled;
+			flushScheduled = true;
+		}
+		if (schedule) {
+			uiSync.asyncExec(this::flushPendingEvents);
+		}
+		return true;
+	}
+
+	private void flushPendingEvents() {
+		List<PendingEvent> events;
+		synchronized (pendingEvents) {
+			flushScheduled = false;
+			if (pendingEvents.isEmpty()) {
+				return;
+			}
+			events = new ArrayList<>(pendingEvents.values());
+			pendingEvents.clear();
+		}
+		for (PendingEvent event : events) {
+			// changes which were undone within the turn are not reported
+			if (!Objects.equals(event.argMap.get(EventTags.OLD_VALUE), event.argMap.get(EventTags.NEW_VALUE))) {
+				send(event.topic, event.argMap);
+			}
+		}
+	}
+
+	private static final class PendingKey {
+		private final Object element;
+
+		private final String topic;
+
+		PendingKey(Object element, String topic) {
+			this.element = element;
+			this.topic = topic;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(element) + topic.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof PendingKey)) {
+				return false;
+			}
+			PendingKey other = (PendingKey) obj;
+			return element == other.element && topic.equals(other.topic);
+		}
+	}
+
+	private static final class PendingEvent {
+		private final String topic;
+
+		private Map<String, Object> argMap;
+
+		PendingEvent(String topic, Map<String, Object> argMap) {
+			this.topic = topic;
+			this.argMap = argMap;
+		}
+	}
+
+	/**
+	 * Answers the topic {@link #formatData(Notification, Map)} would answer,
+	 * without formatting the event.
+	 */
+	private String getTopic(Notification notification) {
+		Object notifier = notification.getNotifier();
+		if (notifier instanceof MApplicationElement) {
+			EStructuralFeature feature = (EStructuralFeature) notification.getFeature();
+			int eventType = notification.getEventType();
+			if (eventType < 0 || eventType >= Notification.EVENT_TYPE_COUNT) {
+				return getTopic(feature, getEventType(notification));
+			}
+			String[] topics = featureTopics.computeIfAbsent(feature, f -> new String[Notification.EVENT_TYPE_COUNT]);
+			String topic = topics[eventType];
+			if (topic == null) {
+				topic = getTopic(feature, getEventType(notification));
+				topics[eventType] = topic;
+			}
+			return topic;
+		} else if (notifier instanceof StringToObjectMapImpl) {
+			return getTopic(UIEvents.ApplicationElement.TRANSIENTDATA, getEventType(notification));
+		} else if (notifier instanceof StringToStringMapImpl) {
+			return getTopic(UIEvents.ApplicationElement.PERSISTEDSTATE, getEventType(notification));
 		}
+		return null;
 	}
 
 	/**
@@ -118,7 +310,7 @@ public class UIEventPublisher extends EContentAdapter {
 			appElement = (MApplicationElement) notifier;
 			feature = (EStructuralFeature) notification.getFeature();
 			attributeName = feature.getName();
-			topic = getTopic(feature, getEventType(notification));
+			topic = getTopic(notification);
 			switch (notification.getEventType()) {
 			case Notification.MOVE:
 				// for MOVE, oldValue is actually the source position
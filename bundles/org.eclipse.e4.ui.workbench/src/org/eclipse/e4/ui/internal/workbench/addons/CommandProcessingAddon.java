@@ -16,7 +16,9 @@
 package org.eclipse.e4.ui.internal.workbench.addons;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -111,8 +113,10 @@ public class CommandProcessingAddon {
 		}
 		undefinedCategory = commandService.defineCategory(MApplication.class.getName(),
 				"Application Category", null); //$NON-NLS-1$
-		createCategories();
-		createCommands();
+		commandManager.runBatch(() -> {
+			createCategories();
+			createCommands();
+		});
 		registerModelListeners();
 		registerCommandListener();
 	}
@@ -148,36 +152,58 @@ public class CommandProcessingAddon {
 
 	private void registerCommandListener() {
 		cmListener = new ICommandManagerListener() {
-			@SuppressWarnings("restriction")
 			@Override
 			public void commandManagerChanged(CommandManagerEvent commandManagerEvent) {
-				if (commandManagerEvent.isCommandChanged()) {
-					if (commandManagerEvent.isCommandDefined()) {
-						final String commandId = commandManagerEvent.getCommandId();
-						if (findCommand(commandId) != null) {
-							return;
-						}
-						final Command command = commandManagerEvent.getCommandManager().getCommand(
-								commandId);
-						if (command.getHandler() == null) {
-							command.setHandler(HandlerServiceImpl.getHandler(commandId));
+				commandManagerChanged(new CommandManagerEvent[] { commandManagerEvent });
+			}
+
+			@Override
+			public void commandManagerChanged(CommandManagerEvent[] commandManagerEvents) {
+				// look up the model of each command once rather than per event
+				Map<String, MCommand> commandsById = null;
+				List<MCommand> createdCommands = new ArrayList<>();
+				for (CommandManagerEvent commandManagerEvent : commandManagerEvents) {
+					if (commandManagerEvent.isCommandChanged() && commandManagerEvent.isCommandDefined()) {
+						if (commandsById == null) {
+							commandsById = new HashMap<>();
+							for (MCommand cmd : application.getCommands()) {
+								commandsById.putIfAbsent(cmd.getElementId(), cmd);
+							}
 						}
-						try {
-							MCategory categoryModel = findCategory(command.getCategory().getId());
-							final MCommand createdCommand = createCommand(command, modelService,
-									categoryModel);
-							application.getCommands().add(createdCommand);
-						} catch (NotDefinedException e) {
-							Activator.getDefault().getLogService()
-									.log(0, "Failed to create command " + commandId, e); //$NON-NLS-1$
+						MCommand createdCommand = createCommand(commandManagerEvent, commandsById);
+						if (createdCommand != null) {
+							commandsById.put(createdCommand.getElementId(), createdCommand);
+							createdCommands.add(createdCommand);
 						}
 					}
 				}
+				if (!createdCommands.isEmpty()) {
+					application.getCommands().addAll(createdCommands);
+				}
 			}
 		};
 		commandManager.addCommandManagerListener(cmListener);
 	}
 
+	@SuppressWarnings("restriction")
+	private MCommand createCommand(CommandManagerEvent commandManagerEvent, Map<String, MCommand> commandsById) {
+		final String commandId = commandManagerEvent.getCommandId();
+		if (commandsById.containsKey(commandId)) {
+			return null;
+		}
+		final Command command = commandManagerEvent.getCommandManager().getCommand(commandId);
+		if (command.getHandler() == null) {
+			command.setHandler(HandlerServiceImpl.getHandler(commandId));
+		}
+		try {
+			MCategory categoryModel = findCategory(command.getCategory().getId());
+			return createCommand(command, modelService, categoryModel);
+		} catch (NotDefinedException e) {
+			Activator.getDefault().getLogService().log(0, "Failed to create command " + commandId, e); //$NON-NLS-1$
+		}
+		return null;
+	}
+
 	private void unregisterCommandListener() {
 		commandManager.removeCommandManagerListener(cmListener);
 	}
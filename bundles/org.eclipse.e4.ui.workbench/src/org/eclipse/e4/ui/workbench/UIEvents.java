@@ -22,6 +22,7 @@ import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.commands.MCommand;
 import org.eclipse.e4.ui.model.application.ui.MUIElement;
 import org.eclipse.e4.ui.model.internal.ModelUtils;
 import org.osgi.service.event.Event;
@@ -79,6 +80,8 @@ public class UIEvents {
 	 * applicable elements (the default)</li>
 	 * <li>the {@link MApplicationElement#getElementId()} of the element to
 	 * check</li>
+	 * <li>an {@link MCommand}, to check the elements executing that command
+	 * (since 1.14)</li>
 	 * <li>instance of {@link Selector}</li>
 	 * </ul>
 	 *
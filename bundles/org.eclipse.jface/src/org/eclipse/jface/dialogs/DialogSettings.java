@@ -19,7 +19,8 @@ package org.eclipse.jface.dialogs;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.FileInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -27,13 +28,21 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.zip.CRC32;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -70,6 +79,12 @@ import org.xml.sax.SAXException;
  * settings.save("c:\\temp\\test\\dialog.xml");
  * </code>
  * </pre>
+ * <p>
+ * Instead of XML, the settings can also be saved in a compact binary format
+ * with <code>saveBinary(String)</code>. <code>load(String)</code> reads
+ * either format. The sections of a binary file are only decoded when they are
+ * first accessed.
+ * </p>
  * @noextend This class is not intended to be subclassed by clients.
  */
 
@@ -100,6 +115,19 @@ public class DialogSettings implements IDialogSettings {
 
 	private static final String TAG_ITEM = "item";//$NON-NLS-1$
 
+	/* The first bytes of a binary file, which cannot start an XML document. */
+	private static final byte[] BINARY_MAGIC = { 0, 'J', 'D', 'S' };
+
+	private static final int BINARY_VERSION = 1;
+
+	/* magic, version and checksum of the rest */
+	private static final int BINARY_HEADER_LENGTH = 12;
+
+	/* The encoded contents of a section loaded from a binary file, or null
+	 once they are decoded into the maps above. Cleared only after the maps
+	 are filled, so that concurrent readers wait for the decoding. */
+	private volatile ByteBuffer encoded;
+
 	/**
 	 * Create an empty dialog settings which loads and saves its
 	 * content to a file.
@@ -124,6 +152,7 @@ public class DialogSettings implements IDialogSettings {
 
 	@Override
 	public void addSection(IDialogSettings section) {
+		decode();
 		sections.put(section.getName(), section);
 	}
 
@@ -136,6 +165,7 @@ public class DialogSettings implements IDialogSettings {
 	 * @since 3.9
 	 */
 	public void removeSection(IDialogSettings section) {
+		decode();
 		if (sections.get(section.getName()) == section) {
 			sections.remove(section.getName());
 		}
@@ -151,27 +181,30 @@ public class DialogSettings implements IDialogSettings {
 	 * @since 3.9
 	 */
 	public IDialogSettings removeSection(String sectionName) {
+		decode();
 		return sections.remove(sectionName);
 	}
 
 	@Override
 	public String get(String key) {
+		decode();
 		return items.get(key);
 	}
 
 	@Override
 	public String[] getArray(String key) {
+		decode();
 		return arrayItems.get(key);
 	}
 
 	@Override
 	public boolean getBoolean(String key) {
-		return Boolean.parseBoolean(items.get(key));
+		return Boolean.parseBoolean(get(key));
 	}
 
 	@Override
 	public double getDouble(String key) throws NumberFormatException {
-		String setting = items.get(key);
+		String setting = get(key);
 		if (setting == null) {
 			throw new NumberFormatException(
 					"There is no setting associated with the key \"" + key + "\"");//$NON-NLS-1$ //$NON-NLS-2$
@@ -182,7 +215,7 @@ public class DialogSettings implements IDialogSettings {
 
 	@Override
 	public float getFloat(String key) throws NumberFormatException {
-		String setting = items.get(key);
+		String setting = get(key);
 		if (setting == null) {
 			throw new NumberFormatException(
 					"There is no setting associated with the key \"" + key + "\"");//$NON-NLS-1$ //$NON-NLS-2$
@@ -193,7 +226,7 @@ public class DialogSettings implements IDialogSettings {
 
 	@Override
 	public int getInt(String key) throws NumberFormatException {
-		String setting = items.get(key);
+		String setting = get(key);
 		if (setting == null) {
 			// Integer.valueOf(null) will throw a NumberFormatException and
 			// meet our spec, but this message is clearer.
@@ -206,7 +239,7 @@ public class DialogSettings implements IDialogSettings {
 
 	@Override
 	public long getLong(String key) throws NumberFormatException {
-		String setting = items.get(key);
+		String setting = get(key);
 		if (setting == null) {
 			//new Long(null) will throw a NumberFormatException and meet our spec, but this message
 			//is clearer.
@@ -245,11 +278,13 @@ public class DialogSettings implements IDialogSettings {
 
 	@Override
 	public IDialogSettings getSection(String sectionName) {
+		decode();
 		return sections.get(sectionName);
 	}
 
 	@Override
 	public IDialogSettings[] getSections() {
+		decode();
 		Collection<IDialogSettings> values = sections.values();
 		DialogSettings[] result = new DialogSettings[values.size()];
 		values.toArray(result);
@@ -277,16 +312,131 @@ public class DialogSettings implements IDialogSettings {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The file may have been saved with <code>save(String)</code> or with
+	 * <code>saveBinary(String)</code>.
+	 * </p>
+	 *
+	 * @throws IOException
+	 *             also if a binary file is damaged or of a newer version
+	 */
 	@Override
 	public void load(String fileName) throws IOException {
-		FileInputStream stream = new FileInputStream(fileName);
+		byte[] bytes = Files.readAllBytes(Paths.get(fileName));
+		if (isBinary(bytes)) {
+			loadBinary(bytes);
+			return;
+		}
 		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
-				stream, StandardCharsets.UTF_8))) {
+				new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
 			load(reader);
 		}
 	}
 
+	private static boolean isBinary(byte[] bytes) {
+		if (bytes.length < BINARY_MAGIC.length) {
+			return false;
+		}
+		for (int i = 0; i < BINARY_MAGIC.length; i++) {
+			if (bytes[i] != BINARY_MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void loadBinary(byte[] bytes) throws IOException {
+		ByteBuffer in = ByteBuffer.wrap(bytes);
+		in.position(BINARY_MAGIC.length);
+		if (bytes.length < BINARY_HEADER_LENGTH || in.getInt() != BINARY_VERSION) {
+			throw new IOException("Unsupported dialog settings format"); //$NON-NLS-1$
+		}
+		int checksum = in.getInt();
+		CRC32 crc = new CRC32();
+		crc.update(bytes, BINARY_HEADER_LENGTH, bytes.length - BINARY_HEADER_LENGTH);
+		if ((int) crc.getValue() != checksum) {
+			throw new IOException("Damaged dialog settings file"); //$NON-NLS-1$
+		}
+		decode();
+		try {
+			name = readString(in);
+			decode(slice(in, in.getInt()), items, arrayItems, sections);
+		} catch (RuntimeException e) {
+			throw new IOException("Damaged dialog settings file", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Decodes the contents of this section if it was loaded from a binary file
+	 * and not accessed since. The contents are decoded completely before they
+	 * are added to the maps, and the maps are filled under the lock before the
+	 * encoded contents are cleared, so that concurrent readers see either the
+	 * encoded contents or the filled maps.
+	 */
+	private void decode() {
+		if (encoded == null) {
+			return;
+		}
+		synchronized (this) {
+			ByteBuffer in = encoded;
+			if (in == null) {
+				return;
+			}
+			Map<String, String> decodedItems = new LinkedHashMap<>();
+			Map<String, String[]> decodedArrayItems = new LinkedHashMap<>();
+			Map<String, IDialogSettings> decodedSections = new LinkedHashMap<>();
+			// left untouched for a retry or a verbatim save if this fails
+			decode(in.duplicate(), decodedItems, decodedArrayItems, decodedSections);
+			items.putAll(decodedItems);
+			arrayItems.putAll(decodedArrayItems);
+			sections.putAll(decodedSections);
+			encoded = null;
+		}
+	}
+
+	private static void decode(ByteBuffer in, Map<String, String> decodedItems,
+			Map<String, String[]> decodedArrayItems, Map<String, IDialogSettings> decodedSections) {
+		for (int i = in.getInt(); i > 0; i--) {
+			String key = readString(in);
+			decodedItems.put(key, readString(in));
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			String key = readString(in);
+			String[] value = new String[in.getInt()];
+			for (int j = 0; j < value.length; j++) {
+				value[j] = readString(in);
+			}
+			decodedArrayItems.put(key, value);
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			DialogSettings section = new DialogSettings(readString(in));
+			// the contents of the section are decoded on first access
+			section.encoded = slice(in, in.getInt());
+			decodedSections.put(section.getName(), section);
+		}
+	}
+
+	private static ByteBuffer slice(ByteBuffer in, int length) {
+		ByteBuffer slice = in.slice();
+		slice.limit(length);
+		in.position(in.position() + length);
+		return slice;
+	}
+
+	private static String readString(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		String string = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+		in.position(in.position() + length);
+		return string;
+	}
+
 	private void load(Document document, Element root) {
+		decode();
 		name = root.getAttribute(TAG_NAME);
 		NodeList l = root.getElementsByTagName(TAG_ITEM);
 		for (int i = 0; i < l.getLength(); i++) {
@@ -329,6 +479,7 @@ public class DialogSettings implements IDialogSettings {
 
 	@Override
 	public void put(String key, String[] value) {
+		decode();
 		if (value == null) {
 			arrayItems.remove(key);
 		} else {
@@ -358,6 +509,7 @@ public class DialogSettings implements IDialogSettings {
 
 	@Override
 	public void put(String key, String value) {
+		decode();
 		if (value == null) {
 			items.remove(key);
 		} else {
@@ -385,7 +537,79 @@ public class DialogSettings implements IDialogSettings {
 		}
 	}
 
+	/**
+	 * Saves the dialog settings in a compact binary format to the given file.
+	 * The file is written under a temporary name and then renamed, so that it
+	 * is never left half written. Sections which were loaded from a binary
+	 * file and not accessed since are copied without decoding them.
+	 * <p>
+	 * Binary files can be loaded with <code>load(String)</code>, but not with
+	 * <code>load(Reader)</code>.
+	 * </p>
+	 *
+	 * @param fileName
+	 *            the name of the file to save to
+	 * @throws IOException
+	 *             if the file could not be written
+	 * @since 3.28
+	 */
+	public void saveBinary(String fileName) throws IOException {
+		BinaryWriter out = new BinaryWriter();
+		out.writeBytes(BINARY_MAGIC);
+		out.writeInt(BINARY_VERSION);
+		int checksumPosition = out.reserveInt();
+		save(out);
+		out.patchInt(checksumPosition, out.checksum(BINARY_HEADER_LENGTH));
+
+		Path target = Paths.get(fileName).toAbsolutePath();
+		Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+		try {
+			try (FileOutputStream stream = new FileOutputStream(temp.toFile())) {
+				out.writeTo(stream);
+				stream.getFD().sync();
+			}
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private void save(BinaryWriter out) {
+		out.writeString(name);
+		int lengthPosition = out.reserveInt();
+		int start = out.size();
+		ByteBuffer in = encoded;
+		if (in != null) {
+			out.write(in);
+		} else {
+			out.writeInt(items.size());
+			for (Entry<String, String> entry : items.entrySet()) {
+				out.writeString(entry.getKey());
+				out.writeString(entry.getValue());
+			}
+			out.writeInt(arrayItems.size());
+			for (Entry<String, String[]> entry : arrayItems.entrySet()) {
+				out.writeString(entry.getKey());
+				String[] value = entry.getValue();
+				out.writeInt(value.length);
+				for (String string : value) {
+					out.writeString(string);
+				}
+			}
+			out.writeInt(sections.size());
+			for (IDialogSettings section : sections.values()) {
+				((DialogSettings) section).save(out);
+			}
+		}
+		out.patchInt(lengthPosition, out.size() - start);
+	}
+
 	private void save(XMLWriter out) throws IOException {
+		decode();
 		Map<String, String> attributes = new LinkedHashMap<>(2);
 		attributes.put(TAG_NAME, name == null ? "" : name); //$NON-NLS-1$
 		out.startTag(TAG_SECTION, attributes);
@@ -574,4 +798,73 @@ public class DialogSettings implements IDialogSettings {
 		}
 	}
 
+	/**
+	 * Collects a binary file in memory. Every section is preceded by the
+	 * length of its contents, which is filled in once they are written, so
+	 * that a reader can skip over the sections it does not need yet.
+	 */
+	private static class BinaryWriter extends ByteArrayOutputStream {
+
+		BinaryWriter() {
+			super(4096);
+		}
+
+		void writeInt(int value) {
+			write(value >>> 24);
+			write(value >>> 16);
+			write(value >>> 8);
+			write(value);
+		}
+
+		/**
+		 * Writes a string as its length in UTF-8 bytes followed by the bytes, or
+		 * -1 for <code>null</code>.
+		 */
+		void writeString(String string) {
+			if (string == null) {
+				writeInt(-1);
+				return;
+			}
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			writeInt(bytes.length);
+			write(bytes, 0, bytes.length);
+		}
+
+		void write(ByteBuffer buffer) {
+			ByteBuffer source = buffer.duplicate();
+			int length = source.remaining();
+			ensureCapacity(count + length);
+			source.get(buf, count, length);
+			count += length;
+		}
+
+		/**
+		 * @return the position of an integer to be filled in later
+		 */
+		int reserveInt() {
+			int position = count;
+			writeInt(0);
+			return position;
+		}
+
+		void patchInt(int position, int value) {
+			buf[position] = (byte) (value >>> 24);
+			buf[position + 1] = (byte) (value >>> 16);
+			buf[position + 2] = (byte) (value >>> 8);
+			buf[position + 3] = (byte) value;
+		}
+
+		int checksum(int start) {
+			CRC32 crc = new CRC32();
+			crc.update(buf, start, count - start);
+			return (int) crc.getValue();
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > buf.length) {
+				buf = Arrays.copyOf(buf, Math.max(capacity, buf.length << 1));
+			}
+		}
+	}
+
 }
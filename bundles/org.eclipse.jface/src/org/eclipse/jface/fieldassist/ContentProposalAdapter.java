@@ -15,13 +15,22 @@
 package org.eclipse.jface.fieldassist;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.bindings.keys.KeyStroke;
 import org.eclipse.jface.dialogs.PopupDialog;
+import org.eclipse.jface.internal.DaemonThreadPool;
 import org.eclipse.jface.preference.JFacePreferences;
 import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.util.Policy;
 import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.FocusAdapter;
@@ -36,6 +45,7 @@ import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.ScrollBar;
@@ -57,6 +67,11 @@ import org.eclipse.swt.widgets.Text;
  * <p>
  * This class provides some overridable methods to allow clients to manually
  * control the popup. However, most of the implementation remains private.
+ * <p>
+ * If the proposal provider is an {@link IAsyncContentProposalProvider}, the
+ * proposals are computed on a background thread shared by all adapters, and
+ * the popup opens with the first proposals reported and is filled as more
+ * arrive. A newer request for proposals cancels the one in progress.
  *
  * @since 3.2
  */
@@ -743,6 +758,26 @@ public class ContentProposalAdapter {
 			}
 		}
 
+		/*
+		 * Appends the specified proposals to the cached ones. The selection is
+		 * kept, so that proposals arriving late do not disturb the user.
+		 */
+		private void addProposals(IContentProposal[] newProposals) {
+			if (newProposals.length == 0) {
+				return;
+			}
+			IContentProposal[] all = Arrays.copyOf(proposals, proposals.length + newProposals.length);
+			System.arraycopy(newProposals, 0, all, proposals.length, newProposals.length);
+			this.proposals = all;
+			if (isValid()) {
+				// the new items are provided in the SWT.SetData event handler
+				proposalTable.setItemCount(all.length);
+				if (proposalTable.getSelectionIndex() < 0) {
+					selectProposal(0);
+				}
+			}
+		}
+
 		/*
 		 * Get the string for the specified proposal. Always return a String of
 		 * some kind.
@@ -857,13 +892,14 @@ public class ContentProposalAdapter {
 
 		/**
 		 * Closes this popup. This method is extended to remove the control
-		 * listener.
+		 * listener and to cancel the request for proposals in progress.
 		 *
 		 * @return <code>true</code> if the window is (or was already) closed,
 		 *         and <code>false</code> if it is still open
 		 */
 		@Override
 		public boolean close() {
+			cancelProposalRequest();
 			popupCloser.removeListeners();
 			if (infoPopup != null) {
 				infoPopup.close();
@@ -886,45 +922,34 @@ public class ContentProposalAdapter {
 		 */
 		private void showProposalDescription() {
 			// If we do not already have a pending update, then
-			// create a thread now that will show the proposal description
-			if (!pendingDescriptionUpdate) {
-				// Create a thread that will sleep for the specified delay
-				// before creating the popup. We do not use Jobs since this
-				// code must be able to run independently of the Eclipse
-				// runtime.
-				Runnable runnable = () -> {
-					pendingDescriptionUpdate = true;
-					try {
-						Thread.sleep(POPUP_DELAY);
-					} catch (InterruptedException e) {
-					}
+			// schedule one now. It queries the selection when it runs, so
+			// that moving through the proposals does not show every
+			// description in between.
+			if (!pendingDescriptionUpdate && isValid()) {
+				pendingDescriptionUpdate = true;
+				getShell().getDisplay().timerExec(POPUP_DELAY, () -> {
+					pendingDescriptionUpdate = false;
 					if (!isValid()) {
 						return;
 					}
-					getShell().getDisplay().syncExec(() -> {
-						// Query the current selection since we have
-						// been delayed
-						IContentProposal p = getSelectedProposal();
-						if (p != null) {
-							String description = p.getDescription();
-							if (description != null) {
-								if (infoPopup == null) {
-									infoPopup = new InfoPopupDialog(getShell());
-									infoPopup.open();
-									infoPopup.getShell()
-											.addDisposeListener(event -> infoPopup = null);
-								}
-								infoPopup.setContents(p.getDescription());
-							} else if (infoPopup != null) {
-								infoPopup.close();
+					// Query the current selection since we have
+					// been delayed
+					IContentProposal p = getSelectedProposal();
+					if (p != null) {
+						String description = p.getDescription();
+						if (description != null) {
+							if (infoPopup == null) {
+								infoPopup = new InfoPopupDialog(getShell());
+								infoPopup.open();
+								infoPopup.getShell()
+										.addDisposeListener(event -> infoPopup = null);
 							}
-							pendingDescriptionUpdate = false;
-
+							infoPopup.setContents(p.getDescription());
+						} else if (infoPopup != null) {
+							infoPopup.close();
 						}
-					});
-				};
-				Thread t = new Thread(runnable);
-				t.start();
+					}
+				});
 			}
 		}
 
@@ -946,6 +971,10 @@ public class ContentProposalAdapter {
 		 * caches. Repopulate the popup if it is open.
 		 */
 		private void recomputeProposals(String filterText) {
+			if (proposalProvider instanceof IAsyncContentProposalProvider) {
+				requestProposals(false, filterText);
+				return;
+			}
 			IContentProposal[] allProposals = getProposals();
 			if (allProposals == null)
 				 allProposals = getEmptyProposalArray();
@@ -1066,6 +1095,13 @@ public class ContentProposalAdapter {
 	 */
 	private static final int POPUP_DELAY = 750;
 
+	/*
+	 * Computes the proposals of asynchronous providers for all adapters.
+	 * Threads are only kept while there is work.
+	 */
+	private static final Executor PROPOSAL_EXECUTOR = DaemonThreadPool.create("Content Proposals", //$NON-NLS-1$
+			Math.max(1, Runtime.getRuntime().availableProcessors() / 2), Thread.NORM_PRIORITY);
+
 	/*
 	 * The character height hint for the popup. May be overridden by using
 	 * setInitialPopupSize.
@@ -1177,6 +1213,22 @@ public class ContentProposalAdapter {
 	 */
 	private boolean receivedKeyDown;
 
+	/*
+	 * Opens the popup once the autoactivation delay has passed. Scheduling it
+	 * again while it is pending restarts the delay.
+	 */
+	private final Runnable delayedAutoActivation = () -> {
+		if (isValid() && !receivedKeyDown) {
+			openProposalPopup(true);
+		}
+	};
+
+	/*
+	 * The request for proposals from an asynchronous provider that is in
+	 * progress, or null. Only accessed in the UI thread.
+	 */
+	private ProposalRequest pendingRequest;
+
 	/*
 	 * The desired size in pixels of the proposal popup.
 	 */
@@ -1568,8 +1620,9 @@ public class ContentProposalAdapter {
 	 */
 	public void setEnabled(boolean enabled) {
 		// If we are disabling it while it's proposing content, close the
-		// content proposal popup.
+		// content proposal popup and stop computing proposals.
 		if (isEnabled && !enabled) {
+			cancelProposalRequest();
 			if (popup != null) {
 				popup.close();
 			}
@@ -1877,6 +1930,10 @@ public class ContentProposalAdapter {
 			if (popup == null) {
 				// Check whether there are any proposals to be shown.
 				recordCursorPosition(); // must be done before getting proposals
+				if (proposalProvider instanceof IAsyncContentProposalProvider) {
+					requestProposals(autoActivated, null);
+					return;
+				}
 				IContentProposal[] proposals = getProposals();
 				if (proposals == null)
 					return;
@@ -1919,6 +1976,7 @@ public class ContentProposalAdapter {
 	 * @since 3.22
 	 */
 	public void closeProposalPopup() {
+		cancelProposalRequest();
 		if (popup != null) {
 			popup.close();
 		}
@@ -2040,19 +2098,11 @@ public class ContentProposalAdapter {
 	 */
 	private void autoActivate() {
 		if (autoActivationDelay > 0) {
-			Runnable runnable = () -> {
-				receivedKeyDown = false;
-				try {
-					Thread.sleep(autoActivationDelay);
-				} catch (InterruptedException e) {
-				}
-				if (!isValid() || receivedKeyDown) {
-					return;
-				}
-				getControl().getDisplay().syncExec(() -> openProposalPopup(true));
-			};
-			Thread t = new Thread(runnable);
-			t.start();
+			// A pending activation is postponed rather than run twice. We do
+			// not use Jobs since this code must be able to run independently
+			// of the Eclipse runtime.
+			receivedKeyDown = false;
+			getControl().getDisplay().timerExec(autoActivationDelay, delayedAutoActivation);
 		} else {
 			// Since we do not sleep, we must open the popup
 			// in an async exec. This is necessary because
@@ -2068,6 +2118,149 @@ public class ContentProposalAdapter {
 		}
 	}
 
+	/*
+	 * Requests the proposals from the asynchronous proposal provider. The
+	 * popup is opened, or refilled if filterText is not null, as the proposals
+	 * arrive.
+	 */
+	private void requestProposals(boolean autoActivated, String filterText) {
+		cancelProposalRequest();
+		if (proposalProvider == null || !isValid()) {
+			return;
+		}
+		int position = insertionPos;
+		if (position == -1) {
+			position = getControlContentAdapter().getCursorPosition(getControl());
+		}
+		String contents = getControlContentAdapter().getControlContents(getControl());
+		ProposalRequest request = new ProposalRequest(getControl().getDisplay(), autoActivated, filterText);
+		pendingRequest = request;
+		try {
+			PROPOSAL_EXECUTOR.execute(() -> request.compute(
+					(IAsyncContentProposalProvider) proposalProvider, contents, position));
+		} catch (RejectedExecutionException e) {
+			pendingRequest = null;
+		}
+	}
+
+	private void cancelProposalRequest() {
+		if (pendingRequest != null) {
+			pendingRequest.monitor.setCanceled(true);
+			pendingRequest = null;
+		}
+	}
+
+	/*
+	 * Proposals of the pending request arrived. Opens the popup with them or
+	 * shows them in the open popup.
+	 */
+	private void proposalsArrived(ProposalRequest request, IContentProposal[] proposals) {
+		if (request != pendingRequest || !isValid() || !isEnabled() || proposals == null
+				|| proposals.length == 0) {
+			return;
+		}
+		boolean first = !request.received;
+		request.received = true;
+		if (request.filterText != null) {
+			// refilling the open popup
+			if (popup == null) {
+				cancelProposalRequest();
+			} else if (first) {
+				popup.setProposals(popup.filterProposals(proposals, request.filterText));
+			} else {
+				popup.addProposals(popup.filterProposals(proposals, request.filterText));
+			}
+		} else if (popup == null) {
+			// The field lost focus while the proposals were computed
+			if (!getControl().isFocusControl()) {
+				cancelProposalRequest();
+				return;
+			}
+			if (DEBUG) {
+				System.out.println("POPUP OPENED BY ASYNCHRONOUS PROPOSALS"); //$NON-NLS-1$
+			}
+			recordCursorPosition();
+			popup = new ContentProposalPopup(null, proposals);
+			popup.open();
+			popup.getShell().addDisposeListener(event -> popup = null);
+			internalPopupOpened();
+			notifyPopupOpened();
+		} else {
+			popup.addProposals(proposals);
+		}
+	}
+
+	/*
+	 * The pending request reported all of its proposals.
+	 */
+	private void proposalsDone(ProposalRequest request) {
+		if (request != pendingRequest) {
+			return;
+		}
+		pendingRequest = null;
+		if (request.received || !isValid()) {
+			return;
+		}
+		// See https://bugs.eclipse.org/bugs/show_bug.cgi?id=147377
+		if (request.filterText != null) {
+			if (popup != null) {
+				popup.close();
+			}
+		} else if (!request.autoActivated) {
+			getControl().getDisplay().beep();
+		}
+	}
+
+	/*
+	 * A request for proposals from an asynchronous provider. The proposals are
+	 * handed to the UI thread as they are reported.
+	 */
+	private final class ProposalRequest implements Consumer<IContentProposal[]> {
+
+		final NullProgressMonitor monitor = new NullProgressMonitor();
+
+		final Display display;
+
+		final boolean autoActivated;
+
+		final String filterText;
+
+		/* whether any proposals arrived, only accessed in the UI thread */
+		boolean received;
+
+		ProposalRequest(Display display, boolean autoActivated, String filterText) {
+			this.display = display;
+			this.autoActivated = autoActivated;
+			this.filterText = filterText;
+		}
+
+		void compute(IAsyncContentProposalProvider provider, String contents, int position) {
+			try {
+				if (!monitor.isCanceled()) {
+					provider.computeProposals(contents, position, this, monitor);
+				}
+			} catch (RuntimeException e) {
+				Policy.getLog().log(new Status(IStatus.ERROR, Policy.JFACE,
+						"Computing content proposals failed", e)); //$NON-NLS-1$
+			} finally {
+				post(() -> proposalsDone(this));
+			}
+		}
+
+		@Override
+		public void accept(IContentProposal[] proposals) {
+			if (!monitor.isCanceled()) {
+				post(() -> proposalsArrived(this, proposals));
+			}
+		}
+
+		private void post(Runnable runnable) {
+			if (!display.isDisposed()) {
+				display.asyncExec(runnable);
+			}
+		}
+	}
+
 	/*
 	 * A proposal has been accepted. Notify interested listeners.
 	 */
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.fieldassist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * IAsyncContentProposalProvider is an {@link IContentProposalProvider} whose
+ * proposals are computed outside of the UI thread. A
+ * {@link ContentProposalAdapter} using such a provider does not block the
+ * control while the proposals are computed, and shows the proposals in its
+ * popup as they are reported.
+ *
+ * @since 3.28
+ */
+public interface IAsyncContentProposalProvider extends IContentProposalProvider {
+
+	/**
+	 * Computes the content proposals for a field. This method is called outside
+	 * of the UI thread, and must not access any widgets.
+	 * <p>
+	 * The proposals may be reported in several batches, from any thread. All of
+	 * them must have been reported when this method returns.
+	 * </p>
+	 *
+	 * @param contents
+	 *            the contents of the text field when the proposals were
+	 *            requested
+	 * @param position
+	 *            the position of the cursor in the contents
+	 * @param collector
+	 *            receives the proposals as they are found
+	 * @param monitor
+	 *            canceled when the proposals are no longer needed, for example
+	 *            because the contents changed meanwhile
+	 */
+	void computeProposals(String contents, int position, Consumer<IContentProposal[]> collector,
+			IProgressMonitor monitor);
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The default implementation computes the proposals in the calling thread
+	 * and returns all of them at once.
+	 * </p>
+	 */
+	@Override
+	default IContentProposal[] getProposals(String contents, int position) {
+		List<IContentProposal> proposals = new ArrayList<>();
+		computeProposals(contents, position, batch -> {
+			synchronized (proposals) {
+				Collections.addAll(proposals, batch);
+			}
+		}, new NullProgressMonitor());
+		synchronized (proposals) {
+			return proposals.toArray(new IContentProposal[proposals.size()]);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.internal;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the thread pools which run background work of the UI. Their
+ * threads are daemons, so that they never keep the application from exiting,
+ * and they are only kept while there is work.
+ *
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class DaemonThreadPool {
+
+	private DaemonThreadPool() {
+		// static only
+	}
+
+	/**
+	 * Creates a pool with a fixed number of threads and an unbounded queue.
+	 *
+	 * @param name
+	 *            the name of the threads
+	 * @param threads
+	 *            the number of threads, at least 1
+	 * @param priority
+	 *            the priority of the threads
+	 * @return the pool
+	 */
+	public static ThreadPoolExecutor create(String name, int threads, int priority) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, name);
+					thread.setDaemon(true);
+					thread.setPriority(priority);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+}
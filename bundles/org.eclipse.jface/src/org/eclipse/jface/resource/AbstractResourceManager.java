@@ -32,6 +32,13 @@ abstract class AbstractResourceManager extends ResourceManager {
 	 */
 	private HashMap<DeviceResourceDescriptor, RefCount> map = null;
 
+	/**
+	 * Number of calls to create(...), and how many of them were answered with an
+	 * already allocated resource
+	 */
+	private long requests;
+	private long hits;
+
 	/**
 	 * Holds a reference count for a previously-allocated resource
 	 */
@@ -75,11 +82,14 @@ abstract class AbstractResourceManager extends ResourceManager {
 			map = new HashMap<>();
 		}
 
+		requests++;
+
 		// Get the current reference count
 		RefCount count = map.get(descriptor);
 		if (count != null) {
 			// If this resource already exists, increment the reference count and return
 			// the existing resource.
+			hits++;
 			count.count++;
 			return count.resource;
 		}
@@ -144,6 +154,46 @@ abstract class AbstractResourceManager extends ResourceManager {
 		map = null;
 	}
 
+	/**
+	 * Returns the number of resources currently allocated by this manager.
+	 *
+	 * @return the number of live resources
+	 */
+	int getAllocatedCount() {
+		return map == null ? 0 : map.size();
+	}
+
+	/**
+	 * Returns the number of references currently held on the resources of this
+	 * manager, summed over all resources.
+	 *
+	 * @return the number of outstanding references
+	 */
+	int getReferenceCount() {
+		if (map == null) {
+			return 0;
+		}
+		int result = 0;
+		for (RefCount count : map.values()) {
+			result += count.count;
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of resources requested from this manager so far
+	 */
+	long getRequestCount() {
+		return requests;
+	}
+
+	/**
+	 * @return the number of requests answered with an already allocated resource
+	 */
+	long getHitCount() {
+		return hits;
+	}
+
 	@Override
 	public Object find(DeviceResourceDescriptor descriptor) {
 		if (map == null) {
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.resource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.jface.internal.DaemonThreadPool;
+import org.eclipse.jface.util.SafeRunnable;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Loads the images of a {@link LocalResourceManager} without blocking the UI
+ * thread on decoding. Until an image is loaded, a transparent placeholder is
+ * handed out instead.
+ * <p>
+ * The image data of descriptors which can be read from any thread is decoded
+ * on a shared pool, which leaves it in the image data cache, so that creating
+ * the image afterwards is cheap. Images of other descriptors are created on
+ * the UI thread, but only after the event that asked for them. The callbacks
+ * of all loads finished by the time the UI thread gets to them run together,
+ * with the redraw of the owner control turned off.
+ * </p>
+ * <p>
+ * Everything but the decoding runs on the UI thread.
+ * </p>
+ */
+final class AsyncImageLoader {
+
+	private static final String DECODING = "Decoding images"; //$NON-NLS-1$
+
+	private static final Executor DECODE_EXECUTOR = DaemonThreadPool.create(DECODING,
+			Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)), Thread.NORM_PRIORITY - 1);
+
+	/* the usual size of an icon */
+	private static final int PLACEHOLDER_SIZE = 16;
+
+	private static final ImageDescriptor PLACEHOLDER = ImageDescriptor
+			.createFromImageDataProvider(AsyncImageLoader::createPlaceholderData);
+
+	private static ImageData createPlaceholderData(int zoom) {
+		int size = PLACEHOLDER_SIZE * zoom / 100;
+		ImageData data = new ImageData(size, size, 1, new PaletteData(new RGB(0, 0, 0), new RGB(255, 255, 255)));
+		data.transparentPixel = 0;
+		return data;
+	}
+
+	private final LocalResourceManager manager;
+
+	private final ResourceManager parent;
+
+	private final Control owner;
+
+	private final Display display;
+
+	/* the callbacks of the loads in progress */
+	private final Map<ImageDescriptor, List<Runnable>> pending = new HashMap<>();
+
+	/*
+	 * loaded, but not created yet, only while the callbacks of their load run;
+	 * later requests look the image up again
+	 */
+	private final Set<ImageDescriptor> loaded = new HashSet<>();
+
+	/* finished loads not yet seen by the UI thread, guarded by itself */
+	private final List<ImageDescriptor> finished = new ArrayList<>();
+
+	private boolean disposed;
+
+	AsyncImageLoader(LocalResourceManager manager, ResourceManager parent, Control owner, Display display) {
+		this.manager = manager;
+		this.parent = parent;
+		this.owner = owner;
+		this.display = display;
+	}
+
+	/**
+	 * @see LocalResourceManager#createImageAsync(ImageDescriptor, Runnable)
+	 */
+	Image createImage(ImageDescriptor descriptor, Runnable whenLoaded) {
+		if (loaded.remove(descriptor) || manager.find(descriptor) != null || parent.find(descriptor) != null) {
+			return manager.createImage(descriptor);
+		}
+		List<Runnable> callbacks = pending.get(descriptor);
+		if (callbacks == null) {
+			callbacks = new ArrayList<>(1);
+			pending.put(descriptor, callbacks);
+			load(descriptor);
+		}
+		if (whenLoaded != null) {
+			callbacks.add(whenLoaded);
+		}
+		return getPlaceholder();
+	}
+
+	private Image getPlaceholder() {
+		Image placeholder = (Image) manager.find(PLACEHOLDER);
+		// created once, released with the manager
+		return placeholder != null ? placeholder : manager.createImage(PLACEHOLDER);
+	}
+
+	private void load(ImageDescriptor descriptor) {
+		if (!descriptor.canLoadInBackground()) {
+			loadFinished(descriptor);
+			return;
+		}
+		int zoom = display.getPrimaryMonitor().getZoom();
+		try {
+			DECODE_EXECUTOR.execute(() -> {
+				try {
+					descriptor.getImageData(100);
+					if (zoom != 100) {
+						descriptor.getImageData(zoom);
+					}
+				} catch (RuntimeException e) {
+					// creating the image reports the problem
+				} finally {
+					loadFinished(descriptor);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			loadFinished(descriptor);
+		}
+	}
+
+	private void loadFinished(ImageDescriptor descriptor) {
+		boolean schedule;
+		synchronized (finished) {
+			schedule = finished.isEmpty();
+			finished.add(descriptor);
+		}
+		if (schedule) {
+			try {
+				display.asyncExec(this::deliver);
+			} catch (SWTException e) {
+				// the display is gone, and the manager with it
+			}
+		}
+	}
+
+	private void deliver() {
+		ImageDescriptor[] descriptors;
+		synchronized (finished) {
+			descriptors = finished.toArray(new ImageDescriptor[finished.size()]);
+			finished.clear();
+		}
+		if (disposed) {
+			return;
+		}
+		List<Runnable> callbacks = new ArrayList<>();
+		for (ImageDescriptor descriptor : descriptors) {
+			List<Runnable> waiting = pending.remove(descriptor);
+			if (waiting != null) {
+				loaded.add(descriptor);
+				callbacks.addAll(waiting);
+			}
+		}
+		boolean batch = callbacks.size() > 1 && owner != null && !owner.isDisposed();
+		if (batch) {
+			owner.setRedraw(false);
+		}
+		try {
+			for (Runnable callback : callbacks) {
+				SafeRunnable.run(new SafeRunnable() {
+					@Override
+					public void run() throws Exception {
+						callback.run();
+					}
+				});
+			}
+		} finally {
+			// callbacks which did not ask for their image do not pin it here
+			loaded.clear();
+			if (batch && !owner.isDisposed()) {
+				owner.setRedraw(true);
+			}
+		}
+	}
+
+	void dispose() {
+		disposed = true;
+		pending.clear();
+		loaded.clear();
+	}
+}
@@ -61,10 +61,17 @@ public class ColorRegistry extends ResourceRegistry {
 	protected Display display;
 
 	/**
-	 * Collection of <code>Color</code> that are now stale to be disposed when
-	 * it is safe to do so (i.e. on shutdown).
+	 * Collection of color data whose <code>Color</code> is now stale, to be
+	 * released to the shared resource manager when it is safe to do so (i.e. on
+	 * shutdown).
 	 */
-	private List<Color> staleColors = new ArrayList<>();
+	private List<RGB> staleColors = new ArrayList<>();
+
+	/**
+	 * The shared resource manager which allocated the colors of this registry,
+	 * or <code>null</code> if none was allocated yet.
+	 */
+	private ResourceManager resources;
 
 	/**
 	 * Table of known colors, keyed by symbolic color name (key type: <code>String</code>,
@@ -141,7 +148,12 @@ public class ColorRegistry extends ResourceRegistry {
 				hookDisplayDispose();
 			}
 		}
-		return new Color(display, rgb);
+		// Share equal colors with the rest of the display through the global
+		// resource manager; they are released again in clearCaches()
+		if (resources == null) {
+			resources = JFaceResources.getResources(display);
+		}
+		return resources.createColor(rgb);
 	}
 
 	/**
@@ -225,6 +237,15 @@ public class ColorRegistry extends ResourceRegistry {
 
 	@Override
 	protected void clearCaches() {
+		if (resources != null) {
+			for (String symbolicName : stringToColor.keySet()) {
+				resources.destroyColor(stringToRGB.get(symbolicName));
+			}
+			for (RGB rgb : staleColors) {
+				resources.destroyColor(rgb);
+			}
+			resources = null;
+		}
 		stringToColor.clear();
 		staleColors.clear();
 		display = null;
@@ -290,7 +311,7 @@ public class ColorRegistry extends ResourceRegistry {
 		}
 
 		if (oldColor != null) {
-			staleColors.add(oldColor);
+			staleColors.add(existing);
 		}
 	}
 }
@@ -62,6 +62,11 @@ final class DeferredImageDescriptor extends ImageDescriptor {
 		this.useMissingImage = useMissingImage;
 	}
 
+	@Override
+	boolean canLoadInBackground() {
+		return true;
+	}
+
 	@Override
 	public ImageData getImageData(int zoom) {
 		URL url = supplier.get();
@@ -60,6 +60,17 @@ public final class DeviceResourceManager extends AbstractResourceManager {
 		descriptor.destroyResource(resource);
 	}
 
+	/**
+	 * Returns a snapshot of the usage counts of this manager. Must be called
+	 * from the thread which uses the manager.
+	 *
+	 * @return the current statistics
+	 * @since 3.28
+	 */
+	public ResourceStatistics getStatistics() {
+		return new ResourceStatistics(getAllocatedCount(), getReferenceCount(), getRequestCount(), getHitCount());
+	}
+
 	@Override
 	protected Image getDefaultImage() {
 		if (missingImage == null) {
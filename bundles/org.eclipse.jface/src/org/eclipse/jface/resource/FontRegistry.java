@@ -19,7 +19,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.MissingResourceException;
@@ -65,9 +64,13 @@ public class FontRegistry extends ResourceRegistry {
 	/**
 	 * FontRecord is a private helper class that holds onto a font
 	 * and can be used to generate its bold and italic version.
+	 * The fonts are allocated from the shared resource manager of
+	 * the display, so equal fonts are shared with other clients.
 	 */
 	private class FontRecord {
 
+		final ResourceManager resources;
+
 		Font baseFont;
 
 		Font boldFont;
@@ -76,27 +79,39 @@ public class FontRegistry extends ResourceRegistry {
 
 		FontData[] baseData;
 
+		FontDescriptor boldDescriptor;
+
+		FontDescriptor italicDescriptor;
+
+		boolean disposed;
+
 		/**
 		 * Create a new instance of the receiver based on the
-		 * plain font and the data for it.
-		 * @param plainFont The base looked up font.
+		 * data for the plain font.
+		 * @param resources The manager to allocate the fonts from.
 		 * @param data The data used to look it up.
 		 */
-		FontRecord(Font plainFont, FontData[] data) {
-			baseFont = plainFont;
+		FontRecord(ResourceManager resources, FontData[] data) {
+			this.resources = resources;
 			baseData = data;
+			baseFont = resources.createFont(FontDescriptor.createFrom(data));
 		}
 
 		/**
-		 * Dispose any of the fonts created for this record.
+		 * Release any of the fonts created for this record. Does
+		 * nothing if the record has already been disposed.
 		 */
 		void dispose() {
-			baseFont.dispose();
-			if (boldFont != null) {
-				boldFont.dispose();
+			if (disposed) {
+				return;
 			}
-			if (italicFont != null) {
-				italicFont.dispose();
+			disposed = true;
+			resources.destroyFont(FontDescriptor.createFrom(baseData));
+			if (boldDescriptor != null) {
+				resources.destroyFont(boldDescriptor);
+			}
+			if (italicDescriptor != null) {
+				resources.destroyFont(italicDescriptor);
 			}
 		}
 
@@ -118,8 +133,8 @@ public class FontRegistry extends ResourceRegistry {
 				return boldFont;
 			}
 
-			FontData[] boldData = getModifiedFontData(SWT.BOLD);
-			boldFont = new Font(Display.getCurrent(), boldData);
+			boldDescriptor = FontDescriptor.createFrom(getModifiedFontData(SWT.BOLD));
+			boldFont = resources.createFont(boldDescriptor);
 			return boldFont;
 		}
 
@@ -154,30 +169,10 @@ public class FontRegistry extends ResourceRegistry {
 				return italicFont;
 			}
 
-			FontData[] italicData = getModifiedFontData(SWT.ITALIC);
-			italicFont = new Font(Display.getCurrent(), italicData);
+			italicDescriptor = FontDescriptor.createFrom(getModifiedFontData(SWT.ITALIC));
+			italicFont = resources.createFont(italicDescriptor);
 			return italicFont;
 		}
-
-		/**
-		 * Add any fonts that were allocated for this record to the
-		 * stale fonts. Anything that matches the default font will
-		 * be skipped.
-		 * @param defaultFont The system default.
-		 */
-		void addAllocatedFontsToStale(Font defaultFont) {
-			//Return all of the fonts allocated by the receiver.
-			//if any of them are the defaultFont then don't bother.
-			if (defaultFont != baseFont && baseFont != null) {
-				staleFonts.add(baseFont);
-			}
-			if (defaultFont != boldFont && boldFont != null) {
-				staleFonts.add(boldFont);
-			}
-			if (defaultFont != italicFont && italicFont != null) {
-				staleFonts.add(italicFont);
-			}
-		}
 	}
 
 	/**
@@ -195,11 +190,11 @@ public class FontRegistry extends ResourceRegistry {
 	private Map<String, FontData[]> stringToFontData = new HashMap<>(7);
 
 	/**
-	 * Collection of Fonts that are now stale to be disposed
+	 * Collection of FontRecords that are now stale to be disposed
 	 * when it is safe to do so (i.e. on shutdown).
 	 * @see List
 	 */
-	private List<Font> staleFonts = new ArrayList<>();
+	private List<FontRecord> staleFonts = new ArrayList<>();
 
 	/**
 	 * Runnable that cleans up the manager on disposal of the display.
@@ -503,8 +498,7 @@ public class FontRegistry extends ResourceRegistry {
 
 		//Do not fire the update from creation as it is not a property change
 		put(symbolicName, validData, false);
-		Font newFont = new Font(display, validData);
-		return new FontRecord(newFont, validData);
+		return new FontRecord(JFaceResources.getResources(display), validData);
 	}
 
 	/**
@@ -707,30 +701,20 @@ public class FontRegistry extends ResourceRegistry {
 	@Override
 	protected void clearCaches() {
 
-		Iterator<FontRecord> iterator = stringToFontRecord.values().iterator();
-		while (iterator.hasNext()) {
-			Object next = iterator.next();
-			((FontRecord) next).dispose();
+		// Records may be shared by several names (e.g. the default font), the
+		// records themselves make sure their fonts are released only once
+		for (FontRecord record : stringToFontRecord.values()) {
+			record.dispose();
+		}
+		for (FontRecord record : staleFonts) {
+			record.dispose();
 		}
-
-		disposeFonts(staleFonts.iterator());
 		stringToFontRecord.clear();
 		staleFonts.clear();
 
 		displayDisposeHooked = false;
 	}
 
-	/**
-	 * Dispose of all of the fonts in this iterator.
-	 * @param iterator over Collection of Font
-	 */
-	private void disposeFonts(Iterator<Font> iterator) {
-		while (iterator.hasNext()) {
-			Object next = iterator.next();
-			((Font) next).dispose();
-		}
-	}
-
 	/**
 	 * Hook a dispose listener on the SWT display.
 	 */
@@ -816,7 +800,7 @@ public class FontRegistry extends ResourceRegistry {
 		}
 
 		if (oldFont != null) {
-			oldFont.addAllocatedFontsToStale(defaultFontRecord().getBaseFont());
+			staleFonts.add(oldFont);
 		}
 	}
 
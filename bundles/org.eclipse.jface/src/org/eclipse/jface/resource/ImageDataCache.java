@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.resource;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * A process-wide cache of decoded image data, keyed by the URL the data was
+ * read from. The cache is bounded by the number of bytes of pixel data it
+ * holds, and the entries used least recently are dropped first. URLs without
+ * an image are remembered as well, since looking up a missing high-resolution
+ * variant costs as much as reading one.
+ * <p>
+ * Only URLs whose contents do not change while the application runs are
+ * cached: the entries and resources of bundles, and entries of jar files.
+ * File URLs are cached as well, but their entries are only used as long as
+ * the modification time of the file is the one it had when it was read. Images
+ * at other URLs are read every time.
+ * </p>
+ * <p>
+ * The cached data is never handed out: callers get a copy, which they may
+ * modify.
+ * </p>
+ */
+final class ImageDataCache {
+
+	private static final long MAX_BYTES = 16 * 1024 * 1024;
+
+	/* stands for a URL without an image */
+	private static final ImageData MISSING = new ImageData(1, 1, 1, new PaletteData(new RGB(0, 0, 0)));
+
+	/* what an entry costs besides its pixels, so that misses count as well */
+	private static final int ENTRY_OVERHEAD = 128;
+
+	/* the time stamp of entries of URLs which do not change */
+	private static final long UNCHANGING = -1;
+
+	private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+	private static long bytes;
+
+	private ImageDataCache() {
+		// static only
+	}
+
+	/**
+	 * Returns a copy of the image data read from the given URL, reading it if
+	 * it is not cached. The reader runs without holding a lock, so that
+	 * different images can be read in parallel.
+	 *
+	 * @param url
+	 *            the external form of the URL
+	 * @param reader
+	 *            reads the data, returns <code>null</code> if there is no image
+	 *            at the URL, and throws an exception if the image could not be
+	 *            read, which is not cached
+	 * @return a copy of the data, or <code>null</code>
+	 */
+	static ImageData get(String url, Supplier<ImageData> reader) {
+		if (!isCacheable(url)) {
+			return reader.get();
+		}
+		long modified = getModificationTime(url);
+		ImageData data = null;
+		synchronized (entries) {
+			Entry entry = entries.get(url);
+			if (entry != null && entry.modified == modified) {
+				data = entry.data;
+			}
+		}
+		if (data == null) {
+			ImageData read = reader.get();
+			data = read == null ? MISSING : read;
+			if (modified != 0) {
+				// a file that cannot be found may be created later
+				put(url, data, modified);
+			}
+			if (read != null) {
+				// the caller owns the data it read, the cache keeps a copy
+				return read;
+			}
+		}
+		return data == MISSING ? null : (ImageData) data.clone();
+	}
+
+	/**
+	 * Returns whether the data of the given URL is cached.
+	 *
+	 * @param url
+	 *            the external form of the URL
+	 * @return <code>true</code> if an image is cached for the URL
+	 */
+	static boolean contains(String url) {
+		if (!isCacheable(url)) {
+			return false;
+		}
+		long modified = getModificationTime(url);
+		synchronized (entries) {
+			Entry entry = entries.get(url);
+			return entry != null && entry.data != MISSING && entry.modified == modified;
+		}
+	}
+
+	/**
+	 * Returns whether images read from the given URL are cached.
+	 *
+	 * @param url
+	 *            the external form of the URL
+	 * @return <code>true</code> for bundle, jar and file URLs
+	 */
+	static boolean isCacheable(String url) {
+		return url.startsWith("bundleentry:") || url.startsWith("bundleresource:") //$NON-NLS-1$ //$NON-NLS-2$
+				|| url.startsWith("jar:") || url.startsWith("file:"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/*
+	 * The time the file of a file URL was modified, 0 if it does not exist, or
+	 * UNCHANGING for the other URLs.
+	 */
+	private static long getModificationTime(String url) {
+		if (!url.startsWith("file:")) { //$NON-NLS-1$
+			return UNCHANGING;
+		}
+		try {
+			URL fileURL = new URL(url);
+			File file;
+			try {
+				file = Paths.get(fileURL.toURI()).toFile();
+			} catch (URISyntaxException e) {
+				// file URLs are often not encoded, e.g. file:/C:/My Images/a.png
+				file = new File(fileURL.getPath());
+			}
+			return file.lastModified();
+		} catch (MalformedURLException | IllegalArgumentException | FileSystemNotFoundException e) {
+			return 0;
+		}
+	}
+
+	private static void put(String url, ImageData data, long modified) {
+		ImageData copy = data == MISSING ? MISSING : (ImageData) data.clone();
+		long size = sizeOf(copy);
+		if (size > MAX_BYTES / 4) {
+			// too large to be worth evicting everything else for
+			return;
+		}
+		synchronized (entries) {
+			Entry old = entries.put(url, new Entry(copy, modified));
+			if (old != null) {
+				bytes -= sizeOf(old.data);
+			}
+			bytes += size;
+			Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+			while (bytes > MAX_BYTES && iterator.hasNext()) {
+				bytes -= sizeOf(iterator.next().getValue().data);
+				iterator.remove();
+			}
+		}
+	}
+
+	private static long sizeOf(ImageData data) {
+		if (data == MISSING) {
+			return ENTRY_OVERHEAD;
+		}
+		long size = ENTRY_OVERHEAD + data.data.length;
+		if (data.alphaData != null) {
+			size += data.alphaData.length;
+		}
+		if (data.maskData != null) {
+			size += data.maskData.length;
+		}
+		return size;
+	}
+
+	private static final class Entry {
+
+		final ImageData data;
+
+		/* the modification time of the file it was read from, or UNCHANGING */
+		final long modified;
+
+		Entry(ImageData data, long modified) {
+			this.data = data;
+			this.modified = modified;
+		}
+	}
+}
@@ -413,6 +413,17 @@ public abstract class ImageDescriptor extends DeviceResourceDescriptor {
 		return getImageData(100);
 	}
 
+	/**
+	 * Returns whether the image data of this descriptor can be read on any
+	 * thread, and is kept so that creating the image afterwards does not read
+	 * it again.
+	 *
+	 * @return <code>true</code> if loading the image in the background helps
+	 */
+	boolean canLoadInBackground() {
+		return false;
+	}
+
 	/**
 	 * Returns the shared image descriptor for a missing image.
 	 *
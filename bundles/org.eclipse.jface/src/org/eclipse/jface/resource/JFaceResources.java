@@ -69,6 +69,12 @@ public class JFaceResources {
 	 */
 	private static final Map<Display, ResourceManager> registries = new HashMap<>();
 
+	/**
+	 * Map of Display onto the DeviceResourceManager behind its global resource
+	 * manager.
+	 */
+	private static final Map<Display, DeviceResourceManager> deviceManagers = new HashMap<>();
+
 	/**
 	 * The symbolic font name for the banner font (value
 	 * <code>"org.eclipse.jface.bannerfont"</code>).
@@ -215,22 +221,40 @@ public class JFaceResources {
 
 		if (reg == null) {
 			final ResourceManager mgr;
+			DeviceResourceManager deviceManager = new DeviceResourceManager(toQuery);
 			if (cacheSize == 0) {
-				mgr = new DeviceResourceManager(toQuery);
+				mgr = deviceManager;
 			} else {
-				mgr = new LazyResourceManager(cacheSize, new DeviceResourceManager(toQuery));
+				mgr = new LazyResourceManager(cacheSize, deviceManager);
 			}
 			reg = mgr;
 			registries.put(toQuery, mgr);
+			deviceManagers.put(toQuery, deviceManager);
 			toQuery.disposeExec(() -> {
 				mgr.dispose();
 				registries.remove(toQuery);
+				deviceManagers.remove(toQuery);
 			});
 		}
 
 		return reg;
 	}
 
+	/**
+	 * Returns the usage counts of the global resource manager for the given
+	 * display: how many SWT resources it holds, how many references are held on
+	 * them, and how many requests were answered by sharing. Must be called from
+	 * the UI thread of the display.
+	 *
+	 * @param toQuery display to query
+	 * @return a snapshot of the statistics of the global resource manager
+	 * @since 3.28
+	 */
+	public static ResourceStatistics getResourceStatistics(final Display toQuery) {
+		getResources(toQuery);
+		return deviceManagers.get(toQuery).getStatistics();
+	}
+
 	/**
 	 * Returns the ResourceManager for the current display. May only be called
 	 * from a UI thread.
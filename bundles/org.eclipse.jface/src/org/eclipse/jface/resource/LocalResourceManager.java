@@ -16,6 +16,7 @@ package org.eclipse.jface.resource;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 
 
 /**
@@ -35,6 +36,10 @@ public final class LocalResourceManager extends AbstractResourceManager {
 
 	private ResourceManager parentRegistry;
 
+	private Control owner;
+
+	private AsyncImageLoader imageLoader;
+
 	/**
 	 * Creates a local registry that delegates to the given global registry
 	 * for all resource allocation and deallocation.
@@ -58,6 +63,7 @@ public final class LocalResourceManager extends AbstractResourceManager {
 	public LocalResourceManager(ResourceManager parentRegistry, Control owner) {
 		this(parentRegistry);
 
+		this.owner = owner;
 		owner.addDisposeListener(e -> LocalResourceManager.this.dispose());
 	}
 
@@ -83,4 +89,58 @@ public final class LocalResourceManager extends AbstractResourceManager {
 	protected Image getDefaultImage() {
 		return parentRegistry.getDefaultImage();
 	}
+
+	/**
+	 * Returns the image of the given descriptor if it can be created without
+	 * reading it first, that is if this manager or its parent holds it
+	 * already, or if it was just loaded by a previous call of this method.
+	 * Otherwise returns a transparent placeholder and loads the image, decoding
+	 * its data on a background thread where possible. Once it is loaded,
+	 * <code>whenLoaded</code> runs on the UI thread, and this method returns
+	 * the image when called from there. Callbacks of several loads that finish
+	 * together run together, with the redraw of the owner control of this
+	 * manager turned off.
+	 * <p>
+	 * The image is allocated like with <code>createImage(ImageDescriptor)</code>.
+	 * The placeholder belongs to this manager and must not be destroyed. This
+	 * method must be called from the UI thread. On devices other than a
+	 * display, the image is created right away.
+	 * </p>
+	 * <p>
+	 * Descriptors created with <code>ImageDescriptor.createFromURL</code> for
+	 * bundle, jar or file URLs are decoded in the background, and so are those
+	 * created with <code>createFromURLSupplier</code>, whose supplier is then
+	 * called on a background thread, and again when the image is created.
+	 * Other images are created on the UI thread, but not before the events
+	 * pending when this method was called are handled.
+	 * </p>
+	 *
+	 * @param descriptor
+	 *            the descriptor of the image
+	 * @param whenLoaded
+	 *            to run once the image is loaded, or <code>null</code>
+	 * @return the image or a placeholder
+	 * @throws DeviceResourceException
+	 *             if the image could not be created
+	 * @since 3.28
+	 */
+	public Image createImageAsync(ImageDescriptor descriptor, Runnable whenLoaded) {
+		Device device = getDevice();
+		if (!(device instanceof Display)) {
+			return createImage(descriptor);
+		}
+		if (imageLoader == null) {
+			imageLoader = new AsyncImageLoader(this, parentRegistry, owner, (Display) device);
+		}
+		return imageLoader.createImage(descriptor, whenLoaded);
+	}
+
+	@Override
+	public void dispose() {
+		if (imageLoader != null) {
+			imageLoader.dispose();
+			imageLoader = null;
+		}
+		super.dispose();
+	}
 }
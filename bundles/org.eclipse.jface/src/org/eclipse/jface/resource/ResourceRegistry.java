@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jface.resource;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 
 import org.eclipse.core.commands.common.EventManager;
@@ -27,6 +31,17 @@ import org.eclipse.jface.util.PropertyChangeEvent;
  */
 public abstract class ResourceRegistry extends EventManager {
 
+	/**
+	 * Nesting depth of {@link #runBatch(Runnable)}.
+	 */
+	private int batchDepth;
+
+	/**
+	 * Changes deferred by the current batch, as { old value, new value } keyed
+	 * by symbolic name, in the order of their first change.
+	 */
+	private Map<String, Object[]> batchedChanges;
+
 	/**
 	 * Adds a property change listener to this registry.
 	 *
@@ -64,6 +79,51 @@ public abstract class ResourceRegistry extends EventManager {
 	 */
 	protected void fireMappingChanged(String name, Object oldValue,
 			Object newValue) {
+		if (batchDepth > 0) {
+			Object[] change = batchedChanges.get(name);
+			if (change == null) {
+				batchedChanges.put(name, new Object[] { oldValue, newValue });
+			} else {
+				change[1] = newValue;
+			}
+			return;
+		}
+		notifyListeners(name, oldValue, newValue);
+	}
+
+	/**
+	 * Runs the given runnable and defers the change notifications of this
+	 * registry until it completes. Every symbolic name changed in between is
+	 * then reported once, from its value before the batch to its final value;
+	 * names which end up with their original value are not reported at all.
+	 * Listeners therefore see the registry only after all changes have been
+	 * made. Batches may be nested, notifications are sent when the outermost
+	 * batch completes.
+	 *
+	 * @param runnable the changes to make
+	 * @since 3.28
+	 */
+	public void runBatch(Runnable runnable) {
+		if (batchDepth++ == 0) {
+			batchedChanges = new LinkedHashMap<>();
+		}
+		try {
+			runnable.run();
+		} finally {
+			if (--batchDepth == 0) {
+				Map<String, Object[]> changes = batchedChanges;
+				batchedChanges = null;
+				for (Entry<String, Object[]> change : changes.entrySet()) {
+					Object[] values = change.getValue();
+					if (!Objects.deepEquals(values[0], values[1])) {
+						notifyListeners(change.getKey(), values[0], values[1]);
+					}
+				}
+			}
+		}
+	}
+
+	private void notifyListeners(String name, Object oldValue, Object newValue) {
 		final Object[] myListeners = getListeners();
 		if (myListeners.length > 0) {
 			PropertyChangeEvent event = new PropertyChangeEvent(this, name,
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.resource;
+
+/**
+ * A snapshot of the usage counts of a {@link DeviceResourceManager}, e.g. the
+ * one behind {@link JFaceResources#getResources(org.eclipse.swt.widgets.Display)}.
+ * The snapshot does not change when the manager is used afterwards.
+ *
+ * @see JFaceResources#getResourceStatistics(org.eclipse.swt.widgets.Display)
+ * @since 3.28
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public final class ResourceStatistics {
+
+	private final int allocatedCount;
+
+	private final int referenceCount;
+
+	private final long requestCount;
+
+	private final long hitCount;
+
+	ResourceStatistics(int allocatedCount, int referenceCount, long requestCount, long hitCount) {
+		this.allocatedCount = allocatedCount;
+		this.referenceCount = referenceCount;
+		this.requestCount = requestCount;
+		this.hitCount = hitCount;
+	}
+
+	/**
+	 * Returns the number of SWT resources allocated by the manager. Every
+	 * resource is allocated once, no matter how many clients reference it.
+	 *
+	 * @return the number of live SWT resources
+	 */
+	public int getAllocatedCount() {
+		return allocatedCount;
+	}
+
+	/**
+	 * Returns the number of references held on the resources of the manager.
+	 * The difference to {@link #getAllocatedCount()} is the number of SWT
+	 * resources saved by sharing.
+	 *
+	 * @return the number of outstanding references
+	 */
+	public int getReferenceCount() {
+		return referenceCount;
+	}
+
+	/**
+	 * Returns the number of resources requested from the manager since it was
+	 * created.
+	 *
+	 * @return the number of requests
+	 */
+	public long getRequestCount() {
+		return requestCount;
+	}
+
+	/**
+	 * Returns the number of requests which were answered with an already
+	 * allocated resource instead of allocating a new one.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	@Override
+	public String toString() {
+		return "ResourceStatistics [allocated=" + allocatedCount + ", references=" + referenceCount //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", requests=" + requestCount + ", hits=" + hitCount + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -18,6 +18,7 @@ package org.eclipse.jface.resource;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 
@@ -130,7 +131,30 @@ class URLImageDescriptor extends ImageDescriptor {
 		return new URLImageDataProvider(url).getImageData(zoom);
 	}
 
+	@Override
+	boolean canLoadInBackground() {
+		// only then the data read in the background is kept
+		return ImageDataCache.isCacheable(url);
+	}
+
+	/**
+	 * Returns the image data at the given URL, from the shared cache if it was
+	 * read before, for this or another descriptor or display.
+	 */
 	private static ImageData getImageData(URL url) {
+		if (url == null) {
+			return null;
+		}
+		try {
+			return ImageDataCache.get(url.toExternalForm(), () -> readImageData(url));
+		} catch (UncheckedIOException e) {
+			IOException cause = e.getCause();
+			Policy.getLog().log(new Status(IStatus.ERROR, Policy.JFACE, cause.getLocalizedMessage(), cause));
+			return null;
+		}
+	}
+
+	private static ImageData readImageData(URL url) {
 		ImageData result = null;
 		try (InputStream in = getStream(url)) {
 			if (in != null) {
@@ -142,7 +166,8 @@ class URLImageDescriptor extends ImageDescriptor {
 				// fall through otherwise
 			}
 		} catch (IOException e) {
-			Policy.getLog().log(new Status(IStatus.ERROR, Policy.JFACE, e.getLocalizedMessage(), e));
+			// not cached, the next attempt may succeed
+			throw new UncheckedIOException(e);
 		}
 		return result;
 	}
@@ -270,7 +295,8 @@ class URLImageDescriptor extends ImageDescriptor {
 		try {
 
 			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x) {
-				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY) {
+				// data read before is used instead of letting SWT read the file again
+				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY && !ImageDataCache.contains(url)) {
 					try {
 						return new Image(device, new URLImageFileNameProvider(url));
 					} catch (SWTException | IllegalArgumentException exception) {
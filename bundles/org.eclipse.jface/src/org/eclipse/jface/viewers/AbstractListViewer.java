@@ -135,6 +135,7 @@ public abstract class AbstractListViewer extends StructuredViewer {
 	 */
 	public void add(Object... elements) {
 		assertElementsNotNull(elements);
+		backgroundRefreshElementsChanged();
 		Object[] filtered = filter(elements);
 		ILabelProvider labelProvider = (ILabelProvider) getLabelProvider();
 		for (Object element : filtered) {
@@ -171,6 +172,7 @@ public abstract class AbstractListViewer extends StructuredViewer {
 			add(element);
 			return;
 		}
+		backgroundRefreshElementsChanged();
 
 		insertItem((ILabelProvider) getLabelProvider(), element, position);
 	}
@@ -441,6 +443,7 @@ public abstract class AbstractListViewer extends StructuredViewer {
 		if (elements.length == 0) {
 			return;
 		}
+		backgroundRefreshElementsChanged();
 		preservingSelection(() -> internalRemove(elements));
 	}
 
@@ -267,6 +267,7 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		assertElementsNotNull(elements);
 		if (checkBusy())
 			return;
+		backgroundRefreshElementsChanged();
 		Object[] filtered = filter(elements);
 
 		for (Object element : filtered) {
@@ -597,6 +598,7 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 			add(element);
 			return;
 		}
+		backgroundRefreshElementsChanged();
 		if (position == -1) {
 			position = doGetItemCount();
 		}
@@ -669,6 +671,7 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 
 		Object[] children = getSortedChildren(getRoot());
 		Item[] items = doGetItems();
+		reserveElementMap(children.length - items.length);
 		int min = Math.min(children.length, items.length);
 		for (int i = 0; i < min; ++i) {
 
@@ -798,6 +801,7 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		if (elements.length == 0) {
 			return;
 		}
+		backgroundRefreshElementsChanged();
 		preservingSelection(() -> internalRemove(elements));
 	}
 
@@ -1010,6 +1014,7 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 	public void replace(Object element, int index) {
 		if (checkBusy())
 			return;
+		backgroundRefreshElementsChanged();
 		Item item = doGetItem(index);
 		refreshItem(item, element);
 	}
@@ -28,8 +28,10 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.internal.InternalPolicy;
 import org.eclipse.jface.util.Policy;
@@ -157,6 +159,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		assertElementsNotNull(childElements);
 		if (checkBusy())
 			return;
+		backgroundRefreshElementsChanged();
 		Widget[] widgets = internalFindItems(parentElementOrTreePath);
 		// If parent hasn't been realized yet, just ignore the add.
 		if (widgets.length == 0) {
@@ -635,6 +638,10 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 
 	@Override
 	protected Object[] getSortedChildren(Object parentElementOrTreePath) {
+		Object[] precomputed = getPrecomputedChildren(parentElementOrTreePath);
+		if (precomputed != null) {
+			return precomputed;
+		}
 		Object[] result = getFilteredChildren(parentElementOrTreePath);
 		ViewerComparator comparator = getComparator();
 		if (parentElementOrTreePath != null
@@ -663,6 +670,25 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		return result;
 	}
 
+	@Override
+	Object[] getBackgroundRefreshParents(Object element) {
+		if (!canComputeChildrenInBackground()) {
+			return null;
+		}
+		Object[] expanded = getExpandedElements();
+		Object[] parents = new Object[expanded.length + 1];
+		parents[0] = element == null ? getRoot() : element;
+		System.arraycopy(expanded, 0, parents, 1, expanded.length);
+		return parents;
+	}
+
+	@Override
+	boolean canComputeChildrenInBackground() {
+		// tree paths and tree path sorters need the widgets
+		return super.canComputeChildrenInBackground() && !isTreePathContentProvider
+				&& !(getComparator() instanceof TreePathViewerSorter);
+	}
+
 	/**
 	 * Adds the given child element to this viewer as a child of the given parent
 	 * element. If this viewer does not have a sorter, the element is added at the
@@ -1150,6 +1176,70 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Expands all ancestors of the given element or tree path so that the given
+	 * element becomes visible in this viewer's tree control, and then expands
+	 * the subtree rooted at the given element to the given level, like
+	 * <code>expandToLevel(Object, int)</code>. The children in the subtree are
+	 * obtained, filtered and sorted on the executor set with
+	 * <code>setRefreshExecutor</code>, several at a time. The content provider
+	 * must then be safe to call from the threads of the executor, in addition
+	 * to the filters and the comparator.
+	 * <p>
+	 * The ancestors are expanded right away. This method then returns, and the
+	 * items of the subtree are created on the UI thread in short batches, level
+	 * by level as the children of each level arrive, so that the UI stays
+	 * responsive. A refresh, or elements added, removed or replaced meanwhile,
+	 * interrupt the expansion; it is resumed from the given element once the
+	 * refresh is applied, fetching the children again. The expansion stops
+	 * when the monitor is canceled, when another expansion is requested, or
+	 * when the input changes. Without an executor, or if the children cannot
+	 * be computed in the background, for example for tree path or lazy content
+	 * providers, the subtree is expanded right away.
+	 * </p>
+	 *
+	 * @param elementOrTreePath the element
+	 * @param level             non-negative level, or <code>ALL_LEVELS</code> to
+	 *                          expand all levels of the tree
+	 * @param monitor           the monitor to report progress to and to cancel
+	 *                          the expansion with, or <code>null</code>; it is
+	 *                          done when the expansion completed or stopped
+	 * @see #setRefreshExecutor(java.util.concurrent.Executor)
+	 * @since 3.28
+	 */
+	public void expandToLevelInBackground(Object elementOrTreePath, int level, IProgressMonitor monitor) {
+		IProgressMonitor progress = monitor == null ? new NullProgressMonitor() : monitor;
+		progress.beginTask("", IProgressMonitor.UNKNOWN); //$NON-NLS-1$
+		if (checkBusy()) {
+			progress.done();
+			return;
+		}
+		internalExpandToLevelInBackground(elementOrTreePath, level, progress);
+	}
+
+	/**
+	 * Starts or resumes an expansion in the background.
+	 *
+	 * @param elementOrTreePath the element
+	 * @param level             non-negative level, or <code>ALL_LEVELS</code>
+	 * @param monitor           the monitor, with its task begun
+	 */
+	void internalExpandToLevelInBackground(Object elementOrTreePath, int level, IProgressMonitor monitor) {
+		Widget widget = internalExpand(elementOrTreePath, true);
+		if (widget == null) {
+			monitor.done();
+			return;
+		}
+		BackgroundRefresh background = getBackgroundRefresh();
+		if (background == null || !canComputeChildrenInBackground()
+				|| !(getContentProvider() instanceof ITreeContentProvider)) {
+			internalExpandToLevel(widget, level);
+			monitor.done();
+			return;
+		}
+		background.expand(elementOrTreePath, widget, level, monitor);
+	}
+
 	/**
 	 * Fires a tree collapsed event. Only listeners registered at the time this
 	 * method is called are notified.
@@ -1812,27 +1902,40 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 	 *               levels of the tree
 	 */
 	protected void internalExpandToLevel(Widget widget, int level) {
+		Item[] children = internalExpandOneLevel(widget, level);
+		if (children != null) {
+			int newLevel = (level == ALL_LEVELS ? ALL_LEVELS
+					: level - 1);
+			for (Item element : children) {
+				internalExpandToLevel(element, newLevel);
+			}
+		}
+	}
+
+	/**
+	 * Expands the given widget, if the given level asks for it, without
+	 * descending into its children.
+	 *
+	 * @param widget the widget
+	 * @param level  non-negative level, or <code>ALL_LEVELS</code>
+	 * @return the child items to expand to the next level, or <code>null</code>
+	 */
+	Item[] internalExpandOneLevel(Widget widget, int level) {
 		if (level == ALL_LEVELS || level > 0) {
 			Object data = widget.getData();
 			if (widget instanceof Item && data != null
 					&& !isExpandable((Item) widget, null, data)) {
-				return;
+				return null;
 			}
 			createChildren(widget, false);
 			if (widget instanceof Item) {
 				setExpanded((Item) widget, true);
 			}
 			if (level == ALL_LEVELS || level > 1) {
-				Item[] children = getChildren(widget);
-				if (children != null) {
-					int newLevel = (level == ALL_LEVELS ? ALL_LEVELS
-							: level - 1);
-					for (Item element : children) {
-						internalExpandToLevel(element, newLevel);
-					}
-				}
+				return getChildren(widget);
 			}
 		}
+		return null;
 	}
 
 	/**
@@ -2256,6 +2359,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		backgroundRefreshElementsChanged();
 		preservingSelection(() -> internalRemove(elementsOrTreePaths));
 	}
 
@@ -2284,6 +2388,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		backgroundRefreshElementsChanged();
 		preservingSelection(() -> internalRemove(parent, elements));
 	}
 
@@ -2711,6 +2816,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 
 		int min = Math.min(elementChildren.length, items.length);
+		reserveElementMap(elementChildren.length - items.length);
 
 		// dispose of surplus items, optimizing for the case where elements have
 		// been deleted but not reordered, or all elements have been removed.
@@ -3097,6 +3203,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 			add(parentElementOrTreePath, new Object[] { element });
 			return;
 		}
+		backgroundRefreshElementsChanged();
 		Widget[] items;
 		if (internalIsInputOrEmptyPath(parentElementOrTreePath)) {
 			items = new Widget[] { getControl() };
@@ -0,0 +1,534 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * Filters and sorts the children of a structured viewer on an executor, and
+ * then refreshes the viewer with the results on the UI thread.
+ * <p>
+ * The raw children are obtained from the content provider on the UI thread
+ * before the request is handed to the executor, so only the filters and the
+ * comparator of the viewer run in the background. Every request supersedes
+ * the ones before it: a request that is not yet applied when a newer one or a
+ * synchronous refresh arrives is dropped.
+ * </p>
+ * <p>
+ * Subtree expansions of tree viewers also run through here. They obtain the
+ * children from the content provider on the executor as well, one task per
+ * parent, and create the items in batches of bounded duration as the children
+ * arrive. A refresh or a change of elements interrupts the expansion, which is
+ * resumed once the refresh is applied.
+ * </p>
+ */
+final class BackgroundRefresh {
+
+	/* how long one batch of an expansion may run on the UI thread */
+	private static final long EXPANSION_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(40);
+
+	private final StructuredViewer viewer;
+
+	private final Executor executor;
+
+	/* only changed on the UI thread, read by the workers to stop early */
+	private volatile int generation;
+
+	/* the refresh request not applied yet, -1 if there is none */
+	private int pendingRequest = -1;
+
+	private Object pendingElement;
+
+	private boolean pendingUpdateLabels;
+
+	/* the generation a restart was scheduled for, -1 if there is none */
+	private int restartRequest = -1;
+
+	/* the expansion in progress, if any */
+	private Expansion expansion;
+
+	/* the expansion to resume once no refresh is pending, if any */
+	private Expansion interruptedExpansion;
+
+	private boolean resumeScheduled;
+
+	BackgroundRefresh(StructuredViewer viewer, Executor executor) {
+		this.viewer = viewer;
+		this.executor = executor;
+	}
+
+	Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Drops the request in progress, if any. An expansion in progress is
+	 * interrupted, to be resumed later.
+	 */
+	void cancel() {
+		generation++;
+		pendingRequest = -1;
+		pendingElement = null;
+		if (expansion != null) {
+			expansion.interrupted = true;
+			interruptedExpansion = expansion;
+			expansion = null;
+		}
+		if (interruptedExpansion != null && !resumeScheduled && !interruptedExpansion.display.isDisposed()) {
+			resumeScheduled = true;
+			interruptedExpansion.display.asyncExec(this::resumeExpansion);
+		}
+	}
+
+	/*
+	 * Resumes the interrupted expansion, unless a refresh is still pending,
+	 * which resumes it once applied.
+	 */
+	private void resumeExpansion() {
+		resumeScheduled = false;
+		Expansion resumed = interruptedExpansion;
+		if (resumed == null || pendingRequest != -1) {
+			return;
+		}
+		interruptedExpansion = null;
+		Control control = viewer.getControl();
+		if (control == null || control.isDisposed() || viewer.getInput() != resumed.input
+				|| resumed.monitor.isCanceled()) {
+			resumed.monitor.done();
+			return;
+		}
+		if (viewer.isBusy()) {
+			interruptedExpansion = resumed;
+			resumeScheduled = true;
+			resumed.display.asyncExec(this::resumeExpansion);
+			return;
+		}
+		// without an executor by now, this expands right away
+		((AbstractTreeViewer) viewer).internalExpandToLevelInBackground(resumed.elementOrTreePath, resumed.level,
+				resumed.monitor);
+	}
+
+	/**
+	 * Starts a refresh of the viewer from the given element. Refreshes it right
+	 * away if the children of the element cannot be computed in the
+	 * background.
+	 *
+	 * @param element
+	 *            the element to refresh
+	 * @param updateLabels
+	 *            whether to update the labels of existing elements
+	 */
+	void refresh(Object element, boolean updateLabels) {
+		cancel();
+		int request = generation;
+		Object[] parents = viewer.getBackgroundRefreshParents(element);
+		if (parents == null) {
+			viewer.refresh(element, updateLabels);
+			return;
+		}
+		pendingRequest = request;
+		pendingElement = element;
+		pendingUpdateLabels = updateLabels;
+		Object[][] children = new Object[parents.length][];
+		for (int i = 0; i < parents.length; i++) {
+			children[i] = viewer.getRawChildren(parents[i]);
+		}
+		ViewerFilter[] filters = viewer.getFilters();
+		ViewerComparator comparator = viewer.getComparator();
+		Object input = viewer.getInput();
+		Display display = viewer.getControl().getDisplay();
+		try {
+			executor.execute(() -> {
+				try {
+					if (filterAndSort(request, parents, children, filters, comparator)) {
+						display.asyncExec(() -> apply(request, input, element, updateLabels, parents, children));
+					}
+				} catch (RuntimeException e) {
+					Policy.getLog().log(new Status(IStatus.ERROR, Policy.JFACE,
+							"Filtering or sorting in the background failed", e)); //$NON-NLS-1$
+					// refresh the usual way instead
+					display.asyncExec(() -> apply(request, input, element, updateLabels, parents, null));
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			viewer.refresh(element, updateLabels);
+		}
+	}
+
+	/**
+	 * Called when elements were added, removed or replaced without a refresh.
+	 * The refresh in progress, if any, is based on children obtained before,
+	 * so it is dropped and requested again. The new request is made once the
+	 * current UI event is handled, so that a series of changes takes only
+	 * one new snapshot. An expansion in progress is interrupted and resumed
+	 * the same way.
+	 */
+	void elementsChanged() {
+		if (expansion != null) {
+			// children fetched for items not created yet may miss the change
+			cancel();
+			return;
+		}
+		if (pendingRequest != generation) {
+			return;
+		}
+		Object element = pendingElement;
+		boolean updateLabels = pendingUpdateLabels;
+		cancel();
+		int request = generation;
+		restartRequest = request;
+		viewer.getControl().getDisplay().asyncExec(() -> {
+			// superseded by another refresh or change of the input meanwhile
+			if (restartRequest == request && request == generation && viewer.getControl() != null
+					&& !viewer.getControl().isDisposed()) {
+				restartRequest = -1;
+				refresh(element, updateLabels);
+			}
+		});
+	}
+
+	/**
+	 * Replaces the raw children by the filtered and sorted ones.
+	 *
+	 * @return <code>false</code> if the request was superseded meanwhile
+	 */
+	private boolean filterAndSort(int request, Object[] parents, Object[][] children, ViewerFilter[] filters,
+			ViewerComparator comparator) {
+		for (int i = 0; i < parents.length; i++) {
+			Object[] result = children[i];
+			for (ViewerFilter filter : filters) {
+				if (request != generation) {
+					return false;
+				}
+				if (result.length == 0) {
+					break;
+				}
+				result = filter.filter(viewer, parents[i], result);
+			}
+			if (comparator != null && result.length > 1) {
+				// the raw array may come from the model
+				result = result.clone();
+				comparator.sort(viewer, result);
+			}
+			children[i] = result;
+		}
+		return request == generation;
+	}
+
+	private void apply(int request, Object input, Object element, boolean updateLabels, Object[] parents,
+			Object[][] sortedChildren) {
+		if (request != generation) {
+			return;
+		}
+		pendingRequest = -1;
+		pendingElement = null;
+		if (viewer.getControl() == null || viewer.getControl().isDisposed() || viewer.getInput() != input) {
+			resumeExpansion();
+			return;
+		}
+		CustomHashtable precomputed = null;
+		if (sortedChildren != null) {
+			precomputed = viewer.newHashtable(parents.length * 2 + 1);
+			for (int i = 0; i < parents.length; i++) {
+				precomputed.put(parents[i], sortedChildren[i]);
+			}
+		}
+		viewer.applyBackgroundRefresh(element, updateLabels, precomputed);
+		resumeExpansion();
+	}
+
+	/**
+	 * Starts expanding the subtree of the given widget of a tree viewer. The
+	 * expansion in progress or interrupted, if any, is stopped.
+	 *
+	 * @param elementOrTreePath
+	 *            the element to resume the expansion from if interrupted
+	 * @param widget
+	 *            the tree or the item to expand from
+	 * @param level
+	 *            non-negative level, or <code>ALL_LEVELS</code>
+	 * @param monitor
+	 *            the monitor to report to, done when the expansion ends
+	 */
+	void expand(Object elementOrTreePath, Widget widget, int level, IProgressMonitor monitor) {
+		cancel();
+		if (interruptedExpansion != null) {
+			interruptedExpansion.monitor.done();
+			interruptedExpansion = null;
+		}
+		expansion = new Expansion(generation, (AbstractTreeViewer) viewer, elementOrTreePath, level, monitor);
+		expansion.start(widget);
+	}
+
+	/**
+	 * A subtree expansion. The children are fetched in parallel, and the items
+	 * are created breadth first as soon as the children of their parent
+	 * arrived.
+	 */
+	private final class Expansion {
+
+		private final int request;
+
+		private final AbstractTreeViewer treeViewer;
+
+		private final Object elementOrTreePath;
+
+		private final int level;
+
+		private final IProgressMonitor monitor;
+
+		private final ITreeContentProvider contentProvider;
+
+		private final ViewerFilter[] filters;
+
+		private final ViewerComparator comparator;
+
+		private final Object input;
+
+		private final Display display;
+
+		/* pairs of parent and sorted children not seen by the UI thread yet */
+		private final Queue<Object[]> results = new ConcurrentLinkedQueue<>();
+
+		/* fetches not finished yet */
+		private final AtomicInteger pending = new AtomicInteger();
+
+		private final AtomicBoolean batchScheduled = new AtomicBoolean();
+
+		private volatile RuntimeException failure;
+
+		/*
+		 * The fields below are only used on the UI thread.
+		 */
+
+		/* the items left to expand with their levels */
+		private final Deque<Object[]> queue = new ArrayDeque<>();
+
+		/* the sorted children received so far */
+		private CustomHashtable children;
+
+		/* whether the expansion waits for children to arrive */
+		private boolean waiting;
+
+		private boolean failureLogged;
+
+		/* set once superseded by a refresh, to be resumed by another expansion */
+		boolean interrupted;
+
+		Expansion(int request, AbstractTreeViewer treeViewer, Object elementOrTreePath, int level,
+				IProgressMonitor monitor) {
+			this.request = request;
+			this.treeViewer = treeViewer;
+			this.elementOrTreePath = elementOrTreePath;
+			this.level = level;
+			this.monitor = monitor;
+			this.contentProvider = (ITreeContentProvider) treeViewer.getContentProvider();
+			this.filters = treeViewer.getFilters();
+			this.comparator = treeViewer.getComparator();
+			this.input = treeViewer.getInput();
+			this.display = treeViewer.getControl().getDisplay();
+		}
+
+		private boolean isCurrent() {
+			return request == generation && !monitor.isCanceled();
+		}
+
+		void start(Widget widget) {
+			boolean atRoot = widget == treeViewer.getControl();
+			children = treeViewer.newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+			queue.add(new Object[] { widget, Integer.valueOf(level) });
+			if (level == AbstractTreeViewer.ALL_LEVELS || level > 0) {
+				fetch(atRoot ? treeViewer.getRoot() : widget.getData(), atRoot, level);
+			} else {
+				scheduleBatch();
+			}
+		}
+
+		private void fetch(Object parent, boolean root, int parentLevel) {
+			pending.incrementAndGet();
+			try {
+				executor.execute(() -> {
+					try {
+						if (isCurrent()) {
+							fetchChildren(parent, root, parentLevel);
+						}
+					} catch (RuntimeException e) {
+						failure = e;
+					} finally {
+						fetched();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				failure = e;
+				fetched();
+			}
+		}
+
+		private void fetchChildren(Object parent, boolean root, int parentLevel) {
+			Object[] result = root ? contentProvider.getElements(parent) : contentProvider.getChildren(parent);
+			if (result == null) {
+				result = new Object[0];
+			}
+			for (ViewerFilter filter : filters) {
+				if (result.length == 0 || !isCurrent()) {
+					break;
+				}
+				result = filter.filter(treeViewer, parent, result);
+			}
+			if (comparator != null && result.length > 1) {
+				// the raw array may come from the model
+				result = result.clone();
+				comparator.sort(treeViewer, result);
+			}
+			results.add(new Object[] { parent, result });
+			if (parentLevel == AbstractTreeViewer.ALL_LEVELS || parentLevel > 1) {
+				int newLevel = parentLevel == AbstractTreeViewer.ALL_LEVELS ? parentLevel : parentLevel - 1;
+				for (Object child : result) {
+					fetch(child, false, newLevel);
+				}
+			}
+		}
+
+		private void fetched() {
+			// the results are complete once this reaches 0
+			pending.decrementAndGet();
+			scheduleBatch();
+		}
+
+		/*
+		 * Asks for one batch on the UI thread, unless one is asked for already.
+		 */
+		private void scheduleBatch() {
+			if (batchScheduled.compareAndSet(false, true) && !display.isDisposed()) {
+				display.asyncExec(this::expandBatch);
+			}
+		}
+
+		private void receiveResults() {
+			Object[] result;
+			while ((result = results.poll()) != null) {
+				children.put(result[0], result[1]);
+			}
+		}
+
+		/*
+		 * Whether the children of the given widget arrived, or will not arrive,
+		 * in which case they are computed on the UI thread.
+		 */
+		private boolean isReady(Widget widget) {
+			Object element = widget == treeViewer.getControl() ? treeViewer.getRoot() : widget.getData();
+			if (element == null || failure != null || children.containsKey(element)) {
+				return true;
+			}
+			if (pending.get() > 0) {
+				return false;
+			}
+			// all fetches ended, maybe after the last results were received
+			receiveResults();
+			return true;
+		}
+
+		private boolean isApplicable() {
+			Control control = treeViewer.getControl();
+			return isCurrent() && control != null && !control.isDisposed() && treeViewer.getInput() == input;
+		}
+
+		private void stop() {
+			queue.clear();
+			if (expansion == this) {
+				expansion = null;
+			}
+			monitor.done();
+		}
+
+		private void expandBatch() {
+			// results added from now on ask for another batch
+			batchScheduled.set(false);
+			if (interrupted) {
+				// resumed by another expansion with the same monitor
+				return;
+			}
+			if (!isApplicable()) {
+				stop();
+				return;
+			}
+			if (treeViewer.isBusy()) {
+				// let the viewer finish what it is doing first
+				scheduleBatch();
+				return;
+			}
+			receiveResults();
+			if (failure != null && !failureLogged) {
+				failureLogged = true;
+				Policy.getLog().log(new Status(IStatus.ERROR, Policy.JFACE,
+						"Expanding in the background failed", failure)); //$NON-NLS-1$
+				// the children still missing are computed the usual way
+			}
+			long deadline = System.nanoTime() + EXPANSION_BATCH_NANOS;
+			Control control = treeViewer.getControl();
+			waiting = false;
+			control.setRedraw(false);
+			try {
+				treeViewer.withPrecomputedChildren(children, () -> {
+					while (!queue.isEmpty() && System.nanoTime() < deadline && !monitor.isCanceled()) {
+						Object[] next = queue.peek();
+						Widget widget = (Widget) next[0];
+						if (widget.isDisposed()) {
+							queue.poll();
+							continue;
+						}
+						if (!isReady(widget)) {
+							waiting = true;
+							return;
+						}
+						queue.poll();
+						int itemLevel = ((Integer) next[1]).intValue();
+						Item[] items = treeViewer.internalExpandOneLevel(widget, itemLevel);
+						if (items != null) {
+							Integer newLevel = Integer.valueOf(
+									itemLevel == AbstractTreeViewer.ALL_LEVELS ? itemLevel : itemLevel - 1);
+							for (Item item : items) {
+								queue.add(new Object[] { item, newLevel });
+							}
+						}
+						monitor.worked(1);
+					}
+				});
+			} finally {
+				control.setRedraw(true);
+			}
+			if (queue.isEmpty() || monitor.isCanceled()) {
+				stop();
+			} else if (!waiting) {
+				scheduleBatch();
+			}
+			// otherwise the next results ask for another batch
+		}
+	}
+}
@@ -17,18 +17,28 @@
 
 package org.eclipse.jface.viewers;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.internal.InternalPolicy;
 import org.eclipse.jface.util.Policy;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.events.MouseAdapter;
 import org.eclipse.swt.events.MouseEvent;
 import org.eclipse.swt.events.MouseListener;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.ScrollBar;
+import org.eclipse.swt.widgets.Scrollable;
 import org.eclipse.swt.widgets.Widget;
 
 /**
@@ -66,6 +76,31 @@ public abstract class ColumnViewer extends StructuredViewer {
 	// after logging for the first
 	// time
 
+	/**
+	 * The items whose label update was deferred because they were off-screen,
+	 * mapped to the element they showed when the update was requested, in the
+	 * order the updates were requested, or <code>null</code> if label updates
+	 * are not deferred.
+	 */
+	private Map<Item, Object> deferredLabelUpdates;
+
+	private Listener deferredLabelUpdateListener;
+
+	private boolean deferredLabelUpdatesScheduled;
+
+	/*
+	 * whether the pending items must be checked at the next paint even if the
+	 * viewport did not change
+	 */
+	private boolean deferredLabelUpdatesDirty;
+
+	/* the viewport at the last check of the pending items */
+	private Object checkedViewport;
+
+	private long labelProviderCallCount;
+
+	private long deferredLabelUpdateCount;
+
 	/**
 	 * Create a new instance of the receiver.
 	 */
@@ -663,9 +698,220 @@ public abstract class ColumnViewer extends StructuredViewer {
 			((Control)event.widget).removeMouseListener(mouseListener);
 			mouseListener = null;
 		}
+		if (deferredLabelUpdates != null) {
+			deferredLabelUpdates.clear();
+		}
 		super.handleDispose(event);
 	}
 
+	/**
+	 * Sets whether label updates of off-screen items are deferred until the
+	 * items scroll into view. If enabled, {@link #update(Object[], String[])},
+	 * {@link #update(Object, String[])} and label provider changes only update
+	 * the visible items right away. The other items are remembered, each at
+	 * most once, and updated when the control paints them. Structural changes
+	 * and refreshes are not affected.
+	 * <p>
+	 * Disabling the deferral updates all items that are still pending. The
+	 * default is <code>false</code>.
+	 * </p>
+	 *
+	 * @param defer
+	 *            <code>true</code> to defer the label updates of off-screen
+	 *            items, <code>false</code> to update all items right away
+	 * @since 3.28
+	 */
+	public void setDeferOffscreenLabelUpdates(boolean defer) {
+		Control control = getControl();
+		if (defer) {
+			if (deferredLabelUpdates == null) {
+				deferredLabelUpdates = new LinkedHashMap<>();
+				deferredLabelUpdateListener = this::handleDeferredLabelUpdateEvent;
+				deferredLabelUpdatesDirty = true;
+				if (control != null && !control.isDisposed()) {
+					control.addListener(SWT.Paint, deferredLabelUpdateListener);
+				}
+			}
+		} else if (deferredLabelUpdates != null) {
+			if (control != null && !control.isDisposed()) {
+				control.removeListener(SWT.Paint, deferredLabelUpdateListener);
+			}
+			Map<Item, Object> pending = deferredLabelUpdates;
+			Listener listener = deferredLabelUpdateListener;
+			deferredLabelUpdates = null;
+			deferredLabelUpdateListener = null;
+			checkedViewport = null;
+			for (Map.Entry<Item, Object> entry : pending.entrySet()) {
+				Item item = entry.getKey();
+				if (!item.isDisposed()) {
+					item.removeListener(SWT.Dispose, listener);
+					updateDeferredItem(item, entry.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns whether label updates of off-screen items are deferred.
+	 *
+	 * @return <code>true</code> if label updates of off-screen items are
+	 *         deferred
+	 * @see #setDeferOffscreenLabelUpdates(boolean)
+	 * @since 3.28
+	 */
+	public boolean isDeferOffscreenLabelUpdates() {
+		return deferredLabelUpdates != null;
+	}
+
+	/**
+	 * Returns the number of times this viewer asked a cell label provider to
+	 * update a cell, for diagnostics.
+	 *
+	 * @return the number of cell label provider updates so far
+	 * @since 3.28
+	 */
+	public long getLabelProviderCallCount() {
+		return labelProviderCallCount;
+	}
+
+	/**
+	 * Returns the number of item label updates that were deferred because the
+	 * item was off-screen, for diagnostics. Updates requested again for an item
+	 * that is still pending are included.
+	 *
+	 * @return the number of deferred label updates so far
+	 * @since 3.28
+	 */
+	public long getDeferredLabelUpdateCount() {
+		return deferredLabelUpdateCount;
+	}
+
+	void labelProviderCalled() {
+		labelProviderCallCount++;
+	}
+
+	@Override
+	boolean deferLabelUpdate(Widget widget, Object element) {
+		if (deferredLabelUpdates == null || !(widget instanceof Item) || isItemVisible((Item) widget)) {
+			return false;
+		}
+		Item item = (Item) widget;
+		if (deferredLabelUpdates.put(item, element) == null) {
+			item.addListener(SWT.Dispose, deferredLabelUpdateListener);
+		}
+		deferredLabelUpdateCount++;
+		return true;
+	}
+
+	/**
+	 * Returns the items in the visible area of the control, or
+	 * <code>null</code> if the viewer cannot tell them cheaply. Used to find
+	 * deferred label updates without testing every pending item.
+	 *
+	 * @return the visible items, or <code>null</code>
+	 */
+	Item[] getVisibleItems() {
+		return null;
+	}
+
+	private boolean isItemVisible(Item item) {
+		Control control = getControl();
+		if (!(control instanceof Scrollable)) {
+			return true;
+		}
+		Rectangle area = ((Scrollable) control).getClientArea();
+		Rectangle bounds = getViewerRowFromItem(item).getBounds();
+		// items of collapsed tree nodes have no height
+		return bounds.height > 0 && bounds.y + bounds.height > area.y && bounds.y < area.y + area.height;
+	}
+
+	private void handleDeferredLabelUpdateEvent(Event event) {
+		if (event.type == SWT.Dispose) {
+			// items removed without being disassociated
+			if (deferredLabelUpdates != null) {
+				deferredLabelUpdates.remove(event.widget);
+			}
+		} else {
+			scheduleDeferredLabelUpdates();
+		}
+	}
+
+	/*
+	 * The client area and the scroll bars, which tell whether other items may
+	 * have come into view. Expanding or collapsing tree nodes changes the
+	 * maximum of the vertical scroll bar.
+	 */
+	private static Object getViewport(Scrollable scrollable) {
+		ScrollBar horizontal = scrollable.getHorizontalBar();
+		ScrollBar vertical = scrollable.getVerticalBar();
+		return Arrays.asList(scrollable.getClientArea(),
+				horizontal == null ? null : new Point(horizontal.getSelection(), horizontal.getMaximum()),
+				vertical == null ? null : new Point(vertical.getSelection(), vertical.getMaximum()));
+	}
+
+	/*
+	 * Updates the pending items which became visible, once the current paint
+	 * is done. The paints of one batch, including the ones caused by the
+	 * updated items, share a single check, and paints which leave the viewport
+	 * unchanged check nothing.
+	 */
+	private void scheduleDeferredLabelUpdates() {
+		if (deferredLabelUpdates == null || deferredLabelUpdates.isEmpty() || deferredLabelUpdatesScheduled) {
+			return;
+		}
+		Control control = getControl();
+		if (!deferredLabelUpdatesDirty && control instanceof Scrollable
+				&& getViewport((Scrollable) control).equals(checkedViewport)) {
+			return;
+		}
+		deferredLabelUpdatesScheduled = true;
+		control.getDisplay().asyncExec(() -> {
+			deferredLabelUpdatesScheduled = false;
+			if (deferredLabelUpdates == null || control.isDisposed()) {
+				return;
+			}
+			if (isBusy()) {
+				// the next paint tries again
+				deferredLabelUpdatesDirty = true;
+				return;
+			}
+			deferredLabelUpdatesDirty = false;
+			if (control instanceof Scrollable) {
+				checkedViewport = getViewport((Scrollable) control);
+			}
+			Item[] visible = getVisibleItems();
+			if (visible == null) {
+				visible = deferredLabelUpdates.keySet().toArray(new Item[deferredLabelUpdates.size()]);
+			}
+			for (Item item : visible) {
+				// updating an item may run client code which disables the deferral
+				if (deferredLabelUpdates != null && deferredLabelUpdates.containsKey(item) && isItemVisible(item)) {
+					Object element = deferredLabelUpdates.remove(item);
+					item.removeListener(SWT.Dispose, deferredLabelUpdateListener);
+					updateDeferredItem(item, element);
+				}
+			}
+		});
+	}
+
+	@Override
+	protected void disassociate(Item item) {
+		if (deferredLabelUpdates != null && deferredLabelUpdates.remove(item) != null) {
+			item.removeListener(SWT.Dispose, deferredLabelUpdateListener);
+		}
+		super.disassociate(item);
+	}
+
+	/*
+	 * Updates the item with the element it showed when the update was
+	 * deferred, unless it shows another element by now.
+	 */
+	private void updateDeferredItem(Item item, Object element) {
+		if (!item.isDisposed() && item.getData() == element) {
+			updateItem(item, element);
+		}
+	}
+
 	/**
 	 * Invoking this method fires an editor activation event which tries to
 	 * enable the editor but before this event is passed to {@link
@@ -0,0 +1,384 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * Maps the elements of a structured viewer to the widgets showing them. An
+ * element shown by a single widget maps to that <code>Widget</code>, an
+ * element shown by several widgets to a <code>Widget[]</code>.
+ * <p>
+ * The map uses open addressing with linear probing in parallel arrays, so it
+ * allocates no entry objects. The hash codes of the elements are kept, which
+ * saves calls to the element comparer when probing and growing. Removals shift
+ * the following entries back instead of leaving markers. Keys and values
+ * cannot be null.
+ * </p>
+ */
+/* package */final class ElementWidgetMap {
+
+	private static final int MIN_CAPACITY = 8;
+
+	private final IElementComparer comparer;
+
+	private Object[] keys;
+
+	private Object[] values;
+
+	private int[] hashes;
+
+	private int size;
+
+	/* the size above which the table grows, three quarters of its length */
+	private int threshold;
+
+	/**
+	 * Creates a map that can hold the given number of elements without
+	 * growing.
+	 *
+	 * @param expectedSize
+	 *            the expected number of elements
+	 * @param comparer
+	 *            the element comparer to use to compare elements and obtain
+	 *            hash codes for them, or <code>null</code> to use the normal
+	 *            <code>equals</code> and <code>hashCode</code> methods
+	 */
+	ElementWidgetMap(int expectedSize, IElementComparer comparer) {
+		this.comparer = comparer;
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	/**
+	 * Creates a map with the entries of the given map, using the given element
+	 * comparer.
+	 *
+	 * @param map
+	 *            the map to copy
+	 * @param comparer
+	 *            the element comparer to use, or <code>null</code>
+	 */
+	ElementWidgetMap(ElementWidgetMap map, IElementComparer comparer) {
+		this(map.size, comparer);
+		for (int i = 0; i < map.keys.length; i++) {
+			if (map.keys[i] != null) {
+				put(map.keys[i], map.values[i]);
+			}
+		}
+	}
+
+	IElementComparer getComparer() {
+		return comparer;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the widget or the widgets mapped to the element.
+	 *
+	 * @param element
+	 *            the element
+	 * @return a <code>Widget</code>, a <code>Widget[]</code>, or
+	 *         <code>null</code> if the element is not mapped
+	 */
+	Object get(Object element) {
+		int index = indexOf(element, hash(element));
+		return index < 0 ? null : values[index];
+	}
+
+	/**
+	 * Maps the element to a widget or to widgets, replacing any previous
+	 * mapping. The key is replaced as well, so that an equal but stale
+	 * element is not held on to (see bug 30607).
+	 *
+	 * @param element
+	 *            the element
+	 * @param widgetOrWidgets
+	 *            a <code>Widget</code> or a <code>Widget[]</code>
+	 * @return the previous mapping, or <code>null</code>
+	 */
+	Object put(Object element, Object widgetOrWidgets) {
+		if (element == null || widgetOrWidgets == null) {
+			throw new NullPointerException();
+		}
+		int hash = hash(element);
+		int index = indexOf(element, hash);
+		if (index >= 0) {
+			Object old = values[index];
+			keys[index] = element;
+			values[index] = widgetOrWidgets;
+			return old;
+		}
+		insert(~index, element, hash, widgetOrWidgets);
+		return null;
+	}
+
+	/**
+	 * Adds a widget to the widgets of the element, with a single lookup. The
+	 * key is replaced, as in {@link #put(Object, Object)}.
+	 *
+	 * @param element
+	 *            the element
+	 * @param item
+	 *            the widget
+	 */
+	void add(Object element, Widget item) {
+		if (element == null || item == null) {
+			throw new NullPointerException();
+		}
+		int hash = hash(element);
+		int index = indexOf(element, hash);
+		if (index < 0) {
+			insert(~index, element, hash, item);
+			return;
+		}
+		keys[index] = element;
+		Object widgetOrWidgets = values[index];
+		if (widgetOrWidgets instanceof Widget) {
+			if (widgetOrWidgets != item) {
+				values[index] = new Widget[] { (Widget) widgetOrWidgets, item };
+			}
+		} else {
+			Widget[] widgets = (Widget[]) widgetOrWidgets;
+			if (indexOf(widgets, item) == -1) {
+				widgets = Arrays.copyOf(widgets, widgets.length + 1);
+				widgets[widgets.length - 1] = item;
+				values[index] = widgets;
+			}
+		}
+	}
+
+	/**
+	 * Removes a widget from the widgets of the element, with a single lookup.
+	 * The element is removed if it is not mapped to any other widget.
+	 *
+	 * @param element
+	 *            the element
+	 * @param item
+	 *            the widget
+	 */
+	void remove(Object element, Widget item) {
+		int index = indexOf(element, hash(element));
+		if (index < 0) {
+			return;
+		}
+		Object widgetOrWidgets = values[index];
+		if (widgetOrWidgets instanceof Widget) {
+			if (widgetOrWidgets == item) {
+				removeAt(index);
+			}
+			return;
+		}
+		Widget[] widgets = (Widget[]) widgetOrWidgets;
+		int indexOfItem = indexOf(widgets, item);
+		if (indexOfItem == -1) {
+			return;
+		}
+		int length = widgets.length;
+		if (length == 1) {
+			removeAt(index);
+		} else if (length == 2) {
+			// back to the compact single widget form
+			values[index] = widgets[1 - indexOfItem];
+		} else {
+			Widget[] updatedWidgets = new Widget[length - 1];
+			System.arraycopy(widgets, 0, updatedWidgets, 0, indexOfItem);
+			System.arraycopy(widgets, indexOfItem + 1, updatedWidgets, indexOfItem, length - indexOfItem - 1);
+			values[index] = updatedWidgets;
+		}
+	}
+
+	/**
+	 * Removes the element.
+	 *
+	 * @param element
+	 *            the element
+	 * @return the widget or widgets the element was mapped to, or
+	 *         <code>null</code>
+	 */
+	Object remove(Object element) {
+		int index = indexOf(element, hash(element));
+		if (index < 0) {
+			return null;
+		}
+		Object old = values[index];
+		removeAt(index);
+		return old;
+	}
+
+	/**
+	 * Removes all elements. The table shrinks back to its minimum size if it
+	 * grew, so that a large input does not pin memory after it is replaced.
+	 */
+	void clear() {
+		if (keys.length > MIN_CAPACITY) {
+			allocate(MIN_CAPACITY);
+		} else {
+			Arrays.fill(keys, null);
+			Arrays.fill(values, null);
+		}
+		size = 0;
+	}
+
+	/**
+	 * Makes room for the given number of further elements, so that they can
+	 * be added without growing the table in steps.
+	 *
+	 * @param additional
+	 *            the number of elements about to be added
+	 */
+	void ensureCapacity(int additional) {
+		int length = tableSizeFor(size + additional);
+		if (length > keys.length) {
+			resize(length);
+		}
+	}
+
+	private int hash(Object element) {
+		int h = comparer == null ? element.hashCode() : comparer.hashCode(element);
+		// spread the bits, since the table length is a power of two
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private boolean keyEquals(Object a, Object b) {
+		if (comparer == null) {
+			return a.equals(b);
+		}
+		return comparer.equals(a, b);
+	}
+
+	/**
+	 * @return the index of the element, or the bitwise complement of the index
+	 *         of the free slot where it would be inserted
+	 */
+	private int indexOf(Object element, int hash) {
+		int mask = keys.length - 1;
+		int index = hash & mask;
+		Object key;
+		while ((key = keys[index]) != null) {
+			if (hashes[index] == hash && (key == element || keyEquals(element, key))) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return ~index;
+	}
+
+	private void insert(int index, Object element, int hash, Object widgetOrWidgets) {
+		if (size >= threshold) {
+			resize(keys.length << 1);
+			index = freeSlot(hash);
+		}
+		keys[index] = element;
+		values[index] = widgetOrWidgets;
+		hashes[index] = hash;
+		size++;
+	}
+
+	private int freeSlot(int hash) {
+		int mask = keys.length - 1;
+		int index = hash & mask;
+		while (keys[index] != null) {
+			index = (index + 1) & mask;
+		}
+		return index;
+	}
+
+	/**
+	 * Removes the entry at the index and moves back the entries of the same
+	 * probe sequence which follow it.
+	 */
+	private void removeAt(int index) {
+		int mask = keys.length - 1;
+		int free = index;
+		int next = (free + 1) & mask;
+		while (keys[next] != null) {
+			int home = hashes[next] & mask;
+			// move the entry if its home slot is not between the free slot
+			// and its current slot, cyclically
+			if (((next - home) & mask) >= ((next - free) & mask)) {
+				keys[free] = keys[next];
+				values[free] = values[next];
+				hashes[free] = hashes[next];
+				free = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[free] = null;
+		values[free] = null;
+		size--;
+	}
+
+	private void resize(int length) {
+		Object[] oldKeys = keys;
+		Object[] oldValues = values;
+		int[] oldHashes = hashes;
+		allocate(length);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				int index = freeSlot(oldHashes[i]);
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+				hashes[index] = oldHashes[i];
+			}
+		}
+	}
+
+	private void allocate(int length) {
+		keys = new Object[length];
+		values = new Object[length];
+		hashes = new int[length];
+		threshold = length - (length >>> 2);
+	}
+
+	private static int tableSizeFor(int expectedSize) {
+		int minLength = (int) Math.min(1 << 30, (long) expectedSize * 4 / 3 + 1);
+		int length = MIN_CAPACITY;
+		while (length < minLength) {
+			length <<= 1;
+		}
+		return length;
+	}
+
+	private static int indexOf(Widget[] widgets, Widget item) {
+		for (int i = 0; i < widgets.length; i++) {
+			if (widgets[i] == item) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append('{');
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != null) {
+				if (buffer.length() > 1) {
+					buffer.append(", "); //$NON-NLS-1$
+				}
+				buffer.append(keys[i]);
+				buffer.append('=');
+				Object value = values[i];
+				buffer.append(value instanceof Widget[] ? Arrays.toString((Widget[]) value) : value);
+			}
+		}
+		buffer.append('}');
+		return buffer.toString();
+	}
+}
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
@@ -69,7 +70,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * <code>Object</code>, value type: <code>Widget</code>, or <code>Widget[]</code>).
 	 * <code>null</code> means that the element map is disabled.
 	 */
-	private CustomHashtable elementMap;
+	private ElementWidgetMap elementMap;
 
 	/**
 	 * The comparer to use for comparing elements, or <code>null</code> to use
@@ -152,6 +153,19 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	private StructuredViewerInternals.AssociateListener associateListener;
 
+	/**
+	 * Filters and sorts for <code>refreshInBackground</code>, or
+	 * <code>null</code> if that is done on the UI thread.
+	 */
+	private BackgroundRefresh backgroundRefresh;
+
+	/**
+	 * The sorted children computed in the background for the refresh in
+	 * progress (key type: <code>Object</code>, value type:
+	 * <code>Object[]</code>), or <code>null</code>.
+	 */
+	private CustomHashtable precomputedChildren;
+
 	/**
 	 * Empty array of widgets.
 	 */
@@ -1028,6 +1042,10 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @return a sorted and filtered array of child elements
 	 */
 	protected Object[] getSortedChildren(Object parent) {
+		Object[] precomputed = getPrecomputedChildren(parent);
+		if (precomputed != null) {
+			return precomputed;
+		}
 		Object[] result = getFilteredChildren(parent);
 		if (sorter != null) {
 			// be sure we're not modifying the original array from the model
@@ -1270,25 +1288,20 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	protected void mapElement(Object element, Widget item) {
 		if (elementMap != null) {
-			Object widgetOrWidgets = elementMap.get(element);
-			if (widgetOrWidgets == null) {
-				elementMap.put(element, item);
-			} else if (widgetOrWidgets instanceof Widget) {
-				if (widgetOrWidgets != item) {
-					elementMap.put(element, new Widget[] {
-							(Widget) widgetOrWidgets, item });
-				}
-			} else {
-				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
-				if (indexOfItem == -1) {
-					int length = widgets.length;
-					System.arraycopy(widgets, 0,
-							widgets = new Widget[length + 1], 0, length);
-					widgets[length] = item;
-					elementMap.put(element, widgets);
-				}
-			}
+			elementMap.add(element, item);
+		}
+	}
+
+	/**
+	 * Makes room in the element map for the given number of further elements,
+	 * so that mapping the items of a large refresh does not grow it in steps.
+	 *
+	 * @param additional
+	 *            the number of elements about to be mapped
+	 */
+	void reserveElementMap(int additional) {
+		if (elementMap != null && additional > 0) {
+			elementMap.ensureCapacity(additional);
 		}
 	}
 
@@ -1456,6 +1469,9 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 *            the element
 	 */
 	public void refresh(final Object element) {
+		if (backgroundRefresh != null && precomputedChildren == null) {
+			backgroundRefresh.cancel();
+		}
 		preservingSelection(() -> internalRefresh(element));
 	}
 
@@ -1479,9 +1495,151 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @since 2.0
 	 */
 	public void refresh(final Object element, final boolean updateLabels) {
+		if (backgroundRefresh != null && precomputedChildren == null) {
+			backgroundRefresh.cancel();
+		}
 		preservingSelection(() -> internalRefresh(element, updateLabels));
 	}
 
+	/**
+	 * Sets the executor on which <code>refreshInBackground</code> filters and
+	 * sorts the children of elements. The filters and the comparator of this
+	 * viewer, and the label provider if they use it, must then be safe to call
+	 * from the threads of the executor.
+	 *
+	 * @param executor
+	 *            the executor, or <code>null</code> to filter and sort on the
+	 *            UI thread
+	 * @see #refreshInBackground(Object, boolean)
+	 * @since 3.28
+	 */
+	public void setRefreshExecutor(Executor executor) {
+		if (backgroundRefresh != null) {
+			backgroundRefresh.cancel();
+		}
+		backgroundRefresh = executor == null ? null : new BackgroundRefresh(this, executor);
+	}
+
+	/**
+	 * Returns the executor on which <code>refreshInBackground</code> filters
+	 * and sorts.
+	 *
+	 * @return the executor, or <code>null</code> if filtering and sorting
+	 *         happen on the UI thread
+	 * @since 3.28
+	 */
+	public Executor getRefreshExecutor() {
+		return backgroundRefresh == null ? null : backgroundRefresh.getExecutor();
+	}
+
+	/**
+	 * Refreshes this viewer starting with the given element, like
+	 * <code>refresh(Object, boolean)</code>, but filters and sorts the children
+	 * on the executor set with <code>setRefreshExecutor</code>.
+	 * <p>
+	 * The children are obtained from the content provider right away. This
+	 * method then returns, and the viewer is refreshed with the filtered and
+	 * sorted children later on the UI thread. A refresh requested before and
+	 * not yet applied is dropped, and so is this one if another refresh or a
+	 * change of the input comes first. Without an executor, or if the children
+	 * cannot be computed in the background, for example for lazy content
+	 * providers, the viewer is refreshed right away.
+	 * </p>
+	 *
+	 * @param element
+	 *            the element
+	 * @param updateLabels
+	 *            <code>true</code> to update labels for existing elements,
+	 *            <code>false</code> to only update labels as needed, assuming
+	 *            that labels for existing elements are unchanged.
+	 * @since 3.28
+	 */
+	public void refreshInBackground(Object element, boolean updateLabels) {
+		if (backgroundRefresh == null) {
+			refresh(element, updateLabels);
+		} else {
+			backgroundRefresh.refresh(element, updateLabels);
+		}
+	}
+
+	/**
+	 * Returns the parents whose sorted children a refresh from the given
+	 * element needs, or <code>null</code> if they cannot be computed in the
+	 * background.
+	 */
+	Object[] getBackgroundRefreshParents(Object element) {
+		if (!canComputeChildrenInBackground()) {
+			return null;
+		}
+		Object root = getRoot();
+		if (element == null || equals(element, root)) {
+			return new Object[] { root };
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether the sorted children of elements can be computed without
+	 * the widgets of this viewer.
+	 */
+	boolean canComputeChildrenInBackground() {
+		return getRoot() != null && associateListener == null
+				&& getContentProvider() instanceof IStructuredContentProvider;
+	}
+
+	/**
+	 * Returns the helper running background work, or <code>null</code> if no
+	 * refresh executor is set.
+	 */
+	BackgroundRefresh getBackgroundRefresh() {
+		return backgroundRefresh;
+	}
+
+	/**
+	 * Tells the background refresh in progress, if any, that elements were
+	 * added, removed or replaced since it obtained the children, so that it is
+	 * requested again.
+	 */
+	void backgroundRefreshElementsChanged() {
+		if (backgroundRefresh != null) {
+			backgroundRefresh.elementsChanged();
+		}
+	}
+
+	/**
+	 * Refreshes the viewer using the given children sorted in the background.
+	 */
+	void applyBackgroundRefresh(Object element, boolean updateLabels, CustomHashtable sortedChildren) {
+		withPrecomputedChildren(sortedChildren, () -> refresh(element, updateLabels));
+	}
+
+	/**
+	 * Runs the given code with <code>getSortedChildren</code> returning the
+	 * given children computed in the background, where available.
+	 */
+	void withPrecomputedChildren(CustomHashtable sortedChildren, Runnable runnable) {
+		CustomHashtable previous = precomputedChildren;
+		precomputedChildren = sortedChildren;
+		try {
+			runnable.run();
+		} finally {
+			precomputedChildren = previous;
+		}
+	}
+
+	/**
+	 * Returns the sorted children of the parent computed in the background.
+	 *
+	 * @return the sorted children or <code>null</code> if they have to be
+	 *         computed
+	 */
+	Object[] getPrecomputedChildren(Object parent) {
+		if (precomputedChildren == null || parent == null) {
+			return null;
+		}
+		return (Object[]) precomputedChildren.get(parent);
+	}
+
 	/**
 	 *
 	 * Refreshes the given item with the given element. Calls
@@ -1762,7 +1920,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		Assert.isTrue(getInput() == null,
 				"Can only enable the hash look up before input has been set");//$NON-NLS-1$
 		if (enable) {
-			elementMap = newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+			elementMap = new ElementWidgetMap(0, getComparer());
 		} else {
 			elementMap = null;
 		}
@@ -1780,7 +1938,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	public void setComparer(IElementComparer comparer) {
 		this.comparer = comparer;
 		if (elementMap != null) {
-			elementMap = new CustomHashtable(elementMap, comparer);
+			elementMap = new ElementWidgetMap(elementMap, comparer);
 		}
 	}
 
@@ -1851,7 +2009,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	protected void unmapAllElements() {
 		if (elementMap != null) {
-			elementMap = newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+			elementMap.clear();
 		}
 	}
 
@@ -1891,36 +2049,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		// double-check that the element actually maps to the given item before
 		// unmapping it
 		if (elementMap != null) {
-			Object widgetOrWidgets = elementMap.get(element);
-			if (widgetOrWidgets == null) {
-				// item was not mapped, return
-				return;
-			} else if (widgetOrWidgets instanceof Widget) {
-				if (item == widgetOrWidgets) {
-					elementMap.remove(element);
-				}
-			} else {
-				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
-				if (indexOfItem == -1) {
-					return;
-				}
-				int length = widgets.length;
-				if (indexOfItem == 0) {
-					if(length == 1) {
-						elementMap.remove(element);
-					} else {
-						Widget[] updatedWidgets = new Widget[length - 1];
-						System.arraycopy(widgets, 1, updatedWidgets, 0, length -1 );
-						elementMap.put(element, updatedWidgets);
-					}
-				} else {
-					Widget[] updatedWidgets = new Widget[length - 1];
-					System.arraycopy(widgets, 0, updatedWidgets, 0, indexOfItem);
-					System.arraycopy(widgets, indexOfItem + 1, updatedWidgets, indexOfItem, length - indexOfItem - 1);
-					elementMap.put(element, updatedWidgets);
-				}
-			}
+			elementMap.remove(element, item);
 		}
 	}
 
@@ -2086,11 +2215,27 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 				}
 			}
 		}
-		if (needsUpdate) {
+		if (needsUpdate && !deferLabelUpdate(widget, element)) {
 			updateItem(widget, element);
 		}
 	}
 
+	/**
+	 * Gives subclasses the chance to postpone the label update of an item
+	 * requested through <code>update</code>. A subclass deferring the update
+	 * becomes responsible for updating the item later.
+	 *
+	 * @param widget
+	 *            the widget whose label is out of date
+	 * @param element
+	 *            the element the widget shows
+	 * @return <code>true</code> if the update was deferred, and
+	 *         <code>false</code> to update the item right away
+	 */
+	boolean deferLabelUpdate(Widget widget, Object element) {
+		return false;
+	}
+
 	/**
 	 * Copies attributes of the given element into the given widget.
 	 * <p>
@@ -2265,11 +2410,14 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	@Override
 	protected void handleDispose(DisposeEvent event) {
 		super.handleDispose(event);
+		if (backgroundRefresh != null) {
+			backgroundRefresh.cancel();
+		}
 		sorter = null;
 		comparer = null;
 		if (filters != null)
 			filters.clear();
-		elementMap = newHashtable(1);
+		elementMap = new ElementWidgetMap(0, null);
 		openListeners.clear();
 		doubleClickListeners.clear();
 		colorAndFontCollector.clear();
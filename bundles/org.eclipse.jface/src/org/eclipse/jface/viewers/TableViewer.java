@@ -133,6 +133,18 @@ public class TableViewer extends AbstractTableViewer {
 		return table;
 	}
 
+	@Override
+	Item[] getVisibleItems() {
+		int top = table.getTopIndex();
+		int rows = table.getClientArea().height / Math.max(1, table.getItemHeight()) + 1;
+		int count = Math.max(0, Math.min(rows, table.getItemCount() - top));
+		Item[] items = new Item[count];
+		for (int i = 0; i < count; i++) {
+			items[i] = table.getItem(top + i);
+		}
+		return items;
+	}
+
 	@Override
 	protected ColumnViewerEditor createViewerEditor() {
 		return new TableViewerEditor(this, null,
@@ -407,6 +419,7 @@ public class TableViewer extends AbstractTableViewer {
 		if (elements.length == 0) {
 			return;
 		}
+		backgroundRefreshElementsChanged();
 
 		// deselect any items that are being removed, see bug 97786
 		boolean deselectedItems = false;
@@ -424,6 +424,7 @@ public class TreeViewer extends AbstractTreeViewer {
 			final Object element) {
 		if (checkBusy())
 			return;
+		backgroundRefreshElementsChanged();
 		Item[] selectedItems = insidePreservingSelection ? null : getSelection(getControl());
 		TreeSelection selection = insidePreservingSelection ? null : (TreeSelection) getSelection();
 		Widget[] itemsToDisassociate;
@@ -812,6 +813,7 @@ public class TreeViewer extends AbstractTreeViewer {
 	public void remove(final Object parentOrTreePath, final int index) {
 		if (checkBusy())
 			return;
+		backgroundRefreshElementsChanged();
 		// in case preservingSelection() is nested avoid getSelection():
 		final List<TreePath> oldSelection = insidePreservingSelection ? null : new LinkedList<>(
 				Arrays.asList(((TreeSelection) getSelection()).getPaths()));
@@ -141,6 +141,9 @@ public abstract class ViewerColumn {
 			Assert.isTrue(false, "Column " + cell.getColumnIndex() + //$NON-NLS-1$
 			" has no label provider."); //$NON-NLS-1$
 		}
+		if (viewer != null) {
+			viewer.labelProviderCalled();
+		}
 		labelProvider.update(cell);
 	}
 
@@ -16,6 +16,8 @@
 
 package org.eclipse.jface.viewers;
 
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.Arrays;
 import java.util.Comparator;
 
@@ -48,6 +50,49 @@ import org.eclipse.jface.util.Policy;
  */
 public class ViewerComparator {
 
+	/**
+	 * Arrays at least this long are sorted by collation keys if strings are
+	 * compared by a {@link Collator}.
+	 */
+	private static final int COLLATION_KEY_THRESHOLD = 64;
+
+	/**
+	 * Arrays at least this long are sorted in parallel once their collation
+	 * keys are known.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	/**
+	 * Whether a class uses the default {@link #compare(Viewer, Object, Object)}
+	 * and may therefore be sorted by keys.
+	 */
+	private static final ClassValue<Boolean> USES_DEFAULT_COMPARE = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				return Boolean.valueOf(type.getMethod("compare", Viewer.class, Object.class, Object.class) //$NON-NLS-1$
+						.getDeclaringClass() == ViewerComparator.class);
+			} catch (NoSuchMethodException | SecurityException e) {
+				return Boolean.FALSE;
+			}
+		}
+	};
+
+	/**
+	 * An element with what the default compare method compares it by.
+	 */
+	private static final class SortKey {
+		final Object element;
+		final int category;
+		final Object key;
+
+		SortKey(Object element, int category, Object key) {
+			this.element = element;
+			this.category = category;
+			this.key = key;
+		}
+	}
+
 	/**
 	 * The comparator to use to sort a viewer's contents.
 	 */
@@ -195,6 +240,14 @@ public class ViewerComparator {
 	 * elements.
 	 * </p>
 	 * <p>
+	 * If {@link #compare(Viewer, Object, Object)} is not overridden, the
+	 * category and label of every element are computed only once per sort
+	 * instead of once per comparison. Larger arrays are then sorted by
+	 * {@link CollationKey}s if strings are compared by a {@link Collator}, and
+	 * very large ones in parallel. The result is the same as when comparing the
+	 * elements one by one.
+	 * </p>
+	 * <p>
 	 * Subclasses may reimplement this method to provide a more optimized implementation.
 	 * </p>
 	 *
@@ -203,7 +256,11 @@ public class ViewerComparator {
 	 */
 	public void sort(final Viewer viewer, Object[] elements) {
 		try {
-			Arrays.sort(elements, (a, b) -> ViewerComparator.this.compare(viewer, a, b));
+			if (elements.length > 1 && USES_DEFAULT_COMPARE.get(getClass()).booleanValue()) {
+				sortByKeys(viewer, elements);
+			} else {
+				Arrays.sort(elements, (a, b) -> ViewerComparator.this.compare(viewer, a, b));
+			}
 		} catch (IllegalArgumentException e) {
 			String msg = e
 					+ "\nWorkaround for comparator violation:\n\tSet system property -Djava.util.Arrays.useLegacyMergeSort=true" //$NON-NLS-1$
@@ -228,4 +285,34 @@ public class ViewerComparator {
 			throw e;
 		}
 	}
+
+	private void sortByKeys(Viewer viewer, Object[] elements) {
+		Comparator<? super String> stringComparator = getComparator();
+		// label providers and collators need not be thread safe, so all keys
+		// are computed up front on the calling thread
+		Collator collator = stringComparator instanceof Collator && elements.length >= COLLATION_KEY_THRESHOLD
+				? (Collator) stringComparator
+				: null;
+		SortKey[] keys = new SortKey[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			Object element = elements[i];
+			String label = getLabel(viewer, element);
+			keys[i] = new SortKey(element, category(element), collator != null ? collator.getCollationKey(label) : label);
+		}
+		if (collator != null) {
+			Comparator<SortKey> keyComparator = (a, b) -> a.category != b.category ? a.category - b.category
+					: ((CollationKey) a.key).compareTo((CollationKey) b.key);
+			if (keys.length >= PARALLEL_THRESHOLD) {
+				Arrays.parallelSort(keys, keyComparator);
+			} else {
+				Arrays.sort(keys, keyComparator);
+			}
+		} else {
+			Arrays.sort(keys, (a, b) -> a.category != b.category ? a.category - b.category
+					: stringComparator.compare((String) a.key, (String) b.key));
+		}
+		for (int i = 0; i < keys.length; i++) {
+			elements[i] = keys[i].element;
+		}
+	}
 }
@@ -14,9 +14,12 @@
 package org.eclipse.jface.viewers.deferred;
 
 import java.util.Comparator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.internal.DaemonThreadPool;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.jface.viewers.AcceptAllFilter;
@@ -54,6 +57,12 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
  * the previous range.
  * </p>
  *
+ * <p>
+ * Sorting runs on a pool of daemon threads shared by all instances, at most one
+ * task per instance at a time. Neither the model nor the sorting task ever wait
+ * for a lock held by the other.
+ * </p>
+ *
  * @since 3.1
  */
 /* package */ final class BackgroundContentProvider {
@@ -63,6 +72,21 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 	 */
 	private static final String SORTING = JFaceResources.getString("Sorting"); //$NON-NLS-1$
 
+	/**
+	 * Sorts for all instances. Threads are only kept while there is work.
+	 */
+	private static final Executor SORT_EXECUTOR = DaemonThreadPool.create(SORTING,
+			Math.max(1, Runtime.getRuntime().availableProcessors() / 2), Thread.NORM_PRIORITY - 1);
+
+	/** No sort is scheduled or running */
+	private static final int IDLE = 0;
+
+	/** A sort is scheduled or running */
+	private static final int SORTING_STATE = 1;
+
+	/** A sort is running and another one must follow */
+	private static final int RESORT = 2;
+
 	/**
 	 * Table limit. -1 if unlimited
 	 */
@@ -122,7 +146,11 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 	private ConcurrentTableUpdator updator;
 
 	private IProgressMonitor sortingProgressMonitor = new NullProgressMonitor();
-	private Thread sortThread = null;
+
+	/**
+	 * One of <code>IDLE</code>, <code>SORTING_STATE</code> or <code>RESORT</code>
+	 */
+	private final AtomicInteger sortState = new AtomicInteger(IDLE);
 
 	private volatile FastProgressReporter sortMon = new FastProgressReporter();
 
@@ -243,9 +271,9 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 			}
 
 			// If there are pending changes, process one of them
-			if (!changeQueue.isEmpty()) {
+			ChangeQueue.Change next = changeQueue.dequeue();
+			if (next != null) {
 				dirty = true;
-				ChangeQueue.Change next = changeQueue.dequeue();
 
 				switch(next.getType()) {
 					case ChangeQueue.ADD: {
@@ -430,47 +458,17 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 		}
 	}
 
-	/**
-	 * This lock protects the two boolean variables sortThreadStarted and resortScheduled.
-	 */
-	private Object lock = new Object();
-
-	/**
-	 * true if the sort thread is running
-	 */
-	private boolean sortThreadStarted = false;
-
-	/**
-	 * true if we need to sort
-	 */
-	private boolean sortScheduled = false;
-
-	private final class SortThread extends Thread {
-		private SortThread(String name) {
-			super(name);
-		}
-
-		@Override
-		public void run() {
-			loop: while (true) {
-				synchronized (lock) {
-					sortScheduled = false;
-				}
-				try {
-					// this is the main work
-					doSort(sortingProgressMonitor);
-				} catch (Exception ex) {
-					// ignore
-				}
-				synchronized (lock) {
-					if (sortScheduled) {
-						continue loop;
-					}
-					sortThreadStarted = false;
-					break loop;
-				}
+	private void sort() {
+		do {
+			// changes from here on are picked up by this run
+			sortState.set(SORTING_STATE);
+			try {
+				// this is the main work
+				doSort(sortingProgressMonitor);
+			} catch (Exception ex) {
+				// ignore
 			}
-		}
+		} while (!sortState.compareAndSet(SORTING_STATE, IDLE));
 	}
 
 	/**
@@ -478,16 +476,20 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 	 * if necessary.
 	 */
 	private void makeDirty() {
-		synchronized (lock) {
-			sortMon.cancel();
-			// request sorting
-			sortScheduled = true;
-			if (!sortThreadStarted) {
-				sortThreadStarted = true;
-				sortThread = new SortThread(SORTING);
-				sortThread.setDaemon(true);
-				sortThread.setPriority(Thread.NORM_PRIORITY - 1);
-				sortThread.start();
+		sortMon.cancel();
+		// request sorting
+		while (true) {
+			int state = sortState.get();
+			if (state == RESORT) {
+				return;
+			}
+			if (state == SORTING_STATE) {
+				if (sortState.compareAndSet(SORTING_STATE, RESORT)) {
+					return;
+				}
+			} else if (sortState.compareAndSet(IDLE, SORTING_STATE)) {
+				SORT_EXECUTOR.execute(this::sort);
+				return;
 			}
 		}
 	}
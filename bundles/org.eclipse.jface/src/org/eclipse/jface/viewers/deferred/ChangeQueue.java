@@ -13,11 +13,18 @@
  *******************************************************************************/
 package org.eclipse.jface.viewers.deferred;
 
-import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Holds a queue of additions, removals, updates, and SET calls for a
  * BackgroundContentProvider
+ * <p>
+ * The queue does not lock, so that the model never waits for the sorting
+ * thread. Changes made redundant by a later SET are skipped when dequeued.
+ * </p>
  */
 final class ChangeQueue {
 	/**
@@ -48,6 +55,7 @@ final class ChangeQueue {
 	public static final class Change {
 		private int type;
 		private Object[] elements;
+		private long sequence;
 
 		/**
 		 * Create a change of the specified type that affects the given elements.
@@ -83,7 +91,14 @@ final class ChangeQueue {
 		}
 	}
 
-	private LinkedList<Change> queue = new LinkedList<>();
+	private final Queue<Change> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	/**
+	 * The SET enqueued last, or <code>null</code>
+	 */
+	private final AtomicReference<Change> lastSet = new AtomicReference<>();
 
 	/**
 	 * Create a change of the given type and elements and enqueue it.
@@ -91,7 +106,7 @@ final class ChangeQueue {
 	 * @param type the type of change to be created
 	 * @param elements the elements affected by the change
 	 */
-	public synchronized void enqueue(int type, Object[] elements) {
+	public void enqueue(int type, Object[] elements) {
 		enqueue(new Change(type, elements));
 	}
 
@@ -99,37 +114,41 @@ final class ChangeQueue {
 	 * Add the specified change to the queue
 	 * @param toQueue the change to be added
 	 */
-	public synchronized void enqueue(Change toQueue) {
-		// A SET event makes all previous adds, removes, and sets redundant... so remove
-		// them from the queue
+	public void enqueue(Change toQueue) {
+		toQueue.sequence = sequence.incrementAndGet();
 		if (toQueue.type == SET) {
-			LinkedList<Change> newQueue = new LinkedList<>();
-			for (Change next : queue) {
-				if (next.getType() == ADD || next.getType() == REMOVE || next.getType() == SET) {
-					continue;
-				}
-
-				newQueue.add(next);
-			}
-			queue = newQueue;
+			lastSet.accumulateAndGet(toQueue, (a, b) -> a == null || a.sequence < b.sequence ? b : a);
 		}
-
 		queue.add(toQueue);
 	}
 
 	/**
-	 * Remove the first change from the queue.
-	 * @return the first change
+	 * Remove the first change from the queue. A SET event makes all previous
+	 * adds, removes, and sets redundant, so those are skipped.
+	 *
+	 * @return the first change, or <code>null</code> if the queue is empty
 	 */
-	public synchronized Change dequeue() {
-		return queue.removeFirst();
+	public Change dequeue() {
+		Change next;
+		while ((next = queue.poll()) != null) {
+			Change set = lastSet.get();
+			if (set != null && next != set && next.type != UPDATE && next.sequence < set.sequence) {
+				continue;
+			}
+			if (next == set) {
+				// don't hold on to its elements
+				lastSet.compareAndSet(set, null);
+			}
+			return next;
+		}
+		return null;
 	}
 
 	/**
 	 * Return whether the queue is empty
 	 * @return <code>true</code> if empty, <code>false</code> otherwise
 	 */
-	public synchronized boolean isEmpty() {
+	public boolean isEmpty() {
 		return queue.isEmpty();
 	}
 }
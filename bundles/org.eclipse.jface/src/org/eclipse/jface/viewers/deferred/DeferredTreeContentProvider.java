@@ -0,0 +1,430 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.viewers.deferred;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.jface.viewers.AcceptAllFilter;
+import org.eclipse.jface.viewers.IFilter;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+
+/**
+ * Content provider that performs sorting and filtering in a background thread,
+ * for every level of a tree. Requires a <code>TreeViewer</code> created with
+ * the <code>SWT.VIRTUAL</code> flag and an <code>IConcurrentModel</code> of the
+ * root elements as input. The children of an element are provided by the
+ * concurrent model that the function given to the constructor returns for it.
+ * <p>
+ * The sorter and filter must be set directly on the content provider, and
+ * apply to all levels. Any sorter or filter on the TreeViewer will be ignored.
+ * </p>
+ *
+ * <p>
+ * The children of each parent are sorted like the rows of a
+ * <code>DeferredContentProvider</code>. The model of an element is asked for
+ * its contents as soon as the element is shown, so that the tree can tell
+ * whether the element has children. It is released once the element is not
+ * shown by its parent anymore, and all models are released when the input
+ * changes.
+ * </p>
+ *
+ * @since 3.28
+ */
+public class DeferredTreeContentProvider implements ILazyTreeContentProvider {
+
+	private final Function<Object, IConcurrentModel> childModels;
+
+	private int limit = -1;
+
+	private Comparator sortOrder;
+
+	private IFilter filter = AcceptAllFilter.getInstance();
+
+	private TreeViewer viewer;
+
+	private Object input;
+
+	/**
+	 * The parents whose children are sorted. These fields are only accessed
+	 * in the UI thread.
+	 */
+	private final Map<Object, TreeLevelAdapter> levels = new HashMap<>();
+
+	/**
+	 * The parent and index each element was last shown at
+	 */
+	private final Map<Object, Object> parents = new HashMap<>();
+
+	private final Map<Object, Integer> indices = new HashMap<>();
+
+	/**
+	 * Elements which were replaced or cut off, and may not be shown anymore
+	 */
+	private List<Object> displaced = new ArrayList<>();
+
+	private boolean releaseScheduled;
+
+	/**
+	 * One level of the tree: the children of a parent, and the background
+	 * sort feeding them.
+	 */
+	private final class TreeLevelAdapter extends AbstractVirtualTable {
+
+		private final Object parent;
+
+		private BackgroundContentProvider provider;
+
+		/**
+		 * The children as shown, null where not known yet
+		 */
+		private Object[] rows = new Object[0];
+
+		TreeLevelAdapter(Object parent) {
+			this.parent = parent;
+		}
+
+		@Override
+		public void clear(int index) {
+			if (isReleased()) {
+				return;
+			}
+			if (parent == input) {
+				Tree tree = viewer.getTree();
+				if (index < tree.getItemCount()) {
+					tree.clear(index, false);
+				}
+				return;
+			}
+			TreeItem item = findItem(parent);
+			if (item != null && index < item.getItemCount()) {
+				item.clear(index, false);
+			}
+		}
+
+		@Override
+		public void replace(Object element, int itemIndex) {
+			if (isReleased() || itemIndex >= rows.length) {
+				return;
+			}
+			Object old = rows[itemIndex];
+			if (old != null && !old.equals(element)) {
+				displaced(old);
+			}
+			rows[itemIndex] = element;
+			parents.put(element, parent);
+			indices.put(element, Integer.valueOf(itemIndex));
+			viewer.replace(parent, itemIndex, element);
+			// tells whether the new element has children
+			getLevel(element);
+		}
+
+		@Override
+		public void setItemCount(int total) {
+			if (isReleased()) {
+				return;
+			}
+			for (int i = total; i < rows.length; i++) {
+				if (rows[i] != null) {
+					displaced(rows[i]);
+				}
+			}
+			Object[] newRows = new Object[total];
+			System.arraycopy(rows, 0, newRows, 0, Math.min(total, rows.length));
+			rows = newRows;
+			viewer.setChildCount(parent, total);
+		}
+
+		@Override
+		public int getItemCount() {
+			if (parent == input) {
+				return viewer.getTree().getItemCount();
+			}
+			TreeItem item = findItem(parent);
+			return item == null ? 0 : item.getItemCount();
+		}
+
+		@Override
+		public int getTopIndex() {
+			// the index of the child of the parent the top item is in
+			TreeItem item = viewer.getTree().getTopItem();
+			while (item != null) {
+				TreeItem parentItem = item.getParentItem();
+				if (parentItem == null) {
+					return parent == input ? Math.max(viewer.getTree().indexOf(item) - 1, 0) : 0;
+				}
+				if (parent.equals(parentItem.getData())) {
+					return Math.max(parentItem.indexOf(item) - 1, 0);
+				}
+				item = parentItem;
+			}
+			return 0;
+		}
+
+		@Override
+		public int getVisibleItemCount() {
+			Tree tree = viewer.getTree();
+			Rectangle rect = tree.getClientArea();
+			int itemHeight = tree.getItemHeight();
+			int headerHeight = tree.getHeaderHeight();
+			return (rect.height - headerHeight + itemHeight - 1) / (itemHeight + tree.getGridLineWidth());
+		}
+
+		@Override
+		public Control getControl() {
+			return viewer.getControl();
+		}
+
+		/*
+		 * Updates may still arrive for a level released in the meantime
+		 */
+		private boolean isReleased() {
+			return levels.get(parent) != this;
+		}
+
+		boolean shows(Object element, int index) {
+			return index < rows.length && element.equals(rows[index]);
+		}
+	}
+
+	/**
+	 * Create a DeferredTreeContentProvider with the given sort order.
+	 *
+	 * @param sortOrder
+	 *            a comparator that sorts the children of every element
+	 * @param childModels
+	 *            returns the model of the children of an element, or
+	 *            <code>null</code> if the element has no children. Called in
+	 *            the UI thread.
+	 */
+	public DeferredTreeContentProvider(Comparator sortOrder, Function<Object, IConcurrentModel> childModels) {
+		Assert.isNotNull(childModels);
+		this.sortOrder = sortOrder;
+		this.childModels = childModels;
+	}
+
+	@Override
+	public void dispose() {
+		releaseAll();
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		releaseAll();
+		input = newInput;
+		if (newInput == null) {
+			return;
+		}
+
+		Assert.isTrue(newInput instanceof IConcurrentModel);
+		Assert.isTrue(viewer instanceof TreeViewer);
+		this.viewer = (TreeViewer) viewer;
+		getLevel(newInput);
+	}
+
+	/**
+	 * Sets the sort order for this content provider. This sort order takes
+	 * priority over anything that was supplied to the <code>TreeViewer</code>.
+	 *
+	 * @param sortOrder
+	 *            new sort order. The comparator must be able to support being
+	 *            used in a background thread.
+	 */
+	public void setSortOrder(Comparator sortOrder) {
+		Assert.isNotNull(sortOrder);
+		this.sortOrder = sortOrder;
+		for (TreeLevelAdapter level : levels.values()) {
+			level.provider.setSortOrder(sortOrder);
+		}
+	}
+
+	/**
+	 * Sets the filter for this content provider. This filter takes priority
+	 * over anything that was supplied to the <code>TreeViewer</code>. The
+	 * filter must be capable of being used in a background thread.
+	 *
+	 * @param toSet
+	 *            filter to set
+	 */
+	public void setFilter(IFilter toSet) {
+		this.filter = toSet;
+		for (TreeLevelAdapter level : levels.values()) {
+			level.provider.setFilter(toSet);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of children shown for each element. If a model
+	 * contains more than this number of elements, only the top elements will
+	 * be shown based on the current sort order.
+	 *
+	 * @param limit
+	 *            maximum number of children to show or -1 if unbounded
+	 */
+	public void setLimit(int limit) {
+		this.limit = limit;
+		for (TreeLevelAdapter level : levels.values()) {
+			level.provider.setLimit(limit);
+		}
+	}
+
+	/**
+	 * Returns the current maximum number of children or -1 if unbounded
+	 *
+	 * @return the current maximum number of children or -1 if unbounded
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		TreeLevelAdapter level = getLevel(parent);
+		if (level != null) {
+			level.provider.checkVisibleRange(index);
+		}
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		if (getLevel(element) == null && currentChildCount != 0) {
+			viewer.setChildCount(element, 0);
+		}
+		// otherwise the count is set once the model answered
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		Object parent = parents.get(element);
+		return parent == input ? null : parent;
+	}
+
+	/*
+	 * Returns the level of the children of the given element, created on
+	 * first use, or null if the element has no children.
+	 */
+	private TreeLevelAdapter getLevel(Object element) {
+		if (input == null || element == null) {
+			return null;
+		}
+		TreeLevelAdapter level = levels.get(element);
+		if (level == null) {
+			IConcurrentModel model = element == input ? (IConcurrentModel) input : childModels.apply(element);
+			if (model == null) {
+				return null;
+			}
+			level = new TreeLevelAdapter(element);
+			level.provider = new BackgroundContentProvider(level, model, sortOrder);
+			levels.put(element, level);
+
+			level.provider.setLimit(limit);
+			level.provider.setFilter(filter);
+		}
+		return level;
+	}
+
+	/*
+	 * Returns the item showing the given element where it was last shown, or
+	 * null if it is not there anymore.
+	 */
+	private TreeItem findItem(Object element) {
+		Object parent = parents.get(element);
+		Integer index = indices.get(element);
+		if (parent == null || index == null) {
+			return null;
+		}
+		TreeItem item;
+		if (parent == input) {
+			Tree tree = viewer.getTree();
+			if (index.intValue() >= tree.getItemCount()) {
+				return null;
+			}
+			item = tree.getItem(index.intValue());
+		} else {
+			TreeItem parentItem = findItem(parent);
+			if (parentItem == null || index.intValue() >= parentItem.getItemCount()) {
+				return null;
+			}
+			item = parentItem.getItem(index.intValue());
+		}
+		return element.equals(item.getData()) ? item : null;
+	}
+
+	/*
+	 * Remembers an element that may have moved to another row or disappeared.
+	 * Whether it is still shown is checked once the pending updates of the
+	 * viewer are done, since a resort moves many elements one at a time.
+	 */
+	private void displaced(Object element) {
+		displaced.add(element);
+		if (!releaseScheduled) {
+			releaseScheduled = true;
+			viewer.getControl().getDisplay().asyncExec(this::releaseDisplaced);
+		}
+	}
+
+	private void releaseDisplaced() {
+		releaseScheduled = false;
+		List<Object> toCheck = displaced;
+		displaced = new ArrayList<>();
+		for (Object element : toCheck) {
+			if (!isShown(element)) {
+				release(element);
+			}
+		}
+	}
+
+	private boolean isShown(Object element) {
+		Integer index = indices.get(element);
+		TreeLevelAdapter level = levels.get(parents.get(element));
+		return index != null && level != null && level.shows(element, index.intValue());
+	}
+
+	/*
+	 * Releases the model of the children of the given element, and of their
+	 * children.
+	 */
+	private void release(Object element) {
+		parents.remove(element);
+		indices.remove(element);
+		TreeLevelAdapter level = levels.remove(element);
+		if (level == null) {
+			return;
+		}
+		level.provider.dispose();
+		for (Object child : level.rows) {
+			if (child != null && element.equals(parents.get(child))) {
+				release(child);
+			}
+		}
+	}
+
+	private void releaseAll() {
+		for (TreeLevelAdapter level : levels.values()) {
+			level.provider.dispose();
+		}
+		levels.clear();
+		parents.clear();
+		indices.clear();
+		displaced.clear();
+	}
+}
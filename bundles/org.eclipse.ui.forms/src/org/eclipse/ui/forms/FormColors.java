@@ -641,7 +641,7 @@ public class FormColors {
 
 	private LocalResourceManager getResourceManager() {
 		if (resources == null)
-			resources = new LocalResourceManager(JFaceResources.getResources());
+			resources = new LocalResourceManager(JFaceResources.getResources(display));
 		return resources;
 	}
 }
@@ -18,6 +18,8 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.swt.SWT;
@@ -215,14 +217,41 @@ public class FormText extends Canvas {
 
 	private SelectionData selData;
 
+	// the arguments of the last setText, to skip parsing unchanged text
+	private String parsedText;
+
+	private boolean parsedTags;
+
+	private boolean parsedURLs;
+
+	private boolean hasControlSegments;
+
 	private static final String INTERNAL_MENU = "__internal_menu__"; //$NON-NLS-1$
 
 	private static final String CONTROL_KEY = "__segment__"; //$NON-NLS-1$
 
 	private class FormTextLayout extends Layout implements ILayoutExtension {
+		private static final int MAX_CACHED_TEXT_SIZES = 8;
+
+		// text sizes by width hint, measured with textSizeFont
+		private final Map<Integer, Point> textSizes = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Point> eldest) {
+				return size() > MAX_CACHED_TEXT_SIZES;
+			}
+		};
+
+		private Font textSizeFont;
+
 		public FormTextLayout() {
 		}
 
+		void flushTextSizes() {
+			textSizes.clear();
+		}
+
 		@Override
 		public int computeMaximumWidth(Composite parent, boolean changed) {
 			return computeSize(parent, SWT.DEFAULT, SWT.DEFAULT, changed).x;
@@ -230,7 +259,7 @@ public class FormText extends Canvas {
 
 		@Override
 		public int computeMinimumWidth(Composite parent, boolean changed) {
-			return computeSize(parent, 5, SWT.DEFAULT, true).x;
+			return computeSize(parent, 5, SWT.DEFAULT, changed).x;
 		}
 
 		@Override
@@ -240,10 +269,12 @@ public class FormText extends Canvas {
 
 			if (DEBUG_TEXT)
 				start = System.currentTimeMillis();
+			if (changed)
+				textSizes.clear();
 			int innerWidth = wHint;
 			if (innerWidth != SWT.DEFAULT)
 				innerWidth -= marginWidth * 2;
-			Point textSize = computeTextSize(innerWidth);
+			Point textSize = getTextSize(innerWidth);
 			int textWidth = textSize.x + 2 * marginWidth;
 			int textHeight = textSize.y + 2 * marginHeight;
 			Point result = new Point(textWidth, textHeight);
@@ -258,6 +289,24 @@ public class FormText extends Canvas {
 			return result;
 		}
 
+		private Point getTextSize(int wHint) {
+			// Embedded controls may change their size without telling us
+			if (hasControlSegments)
+				return computeTextSize(wHint);
+			Font font = getFont();
+			if (font != textSizeFont) {
+				textSizes.clear();
+				textSizeFont = font;
+			}
+			Integer key = Integer.valueOf(wHint);
+			Point size = textSizes.get(key);
+			if (size == null) {
+				size = computeTextSize(wHint);
+				textSizes.put(key, size);
+			}
+			return new Point(size.x, size.y);
+		}
+
 		private Point computeTextSize(int wHint) {
 			Paragraph[] paragraphs = model.getParagraphs();
 			GC gc = new GC(FormText.this);
@@ -526,7 +575,10 @@ public class FormText extends Canvas {
 	 *              </code> otherwise.
 	 */
 	public void setParagraphsSeparated(boolean value) {
-		paragraphsSeparated = value;
+		if (paragraphsSeparated != value) {
+			paragraphsSeparated = value;
+			flushTextSizes();
+		}
 	}
 
 	/**
@@ -554,6 +606,7 @@ public class FormText extends Canvas {
 	 */
 	public void setImage(String key, Image image) {
 		resourceTable.put("i." + key, image); //$NON-NLS-1$
+		flushTextSizes();
 	}
 
 	/**
@@ -599,6 +652,7 @@ public class FormText extends Canvas {
 		else
 			resourceTable.put(fullKey, font);
 		model.clearCache(fullKey);
+		flushTextSizes();
 	}
 
 	/**
@@ -637,6 +691,7 @@ public class FormText extends Canvas {
 	public void setFont(Font font) {
 		super.setFont(font);
 		model.clearCache(null);
+		flushTextSizes();
 		Font boldFont = (Font) resourceTable.get(FormTextModel.BOLD_FONT_ID);
 		if (boldFont != null) {
 			FormFonts.getInstance().markFinished(boldFont, getDisplay());
@@ -660,13 +715,19 @@ public class FormText extends Canvas {
 	 *            converted into hyperlinks.
 	 */
 	public void setText(String text, boolean parseTags, boolean expandURLs) {
-		disposeResourceTable(false);
 		entered = null;
-		if (parseTags)
-			model.parseTaggedText(text, expandURLs);
-		else
-			model.parseRegularText(text, expandURLs);
-		hookControlSegmentFocus();
+		if (text == null || !text.equals(parsedText) || parseTags != parsedTags || expandURLs != parsedURLs) {
+			disposeResourceTable(false);
+			if (parseTags)
+				model.parseTaggedText(text, expandURLs);
+			else
+				model.parseRegularText(text, expandURLs);
+			parsedText = text;
+			parsedTags = parseTags;
+			parsedURLs = expandURLs;
+			hookControlSegmentFocus();
+			flushTextSizes();
+		}
 		layout();
 		redraw();
 	}
@@ -686,12 +747,15 @@ public class FormText extends Canvas {
 		entered = null;
 		disposeResourceTable(false);
 		model.parseInputStream(is, expandURLs);
+		parsedText = null;
 		hookControlSegmentFocus();
+		flushTextSizes();
 		layout();
 		redraw();
 	}
 
 	private void hookControlSegmentFocus() {
+		hasControlSegments = false;
 		Paragraph[] paragraphs = model.getParagraphs();
 		if (paragraphs == null)
 			return;
@@ -727,6 +791,7 @@ public class FormText extends Canvas {
 			ParagraphSegment[] segments = p.getSegments();
 			for (ParagraphSegment segment : segments) {
 				if (segment instanceof ControlSegment) {
+					hasControlSegments = true;
 					ControlSegment cs = (ControlSegment) segment;
 					Control c = cs.getControl(resourceTable);
 					if (c != null) {
@@ -866,6 +931,7 @@ public class FormText extends Canvas {
 	 */
 	public void setWhitespaceNormalized(boolean value) {
 		model.setWhitespaceNormalized(value);
+		parsedText = null;
 	}
 
 	/**
@@ -1597,6 +1663,10 @@ public class FormText extends Canvas {
 		textBuffer.dispose();
 	}
 
+	private void flushTextSizes() {
+		((FormTextLayout) getLayout()).flushTextSizes();
+	}
+
 	private int getParagraphSpacing(int lineHeight) {
 		return lineHeight / 2;
 	}
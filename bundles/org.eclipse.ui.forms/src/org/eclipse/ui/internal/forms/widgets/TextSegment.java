@@ -46,6 +46,8 @@ public class TextSegment extends ParagraphSegment {
 
 	private TextFragment[] textFragments;
 
+	private Point textExtent;
+
 	class AreaRectangle {
 		Rectangle rect;
 
@@ -151,6 +153,7 @@ public class TextSegment extends ParagraphSegment {
 	void setText(String text) {
 		this.text = cleanup(text);
 		textFragments = null;
+		textExtent = null;
 	}
 
 	void setColorId(String colorId) {
@@ -160,6 +163,7 @@ public class TextSegment extends ParagraphSegment {
 	void setFontId(String fontId) {
 		this.fontId = fontId;
 		textFragments = null;
+		textExtent = null;
 	}
 
 	@Override
@@ -237,7 +241,7 @@ public class TextSegment extends ParagraphSegment {
 		boolean newLine = false;
 
 		if (wHint == SWT.DEFAULT || !wrapAllowed) {
-			Point extent = gc.textExtent(text);
+			Point extent = computeTextExtent(gc);
 			int totalExtent = locator.x+extent.x;
 			if (isSelectable())
 				totalExtent+=1;
@@ -311,7 +315,7 @@ public class TextSegment extends ParagraphSegment {
 
 	private void layoutWithoutWrapping(GC gc, int width, Locator locator,
 			boolean selected, FontMetrics fm, int lineHeight, int descent) {
-		Point extent = gc.textExtent(text);
+		Point extent = computeTextExtent(gc);
 		int ewidth = extent.x;
 		if (isSelectable())
 			ewidth += 1;
@@ -695,11 +699,21 @@ public class TextSegment extends ParagraphSegment {
 				.size()]);
 	}
 
+	private Point computeTextExtent(GC gc) {
+		// measured with the same font as the fragments, see clearCache
+		if (textExtent == null)
+			textExtent = gc.textExtent(text);
+		return textExtent;
+	}
+
 	@Override
 	public void clearCache(String fontId) {
-		if (fontId==null && (this.fontId==null||this.fontId.equals(FormTextModel.BOLD_FONT_ID)))
+		if (fontId==null && (this.fontId==null||this.fontId.equals(FormTextModel.BOLD_FONT_ID))) {
 			textFragments = null;
-		else if (fontId!=null && this.fontId!=null && fontId.equals(this.fontId))
+			textExtent = null;
+		} else if (fontId!=null && this.fontId!=null && fontId.equals(this.fontId)) {
 			textFragments = null;
+			textExtent = null;
+		}
 	}
 }
@@ -312,6 +312,7 @@ public class ArchiveFileExportOperation implements IRunnableWithProgress {
 			throw new InvocationTargetException(e, NLS.bind(DataTransferMessages.ZipExport_cannotOpen, e.getMessage()));
 		}
 
+		boolean finished = false;
 		try {
 			// ie.- a single resource for recursive export was specified
 			int totalWork = IProgressMonitor.UNKNOWN;
@@ -333,6 +334,7 @@ public class ArchiveFileExportOperation implements IRunnableWithProgress {
 			}
 
 			try {
+				finished = true;
 				exporter.finished();
 			} catch (IOException e) {
 				throw new InvocationTargetException(
@@ -340,6 +342,14 @@ public class ArchiveFileExportOperation implements IRunnableWithProgress {
 						NLS.bind(DataTransferMessages.ZipExport_cannotClose, e.getMessage()));
 			}
 		} finally {
+			if (!finished) {
+				// canceled or failed, release the archive and the exporter's threads
+				try {
+					exporter.abort();
+				} catch (IOException e) {
+					// the export has failed already
+				}
+			}
 			monitor.done();
 		}
 	}
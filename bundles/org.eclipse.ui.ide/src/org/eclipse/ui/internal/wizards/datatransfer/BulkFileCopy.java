@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.wizards.datatransfer;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Copies local files to the location of workspace files that do not exist
+ * yet, several at a time, and then refreshes the containers of the files
+ * once.
+ * <p>
+ * The contents are copied with {@link Files#copy(Path, Path, java.nio.file.CopyOption...)},
+ * which lets the file system copy them without passing them through the
+ * workspace stream by stream. The attributes and modification time of the
+ * source are copied along.
+ * </p>
+ * <p>
+ * The caller is expected to hold a scheduling rule covering the files; only
+ * the calling thread touches the workspace and the progress monitor.
+ * </p>
+ */
+public class BulkFileCopy {
+
+	private static final long PROGRESS_INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+
+	/* the source of each target, the last one added wins */
+	private final Map<IFile, Path> sources = new LinkedHashMap<>();
+
+	private final AtomicLong bytesCopied = new AtomicLong();
+
+	/**
+	 * Adds a file to copy.
+	 *
+	 * @param source
+	 *            the local file to copy
+	 * @param target
+	 *            the workspace file to create, which must not exist and must
+	 *            have a local location; if it was added before, the new
+	 *            source replaces the previous one
+	 */
+	public void add(Path source, IFile target) {
+		sources.put(target, source);
+	}
+
+	/**
+	 * @return whether no files have been added
+	 */
+	public boolean isEmpty() {
+		return sources.isEmpty();
+	}
+
+	/**
+	 * Copies the files added so far and refreshes their containers. Files
+	 * which were copied before the operation was canceled are refreshed as
+	 * well.
+	 *
+	 * @param monitor
+	 *            the monitor to report to
+	 * @return the problems encountered, one per file that could not be copied
+	 * @exception OperationCanceledException
+	 *                if canceled
+	 */
+	public List<IStatus> run(IProgressMonitor monitor) {
+		int count = sources.size();
+		SubMonitor subMonitor = SubMonitor.convert(monitor, count * 2);
+		List<IStatus> problems = new ArrayList<>();
+		Set<IContainer> containers = new LinkedHashSet<>();
+		int threads = Math.min(count, Math.max(2, Runtime.getRuntime().availableProcessors()));
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+			Thread thread = new Thread(runnable, "Copying files"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			CompletionService<IStatus> completion = new ExecutorCompletionService<>(executor);
+			for (Map.Entry<IFile, Path> entry : sources.entrySet()) {
+				Path source = entry.getValue();
+				Path target = entry.getKey().getLocation().toFile().toPath();
+				completion.submit(() -> copy(source, target));
+				containers.add(entry.getKey().getParent());
+			}
+
+			long start = System.nanoTime();
+			long lastReport = start;
+			for (int done = 0; done < count; done++) {
+				Future<IStatus> result;
+				while ((result = completion.poll(PROGRESS_INTERVAL, TimeUnit.NANOSECONDS)) == null) {
+					lastReport = reportProgress(subMonitor, done, count, start);
+				}
+				IStatus status;
+				try {
+					status = result.get();
+				} catch (ExecutionException e) {
+					status = new Status(IStatus.ERROR, PlatformUI.PLUGIN_ID, 0, String.valueOf(e.getCause()),
+							e.getCause());
+				}
+				if (status.getSeverity() == IStatus.ERROR) {
+					problems.add(status);
+				}
+				subMonitor.worked(1);
+				if (System.nanoTime() - lastReport > PROGRESS_INTERVAL) {
+					lastReport = reportProgress(subMonitor, done + 1, count, start);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			executor.shutdownNow();
+			try {
+				executor.awaitTermination(1, TimeUnit.MINUTES);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			// copied files must become known to the workspace even if canceled
+			refresh(containers, problems, subMonitor.newChild(count));
+		}
+		return problems;
+	}
+
+	/**
+	 * @return the number of bytes copied so far
+	 */
+	public long getBytesCopied() {
+		return bytesCopied.get();
+	}
+
+	private long reportProgress(SubMonitor monitor, int done, int count, long start) {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		long now = System.nanoTime();
+		long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - start));
+		monitor.subTask(NLS.bind(DataTransferMessages.ImportOperation_copyProgress, new Object[] {
+				Integer.valueOf(done), Integer.valueOf(count), Long.valueOf(getBytesCopied() / elapsed) }));
+		return now;
+	}
+
+	private IStatus copy(Path source, Path target) {
+		if (Thread.currentThread().isInterrupted()) {
+			return Status.CANCEL_STATUS;
+		}
+		try {
+			Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+			bytesCopied.addAndGet(Files.size(target));
+			return Status.OK_STATUS;
+		} catch (FileAlreadyExistsException e) {
+			// not created by us, so leave it alone
+			return new Status(IStatus.ERROR, PlatformUI.PLUGIN_ID, 0,
+					NLS.bind(DataTransferMessages.ImportOperation_coreImportError, source, e.getMessage()), e);
+		} catch (IOException e) {
+			try {
+				Files.deleteIfExists(target);
+			} catch (IOException e1) {
+				// the refresh will pick up what remains
+			}
+			String message;
+			if (e instanceof AccessDeniedException && Files.isRegularFile(source) && !Files.isReadable(source)) {
+				message = NLS.bind(DataTransferMessages.ImportOperation_cannotReadError, source);
+			} else {
+				message = NLS.bind(DataTransferMessages.ImportOperation_coreImportError, source, e.getMessage());
+			}
+			return new Status(IStatus.ERROR, PlatformUI.PLUGIN_ID, 0, message, e);
+		}
+	}
+
+	private static void refresh(Set<IContainer> containers, List<IStatus> problems, SubMonitor monitor) {
+		monitor.setWorkRemaining(containers.size());
+		for (IContainer container : containers) {
+			try {
+				container.refreshLocal(IResource.DEPTH_ONE, null);
+			} catch (CoreException e) {
+				problems.add(e.getStatus());
+			}
+			monitor.worked(1);
+		}
+	}
+}
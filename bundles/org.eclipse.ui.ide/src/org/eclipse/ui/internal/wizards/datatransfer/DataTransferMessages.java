@@ -48,6 +48,7 @@ public class DataTransferMessages extends NLS {
 	public static String ImportOperation_targetSameAsSourceError;
 	public static String ImportPage_filterSelections;
 	public static String ImportOperation_cannotReadError;
+	public static String ImportOperation_copyProgress;
 
 	public static String FileImport_selectSource;
 	public static String FileImport_selectSourceTitle;
@@ -97,6 +98,7 @@ public class DataTransferMessages extends NLS {
 	public static String WizardProjectsImportPage_RootSelectTitle;
 	public static String WizardProjectsImportPage_ImportProjectsDescription;
 	public static String WizardProjectsImportPage_CheckingMessage;
+	public static String WizardProjectsImportPage_CheckingFoundMessage;
 	public static String WizardProjectsImportPage_ArchiveSelectTitle;
 	public static String WizardProjectsImportPage_SelectArchiveDialogTitle;
 	public static String WizardProjectsImportPage_CreateProjectsTask;
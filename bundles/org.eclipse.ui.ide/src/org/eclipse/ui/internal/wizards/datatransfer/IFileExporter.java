@@ -35,6 +35,16 @@ public interface IFileExporter {
 	 */
 	public void finished() throws IOException;
 
+	/**
+	 * Release the currently-open file after the export was canceled or failed.
+	 * By default the file is finished as it is.
+	 *
+	 * @throws IOException
+	 */
+	public default void abort() throws IOException {
+		finished();
+	}
+
 	/**
 	 * Write the entry for the folder's name into the current archive.
 	 *
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.wizards.datatransfer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.internal.ide.Policy;
+import org.eclipse.ui.internal.ide.StatusUtil;
+import org.eclipse.ui.statushandlers.StatusManager;
+
+/**
+ * Searches a directory tree for project description files.
+ * <p>
+ * Every directory is listed by its own task on a work-stealing pool shared by
+ * all scans, so that sibling directories are scanned in parallel. The workspace metadata folder is
+ * never entered, and unless nested projects are searched, the directories below
+ * a project are not entered either. Directories reached twice through symbolic
+ * links are only scanned once.
+ * </p>
+ * <p>
+ * The calling thread only reports progress, including the number of projects
+ * found so far, and forwards cancellation, so the progress monitor is never
+ * accessed concurrently. It also hands the projects found so far to an
+ * optional listener, so that they can be shown before the scan completes.
+ * </p>
+ */
+public class ProjectFilesScanner {
+
+	private static final String DEBUG_PREFIX = "ProjectFilesScanner: "; //$NON-NLS-1$
+
+	private static final long PROGRESS_INTERVAL = 100;
+
+	/* the workers are daemons and end when idle */
+	private static final ForkJoinPool POOL = new ForkJoinPool(
+			Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+	private final boolean nestedProjects;
+
+	private final Set<Object> directoriesVisited = ConcurrentHashMap.newKeySet();
+
+	private final Queue<File> projectFiles = new ConcurrentLinkedQueue<>();
+
+	/* found, but not yet handed to the listener */
+	private final Queue<File> unreported = new ConcurrentLinkedQueue<>();
+
+	private final LongAdder directoryCount = new LongAdder();
+
+	private final LongAdder fileCount = new LongAdder();
+
+	private volatile boolean canceled;
+
+	private volatile boolean rootUnreadable;
+
+	private volatile Path currentDirectory;
+
+	private long elapsedTime;
+
+	/**
+	 * @param nestedProjects
+	 *            whether to look for projects inside of projects
+	 */
+	public ProjectFilesScanner(boolean nestedProjects) {
+		this.nestedProjects = nestedProjects;
+	}
+
+	/**
+	 * Collects the project description files below the directory. The files are
+	 * added sorted by path.
+	 *
+	 * @param files
+	 *            receives the project description files
+	 * @param directory
+	 *            the directory to search
+	 * @param monitor
+	 *            the monitor to report to
+	 * @return <code>true</code> if the search was completed,
+	 *         <code>false</code> if it was canceled or the directory could not
+	 *         be read
+	 */
+	public boolean scan(Collection<File> files, File directory, IProgressMonitor monitor) {
+		return scan(files, directory, monitor, null);
+	}
+
+	/**
+	 * Collects the project description files below the directory. The files are
+	 * added sorted by path.
+	 *
+	 * @param files
+	 *            receives the project description files
+	 * @param directory
+	 *            the directory to search
+	 * @param monitor
+	 *            the monitor to report to
+	 * @param listener
+	 *            receives the files found since it was last called, in the
+	 *            order they were found, on the calling thread while the scan
+	 *            runs, or <code>null</code>
+	 * @return <code>true</code> if the search was completed,
+	 *         <code>false</code> if it was canceled or the directory could not
+	 *         be read
+	 */
+	public boolean scan(Collection<File> files, File directory, IProgressMonitor monitor,
+			Consumer<List<File>> listener) {
+		if (monitor.isCanceled()) {
+			return false;
+		}
+		Path root = directory.toPath();
+		currentDirectory = root;
+		monitor.subTask(NLS.bind(DataTransferMessages.WizardProjectsImportPage_CheckingMessage, root));
+		try {
+			visit(root, Files.readAttributes(root, BasicFileAttributes.class));
+		} catch (IOException e) {
+			return false;
+		}
+
+		long start = System.nanoTime();
+		ForkJoinTask<Void> task = POOL.submit(new DirectoryScan(root, true));
+		try {
+			while (!task.isDone()) {
+				try {
+					task.get(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					if (monitor.isCanceled()) {
+						canceled = true;
+					}
+					monitor.subTask(NLS.bind(DataTransferMessages.WizardProjectsImportPage_CheckingFoundMessage,
+							currentDirectory, Integer.valueOf(projectFiles.size())));
+					report(listener);
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw new IllegalStateException(cause);
+				} catch (InterruptedException e) {
+					canceled = true;
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		} finally {
+			if (!task.isDone()) {
+				// the remaining tasks return as soon as they start
+				canceled = true;
+			}
+			elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		}
+
+		if (Policy.DEBUG_IMPORT_SCAN) {
+			System.out.println(DEBUG_PREFIX + "scanned " + getDirectoryCount() + " directories and " //$NON-NLS-1$ //$NON-NLS-2$
+					+ getFileCount() + " files in " + elapsedTime + " ms (" + getDirectoriesPerSecond() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " directories/s), found " + projectFiles.size() + " projects below " + root); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (canceled || rootUnreadable || monitor.isCanceled()) {
+			return false;
+		}
+		report(listener);
+		List<File> found = new ArrayList<>(projectFiles);
+		found.sort(Comparator.comparing(File::getPath));
+		files.addAll(found);
+		return true;
+	}
+
+	private void report(Consumer<List<File>> listener) {
+		if (listener == null) {
+			return;
+		}
+		List<File> found = new ArrayList<>();
+		for (File file = unreported.poll(); file != null; file = unreported.poll()) {
+			found.add(file);
+		}
+		if (!found.isEmpty()) {
+			listener.accept(found);
+		}
+	}
+
+	/**
+	 * @return the number of directories listed by the last scan
+	 */
+	public long getDirectoryCount() {
+		return directoryCount.sum();
+	}
+
+	/**
+	 * @return the number of directory entries examined by the last scan
+	 */
+	public long getFileCount() {
+		return fileCount.sum();
+	}
+
+	/**
+	 * @return the duration of the last scan in milliseconds
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * @return the number of directories listed per second by the last scan
+	 */
+	public long getDirectoriesPerSecond() {
+		return elapsedTime == 0 ? getDirectoryCount() * 1000 : getDirectoryCount() * 1000 / elapsedTime;
+	}
+
+	/**
+	 * Records the directory as visited.
+	 *
+	 * @return <code>false</code> if it was visited before
+	 */
+	private boolean visit(Path directory, BasicFileAttributes attributes) {
+		Object key = attributes.fileKey();
+		if (key == null) {
+			// file keys are not available on all platforms
+			try {
+				key = directory.toRealPath().toString();
+			} catch (IOException exception) {
+				StatusManager.getManager().handle(StatusUtil.newError(exception));
+				return true;
+			}
+		}
+		return directoriesVisited.add(key);
+	}
+
+	private final class DirectoryScan extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Path directory;
+
+		private final boolean root;
+
+		DirectoryScan(Path directory, boolean root) {
+			this.directory = directory;
+			this.root = root;
+		}
+
+		@Override
+		protected void compute() {
+			if (canceled) {
+				return;
+			}
+			currentDirectory = directory;
+			List<Path> directories = new ArrayList<>();
+			List<BasicFileAttributes> directoryAttributes = new ArrayList<>();
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+				for (Path entry : entries) {
+					fileCount.increment();
+					BasicFileAttributes attributes;
+					try {
+						attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+					} catch (IOException e) {
+						// dangling link or no access
+						continue;
+					}
+					String name = entry.getFileName().toString();
+					if (attributes.isDirectory()) {
+						if (!name.equals(WizardProjectsImportPage.METADATA_FOLDER)) {
+							directories.add(entry);
+							directoryAttributes.add(attributes);
+						}
+					} else if (name.equals(IProjectDescription.DESCRIPTION_FILE_NAME) && attributes.isRegularFile()) {
+						File projectFile = entry.toFile();
+						projectFiles.add(projectFile);
+						unreported.add(projectFile);
+						if (!nestedProjects) {
+							// don't search sub-directories since we can't have
+							// nested projects
+							directoryCount.increment();
+							return;
+						}
+					}
+				}
+			} catch (IOException | DirectoryIteratorException e) {
+				if (root) {
+					rootUnreadable = true;
+				}
+				return;
+			}
+			directoryCount.increment();
+
+			List<DirectoryScan> subScans = new ArrayList<>(directories.size());
+			for (int i = 0; i < directories.size(); i++) {
+				Path subDirectory = directories.get(i);
+				if (visit(subDirectory, directoryAttributes.get(i))) {
+					subScans.add(new DirectoryScan(subDirectory, false));
+				}
+			}
+			invokeAll(subScans);
+		}
+	}
+}
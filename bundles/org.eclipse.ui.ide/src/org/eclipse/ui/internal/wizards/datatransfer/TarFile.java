@@ -19,6 +19,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Enumeration;
 import java.util.zip.GZIPInputStream;
 
@@ -27,6 +29,13 @@ import java.util.zip.GZIPInputStream;
  * Reads a .tar or .tar.gz archive file, providing an index enumeration
  * and allows for accessing an InputStream for arbitrary files in the
  * archive.
+ * <p>
+ * Entries are read from one sequential stream as long as they are requested
+ * in archive order. An entry before the current position is read by seeking
+ * to the header offset recorded in the entry. A compressed archive cannot be
+ * positioned, so it is inflated into a temporary file the first time an entry
+ * is requested out of order. The file is deleted by {@link #close()}.
+ * </p>
  *
  * @since 3.1
  */
@@ -38,6 +47,10 @@ public class TarFile {
 
 	private InputStream internalEntryStream;
 
+	private boolean compressed;
+
+	private File uncompressedCopy;
+
 	/**
 	 * Create a new TarFile for the given file.
 	 *
@@ -52,6 +65,7 @@ public class TarFile {
 		// First, check if it's a GZIPInputStream.
 		try {
 			in = new GZIPInputStream(in);
+			compressed = true;
 		} catch(IOException e) {
 			//If it is not compressed we close
 			//the old one and recreate
@@ -73,10 +87,17 @@ public class TarFile {
 	 * @throws IOException if the file cannot be successfully closed
 	 */
 	public void close() throws IOException {
-		if (entryEnumerationStream != null)
-			entryEnumerationStream.close();
-		if (internalEntryStream != null)
-			internalEntryStream.close();
+		try {
+			if (entryEnumerationStream != null)
+				entryEnumerationStream.close();
+			if (internalEntryStream != null)
+				internalEntryStream.close();
+		} finally {
+			if (uncompressedCopy != null) {
+				uncompressedCopy.delete();
+				uncompressedCopy = null;
+			}
+		}
 	}
 
 	/**
@@ -124,30 +145,70 @@ public class TarFile {
 	 * @throws IOException
 	 */
 	public InputStream getInputStream(TarEntry entry) throws TarException, IOException {
-		if(entryStream == null || !entryStream.skipToEntry(entry)) {
-			if (internalEntryStream != null) {
-				internalEntryStream.close();
+		if (entryStream != null && entryStream.skipToEntry(entry)) {
+			return entryStream;
+		}
+		if (!compressed) {
+			return getPositionedStream(file, entry);
+		}
+		if (uncompressedCopy == null && entryStream != null) {
+			// Going back would inflate the archive from its start again, for
+			// every entry requested out of order
+			uncompressedCopy = inflate();
+		}
+		if (uncompressedCopy != null) {
+			return getPositionedStream(uncompressedCopy, entry);
+		}
+		if (internalEntryStream != null) {
+			internalEntryStream.close();
+		}
+		internalEntryStream = new GZIPInputStream(new FileInputStream(file));
+		entryStream = new TarInputStream(internalEntryStream, entry) {
+			@Override
+			public void close() {
+				// Ignore close() since we want to reuse the stream.
 			}
-			internalEntryStream = new FileInputStream(file);
-			// First, check if it's a GZIPInputStream.
-			try {
-				internalEntryStream = new GZIPInputStream(internalEntryStream);
-			} catch(IOException e) {
-				//If it is not compressed we close
-				//the old one and recreate
+		};
+		return entryStream;
+	}
+
+	/**
+	 * Returns a stream on the given entry of an uncompressed archive, by
+	 * seeking to the offset of the entry.
+	 */
+	private InputStream getPositionedStream(File archive, TarEntry entry) throws TarException, IOException {
+		if (!(internalEntryStream instanceof FileInputStream)) {
+			if (internalEntryStream != null) {
 				internalEntryStream.close();
-				internalEntryStream = new FileInputStream(file);
 			}
-			entryStream = new TarInputStream(internalEntryStream, entry) {
-				@Override
-				public void close() {
-					// Ignore close() since we want to reuse the stream.
-				}
-			};
+			internalEntryStream = new FileInputStream(archive);
 		}
+		FileInputStream in = (FileInputStream) internalEntryStream;
+		in.getChannel().position(entry.filepos);
+		entryStream = new TarInputStream(in, entry.filepos, entry) {
+			@Override
+			public void close() {
+				// Ignore close() since we want to reuse the stream.
+			}
+		};
 		return entryStream;
 	}
 
+	/**
+	 * Inflates the compressed archive into a temporary file, which is deleted
+	 * when this archive is closed.
+	 */
+	private File inflate() throws IOException {
+		File copy = File.createTempFile("archive", ".tar"); //$NON-NLS-1$ //$NON-NLS-2$
+		try (InputStream in = new GZIPInputStream(new FileInputStream(file))) {
+			Files.copy(in, copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			copy.delete();
+			throw e;
+		}
+		return copy;
+	}
+
 	/**
 	 * Returns the path name of the file this archive represents.
 	 *
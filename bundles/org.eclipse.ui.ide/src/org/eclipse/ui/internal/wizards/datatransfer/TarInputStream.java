@@ -63,6 +63,22 @@ public class TarInputStream extends FilterInputStream
 		skipToEntry(entry);
 	}
 
+	/**
+	 * Create a new tar input stream on a stream which is already positioned
+	 * within the file, skipping ahead to the given entry.
+	 *
+	 * @param in input stream
+	 * @param offset the position of the input stream in the file
+	 * @param entry skips to this entry in the file
+	 * @throws TarException
+	 * @throws IOException
+	 */
+	TarInputStream(InputStream in, int offset, TarEntry entry) throws TarException, IOException {
+		super(in);
+		bytesread = offset;
+		skipToEntry(entry);
+	}
+
 	/**
 	 *  The checksum of a tar file header is simply the sum of the bytes in
 	 *  the header.
@@ -36,10 +36,10 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
@@ -83,6 +83,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.DirectoryDialog;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.FileDialog;
@@ -96,10 +97,8 @@ import org.eclipse.ui.dialogs.WizardDataTransferPage;
 import org.eclipse.ui.dialogs.WorkingSetGroup;
 import org.eclipse.ui.internal.WorkbenchPlugin;
 import org.eclipse.ui.internal.ide.IDEWorkbenchPlugin;
-import org.eclipse.ui.internal.ide.StatusUtil;
 import org.eclipse.ui.internal.registry.WorkingSetDescriptor;
 import org.eclipse.ui.internal.registry.WorkingSetRegistry;
-import org.eclipse.ui.statushandlers.StatusManager;
 import org.eclipse.ui.wizards.datatransfer.FileSystemStructureProvider;
 import org.eclipse.ui.wizards.datatransfer.ImportOperation;
 
@@ -351,7 +350,7 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 
 	private boolean hideConflictingProjects = false;
 
-	private ProjectRecord[] selectedProjects = new ProjectRecord[0];
+	private volatile ProjectRecord[] selectedProjects = new ProjectRecord[0];
 
 	// Keep track of the directory that we browsed to last time
 	// the wizard was invoked.
@@ -964,21 +963,31 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 				else if (dirSelected && directory.isDirectory()) {
 
 					Collection<File> files = new ArrayList<>();
-					if (!collectProjectFilesFromDirectory(files, directory,
-							null, nestedProjects, monitor)) {
+					// show the projects as they are found
+					Map<File, ProjectRecord> found = new LinkedHashMap<>();
+					if (!new ProjectFilesScanner(nestedProjects).scan(files, directory, monitor, newFiles -> {
+						for (File file : newFiles) {
+							found.put(file, new ProjectRecord(file));
+						}
+						selectedProjects = found.values().toArray(new ProjectRecord[found.size()]);
+						refreshProjectsListAsync();
+					})) {
+						selectedProjects = new ProjectRecord[0];
 						return;
 					}
 					Iterator<File> filesIterator3 = files.iterator();
-					selectedProjects = new ProjectRecord[files.size()];
+					ProjectRecord[] records = new ProjectRecord[files.size()];
 					int index3 = 0;
 					monitor.worked(50);
 					monitor
 							.subTask(DataTransferMessages.WizardProjectsImportPage_ProcessingMessage);
 					while (filesIterator3.hasNext()) {
 						File file = filesIterator3.next();
-						selectedProjects[index3] = new ProjectRecord(file);
+						ProjectRecord record = found.get(file);
+						records[index3] = record != null ? record : new ProjectRecord(file);
 						index3++;
 					}
+					selectedProjects = records;
 				} else {
 					monitor.worked(60);
 				}
@@ -994,6 +1003,15 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 		updateProjectsStatus();
 	}
 
+	private void refreshProjectsListAsync() {
+		Control control = projectsList.getControl();
+		control.getDisplay().asyncExec(() -> {
+			if (!control.isDisposed()) {
+				projectsList.refresh(true);
+			}
+		});
+	}
+
 	private void updateProjectsStatus() {
 		projectsList.refresh(true);
 		ProjectRecord[] projects = getProjectRecords();
@@ -1075,72 +1093,16 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 	 *
 	 * @param files
 	 * @param directory
-	 * @param directoriesVisited
-	 *            Set of canonical paths of directories, used as recursion guard
 	 * @param nestedProjects
 	 *            whether to look for nested projects
 	 * @param monitor
 	 *            The monitor to report to
 	 * @return boolean <code>true</code> if the operation was completed.
+	 * @see ProjectFilesScanner
 	 */
 	static boolean collectProjectFilesFromDirectory(Collection<File> files, File directory,
-			Set<String> directoriesVisited, boolean nestedProjects, IProgressMonitor monitor) {
-
-		if (monitor.isCanceled()) {
-			return false;
-		}
-		monitor.subTask(NLS.bind(
-				DataTransferMessages.WizardProjectsImportPage_CheckingMessage,
-				directory.getPath()));
-		File[] contents = directory.listFiles();
-		if (contents == null) {
-			return false;
-		}
-
-		// Initialize recursion guard for recursive symbolic links
-		if (directoriesVisited == null) {
-			directoriesVisited = new HashSet<>();
-			try {
-				directoriesVisited.add(directory.getCanonicalPath());
-			} catch (IOException exception) {
-				StatusManager.getManager().handle(StatusUtil.newError(exception));
-			}
-		}
-
-		// first look for project description files
-		final String dotProject = IProjectDescription.DESCRIPTION_FILE_NAME;
-		List<File> directories = new ArrayList<>();
-		for (File file : contents) {
-			if(file.isDirectory()){
-				directories.add(file);
-			} else if (file.getName().equals(dotProject) && file.isFile()) {
-				files.add(file);
-				if (!nestedProjects) {
-					// don't search sub-directories since we can't have nested
-					// projects
-					return true;
-				}
-			}
-		}
-		// no project description found or search for nested projects enabled,
-		// so recurse into sub-directories
-		for (File dir : directories) {
-			if (!dir.getName().equals(METADATA_FOLDER)) {
-				try {
-					String canonicalPath = dir.getCanonicalPath();
-					if (!directoriesVisited.add(canonicalPath)) {
-						// already been here --> do not recurse
-						continue;
-					}
-				} catch (IOException exception) {
-					StatusManager.getManager().handle(StatusUtil.newError(exception));
-
-				}
-				collectProjectFilesFromDirectory(files, dir,
-						directoriesVisited, nestedProjects, monitor);
-			}
-		}
-		return true;
+			boolean nestedProjects, IProgressMonitor monitor) {
+		return new ProjectFilesScanner(nestedProjects).scan(files, directory, monitor);
 	}
 
 	/**
@@ -0,0 +1,453 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.wizards.datatransfer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Writes a zip archive from entries whose contents were compressed
+ * beforehand, so that the entries can be compressed concurrently and written
+ * one after the other.
+ * <p>
+ * The sizes of an entry are known before it is written, so no data
+ * descriptors are needed. The checksum of a file copied as it is gets computed
+ * while copying, and is filled into the local header afterwards. Zip64 extensions are written where sizes,
+ * offsets or the number of entries exceed the limits of the zip format.
+ * </p>
+ */
+final class ZipArchiveWriter implements Closeable {
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+	private static final int END_SIGNATURE = 0x06054b50;
+
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+	private static final short ZIP64_EXTRA_ID = 0x0001;
+
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+	private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+	/* general purpose flag: names are encoded in UTF-8 */
+	private static final short FLAG_UTF8 = 0x0800;
+
+	private static final int VERSION_STORED = 10;
+
+	private static final int VERSION_DEFLATED = 20;
+
+	private static final int VERSION_ZIP64 = 45;
+
+	/**
+	 * An entry ready to be written, with its contents either in memory or in a
+	 * file.
+	 */
+	static final class Entry {
+		final byte[] name;
+		final int dosTime;
+		final int method;
+		/* not known yet for files copied as they are */
+		final long crc;
+		final long size;
+		final long compressedSize;
+		final byte[] data;
+		final Path dataFile;
+		final boolean deleteDataFile;
+
+		private Entry(String name, long time, int method, long crc, long size, long compressedSize, byte[] data,
+				Path dataFile, boolean deleteDataFile) {
+			this.name = name.getBytes(StandardCharsets.UTF_8);
+			this.dosTime = toDosTime(time);
+			this.method = method;
+			this.crc = crc;
+			this.size = size;
+			this.compressedSize = compressedSize;
+			this.data = data;
+			this.dataFile = dataFile;
+			this.deleteDataFile = deleteDataFile;
+		}
+
+		/**
+		 * Creates an entry for contents in memory, deflating them if
+		 * <code>deflate</code> is <code>true</code>.
+		 */
+		static Entry fromBytes(String name, long time, byte[] contents, boolean deflate) {
+			CRC32 crc = new CRC32();
+			crc.update(contents);
+			if (deflate) {
+				Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+				try {
+					deflater.setInput(contents);
+					deflater.finish();
+					ByteArrayOutputStream out = new ByteArrayOutputStream(contents.length / 2 + 64);
+					byte[] buffer = new byte[8192];
+					while (!deflater.finished()) {
+						int n = deflater.deflate(buffer);
+						out.write(buffer, 0, n);
+					}
+					return new Entry(name, time, ZipEntry.DEFLATED, crc.getValue(), contents.length, out.size(),
+							out.toByteArray(), null, false);
+				} finally {
+					deflater.end();
+				}
+			}
+			return new Entry(name, time, ZipEntry.STORED, crc.getValue(), contents.length, contents.length, contents,
+					null, false);
+		}
+
+		/**
+		 * Creates an entry for the contents of a local file, which are copied
+		 * into the archive as they are. The file is only read when the entry is
+		 * written.
+		 */
+		static Entry storedFile(String name, long time, Path file) throws IOException {
+			long size = Files.size(file);
+			return new Entry(name, time, ZipEntry.STORED, UNKNOWN_CRC, size, size, null, file, false);
+		}
+
+		/**
+		 * Creates an entry for contents which are too large to be held in
+		 * memory, spooling them to a temporary file which is deleted once the
+		 * entry was written.
+		 */
+		static Entry fromStream(String name, long time, InputStream contents, boolean deflate) throws IOException {
+			Path spool = Files.createTempFile("zipentry", null); //$NON-NLS-1$
+			try {
+				CheckedInputStream in = new CheckedInputStream(contents, new CRC32());
+				long size;
+				if (deflate) {
+					Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+					try (OutputStream out = new DeflaterOutputStream(Files.newOutputStream(spool), deflater, 64 * 1024)) {
+						size = in.transferTo(out);
+					} finally {
+						deflater.end();
+					}
+				} else {
+					size = Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+				}
+				long compressedSize = Files.size(spool);
+				return new Entry(name, time, deflate ? ZipEntry.DEFLATED : ZipEntry.STORED, in.getChecksum().getValue(),
+						size, compressedSize, null, spool, true);
+			} catch (IOException | RuntimeException e) {
+				Files.deleteIfExists(spool);
+				throw e;
+			}
+		}
+
+		/**
+		 * Deletes the temporary file of the entry, if any.
+		 */
+		void dispose() {
+			if (deleteDataFile) {
+				try {
+					Files.deleteIfExists(dataFile);
+				} catch (IOException e) {
+					// a temporary file
+				}
+			}
+		}
+
+		private boolean needsZip64() {
+			return ZipArchiveWriter.needsZip64(size, compressedSize);
+		}
+	}
+
+	/*
+	 * what the central directory needs to know about a written entry, without
+	 * its contents
+	 */
+	private static final class WrittenEntry {
+		final byte[] name;
+		final int dosTime;
+		final int method;
+		final long crc;
+		final long size;
+		final long compressedSize;
+		final long offset;
+
+		WrittenEntry(Entry entry, long crc, long offset) {
+			this.name = entry.name;
+			this.dosTime = entry.dosTime;
+			this.method = entry.method;
+			this.crc = crc;
+			this.size = entry.size;
+			this.compressedSize = entry.compressedSize;
+			this.offset = offset;
+		}
+	}
+
+	private static final long UNKNOWN_CRC = -1;
+
+	/* offset of the checksum in a local header */
+	private static final int LOCAL_HEADER_CRC_OFFSET = 14;
+
+	private final Path file;
+
+	private final FileChannel channel;
+
+	private final List<WrittenEntry> entries = new ArrayList<>();
+
+	private long position;
+
+	/**
+	 * @param file
+	 *            the archive to create or replace
+	 * @throws IOException
+	 *             if the archive cannot be opened
+	 */
+	ZipArchiveWriter(Path file) throws IOException {
+		this.file = file;
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * Writes the header and contents of the entry.
+	 */
+	void write(Entry entry) throws IOException {
+		boolean zip64 = entry.needsZip64();
+		ByteBuffer header = allocate(30 + entry.name.length + (zip64 ? 20 : 0));
+		header.putInt(LOCAL_HEADER_SIGNATURE);
+		header.putShort((short) version(entry.method, zip64));
+		header.putShort(FLAG_UTF8);
+		header.putShort((short) entry.method);
+		header.putInt(entry.dosTime);
+		header.putInt((int) (entry.crc == UNKNOWN_CRC ? 0 : entry.crc));
+		header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.compressedSize));
+		header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.size));
+		header.putShort((short) entry.name.length);
+		header.putShort((short) (zip64 ? 20 : 0));
+		header.put(entry.name);
+		if (zip64) {
+			header.putShort(ZIP64_EXTRA_ID);
+			header.putShort((short) 16);
+			header.putLong(entry.size);
+			header.putLong(entry.compressedSize);
+		}
+		long offset = position;
+		writeFully(header.flip());
+		long crc = entry.crc;
+		if (entry.data != null) {
+			writeFully(ByteBuffer.wrap(entry.data));
+		} else if (crc == UNKNOWN_CRC) {
+			crc = copyChecked(entry);
+			ByteBuffer checksum = allocate(4).putInt((int) crc).flip();
+			long checksumPosition = offset + LOCAL_HEADER_CRC_OFFSET;
+			while (checksum.hasRemaining()) {
+				checksumPosition += channel.write(checksum, checksumPosition);
+			}
+		} else {
+			try (FileChannel in = FileChannel.open(entry.dataFile, StandardOpenOption.READ)) {
+				long transferred = 0;
+				while (transferred < entry.compressedSize) {
+					long n = in.transferTo(transferred, entry.compressedSize - transferred, channel);
+					if (n <= 0) {
+						throw new IOException("Unexpected end of " + entry.dataFile); //$NON-NLS-1$
+					}
+					transferred += n;
+				}
+				position += transferred;
+			}
+		}
+		entries.add(new WrittenEntry(entry, crc, offset));
+	}
+
+	/**
+	 * Copies the file of the entry, computing its checksum on the way.
+	 */
+	private long copyChecked(Entry entry) throws IOException {
+		CRC32 crc = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+		long copied = 0;
+		try (FileChannel in = FileChannel.open(entry.dataFile, StandardOpenOption.READ)) {
+			while (copied < entry.size && in.read(buffer) >= 0) {
+				buffer.flip();
+				if (copied + buffer.remaining() > entry.size) {
+					break;
+				}
+				crc.update(buffer.duplicate());
+				copied += buffer.remaining();
+				writeFully(buffer);
+				buffer.clear();
+			}
+		}
+		if (copied != entry.size) {
+			// the header promised a different size
+			throw new IOException("Size of " + entry.dataFile + " changed while it was archived"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Closes the archive without writing the central directory and deletes
+	 * it, since it would not be complete.
+	 */
+	void abort() throws IOException {
+		try {
+			channel.close();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Writes the central directory and closes the archive.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			long centralDirectoryOffset = position;
+			for (WrittenEntry entry : entries) {
+				writeCentralHeader(entry);
+			}
+			writeEnd(centralDirectoryOffset, position - centralDirectoryOffset);
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void writeCentralHeader(WrittenEntry entry) throws IOException {
+		long offset = entry.offset;
+		boolean sizeOverflow = needsZip64(entry.size, entry.compressedSize);
+		boolean offsetOverflow = offset >= ZIP64_MAGIC;
+		int extraLength = 0;
+		if (sizeOverflow || offsetOverflow) {
+			extraLength = 4 + (sizeOverflow ? 16 : 0) + (offsetOverflow ? 8 : 0);
+		}
+		ByteBuffer header = allocate(46 + entry.name.length + extraLength);
+		header.putInt(CENTRAL_HEADER_SIGNATURE);
+		short version = (short) version(entry.method, extraLength > 0);
+		header.putShort(version);
+		header.putShort(version);
+		header.putShort(FLAG_UTF8);
+		header.putShort((short) entry.method);
+		header.putInt(entry.dosTime);
+		header.putInt((int) entry.crc);
+		header.putInt((int) (sizeOverflow ? ZIP64_MAGIC : entry.compressedSize));
+		header.putInt((int) (sizeOverflow ? ZIP64_MAGIC : entry.size));
+		header.putShort((short) entry.name.length);
+		header.putShort((short) extraLength);
+		header.putShort((short) 0); // comment length
+		header.putShort((short) 0); // disk number
+		header.putShort((short) 0); // internal attributes
+		header.putInt(0); // external attributes
+		header.putInt((int) (offsetOverflow ? ZIP64_MAGIC : offset));
+		header.put(entry.name);
+		if (extraLength > 0) {
+			header.putShort(ZIP64_EXTRA_ID);
+			header.putShort((short) (extraLength - 4));
+			if (sizeOverflow) {
+				header.putLong(entry.size);
+				header.putLong(entry.compressedSize);
+			}
+			if (offsetOverflow) {
+				header.putLong(offset);
+			}
+		}
+		writeFully(header.flip());
+	}
+
+	private void writeEnd(long centralDirectoryOffset, long centralDirectorySize) throws IOException {
+		int count = entries.size();
+		boolean zip64 = count >= ZIP64_MAGIC_COUNT || centralDirectoryOffset >= ZIP64_MAGIC
+				|| centralDirectorySize >= ZIP64_MAGIC;
+		if (zip64) {
+			long zip64EndOffset = position;
+			ByteBuffer end = allocate(56 + 20);
+			end.putInt(ZIP64_END_SIGNATURE);
+			end.putLong(44); // size of the remaining record
+			end.putShort((short) VERSION_ZIP64);
+			end.putShort((short) VERSION_ZIP64);
+			end.putInt(0); // disk number
+			end.putInt(0); // disk of the central directory
+			end.putLong(count);
+			end.putLong(count);
+			end.putLong(centralDirectorySize);
+			end.putLong(centralDirectoryOffset);
+			end.putInt(ZIP64_LOCATOR_SIGNATURE);
+			end.putInt(0); // disk of the zip64 end record
+			end.putLong(zip64EndOffset);
+			end.putInt(1); // number of disks
+			writeFully(end.flip());
+		}
+		ByteBuffer end = allocate(22);
+		end.putInt(END_SIGNATURE);
+		end.putShort((short) 0); // disk number
+		end.putShort((short) 0); // disk of the central directory
+		end.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+		end.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+		end.putInt((int) Math.min(centralDirectorySize, ZIP64_MAGIC));
+		end.putInt((int) Math.min(centralDirectoryOffset, ZIP64_MAGIC));
+		end.putShort((short) 0); // comment length
+		writeFully(end.flip());
+	}
+
+	private static boolean needsZip64(long size, long compressedSize) {
+		return size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+	}
+
+	private static int version(int method, boolean zip64) {
+		if (zip64) {
+			return VERSION_ZIP64;
+		}
+		return method == ZipEntry.DEFLATED ? VERSION_DEFLATED : VERSION_STORED;
+	}
+
+	private static ByteBuffer allocate(int size) {
+		return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		position += buffer.remaining();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Converts a Java time to the MS-DOS date and time used by zip headers.
+	 */
+	static int toDosTime(long time) {
+		LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year = date.getYear();
+		if (year < 1980) {
+			return (1 << 21) | (1 << 16);
+		}
+		return (year - 1980) << 25 | date.getMonthValue() << 21 | date.getDayOfMonth() << 16 | date.getHour() << 11
+				| date.getMinute() << 5 | date.getSecond() >> 1;
+	}
+}
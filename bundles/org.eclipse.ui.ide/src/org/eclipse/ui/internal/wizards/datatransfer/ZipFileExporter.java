@@ -13,24 +13,66 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.wizards.datatransfer;
 
-import java.io.FileOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.zip.CRC32;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.ui.internal.wizards.datatransfer.ZipArchiveWriter.Entry;
 
 
 /**
  *	Exports resources to a .zip file
+ * <p>
+ * The contents of the files are read on the calling thread, so that problems
+ * are reported for the file that caused them, and are deflated concurrently
+ * on a pool. The compressed entries are written to the archive in the order in
+ * which they were passed. Files of formats which are compressed already are
+ * stored as they are, and files too large to be held in memory are compressed
+ * to a temporary file on the calling thread.
+ * </p>
+ * <p>
+ * The contents waiting to be compressed or written are bounded by their size,
+ * so reading blocks until enough of them have been written. If the export is
+ * aborted or fails, the incomplete archive is deleted.
+ * </p>
  */
 public class ZipFileExporter implements IFileExporter {
-	private ZipOutputStream outputStream;
+	/* files up to this size are read into memory and deflated on the pool */
+	private static final long MAX_BUFFERED_SIZE = 4 * 1024 * 1024;
+
+	/* bounds the memory held by contents waiting to be compressed or written */
+	private static final long MAX_PENDING_BYTES = 32 * 1024 * 1024;
+
+	/* what a pending entry costs besides its contents, so that empty files count */
+	private static final int PENDING_ENTRY_OVERHEAD = 1024;
+
+	private static final Set<String> COMPRESSED_EXTENSIONS = Set.of("7z", "bz2", "ear", "gif", "gz", "jar", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			"jpeg", "jpg", "mp3", "mp4", "png", "tgz", "war", "xz", "zip"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+
+	private final ZipArchiveWriter writer;
+
+	private final ExecutorService executor;
+
+	/* entries in archive order, possibly still being compressed */
+	private final Deque<PendingEntry> pendingEntries = new ArrayDeque<>();
+
+	private long pendingBytes;
 
 	private boolean useCompression = true;
 
@@ -49,8 +91,26 @@ public class ZipFileExporter implements IFileExporter {
 	 */
 	public ZipFileExporter(String filename, boolean compress, boolean resolveLinks) throws IOException {
 		this.resolveLinks = resolveLinks;
-		outputStream = new ZipOutputStream(new FileOutputStream(filename));
+		writer = new ZipArchiveWriter(new File(filename).toPath());
 		useCompression = compress;
+		executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+			Thread thread = new Thread(runnable, "Compressing files"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/*
+	 * an entry which may still be compressed, with the bytes it holds in memory
+	 */
+	private static final class PendingEntry {
+		final Future<Entry> entry;
+		final long bytes;
+
+		PendingEntry(Future<Entry> entry, long bytes) {
+			this.entry = entry;
+			this.bytes = bytes;
+		}
 	}
 
 	/**
@@ -61,55 +121,107 @@ public class ZipFileExporter implements IFileExporter {
 	 */
 	@Override
 	public void finished() throws IOException {
-		outputStream.close();
+		boolean complete = false;
+		try {
+			while (!pendingEntries.isEmpty()) {
+				writePendingEntry();
+			}
+			writer.close();
+			complete = true;
+		} finally {
+			if (!complete) {
+				abort();
+			} else {
+				executor.shutdownNow();
+			}
+		}
 	}
 
 	/**
-	 *	Write the contents of the file to the tar archive.
+	 * Discards the entries not written yet and deletes the incomplete archive.
+	 */
+	@Override
+	public void abort() throws IOException {
+		executor.shutdownNow();
+		for (PendingEntry pending : pendingEntries) {
+			if (!pending.entry.cancel(true)) {
+				disposeCompleted(pending.entry);
+			}
+		}
+		pendingEntries.clear();
+		pendingBytes = 0;
+		writer.abort();
+	}
+
+	private static void disposeCompleted(Future<Entry> pending) {
+		try {
+			pending.get().dispose();
+		} catch (ExecutionException | InterruptedException e) {
+			// nothing was left behind
+		}
+	}
+
+	/**
+	 *	Write the contents of the file to the zip archive.
 	 *
-	 *	@param entry
+	 *	@param name
 	 *	@param contents
 	 *  @exception java.io.IOException
 	 *  @exception org.eclipse.core.runtime.CoreException
 	 */
-	private void write(ZipEntry entry, IFile contents) throws IOException, CoreException {
-		byte[] readBuffer = new byte[4096];
-
-		// If the contents are being compressed then we get the below for free.
-		if (!useCompression) {
-			entry.setMethod(ZipEntry.STORED);
-			InputStream contentStream = contents.getContents(false);
-			int length = 0;
-			CRC32 checksumCalculator = new CRC32();
-			try {
-				int n;
-				while ((n = contentStream.read(readBuffer)) > 0) {
-					checksumCalculator.update(readBuffer, 0, n);
-					length += n;
-				}
-			} finally {
-				if (contentStream != null) {
-					contentStream.close();
-				}
+	private void write(String name, IFile contents) throws IOException, CoreException {
+		long localTimeStamp = contents.getLocalTimeStamp();
+		long time = localTimeStamp != IResource.NULL_STAMP ? localTimeStamp : System.currentTimeMillis();
+		boolean deflate = useCompression && !isCompressedFormat(contents);
+
+		// local files in sync are read directly, anything else through the workspace
+		IPath location = contents.getLocation();
+		Path file = location == null || !contents.isSynchronized(IResource.DEPTH_ZERO) ? null
+				: location.toFile().toPath();
+		if (file != null && Files.isRegularFile(file) && Files.size(file) <= MAX_BUFFERED_SIZE) {
+			byte[] bytes = Files.readAllBytes(file);
+			add(executor.submit(() -> Entry.fromBytes(name, time, bytes, deflate)), bytes.length);
+		} else if (file != null && !deflate && Files.isRegularFile(file)) {
+			add(CompletableFuture.completedFuture(Entry.storedFile(name, time, file)), 0);
+		} else {
+			try (InputStream contentStream = contents.getContents(false)) {
+				add(CompletableFuture.completedFuture(Entry.fromStream(name, time, contentStream, deflate)), 0);
 			}
+		}
+	}
+
+	private boolean isCompressedFormat(IFile file) {
+		String extension = file.getFileExtension();
+		return extension != null && COMPRESSED_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT));
+	}
 
-			entry.setSize(length);
-			entry.setCrc(checksumCalculator.getValue());
+	private void add(Future<Entry> entry, long bytes) throws IOException {
+		PendingEntry pending = new PendingEntry(entry, bytes + PENDING_ENTRY_OVERHEAD);
+		pendingEntries.add(pending);
+		pendingBytes += pending.bytes;
+		while (pendingBytes > MAX_PENDING_BYTES
+				|| (!pendingEntries.isEmpty() && pendingEntries.peek().entry.isDone())) {
+			writePendingEntry();
 		}
+	}
 
-		// set the timestamp
-		long localTimeStamp = contents.getLocalTimeStamp();
-		if(localTimeStamp != IResource.NULL_STAMP)
-			entry.setTime(localTimeStamp);
-
-		outputStream.putNextEntry(entry);
-		try (InputStream contentStream = contents.getContents(false)) {
-			int n;
-			while ((n = contentStream.read(readBuffer)) > 0) {
-				outputStream.write(readBuffer, 0, n);
-			}
+	private void writePendingEntry() throws IOException {
+		PendingEntry pending = pendingEntries.remove();
+		pendingBytes -= pending.bytes;
+		Entry entry;
+		try {
+			entry = pending.entry.get();
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+		try {
+			writer.write(entry);
+		} finally {
+			entry.dispose();
 		}
-		outputStream.closeEntry();
 	}
 
 	@Override
@@ -118,8 +230,8 @@ public class ZipFileExporter implements IFileExporter {
 		if (!resolveLinks && container.isLinked(IResource.DEPTH_INFINITE)) {
 			return;
 		}
-		ZipEntry newEntry = new ZipEntry(destinationPath);
-		outputStream.putNextEntry(newEntry);
+		add(CompletableFuture.completedFuture(
+				Entry.fromBytes(destinationPath, System.currentTimeMillis(), new byte[0], useCompression)), 0);
 	}
 
 	/**
@@ -136,7 +248,6 @@ public class ZipFileExporter implements IFileExporter {
 		if (!resolveLinks && resource.isLinked(IResource.DEPTH_INFINITE)) {
 			return;
 		}
-		ZipEntry newEntry = new ZipEntry(destinationPath);
-		write(newEntry, resource);
+		write(destinationPath, resource);
 	}
 }
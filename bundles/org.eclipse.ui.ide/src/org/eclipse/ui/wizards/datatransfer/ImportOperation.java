@@ -24,6 +24,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.zip.ZipEntry;
 
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.filesystem.URIUtil;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -50,6 +52,7 @@ import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.actions.WorkspaceModifyOperation;
 import org.eclipse.ui.dialogs.ContainerGenerator;
 import org.eclipse.ui.dialogs.IOverwriteQuery;
+import org.eclipse.ui.internal.wizards.datatransfer.BulkFileCopy;
 import org.eclipse.ui.internal.wizards.datatransfer.DataTransferMessages;
 import org.eclipse.ui.internal.wizards.datatransfer.TarEntry;
 import org.eclipse.ui.internal.wizards.datatransfer.TarLeveledStructureProvider;
@@ -106,6 +109,8 @@ public class ImportOperation extends WorkspaceModifyOperation {
 
 	private int overwriteState = OVERWRITE_NOT_SET;
 
+	private BulkFileCopy bulkCopy;
+
 	private static final String ABSOLUTE_PATH = "<Absolute Path>"; //$NON-NLS-1$
 
 	/**
@@ -382,18 +387,57 @@ public class ImportOperation extends WorkspaceModifyOperation {
 				subMonitor.worked(3);
 				validateFiles(Arrays.asList(source), subMonitor.split(3));
 				destinationContainer = generator.generateContainer(subMonitor.split(4));
-				importRecursivelyFrom(source, POLICY_DEFAULT, subMonitor.split(90));
+				bulkCopy = new BulkFileCopy();
+				importRecursivelyFrom(source, POLICY_DEFAULT, subMonitor.split(45));
+				copyNewFiles(subMonitor.split(45));
 			} else {
 				// Choose twice the selected files size to take folders into account
 				ContainerGenerator generator = new ContainerGenerator(destinationPath);
 				subMonitor.worked(3);
 				validateFiles(selectedFiles, subMonitor.split(3));
 				destinationContainer = generator.generateContainer(subMonitor.split(4));
-				importFileSystemObjects(selectedFiles, subMonitor.split(90));
+				bulkCopy = new BulkFileCopy();
+				importFileSystemObjects(selectedFiles, subMonitor.split(45));
+				copyNewFiles(subMonitor.split(45));
 			}
 		} catch (CoreException e) {
 			errorTable.add(e.getStatus());
+		} finally {
+			bulkCopy = null;
+		}
+	}
+
+	/**
+	 * Copies the local files which were collected by <code>importFile</code>
+	 * because they do not exist in the workspace yet, all at once.
+	 */
+	private void copyNewFiles(IProgressMonitor monitor) {
+		if (!bulkCopy.isEmpty()) {
+			errorTable.addAll(bulkCopy.run(monitor));
+		}
+	}
+
+	/**
+	 * Returns the local file of a file system object whose contents are the
+	 * contents of the file, so that it can be copied by the file system.
+	 *
+	 * @param fileObject the file system object being imported
+	 * @return the local file, or <code>null</code> if the contents must be read
+	 *     through the provider
+	 */
+	private java.nio.file.Path getLocalFile(Object fileObject) {
+		if (provider == FileSystemStructureProvider.INSTANCE && fileObject instanceof File) {
+			return ((File) fileObject).toPath();
+		}
+		if (provider == FileStoreStructureProvider.INSTANCE && fileObject instanceof IFileStore) {
+			try {
+				File file = ((IFileStore) fileObject).toLocalFile(EFS.NONE, null);
+				return file == null ? null : file.toPath();
+			} catch (CoreException e) {
+				return null;
+			}
 		}
+		return null;
 	}
 
 	/**
@@ -528,6 +572,14 @@ public class ImportOperation extends WorkspaceModifyOperation {
 			return;
 		}
 
+		// new files are copied by the file system in one go at the end
+		java.nio.file.Path localFile = bulkCopy == null ? null : getLocalFile(fileObject);
+		if (localFile != null && targetPath != null && !targetResource.exists()
+				&& !(createVirtualFolder || createLinks || createLinkFilesOnly)) {
+			bulkCopy.add(localFile, targetResource);
+			return;
+		}
+
 		InputStream contentStream = provider.getContents(fileObject);
 		if (contentStream == null) {
 			if (isNotReadableFile(fileObject)) {
@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.navigator;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.AbstractTreeViewer;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.ui.internal.navigator.extensions.NavigatorContentExtension;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
+
+/**
+ * Fetches the children of an element from several content extensions
+ * concurrently, off the UI thread.
+ * <p>
+ * The first request for the children of an element schedules one job per
+ * content extension and answers a pending node. Each job runs the extension
+ * and its pipeline, then asks the viewer to refresh the element; the refresh
+ * picks up the children received so far, followed by the pending node until
+ * every extension has answered or the timeout has elapsed. Extensions which
+ * exceed the timeout are logged, and their children are added once they
+ * arrive.
+ * </p>
+ * <p>
+ * Once the children of an element are known, later requests answer them
+ * without asking the extensions again, until the element is invalidated by a
+ * refresh or a structural change. The request after that answers the known
+ * children unchanged while the extensions are asked again, so that a refresh
+ * neither flashes the pending node nor collapses the expanded children. The
+ * new children replace them once every extension has answered.
+ * </p>
+ */
+public class AsyncContentFetcher {
+
+	/**
+	 * The default timeout, in milliseconds.
+	 */
+	public static final int DEFAULT_TIMEOUT = 10000;
+
+	private final NavigatorContentServiceContentProvider contentProvider;
+
+	private final int timeout;
+
+	/* pending and unconsumed expansions, keyed by parent element or path */
+	private final Map<Object, Expansion> expansions = new ConcurrentHashMap<>();
+
+	/* the children of the last completed expansions, keyed like expansions */
+	private final Map<Object, Object[]> knownChildren = new ConcurrentHashMap<>();
+
+	/* keys of known children to fetch again on the next request, UI thread only */
+	private final Set<Object> invalidated = new HashSet<>();
+
+	/* whether a refresh for arrived children is running, UI thread only */
+	private boolean refreshing;
+
+	private volatile boolean disposed;
+
+	/**
+	 * @param aContentProvider
+	 *            the content provider which asks the extensions for children
+	 * @param aTimeout
+	 *            the time in milliseconds after which a missing extension is
+	 *            reported
+	 */
+	public AsyncContentFetcher(NavigatorContentServiceContentProvider aContentProvider, int aTimeout) {
+		contentProvider = aContentProvider;
+		timeout = aTimeout;
+	}
+
+	/**
+	 * Answers the children of the given parent known so far. Must be called
+	 * from the UI thread.
+	 *
+	 * @param aViewer
+	 *            the viewer to refresh when children arrive
+	 * @param aParentElement
+	 *            the parent element
+	 * @param aParentElementOrPath
+	 *            the parent element or its tree path
+	 * @param theExtensions
+	 *            the extensions to ask, in order
+	 * @param theEnabledExtensions
+	 *            all extensions enabled for the parent
+	 * @return the children received so far, possibly including a pending
+	 *         node, or the children of the last completed request while the
+	 *         extensions are asked again
+	 */
+	public Object[] getChildren(AbstractTreeViewer aViewer, Object aParentElement, Object aParentElementOrPath,
+			NavigatorContentExtension[] theExtensions, Set theEnabledExtensions) {
+		Expansion expansion = expansions.get(aParentElementOrPath);
+		if (expansion == null) {
+			Object[] known = knownChildren.get(aParentElementOrPath);
+			if (known != null && !invalidated.remove(aParentElementOrPath)) {
+				return known;
+			}
+			expansion = new Expansion(aViewer, aParentElement, aParentElementOrPath, theExtensions,
+					theEnabledExtensions);
+			expansions.put(aParentElementOrPath, expansion);
+			expansion.start();
+		}
+		synchronized (expansion) {
+			if (expansion.pending == 0) {
+				Object[] children = expansion.getChildren();
+				expansions.remove(aParentElementOrPath, expansion);
+				knownChildren.put(aParentElementOrPath, children);
+				return children;
+			}
+			Object[] known = knownChildren.get(aParentElementOrPath);
+			if (known != null && !expansion.timedOut) {
+				return known;
+			}
+			return expansion.getChildren();
+		}
+	}
+
+	/**
+	 * Makes the next request for the children of the given element, and of its
+	 * descendants with known children, ask the extensions again. Must be called
+	 * from the UI thread. Refreshes of the viewer for arrived children are
+	 * ignored.
+	 *
+	 * @param anElement
+	 *            the element or tree path whose subtree is refreshed
+	 */
+	public void invalidate(Object anElement) {
+		if (refreshing) {
+			return;
+		}
+		Object element = getElement(anElement);
+		Deque<Object> keys = new ArrayDeque<>();
+		for (Object key : knownChildren.keySet()) {
+			if (getElement(key).equals(element)) {
+				keys.add(key);
+			}
+		}
+		while (!keys.isEmpty()) {
+			Object key = keys.poll();
+			Object[] children = knownChildren.get(key);
+			if (children == null || !invalidated.add(key)) {
+				continue;
+			}
+			for (Object child : children) {
+				Object childKey = key instanceof TreePath ? ((TreePath) key).createChildPath(child) : child;
+				if (knownChildren.containsKey(childKey)) {
+					keys.add(childKey);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Makes the next request for the children of any element ask the
+	 * extensions again, e.g. because the whole viewer is refreshed. Must be
+	 * called from the UI thread.
+	 */
+	public void invalidateAll() {
+		if (!refreshing) {
+			invalidated.addAll(knownChildren.keySet());
+		}
+	}
+
+	/**
+	 * Makes the next request for the children of the known parents of the
+	 * given elements ask the extensions again, e.g. because the elements were
+	 * removed. Must be called from the UI thread.
+	 *
+	 * @param theElements
+	 *            the elements or tree paths whose parents changed
+	 */
+	public void invalidateParents(Object[] theElements) {
+		Set<Object> elements = new HashSet<>();
+		for (Object element : theElements) {
+			elements.add(getElement(element));
+		}
+		for (Map.Entry<Object, Object[]> entry : knownChildren.entrySet()) {
+			if (!Collections.disjoint(elements, Arrays.asList(entry.getValue()))) {
+				invalidated.add(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Forgets all expansions and known children, e.g. because the input
+	 * changed. Running jobs are cancelled.
+	 */
+	public void reset() {
+		Job.getJobManager().cancel(this);
+		expansions.clear();
+		knownChildren.clear();
+		invalidated.clear();
+	}
+
+	/**
+	 * Cancels all running jobs.
+	 */
+	public void dispose() {
+		disposed = true;
+		reset();
+	}
+
+	private final class Expansion {
+
+		private final AbstractTreeViewer viewer;
+
+		private final Object parentElement;
+
+		private final Object parentElementOrPath;
+
+		private final NavigatorContentExtension[] extensions;
+
+		private final Set enabledExtensions;
+
+		private final Set[] results;
+
+		private final long[] durations;
+
+		private final PendingUpdateAdapter pendingNode = new PendingUpdateAdapter();
+
+		private long startTime;
+
+		/* guarded by this */
+		private int pending;
+
+		private boolean timedOut;
+
+		private boolean refreshScheduled;
+
+		Expansion(AbstractTreeViewer aViewer, Object aParentElement, Object aParentElementOrPath,
+				NavigatorContentExtension[] theExtensions, Set theEnabledExtensions) {
+			viewer = aViewer;
+			parentElement = aParentElement;
+			parentElementOrPath = aParentElementOrPath;
+			extensions = theExtensions;
+			enabledExtensions = theEnabledExtensions;
+			results = new Set[theExtensions.length];
+			durations = new long[theExtensions.length];
+			pending = theExtensions.length;
+		}
+
+		void start() {
+			startTime = System.nanoTime();
+			for (int i = 0; i < extensions.length; i++) {
+				new FetchJob(this, i).schedule();
+			}
+			if (timeout > 0 && pending > 0) {
+				viewer.getControl().getDisplay().timerExec(timeout, this::onTimeout);
+			}
+		}
+
+		/* callers hold the lock */
+		Object[] getChildren() {
+			Set children = new LinkedHashSet();
+			for (Set result : results) {
+				if (result != null) {
+					children.addAll(result);
+				}
+			}
+			if (pending > 0 && !timedOut) {
+				children.add(pendingNode);
+			}
+			return children.toArray();
+		}
+
+		void done(int anIndex, Set theChildren, long aDuration) {
+			boolean late;
+			boolean finished;
+			synchronized (this) {
+				results[anIndex] = theChildren;
+				durations[anIndex] = aDuration;
+				pending--;
+				late = timedOut;
+				finished = pending == 0;
+			}
+			if (late) {
+				NavigatorPlugin.log(IStatus.INFO, 0, NLS.bind(CommonNavigatorMessages.AsyncContentFetcher_LateResult,
+						new Object[] { extensions[anIndex].getId(), Policy.getObjectString(parentElement),
+								Long.valueOf(toMillis(aDuration)) }), null);
+			}
+			if (finished && Policy.DEBUG_ASYNC_CONTENT) {
+				traceTimings();
+			}
+			scheduleRefresh();
+		}
+
+		private void onTimeout() {
+			synchronized (this) {
+				if (pending == 0 || disposed) {
+					return;
+				}
+				timedOut = true;
+				for (int i = 0; i < extensions.length; i++) {
+					if (results[i] == null) {
+						NavigatorPlugin.log(IStatus.WARNING, 0, NLS.bind(
+								CommonNavigatorMessages.AsyncContentFetcher_Timeout,
+								new Object[] { extensions[i].getId(), Policy.getObjectString(parentElement),
+										Integer.valueOf(timeout) }), null);
+					}
+				}
+			}
+			scheduleRefresh();
+		}
+
+		private void scheduleRefresh() {
+			synchronized (this) {
+				if (refreshScheduled) {
+					return;
+				}
+				refreshScheduled = true;
+			}
+			Control control = viewer.getControl();
+			if (disposed || control.isDisposed()) {
+				return;
+			}
+			control.getDisplay().asyncExec(() -> {
+				synchronized (this) {
+					refreshScheduled = false;
+				}
+				if (!disposed && !control.isDisposed() && expansions.get(parentElementOrPath) == this) {
+					refreshing = true;
+					try {
+						viewer.refresh(parentElement);
+					} finally {
+						refreshing = false;
+					}
+				}
+			});
+		}
+
+		private synchronized void traceTimings() {
+			StringBuilder trace = new StringBuilder("Async children of ").append(Policy.getObjectString(parentElement)) //$NON-NLS-1$
+					.append(" in ").append(toMillis(System.nanoTime() - startTime)).append(" ms:"); //$NON-NLS-1$ //$NON-NLS-2$
+			for (int i = 0; i < extensions.length; i++) {
+				trace.append("\n\t").append(extensions[i].getId()).append(": ") //$NON-NLS-1$ //$NON-NLS-2$
+						.append(toMillis(durations[i])).append(" ms, ") //$NON-NLS-1$
+						.append(results[i] == null ? 0 : results[i].size()).append(" children"); //$NON-NLS-1$
+			}
+			System.out.println(trace);
+		}
+	}
+
+	private final class FetchJob extends Job {
+
+		private final Expansion expansion;
+
+		private final int index;
+
+		FetchJob(Expansion anExpansion, int anIndex) {
+			super(NLS.bind(CommonNavigatorMessages.AsyncContentFetcher_Job,
+					anExpansion.extensions[anIndex].getDescriptor().getName()));
+			expansion = anExpansion;
+			index = anIndex;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			long start = System.nanoTime();
+			Set children = Collections.EMPTY_SET;
+			if (!monitor.isCanceled()) {
+				children = contentProvider.getContributedChildren(expansion.extensions[index],
+						expansion.parentElement, expansion.parentElementOrPath, expansion.enabledExtensions, false);
+			}
+			expansion.done(index, children, System.nanoTime() - start);
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == AsyncContentFetcher.this;
+		}
+	}
+
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	private static Object getElement(Object anElementOrPath) {
+		return anElementOrPath instanceof TreePath ? ((TreePath) anElementOrPath).getLastSegment() : anElementOrPath;
+	}
+}
@@ -153,6 +153,15 @@ public class CommonNavigatorMessages extends NLS {
 	/** */
 	public static String LoggingJob;
 
+	/** */
+	public static String AsyncContentFetcher_Job;
+
+	/** */
+	public static String AsyncContentFetcher_Timeout;
+
+	/** */
+	public static String AsyncContentFetcher_LateResult;
+
 
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, CommonNavigatorMessages.class);
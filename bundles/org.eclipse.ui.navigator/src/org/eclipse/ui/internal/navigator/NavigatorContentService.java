@@ -17,7 +17,6 @@ package org.eclipse.ui.internal.navigator;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -27,6 +26,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -112,9 +112,9 @@ public class NavigatorContentService implements IExtensionActivationListener,
 	 * A map of (String-based-Navigator-Content-Extension-IDs,
 	 * NavigatorContentExtension-objects)-pairs
 	 */
-	private final Map<INavigatorContentDescriptor, NavigatorContentExtension> contentExtensions = new HashMap<>();
+	private final Map<INavigatorContentDescriptor, NavigatorContentExtension> contentExtensions = new ConcurrentHashMap<>();
 
-	private StructuredViewerManager structuredViewerManager;
+	private volatile StructuredViewerManager structuredViewerManager;
 
 	private ITreeContentProvider[] rootContentProviders;
 
@@ -125,8 +125,14 @@ public class NavigatorContentService implements IExtensionActivationListener,
 	 * to record the object/description associations which are when stored
 	 * in the Tree associated with the viewer.
 	 */
-	private Map<Object, INavigatorContentDescriptor> contributionMemory;
-	private Map<Object, INavigatorContentDescriptor> contributionMemoryFirstClass;
+	private final Map<Object, INavigatorContentDescriptor> contributionMemory = new ConcurrentHashMap<>();
+	private final Map<Object, INavigatorContentDescriptor> contributionMemoryFirstClass = new ConcurrentHashMap<>();
+
+	/*
+	 * Guards updates of the contribution memory; reads don't need a lock and
+	 * never contend with the service lock.
+	 */
+	private final Object contributionMemoryLock = new Object();
 
 	private ILabelProvider labelProvider;
 
@@ -167,8 +173,6 @@ public class NavigatorContentService implements IExtensionActivationListener,
 		assistant = new VisibilityAssistant(viewerDescriptor,
 				getActivationService());
 		getActivationService().addExtensionActivationListener(this);
-		contributionMemory = new HashMap<>();
-		contributionMemoryFirstClass = new HashMap<>();
 	}
 
 	/**
@@ -674,14 +678,21 @@ public class NavigatorContentService implements IExtensionActivationListener,
 		 * contributing NCE. However in the case of different first class NCEs,
 		 * the first one wins, so we don't update the contribution memory.
 		 */
-		synchronized (this) {
+		if (element == null || source == null) {
+			return;
+		}
+		synchronized (contributionMemoryLock) {
 			if (contributionMemory.get(element) == null
 					|| contributionMemoryFirstClass.get(element) == firstClassSource) {
 				if (Policy.DEBUG_RESOLUTION)
 					System.out
 							.println("rememberContribution: " + Policy.getObjectString(element) + " source: " + source); //$NON-NLS-1$//$NON-NLS-2$
 				contributionMemory.put(element, source);
-				contributionMemoryFirstClass.put(element, firstClassSource);
+				if (firstClassSource != null) {
+					contributionMemoryFirstClass.put(element, firstClassSource);
+				} else {
+					contributionMemoryFirstClass.remove(element);
+				}
 			}
 		}
 	}
@@ -693,7 +704,10 @@ public class NavigatorContentService implements IExtensionActivationListener,
 	 *            The element to forget.
 	 */
 	public void forgetContribution(Object element) {
-		synchronized (this) {
+		if (element == null) {
+			return;
+		}
+		synchronized (contributionMemoryLock) {
 			contributionMemory.remove(element);
 			contributionMemoryFirstClass.remove(element);
 		}
@@ -705,11 +719,10 @@ public class NavigatorContentService implements IExtensionActivationListener,
 	 */
 	public NavigatorContentDescriptor getContribution(Object element)
 	{
-		NavigatorContentDescriptor desc;
-		synchronized (this) {
-			desc = (NavigatorContentDescriptor) contributionMemory.get(element);
+		if (element == null) {
+			return null;
 		}
-		return desc;
+		return (NavigatorContentDescriptor) contributionMemory.get(element);
 	}
 
 	/**
@@ -717,9 +730,7 @@ public class NavigatorContentService implements IExtensionActivationListener,
 	 * @return the size of the contribution memory
 	 */
 	public int getContributionMemorySize() {
-		synchronized (this) {
-			return contributionMemory.size();
-		}
+		return contributionMemory.size();
 	}
 
 	/**
@@ -729,19 +740,17 @@ public class NavigatorContentService implements IExtensionActivationListener,
 	 * @return The descriptor that contributed the element or null.
 	 * @see #findContentExtensionsByTriggerPoint(Object)
 	 */
-	public synchronized NavigatorContentDescriptor getSourceOfContribution(Object element) {
+	public NavigatorContentDescriptor getSourceOfContribution(Object element) {
 		if (element == null)
 			return null;
-		if (structuredViewerManager == null)
+		StructuredViewerManager viewerManager = structuredViewerManager;
+		if (viewerManager == null)
 			return null;
 		// Try here first because it might not yet be in the tree
-		NavigatorContentDescriptor src;
-		synchronized (this) {
-			src = (NavigatorContentDescriptor) contributionMemory.get(element);
-		}
+		NavigatorContentDescriptor src = (NavigatorContentDescriptor) contributionMemory.get(element);
 		if (src != null)
 			return src;
-		return (NavigatorContentDescriptor) structuredViewerManager.getData(element);
+		return (NavigatorContentDescriptor) viewerManager.getData(element);
 	}
 	/**
 	 *
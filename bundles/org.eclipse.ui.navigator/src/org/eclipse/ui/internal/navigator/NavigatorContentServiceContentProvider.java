@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.ITreePathContentProvider;
 import org.eclipse.jface.viewers.TreePath;
@@ -73,6 +74,8 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 
 	private final boolean enforceHasChildren;
 
+	private final AsyncContentFetcher asyncFetcher;
+
 	private Viewer viewer;
 
 	/**
@@ -105,14 +108,67 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 		contentService = aContentService;
 		INavigatorViewerDescriptor vDesc = contentService.getViewerDescriptor();
 		enforceHasChildren = vDesc.getBooleanConfigProperty(NavigatorViewerDescriptor.PROP_ENFORCE_HAS_CHILDREN);
+		if (vDesc.getBooleanConfigProperty(NavigatorViewerDescriptor.PROP_ASYNC_CHILDREN)) {
+			asyncFetcher = new AsyncContentFetcher(this, getAsyncTimeout(vDesc));
+		} else {
+			asyncFetcher = null;
+		}
+	}
+
+	private static int getAsyncTimeout(INavigatorViewerDescriptor aViewerDescriptor) {
+		String timeout = aViewerDescriptor.getStringConfigProperty(NavigatorViewerDescriptor.PROP_ASYNC_CHILDREN_TIMEOUT);
+		if (timeout != null) {
+			try {
+				return Integer.parseInt(timeout.trim());
+			} catch (NumberFormatException e) {
+				NavigatorPlugin.logError(0, e.getMessage(), e);
+			}
+		}
+		return AsyncContentFetcher.DEFAULT_TIMEOUT;
 	}
 
 	@Override
 	public void inputChanged(Viewer aViewer, Object anOldInput, Object aNewInput) {
 		viewer = aViewer;
+		if (asyncFetcher != null) {
+			asyncFetcher.reset();
+		}
 		contentService.updateService(aViewer, anOldInput, aNewInput);
 	}
 
+	/**
+	 * Makes the next request for the children of the given element, and of its
+	 * descendants, ask the extensions again when children are fetched
+	 * asynchronously. Called when the element is refreshed.
+	 *
+	 * @param anElementOrPath
+	 *            the refreshed element or tree path, the input or
+	 *            <code>null</code> for the whole tree
+	 */
+	public void invalidateChildren(Object anElementOrPath) {
+		if (asyncFetcher != null) {
+			if (anElementOrPath == null || viewer != null && anElementOrPath == viewer.getInput()) {
+				asyncFetcher.invalidateAll();
+			} else {
+				asyncFetcher.invalidate(anElementOrPath);
+			}
+		}
+	}
+
+	/**
+	 * Makes the next request for the children of the parents of the given
+	 * elements ask the extensions again when children are fetched
+	 * asynchronously. Called when the elements are removed.
+	 *
+	 * @param theElementsOrPaths
+	 *            the removed elements or tree paths
+	 */
+	public void invalidateParents(Object[] theElementsOrPaths) {
+		if (asyncFetcher != null) {
+			asyncFetcher.invalidateParents(theElementsOrPaths);
+		}
+	}
+
 	@Override
 	public Object[] getElements(Object anInputElement) {
 		Set rootContentExtensions = contentService.findRootContentExtensions(anInputElement);
@@ -122,6 +178,9 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 	@Override
 	public Object[] getChildren(Object aParentElement) {
 		Set enabledExtensions = contentService.findContentExtensionsByTriggerPoint(aParentElement);
+		if (isAsync(enabledExtensions)) {
+			return internalGetChildrenAsync(aParentElement, aParentElement, enabledExtensions);
+		}
 		return internalGetChildren(aParentElement, aParentElement, enabledExtensions, !ELEMENTS);
 	}
 
@@ -129,6 +188,9 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 	public Object[] getChildren(TreePath parentPath) {
 		Object aParentElement = internalAsElement(parentPath);
 		Set enabledExtensions = contentService.findContentExtensionsByTriggerPoint(aParentElement);
+		if (isAsync(enabledExtensions)) {
+			return internalGetChildrenAsync(aParentElement, parentPath, enabledExtensions);
+		}
 		return internalGetChildren(aParentElement, parentPath, enabledExtensions, !ELEMENTS);
 	}
 
@@ -140,49 +202,95 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 			return NO_CHILDREN;
 		}
 		final Set finalSet = new LinkedHashSet();
-		final ContributorTrackingSet localSet = new ContributorTrackingSet(contentService);
 
-		for (final Iterator itr = enabledExtensions.iterator(); itr.hasNext();) {
-			SafeRunner.run(new NavigatorSafeRunnable() {
-				NavigatorContentExtension foundExtension = (NavigatorContentExtension) itr.next();
-				Object[] contributedChildren = null;
-				NavigatorContentExtension[] overridingExtensions;
+		for (Iterator itr = enabledExtensions.iterator(); itr.hasNext();) {
+			finalSet.addAll(getContributedChildren((NavigatorContentExtension) itr.next(), aParentElement,
+					aParentElementOrPath, enabledExtensions, elements));
+		}
 
-				@Override
-				public void run() throws Exception {
-					if (!isOverridingExtensionInSet(foundExtension.getDescriptor(),
-							enabledExtensions)) {
-						if (elements)
-							contributedChildren = foundExtension.internalGetContentProvider()
-									.getElements(aParentElementOrPath);
-						else
-							contributedChildren = foundExtension.internalGetContentProvider()
-									.getChildren(aParentElementOrPath);
-						overridingExtensions = foundExtension
-								.getOverridingExtensionsForTriggerPoint(aParentElement);
-						INavigatorContentDescriptor foundDescriptor = foundExtension
-								.getDescriptor();
-						localSet.setContributor(foundDescriptor, foundDescriptor);
-						localSet.setContents(contributedChildren);
+		return finalSet.toArray();
+	}
 
-						if (overridingExtensions.length > 0) {
-							pipelineChildren(aParentElement, overridingExtensions, foundDescriptor,
-									localSet, elements);
-						}
-						finalSet.addAll(localSet);
-					}
-				}
+	/**
+	 * Children are only fetched asynchronously when requested from the UI
+	 * thread of a tree viewer; any other caller expects the full result.
+	 */
+	private boolean isAsync(Set enabledExtensions) {
+		return asyncFetcher != null && !enabledExtensions.isEmpty() && viewer instanceof AbstractTreeViewer
+				&& viewer.getControl() != null && viewer.getControl().getDisplay().getThread() == Thread.currentThread();
+	}
 
-				@Override
-				public void handleException(Throwable e) {
-					NavigatorPlugin.logError(0, NLS.bind(
-							CommonNavigatorMessages.Exception_Invoking_Extension, new Object[] {
-									foundExtension.getDescriptor().getId(), aParentElement }), e);
-				}
-			});
+	private Object[] internalGetChildrenAsync(Object aParentElement, Object aParentElementOrPath,
+			Set enabledExtensions) {
+		List<NavigatorContentExtension> extensions = new ArrayList<>(enabledExtensions.size());
+		for (Iterator itr = enabledExtensions.iterator(); itr.hasNext();) {
+			NavigatorContentExtension foundExtension = (NavigatorContentExtension) itr.next();
+			if (!isOverridingExtensionInSet(foundExtension.getDescriptor(), enabledExtensions)) {
+				extensions.add(foundExtension);
+			}
 		}
+		return asyncFetcher.getChildren((AbstractTreeViewer) viewer, aParentElement, aParentElementOrPath,
+				extensions.toArray(new NavigatorContentExtension[extensions.size()]), enabledExtensions);
+	}
 
-		return finalSet.toArray();
+	/**
+	 * Asks a single extension for the children of an element and pipes them
+	 * through its overriding extensions. Safe to call from any thread, as long
+	 * as the content providers involved are.
+	 *
+	 * @param foundExtension
+	 *            the first class extension to ask
+	 * @param aParentElement
+	 *            the parent element
+	 * @param aParentElementOrPath
+	 *            the parent element or its tree path
+	 * @param enabledExtensions
+	 *            all extensions enabled for the parent
+	 * @param elements
+	 *            True to ask for the elements of an input, False for children
+	 * @return the contributed children, never <code>null</code>
+	 */
+	Set getContributedChildren(final NavigatorContentExtension foundExtension, final Object aParentElement,
+			final Object aParentElementOrPath, final Set enabledExtensions, final boolean elements) {
+		final Set[] result = new Set[] { Collections.EMPTY_SET };
+		SafeRunner.run(new NavigatorSafeRunnable() {
+			Object[] contributedChildren = null;
+			NavigatorContentExtension[] overridingExtensions;
+
+			@Override
+			public void run() throws Exception {
+				if (!isOverridingExtensionInSet(foundExtension.getDescriptor(),
+						enabledExtensions)) {
+					if (elements)
+						contributedChildren = foundExtension.internalGetContentProvider()
+								.getElements(aParentElementOrPath);
+					else
+						contributedChildren = foundExtension.internalGetContentProvider()
+								.getChildren(aParentElementOrPath);
+					overridingExtensions = foundExtension
+							.getOverridingExtensionsForTriggerPoint(aParentElement);
+					INavigatorContentDescriptor foundDescriptor = foundExtension
+							.getDescriptor();
+					ContributorTrackingSet localSet = new ContributorTrackingSet(contentService);
+					localSet.setContributor(foundDescriptor, foundDescriptor);
+					localSet.setContents(contributedChildren);
+
+					if (overridingExtensions.length > 0) {
+						pipelineChildren(aParentElement, overridingExtensions, foundDescriptor,
+								localSet, elements);
+					}
+					result[0] = localSet;
+				}
+			}
+
+			@Override
+			public void handleException(Throwable e) {
+				NavigatorPlugin.logError(0, NLS.bind(
+						CommonNavigatorMessages.Exception_Invoking_Extension, new Object[] {
+								foundExtension.getDescriptor().getId(), aParentElement }), e);
+			}
+		});
+		return result[0];
 	}
 
 	/**
@@ -482,6 +590,9 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 	 */
 	@Override
 	public void dispose() {
+		if (asyncFetcher != null) {
+			asyncFetcher.dispose();
+		}
 		if (disposeContentService) {
 			contentService.dispose();
 		}
@@ -51,6 +51,12 @@ public class Policy {
 	 */
 	public static boolean DEBUG_VIEWER_MAP = DEFAULT;
 
+	/**
+	 * Option for tracing the time spent by each extension providing children
+	 * asynchronously
+	 */
+	public static boolean DEBUG_ASYNC_CONTENT = DEFAULT;
+
 	static {
 		if (getDebugOption("/debug")) { //$NON-NLS-1$
 			DEBUG_DND = getDebugOption("/debug/dnd"); //$NON-NLS-1$
@@ -58,6 +64,7 @@ public class Policy {
 			DEBUG_EXTENSION_SETUP = getDebugOption("/debug/setup"); //$NON-NLS-1$
 			DEBUG_SORT = getDebugOption("/debug/sort"); //$NON-NLS-1$
 			DEBUG_VIEWER_MAP = getDebugOption("/debug/viewermap"); //$NON-NLS-1$
+			DEBUG_ASYNC_CONTENT = getDebugOption("/debug/asynccontent"); //$NON-NLS-1$
 		}
 	}
 
@@ -24,7 +24,8 @@ import org.eclipse.ui.internal.navigator.VisibilityAssistant;
 import org.eclipse.ui.internal.navigator.VisibilityAssistant.VisibilityListener;
 
 /**
- * A cache for evaluated {@link NavigatorContentDescriptor}.
+ * A cache for evaluated {@link NavigatorContentDescriptor}. All accessors are
+ * synchronized on the cache, so it can be queried from any thread.
  */
 public class EvaluationCache implements VisibilityListener {
 	// TODO Have an LRU cache with max size as well as SoftReferences, to help
@@ -56,9 +57,7 @@ public class EvaluationCache implements VisibilityListener {
 	private void cleanUpStaleEntries() {
 		// TODO Only clean up to a certain number of entries per call when merely accessing or setting?
 		// TODO Periodic task to run this every now and then, ala org.eclipse.core.runtime.jobs.Job?
-		// If this is done, will need to make this class thread safe.
-
-		// Not thread safe, but this whole class isn't, so that is fine.
+		// Callers hold the lock on this cache.
 		Reference<?> r;
 		// Reference#poll thankfully does not block if there is nothing available.
 		while ((r = evaluationsQueue.poll()) != null) {
@@ -118,7 +117,7 @@ public class EvaluationCache implements VisibilityListener {
 	 * @return the cached descriptors for the given key, or {@code null} if not
 	 *         currently in the cache
 	 */
-	public final NavigatorContentDescriptor[] getDescriptors(Object anElement, boolean toComputeOverrides) {
+	public final synchronized NavigatorContentDescriptor[] getDescriptors(Object anElement, boolean toComputeOverrides) {
 		cleanUpStaleEntries();
 		if (anElement == null)
 			return null;
@@ -161,7 +160,7 @@ public class EvaluationCache implements VisibilityListener {
 	 *            whether overrides were considered in the computation of the
 	 *            given descriptors
 	 */
-	public final void setDescriptors(Object anElement, NavigatorContentDescriptor[] theDescriptors,
+	public final synchronized void setDescriptors(Object anElement, NavigatorContentDescriptor[] theDescriptors,
 			boolean toComputeOverrides) {
 		cleanUpStaleEntries();
 		if (anElement != null) {
@@ -186,7 +185,7 @@ public class EvaluationCache implements VisibilityListener {
 	/**
 	 * Clears the cache.
 	 */
-	public void clear() {
+	public synchronized void clear() {
 		// Dump everything in the reference queues.
 		// Don't bother removing from the map based on references, we are about to clear everything anyways.
 		// This might lead to some premature removals because yet to be collected values are not clearing
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.navigator.extensions;
+
+import java.lang.reflect.Method;
+
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.PlatformObject;
+
+/**
+ * Describes whether a <b>triggerPoints</b>, <b>possibleChildren</b> or
+ * <b>enablement</b> expression can be answered from the type of the evaluated
+ * element alone.
+ * <p>
+ * An expression is type only if it is composed solely of <code>and</code>,
+ * <code>or</code>, <code>not</code>, <code>instanceof</code> and
+ * <code>adapt</code> elements. Expressions that use <code>adapt</code> are only
+ * type only for element classes whose adapters are resolved through the
+ * adapter manager, since a custom {@link IAdaptable#getAdapter(Class)} may
+ * answer differently for each instance. Even then, an element that cannot be
+ * adapted may become adaptable once an adapter factory is registered, so only
+ * the positive results of such expressions are the same from then on.
+ * </p>
+ */
+public final class ExpressionTypeInfo {
+
+	/** Describes an expression which always needs to be evaluated. */
+	public static final ExpressionTypeInfo NOT_TYPE_ONLY = new ExpressionTypeInfo(false, false);
+
+	private static final String TAG_AND = "and"; //$NON-NLS-1$
+
+	private static final String TAG_OR = "or"; //$NON-NLS-1$
+
+	private static final String TAG_NOT = "not"; //$NON-NLS-1$
+
+	private static final String TAG_INSTANCEOF = "instanceof"; //$NON-NLS-1$
+
+	private static final String TAG_ADAPT = "adapt"; //$NON-NLS-1$
+
+	private static final ClassValue<Boolean> TYPE_DETERMINED_ADAPTERS = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			if (!IAdaptable.class.isAssignableFrom(type)) {
+				return Boolean.TRUE;
+			}
+			try {
+				Method getAdapter = type.getMethod("getAdapter", Class.class); //$NON-NLS-1$
+				return Boolean.valueOf(getAdapter.getDeclaringClass() == PlatformObject.class);
+			} catch (NoSuchMethodException | SecurityException e) {
+				return Boolean.FALSE;
+			}
+		}
+	};
+
+	private final boolean typeOnly;
+
+	private final boolean usesAdapt;
+
+	private ExpressionTypeInfo(boolean typeOnly, boolean usesAdapt) {
+		this.typeOnly = typeOnly;
+		this.usesAdapt = usesAdapt;
+	}
+
+	/**
+	 * Analyzes the children of the given expression container element, which
+	 * are combined with AND semantics.
+	 *
+	 * @param aContainer
+	 *            the <b>triggerPoints</b>, <b>possibleChildren</b> or
+	 *            <b>enablement</b> element, may be <code>null</code>
+	 * @return the type information of the expression, never <code>null</code>
+	 */
+	public static ExpressionTypeInfo analyze(IConfigurationElement aContainer) {
+		if (aContainer == null) {
+			return NOT_TYPE_ONLY;
+		}
+		boolean[] usesAdapt = new boolean[1];
+		if (!isTypeOnly(aContainer.getChildren(), usesAdapt)) {
+			return NOT_TYPE_ONLY;
+		}
+		return new ExpressionTypeInfo(true, usesAdapt[0]);
+	}
+
+	private static boolean isTypeOnly(IConfigurationElement[] theElements, boolean[] usesAdapt) {
+		for (IConfigurationElement element : theElements) {
+			String name = element.getName();
+			if (TAG_INSTANCEOF.equals(name)) {
+				continue;
+			}
+			if (TAG_ADAPT.equals(name)) {
+				usesAdapt[0] = true;
+			} else if (!TAG_AND.equals(name) && !TAG_OR.equals(name) && !TAG_NOT.equals(name)) {
+				return false;
+			}
+			if (!isTypeOnly(element.getChildren(), usesAdapt)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param anElementClass
+	 *            the class of the element about to be evaluated
+	 * @return True if the result of evaluating the expression for an instance
+	 *         of the given class is the same for every instance of that class.
+	 */
+	public boolean isDeterminedBy(Class<?> anElementClass) {
+		if (!typeOnly) {
+			return false;
+		}
+		return !usesAdapt || TYPE_DETERMINED_ADAPTERS.get(anElementClass).booleanValue();
+	}
+
+	/**
+	 * @return True if a negative result of the expression may change when
+	 *         adapter factories are registered, and must not be remembered.
+	 */
+	public boolean usesAdapt() {
+		return usesAdapt;
+	}
+
+	@Override
+	public String toString() {
+		return "ExpressionTypeInfo [typeOnly=" + typeOnly + ", usesAdapt=" + usesAdapt + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
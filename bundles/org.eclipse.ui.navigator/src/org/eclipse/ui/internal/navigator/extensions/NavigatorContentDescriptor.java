@@ -17,8 +17,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.expressions.ElementHandler;
 import org.eclipse.core.expressions.EvaluationResult;
@@ -74,6 +76,15 @@ public final class NavigatorContentDescriptor implements
 
 	private Expression possibleChildren;
 
+	private ExpressionTypeInfo enablementTypeInfo = ExpressionTypeInfo.NOT_TYPE_ONLY;
+
+	private ExpressionTypeInfo possibleChildrenTypeInfo = ExpressionTypeInfo.NOT_TYPE_ONLY;
+
+	/* Memoized results of type only expressions, keyed by element class */
+	private final Map<Class<?>, Boolean> triggerPointsByType = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, Boolean> possibleChildrenByType = new ConcurrentHashMap<>();
+
 	private Expression initialActivation;
 
 	private String icon;
@@ -252,6 +263,7 @@ public final class NavigatorContentDescriptor implements
 			children = configElement.getChildren(TAG_TRIGGER_POINTS);
 			if (children.length == 1) {
 				enablement = new CustomAndExpression(children[0]);
+				enablementTypeInfo = ExpressionTypeInfo.analyze(children[0]);
 			} else {
 				throw new WorkbenchException(NLS.bind(
 						CommonNavigatorMessages.Attribute_Missing_Warning,
@@ -265,6 +277,7 @@ public final class NavigatorContentDescriptor implements
 			children = configElement.getChildren(TAG_POSSIBLE_CHILDREN);
 			if (children.length == 1) {
 				possibleChildren = new CustomAndExpression(children[0]);
+				possibleChildrenTypeInfo = ExpressionTypeInfo.analyze(children[0]);
 			} else if(children.length > 1){
 				throw new WorkbenchException(NLS.bind(
 						CommonNavigatorMessages.Attribute_Missing_Warning,
@@ -278,6 +291,7 @@ public final class NavigatorContentDescriptor implements
 			try {
 				enablement = ElementHandler.getDefault().create(
 						ExpressionConverter.getDefault(), children[0]);
+				enablementTypeInfo = ExpressionTypeInfo.analyze(children[0]);
 			} catch (CoreException e) {
 				NavigatorPlugin.log(IStatus.ERROR, 0, e.getMessage(), e);
 			}
@@ -409,8 +423,7 @@ public final class NavigatorContentDescriptor implements
 			return false;
 		}
 
-		IEvaluationContext context = NavigatorPlugin.getEvalContext(anElement);
-		return NavigatorPlugin.safeEvaluate(enablement, context) == EvaluationResult.TRUE;
+		return evaluate(enablement, enablementTypeInfo, triggerPointsByType, anElement);
 	}
 
 	/**
@@ -437,13 +450,90 @@ public final class NavigatorContentDescriptor implements
 			return arePossibleChildren((IStructuredSelection) anElement);
 		}
 
-		IEvaluationContext context = NavigatorPlugin.getEvalContext(anElement);
 		if (possibleChildren != null) {
-			return NavigatorPlugin.safeEvaluate(possibleChildren, context) == EvaluationResult.TRUE;
-		} else if (enablement != null) {
-			return NavigatorPlugin.safeEvaluate(enablement, context) == EvaluationResult.TRUE;
+			return evaluate(possibleChildren, possibleChildrenTypeInfo, possibleChildrenByType, anElement);
+		}
+		return evaluate(enablement, enablementTypeInfo, triggerPointsByType, anElement);
+	}
+
+	/**
+	 * Evaluates the expression for the given element. Results of expressions
+	 * that only depend on the type of the element are memoized per class,
+	 * except for negative results of <code>adapt</code> expressions.
+	 */
+	private static boolean evaluate(Expression anExpression, ExpressionTypeInfo aTypeInfo,
+			Map<Class<?>, Boolean> theResultsByType, Object anElement) {
+		Class<?> elementClass = anElement.getClass();
+		boolean memoizable = aTypeInfo.isDeterminedBy(elementClass);
+		if (memoizable) {
+			Boolean known = theResultsByType.get(elementClass);
+			if (known != null) {
+				return known.booleanValue();
+			}
+		}
+
+		IEvaluationContext context = NavigatorPlugin.getEvalContext(anElement);
+		EvaluationResult result = NavigatorPlugin.safeEvaluate(anExpression, context);
+		// NOT_LOADED (or a failed evaluation) may change later, don't remember
+		// it, nor a FALSE which an adapter factory registered later may turn
+		if (memoizable && (result == EvaluationResult.TRUE
+				|| result == EvaluationResult.FALSE && !aTypeInfo.usesAdapt())) {
+			theResultsByType.put(elementClass, Boolean.valueOf(result == EvaluationResult.TRUE));
+		}
+		return result == EvaluationResult.TRUE;
+	}
+
+	/**
+	 * @param anElementClass
+	 *            the class of an element
+	 * @param toCheckPossibleChildren
+	 *            True to consult the <b>possibleChildren</b> expression,
+	 *            False for the <b>triggerPoints</b>
+	 * @return True if the relevant expression yields the same result for
+	 *         every instance of the given class.
+	 */
+	public boolean isDeterminedByType(Class<?> anElementClass, boolean toCheckPossibleChildren) {
+		if (toCheckPossibleChildren && possibleChildren != null) {
+			return possibleChildrenTypeInfo.isDeterminedBy(anElementClass);
+		}
+		return enablement != null && enablementTypeInfo.isDeterminedBy(anElementClass);
+	}
+
+	/**
+	 * @param anElement
+	 *            an element
+	 * @param toCheckPossibleChildren
+	 *            True to consult the <b>possibleChildren</b> expression,
+	 *            False for the <b>triggerPoints</b>
+	 * @return True if the relevant expression evaluated to false for the
+	 *         element and is known to do so for every instance of its class.
+	 *         An expression that could not be evaluated yet, for example
+	 *         because its plug-in is not loaded, or that uses
+	 *         <code>adapt</code>, is not known to be false.
+	 */
+	public boolean isExcludedByType(Object anElement, boolean toCheckPossibleChildren) {
+		Class<?> elementClass = anElement.getClass();
+		if (!isDeterminedByType(elementClass, toCheckPossibleChildren)) {
+			return false;
+		}
+		Map<Class<?>, Boolean> theResultsByType;
+		if (toCheckPossibleChildren) {
+			isPossibleChild(anElement);
+			theResultsByType = possibleChildren != null ? possibleChildrenByType : triggerPointsByType;
+		} else {
+			isTriggerPoint(anElement);
+			theResultsByType = triggerPointsByType;
 		}
-		return false;
+		// only definite results are memoized
+		return Boolean.FALSE.equals(theResultsByType.get(elementClass));
+	}
+
+	/**
+	 * Forgets the results memoized for type only expressions.
+	 */
+	void clearTypeCache() {
+		triggerPointsByType.clear();
+		possibleChildrenByType.clear();
 	}
 
 	/**
@@ -15,7 +15,9 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.navigator.extensions;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -25,12 +27,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.jface.resource.ResourceLocator;
+import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.ui.internal.navigator.NavigatorPlugin;
 import org.eclipse.ui.internal.navigator.NavigatorSafeRunnable;
@@ -54,6 +58,17 @@ public class NavigatorContentDescriptorManager {
 
 	private final Map<VisibilityAssistant, EvaluationCache> cachedPossibleChildrenEvaluations = new WeakHashMap<>();
 
+	/*
+	 * Type index: for each element class, the first class descriptors which
+	 * may enable for instances of that class. Descriptors whose expression is
+	 * known to be false for the whole class (and which have no overrides) are
+	 * left out, so they are never evaluated again for that class. Descriptors
+	 * whose expression could not be evaluated yet stay in.
+	 */
+	private final Map<Class<?>, NavigatorContentDescriptor[]> triggerPointCandidates = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, NavigatorContentDescriptor[]> possibleChildCandidates = new ConcurrentHashMap<>();
+
 	private ImageRegistry imageRegistry;
 
 	private final Set<NavigatorContentDescriptor> overridingDescriptors = new HashSet<>();
@@ -167,11 +182,12 @@ public class NavigatorContentDescriptorManager {
 			return descriptors;
 		}
 
+		Collection<NavigatorContentDescriptor> candidates = getCandidateDescriptors(anElement, possibleChild);
 		if (considerOverrides) {
-			addDescriptorsConsideringOverrides(anElement, firstClassDescriptorsSet, aVisibilityAssistant, descriptors, possibleChild);
+			addDescriptorsConsideringOverrides(anElement, candidates, aVisibilityAssistant, descriptors, possibleChild);
 		} else {
 			/* Find other ContentProviders which enable for this object */
-			for (NavigatorContentDescriptor descriptor : firstClassDescriptorsSet) {
+			for (NavigatorContentDescriptor descriptor : candidates) {
 				if (aVisibilityAssistant.isActive(descriptor) && aVisibilityAssistant.isVisible(descriptor)
 						&& (possibleChild ? descriptor.isPossibleChild(anElement) : descriptor.isTriggerPoint(anElement))) {
 					descriptors.add(descriptor);
@@ -190,15 +206,47 @@ public class NavigatorContentDescriptorManager {
 
 	private EvaluationCache getEvaluationCache(Map<VisibilityAssistant, EvaluationCache> anEvaluationMap,
 			VisibilityAssistant aVisibilityAssistant) {
-		EvaluationCache c = anEvaluationMap.get(aVisibilityAssistant);
-		if (c == null) {
-			anEvaluationMap.put(aVisibilityAssistant, c = new EvaluationCache(aVisibilityAssistant));
+		synchronized (anEvaluationMap) {
+			EvaluationCache c = anEvaluationMap.get(aVisibilityAssistant);
+			if (c == null) {
+				anEvaluationMap.put(aVisibilityAssistant, c = new EvaluationCache(aVisibilityAssistant));
+			}
+			return c;
 		}
-		return c;
+	}
+
+	/**
+	 * Returns the first class descriptors which have to be considered for the
+	 * given element, using the type index.
+	 */
+	private Collection<NavigatorContentDescriptor> getCandidateDescriptors(Object anElement, boolean possibleChild) {
+		if (anElement == null || anElement instanceof IStructuredSelection) {
+			return firstClassDescriptorsSet;
+		}
+		Map<Class<?>, NavigatorContentDescriptor[]> index = possibleChild ? possibleChildCandidates
+				: triggerPointCandidates;
+		Class<?> elementClass = anElement.getClass();
+		NavigatorContentDescriptor[] candidates = index.get(elementClass);
+		if (candidates == null) {
+			List<NavigatorContentDescriptor> result = new ArrayList<>(firstClassDescriptorsSet.size());
+			for (NavigatorContentDescriptor descriptor : firstClassDescriptorsSet) {
+				if (descriptor.hasOverridingExtensions() || !descriptor.isExcludedByType(anElement, possibleChild)) {
+					result.add(descriptor);
+				}
+			}
+			candidates = result.toArray(new NavigatorContentDescriptor[result.size()]);
+			index.put(elementClass, candidates);
+			if (Policy.DEBUG_RESOLUTION) {
+				System.out.println("Type index for: " + elementClass.getName() + //$NON-NLS-1$
+						(possibleChild ? " (possible child)" : "") + ": " + candidates.length + //$NON-NLS-1$ //$NON-NLS-2$
+						" of " + firstClassDescriptorsSet.size() + " descriptors"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return Arrays.asList(candidates);
 	}
 
 	private boolean addDescriptorsConsideringOverrides(Object anElement,
-			Set<NavigatorContentDescriptor> theChildDescriptors, VisibilityAssistant aVisibilityAssistant,
+			Collection<NavigatorContentDescriptor> theChildDescriptors, VisibilityAssistant aVisibilityAssistant,
 			Set<NavigatorContentDescriptor> theFoundDescriptors, boolean possibleChild) {
 		int initialSize = theFoundDescriptors.size();
 
@@ -302,11 +350,20 @@ public class NavigatorContentDescriptorManager {
 	 * Clears all cached information.
 	 */
 	public void clearCache() {
-		for (EvaluationCache cache : cachedPossibleChildrenEvaluations.values()) {
-			cache.clear();
+		synchronized (cachedPossibleChildrenEvaluations) {
+			for (EvaluationCache cache : cachedPossibleChildrenEvaluations.values()) {
+				cache.clear();
+			}
+		}
+		synchronized (cachedTriggerPointEvaluations) {
+			for (EvaluationCache cache : cachedTriggerPointEvaluations.values()) {
+				cache.clear();
+			}
 		}
-		for (EvaluationCache cache : cachedTriggerPointEvaluations.values()) {
-			cache.clear();
+		triggerPointCandidates.clear();
+		possibleChildCandidates.clear();
+		for (NavigatorContentDescriptor descriptor : allDescriptors.values()) {
+			descriptor.clearTypeCache();
 		}
 	}
 
@@ -43,6 +43,21 @@ public final class NavigatorViewerDescriptor implements
 	 */
 	public static final String PROP_ENFORCE_HAS_CHILDREN = "org.eclipse.ui.navigator.enforceHasChildren"; //$NON-NLS-1$
 
+	/**
+	 * {@value} (boolean): True indicates the children of an element are
+	 * fetched from the content extensions concurrently, off the UI thread,
+	 * showing a pending node until they arrive (<b>false</b>). Only set this
+	 * for viewers whose content providers are all thread safe.
+	 */
+	public static final String PROP_ASYNC_CHILDREN = "org.eclipse.ui.navigator.asyncChildren"; //$NON-NLS-1$
+
+	/**
+	 * {@value} (integer): The time in milliseconds after which a content
+	 * extension which has not yet provided its children asynchronously is
+	 * reported as slow and the pending node is removed (<b>10000</b>).
+	 */
+	public static final String PROP_ASYNC_CHILDREN_TIMEOUT = "org.eclipse.ui.navigator.asyncChildrenTimeout"; //$NON-NLS-1$
+
 	static final String TAG_INCLUDES = "includes"; //$NON-NLS-1$
 
 	static final String TAG_EXCLUDES = "excludes"; //$NON-NLS-1$
@@ -38,6 +38,7 @@ import org.eclipse.swt.widgets.Widget;
 import org.eclipse.ui.internal.navigator.CommonNavigatorFrameSource;
 import org.eclipse.ui.internal.navigator.ContributorTrackingSet;
 import org.eclipse.ui.internal.navigator.NavigatorContentService;
+import org.eclipse.ui.internal.navigator.NavigatorContentServiceContentProvider;
 import org.eclipse.ui.internal.navigator.NavigatorDecoratingLabelProvider;
 import org.eclipse.ui.internal.navigator.NavigatorPipelineService;
 import org.eclipse.ui.internal.navigator.dnd.NavigatorDnDService;
@@ -148,6 +149,7 @@ public class CommonViewer extends TreeViewer {
 	}
 
 	protected void removeWithoutRefresh(Object[] elements) {
+		invalidateParents(elements);
 		super.remove(elements);
 	}
 
@@ -302,6 +304,9 @@ public class CommonViewer extends TreeViewer {
 		Object parent = (parentElement == getInput()) ? getInput()
 				: modification.getParent();
 
+		if (parent != getInput()) {
+			invalidateChildren(parent);
+		}
 		super.add(parent, modification.getChildren().toArray());
 	}
 
@@ -323,7 +328,9 @@ public class CommonViewer extends TreeViewer {
 
 		pipeDream.interceptRemove(modification);
 
-		super.remove(modification.getChildren().toArray());
+		Object[] removed = modification.getChildren().toArray();
+		invalidateParents(removed);
+		super.remove(removed);
 	}
 
 	@Override
@@ -529,9 +536,22 @@ public class CommonViewer extends TreeViewer {
 		if (element == null && getRoot() == null) {
 			return;
 		}
+		invalidateChildren(element);
 		super.internalRefresh(element, updateLabels);
 	}
 
+	private void invalidateChildren(Object elementOrPath) {
+		if (getContentProvider() instanceof NavigatorContentServiceContentProvider) {
+			((NavigatorContentServiceContentProvider) getContentProvider()).invalidateChildren(elementOrPath);
+		}
+	}
+
+	private void invalidateParents(Object[] elementsOrPaths) {
+		if (getContentProvider() instanceof NavigatorContentServiceContentProvider) {
+			((NavigatorContentServiceContentProvider) getContentProvider()).invalidateParents(elementsOrPaths);
+		}
+	}
+
 	/**
 	 * @noreference This method is not intended to be referenced by clients.
 	 * @nooverride This method is not intended to be re-implemented or extended by clients.
@@ -456,11 +456,17 @@ public final class CommandPersistence extends RegistryPersistence {
 			}
 		}
 
-		readCategoriesFromRegistry(indexedConfigurationElements[INDEX_CATEGORY_DEFINITIONS], categoryDefinitionCount,
-				commandManager);
-		readCommandsFromRegistry(indexedConfigurationElements[INDEX_COMMAND_DEFINITIONS], commandDefinitionCount,
-				commandManager);
-		readParameterTypesFromRegistry(indexedConfigurationElements[INDEX_PARAMETER_TYPE_DEFINITIONS],
-				parameterTypeDefinitionCount, commandManager);
+		final int categoryCount = categoryDefinitionCount;
+		final int commandCount = commandDefinitionCount;
+		final int parameterTypeCount = parameterTypeDefinitionCount;
+		// listeners are told about all of the definitions at once
+		commandManager.runBatch(() -> {
+			readCategoriesFromRegistry(indexedConfigurationElements[INDEX_CATEGORY_DEFINITIONS], categoryCount,
+					commandManager);
+			readCommandsFromRegistry(indexedConfigurationElements[INDEX_COMMAND_DEFINITIONS], commandCount,
+					commandManager);
+			readParameterTypesFromRegistry(indexedConfigurationElements[INDEX_PARAMETER_TYPE_DEFINITIONS],
+					parameterTypeCount, commandManager);
+		});
 	}
 }
@@ -352,16 +352,18 @@ public class WorkbenchThemeManager extends EventManager implements IThemeManager
 			// update the jface registries
 			ColorRegistry jfaceColors = JFaceResources.getColorRegistry();
 			ColorRegistry themeColors = currentTheme.getColorRegistry();
-			for (Object themeColorKey : themeColors.getKeySet()) {
-				String key = (String) themeColorKey;
-				jfaceColors.put(key, themeColors.getRGB(key));
-			}
+			jfaceColors.runBatch(() -> {
+				for (String key : themeColors.getKeySet()) {
+					jfaceColors.put(key, themeColors.getRGB(key));
+				}
+			});
 			FontRegistry jfaceFonts = JFaceResources.getFontRegistry();
 			FontRegistry themeFonts = currentTheme.getFontRegistry();
-			for (Object themeFontKey : themeFonts.getKeySet()) {
-				String key = (String) themeFontKey;
-				jfaceFonts.put(key, themeFonts.getFontData(key));
-			}
+			jfaceFonts.runBatch(() -> {
+				for (String key : themeFonts.getKeySet()) {
+					jfaceFonts.put(key, themeFonts.getFontData(key));
+				}
+			});
 			if (oldTheme != null && eventBroker != null) {
 				eventBroker.send(UIEvents.UILifeCycle.THEME_CHANGED, null);
 				eventBroker.send(UIEvents.UILifeCycle.THEME_DEFINITION_CHANGED, context.get(MApplication.class));
@@ -377,9 +379,13 @@ public class WorkbenchThemeManager extends EventManager implements IThemeManager
 			FontRegistry fontRegistry = getFontRegistry();
 			ColorRegistry colorRegistry = getColorRegistry();
 
-			resetThemeRegistries(themeRegistry, fontRegistry, colorRegistry);
-			overrideAlreadyExistingDefinitions(event, engine, themeRegistry, fontRegistry, colorRegistry);
-			addNewDefinitions(event, engine, themeRegistry, fontRegistry, colorRegistry);
+			// Definitions are reset to their defaults before the new theme is
+			// applied, only report the ones which end up with a different value
+			fontRegistry.runBatch(() -> colorRegistry.runBatch(() -> {
+				resetThemeRegistries(themeRegistry, fontRegistry, colorRegistry);
+				overrideAlreadyExistingDefinitions(event, engine, themeRegistry, fontRegistry, colorRegistry);
+				addNewDefinitions(event, engine, themeRegistry, fontRegistry, colorRegistry);
+			}));
 
 			sendThemeRegistryRestyledEvent();
 		}
@@ -14,6 +14,7 @@
 
 package org.eclipse.e4.ui.tests.application;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -23,6 +24,7 @@ import java.util.List;
 import org.eclipse.e4.core.contexts.EclipseContextFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.di.UISynchronize;
 import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
@@ -46,6 +48,7 @@ import org.eclipse.e4.ui.workbench.UIEvents.UILabel;
 import org.eclipse.e4.ui.workbench.UIEvents.Window;
 import org.eclipse.emf.common.notify.Notifier;
 import org.junit.Test;
+import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
 
 public class UIEventsTest extends HeadlessApplicationElementTest {
@@ -343,6 +346,72 @@ public class UIEventsTest extends HeadlessApplicationElementTest {
 		assertFalse(seen[0]);
 	}
 
+	@Test
+	public void testCoalescedAttributeChanges() {
+		IEclipseContext appContext = rule.getApplicationContext();
+		List<Runnable> asyncRunnables = new ArrayList<>();
+		IEclipseContext publisherContext = appContext.createChild();
+		publisherContext.set(UISynchronize.class, new UISynchronize() {
+			@Override
+			public void syncExec(Runnable runnable) {
+				runnable.run();
+			}
+
+			@Override
+			public void asyncExec(Runnable runnable) {
+				asyncRunnables.add(runnable);
+			}
+
+			@Override
+			protected boolean isUIThread(Thread thread) {
+				return true;
+			}
+
+			@Override
+			protected void showBusyWhile(Runnable runnable) {
+				runnable.run();
+			}
+
+			@Override
+			protected boolean dispatchEvents() {
+				return false;
+			}
+		});
+		List<Event> events = new ArrayList<>();
+		EventHandler handler = events::add;
+		IEventBroker eventBroker = appContext.get(IEventBroker.class);
+		eventBroker.subscribe(ApplicationElement.TOPIC_ELEMENTID, null, handler, true);
+
+		MTestHarness allData = MTestFactory.eINSTANCE.createTestHarness();
+		allData.setElementId("initial");
+		UIEventPublisher ep = new UIEventPublisher(publisherContext);
+		ep.setCoalescing(true);
+		((Notifier) allData).eAdapters().add(ep);
+		try {
+			allData.setElementId("first");
+			allData.setElementId("second");
+			allData.setElementId("third");
+			assertTrue(events.isEmpty());
+
+			// the end of the UI thread turn
+			assertEquals(1, asyncRunnables.size());
+			asyncRunnables.get(0).run();
+			assertEquals(1, events.size());
+			assertEquals("initial", events.get(0).getProperty(EventTags.OLD_VALUE));
+			assertEquals("third", events.get(0).getProperty(EventTags.NEW_VALUE));
+
+			// a change which is undone within the turn is not reported
+			allData.setElementId("fourth");
+			allData.setElementId("third");
+			asyncRunnables.get(1).run();
+			assertEquals(1, events.size());
+		} finally {
+			((Notifier) allData).eAdapters().remove(ep);
+			eventBroker.unsubscribe(handler);
+			publisherContext.dispose();
+		}
+	}
+
 	/**
 	 * @param allTesters
 	 * @param tester
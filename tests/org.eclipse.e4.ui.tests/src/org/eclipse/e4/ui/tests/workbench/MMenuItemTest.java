@@ -585,6 +585,65 @@ public class MMenuItemTest {
 		fileWidget.notifyListeners(SWT.Hide, hide);
 	}
 
+	@Test
+	public void testWithVisibleReused() {
+		MWindow window = ems.createModelElement(MWindow.class);
+		MMenu mainMenu = ems.createModelElement(MMenu.class);
+		mainMenu.setElementId("org.eclipse.ui.main.menu");
+		window.setMainMenu(mainMenu);
+
+		MMenu fileMenu = ems.createModelElement(MMenu.class);
+		fileMenu.setElementId("file");
+		fileMenu.setLabel("File");
+		mainMenu.getChildren().add(fileMenu);
+
+		application.getChildren().add(window);
+		application.getMenuContributions().add(createContribution(true));
+		contextRule.createAndRunWorkbench(window);
+
+		MenuManagerRenderer renderer = getRenderer(appContext, mainMenu);
+		MenuManager fileManager = renderer.getManager(fileMenu);
+		IContributionItem mmcItem = fileManager.getItems()[0];
+		assertEquals("mmc.item1", mmcItem.getId());
+
+		renderer.getManager(mainMenu).updateAll(true);
+		Menu fileWidget = fileManager.getMenu();
+
+		Event show = new Event();
+		show.widget = fileWidget;
+		show.type = SWT.Show;
+
+		Event hide = new Event();
+		hide.widget = fileWidget;
+		hide.type = SWT.Hide;
+
+		fileWidget.notifyListeners(SWT.Show, show);
+		fileWidget.notifyListeners(SWT.Hide, hide);
+		assertFalse(mmcItem.isVisible());
+
+		long evaluations = renderer.getVisibilityEvaluationCount();
+		long reuses = renderer.getVisibilityReuseCount();
+		fileWidget.notifyListeners(SWT.Show, show);
+		fileWidget.notifyListeners(SWT.Hide, hide);
+		assertFalse(mmcItem.isVisible());
+		assertEquals("nothing changed, so nothing should be evaluated", evaluations,
+				renderer.getVisibilityEvaluationCount());
+		assertTrue(renderer.getVisibilityReuseCount() > reuses);
+
+		appContext.set("mmc1", Boolean.TRUE);
+
+		fileWidget.notifyListeners(SWT.Show, show);
+		fileWidget.notifyListeners(SWT.Hide, hide);
+		assertTrue(mmcItem.isVisible());
+		assertTrue(renderer.getVisibilityEvaluationCount() > evaluations);
+
+		appContext.remove("mmc1");
+
+		fileWidget.notifyListeners(SWT.Show, show);
+		fileWidget.notifyListeners(SWT.Hide, hide);
+		assertFalse(mmcItem.isVisible());
+	}
+
 	@Test
 	public void testVisibilityOfMenuItemChangesBasedOnCoreExpression() {
 		MWindow window = ems.createModelElement(MWindow.class);
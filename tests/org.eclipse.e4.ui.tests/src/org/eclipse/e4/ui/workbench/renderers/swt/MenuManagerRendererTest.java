@@ -18,15 +18,21 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
 import javax.inject.Inject;
+import org.eclipse.e4.ui.di.AboutToShow;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
 import org.eclipse.e4.ui.model.application.ui.menu.MDirectMenuItem;
+import org.eclipse.e4.ui.model.application.ui.menu.MDynamicMenuContribution;
 import org.eclipse.e4.ui.model.application.ui.menu.MMenu;
+import org.eclipse.e4.ui.model.application.ui.menu.MMenuElement;
 import org.eclipse.e4.ui.model.application.ui.menu.MMenuItem;
 import org.eclipse.e4.ui.tests.rules.WorkbenchContextRule;
 import org.eclipse.e4.ui.workbench.modeling.EModelService;
 import org.eclipse.jface.action.MenuManager;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Menu;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Rule;
@@ -144,6 +150,59 @@ public class MenuManagerRendererTest {
 		assertTrue(mm.getItems()[0].isVisible());
 	}
 
+	@Test
+	public void testMDynamicMenuContribution_HiddenNotComputed() {
+		MMenu submenu = ems.createModelElement(MMenu.class);
+		menu.getChildren().add(submenu);
+
+		CountingContribution shownContribution = new CountingContribution();
+		MDynamicMenuContribution shown = ems.createModelElement(MDynamicMenuContribution.class);
+		shown.setElementId("shown");
+		shown.setObject(shownContribution);
+		submenu.getChildren().add(shown);
+
+		CountingContribution hiddenContribution = new CountingContribution();
+		MDynamicMenuContribution hidden = ems.createModelElement(MDynamicMenuContribution.class);
+		hidden.setElementId("hidden");
+		hidden.setObject(hiddenContribution);
+		hidden.setVisible(false);
+		submenu.getChildren().add(hidden);
+
+		CountingContribution notRenderedContribution = new CountingContribution();
+		MDynamicMenuContribution notRendered = ems.createModelElement(MDynamicMenuContribution.class);
+		notRendered.setElementId("notRendered");
+		notRendered.setObject(notRenderedContribution);
+		notRendered.setToBeRendered(false);
+		submenu.getChildren().add(notRendered);
+
+		contextRule.createAndRunWorkbench(window);
+		Menu swtMenu = getMenuManagerRenderer().getManager(submenu).getMenu();
+		swtMenu.notifyListeners(SWT.Show, null);
+		swtMenu.notifyListeners(SWT.Hide, null);
+
+		assertEquals(1, shownContribution.calls);
+		assertEquals(0, hiddenContribution.calls);
+		assertEquals(0, notRenderedContribution.calls);
+
+		hidden.setVisible(true);
+		swtMenu.notifyListeners(SWT.Show, null);
+		swtMenu.notifyListeners(SWT.Hide, null);
+
+		assertEquals(2, shownContribution.calls);
+		assertEquals(1, hiddenContribution.calls);
+		assertEquals(0, notRenderedContribution.calls);
+	}
+
+	public static class CountingContribution {
+		int calls;
+
+		@AboutToShow
+		public void aboutToShow(List<MMenuElement> items, EModelService modelService) {
+			calls++;
+			items.add(modelService.createModelElement(MDirectMenuItem.class));
+		}
+	}
+
 	private MenuManagerRenderer getMenuManagerRenderer() {
 		Object renderer = menu.getRenderer();
 		assertEquals(MenuManagerRenderer.class, renderer.getClass());
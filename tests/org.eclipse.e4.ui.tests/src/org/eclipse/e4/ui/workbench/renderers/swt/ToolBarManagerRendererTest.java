@@ -20,13 +20,16 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import javax.inject.Inject;
 import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.commands.MCommand;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimBar;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
 import org.eclipse.e4.ui.model.application.ui.menu.MDirectToolItem;
+import org.eclipse.e4.ui.model.application.ui.menu.MHandledToolItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolBar;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolItem;
 import org.eclipse.e4.ui.tests.rules.WorkbenchContextRule;
@@ -439,12 +442,94 @@ public class ToolBarManagerRendererTest {
 		assertEquals(2, toolBar.getChildren().size());
 	}
 
+	@Test
+	public void testUpdater_UpdatesOnlyMatchingElement() throws Exception {
+		MToolItem toolItem1 = ems.createModelElement(MDirectToolItem.class);
+		toolItem1.setElementId("Item1");
+		toolBar.getChildren().add(toolItem1);
+
+		MToolItem toolItem2 = ems.createModelElement(MDirectToolItem.class);
+		toolItem2.setElementId("Item2");
+		toolBar.getChildren().add(toolItem2);
+
+		contextRule.createAndRunWorkbench(window);
+		ToolItemUpdater updater = getUpdater();
+		updater.run();
+		long evaluations = updater.getEvaluationCount();
+
+		updater.updateContributionItemsForElement("Item1");
+		updater.run();
+
+		assertEquals(evaluations + 1, updater.getEvaluationCount());
+
+		updater.updateContributionItemsForElement("Unknown");
+		updater.run();
+
+		assertEquals(evaluations + 1, updater.getEvaluationCount());
+	}
+
+	@Test
+	public void testUpdater_ElementIdChangedAfterRegistration() throws Exception {
+		MToolItem toolItem1 = ems.createModelElement(MDirectToolItem.class);
+		toolItem1.setElementId("Item1");
+		toolBar.getChildren().add(toolItem1);
+
+		contextRule.createAndRunWorkbench(window);
+		ToolItemUpdater updater = getUpdater();
+		updater.run();
+		long evaluations = updater.getEvaluationCount();
+
+		toolItem1.setElementId("Renamed");
+
+		updater.updateContributionItemsForElement("Item1");
+		updater.run();
+		assertEquals(evaluations, updater.getEvaluationCount());
+
+		updater.updateContributionItemsForElement("Renamed");
+		updater.run();
+		assertEquals(evaluations + 1, updater.getEvaluationCount());
+	}
+
+	@Test
+	public void testUpdater_CommandIdChangedAfterRegistration() throws Exception {
+		MCommand command = ems.createModelElement(MCommand.class);
+		command.setElementId("command.old");
+		application.getCommands().add(command);
+
+		MHandledToolItem toolItem1 = ems.createModelElement(MHandledToolItem.class);
+		toolItem1.setElementId("Item1");
+		toolItem1.setCommand(command);
+		toolBar.getChildren().add(toolItem1);
+
+		contextRule.createAndRunWorkbench(window);
+		ToolItemUpdater updater = getUpdater();
+		updater.run();
+		long evaluations = updater.getEvaluationCount();
+
+		command.setElementId("command.new");
+
+		updater.updateContributionItemsForCommand("command.old");
+		updater.run();
+		assertEquals(evaluations, updater.getEvaluationCount());
+
+		updater.updateContributionItemsForCommand("command.new");
+		updater.run();
+		assertEquals(evaluations + 1, updater.getEvaluationCount());
+	}
+
 	private ToolBarManagerRenderer getToolBarManagerRenderer() {
 		Object renderer = toolBar.getRenderer();
 		assertEquals(ToolBarManagerRenderer.class, renderer.getClass());
 		return (ToolBarManagerRenderer) renderer;
 	}
 
+	private ToolItemUpdater getUpdater() throws Exception {
+		// not a fragment, package access is not granted at runtime
+		Method getUpdater = ToolBarManagerRenderer.class.getDeclaredMethod("getUpdater");
+		getUpdater.setAccessible(true);
+		return (ToolItemUpdater) getUpdater.invoke(getToolBarManagerRenderer());
+	}
+
 	private ToolBarManager getToolBarManager() {
 		return (getToolBarManagerRenderer()).getManager(toolBar);
 	}
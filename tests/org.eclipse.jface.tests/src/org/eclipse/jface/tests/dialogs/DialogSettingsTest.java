@@ -26,6 +26,10 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jface.dialogs.DialogSettings;
 import org.eclipse.jface.dialogs.IDialogSettings;
@@ -457,6 +461,110 @@ public class DialogSettingsTest {
 			dialogSettingsChecker.checkAfterDeserialization(deserializedDialogSettings);
 		}
 
+		Path file = Files.createTempFile("dialog_settings", ".bin");
+		try {
+			((DialogSettings) dialogSettingsToSerialize).saveBinary(file.toString());
+			DialogSettings deserializedDialogSettings = new DialogSettings("");
+			deserializedDialogSettings.load(file.toString());
+
+			dialogSettingsChecker.checkAfterDeserialization(deserializedDialogSettings);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testLoadDetectsFormat() throws IOException {
+		DialogSettings dialogSettings = new DialogSettings("root");
+		fill(dialogSettings);
+		Path file = Files.createTempFile("dialog_settings", ".xml");
+		try {
+			dialogSettings.save(file.toString());
+			DialogSettings fromXml = new DialogSettings("");
+			fromXml.load(file.toString());
+			check(fromXml);
+
+			// sections not accessed after loading are written back as they were
+			fromXml.saveBinary(file.toString());
+			DialogSettings fromBinary = new DialogSettings("");
+			fromBinary.load(file.toString());
+			fromBinary.saveBinary(file.toString());
+			fromBinary = new DialogSettings("");
+			fromBinary.load(file.toString());
+			assertEquals("root", fromBinary.getName());
+			check(fromBinary);
+
+			fromBinary.save(file.toString());
+			fromXml = new DialogSettings("");
+			fromXml.load(file.toString());
+			check(fromXml);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testConcurrentFirstAccessOfBinarySection() throws Exception {
+		DialogSettings dialogSettings = new DialogSettings("root");
+		IDialogSettings section = dialogSettings.addNewSection("section");
+		for (int i = 0; i < 500; i++) {
+			section.put("key" + i, "value" + i);
+		}
+		Path file = Files.createTempFile("dialog_settings", ".bin");
+		try {
+			dialogSettings.saveBinary(file.toString());
+			for (int round = 0; round < 20; round++) {
+				DialogSettings loaded = new DialogSettings("");
+				loaded.load(file.toString());
+				CountDownLatch start = new CountDownLatch(1);
+				AtomicReference<Throwable> failure = new AtomicReference<>();
+				Thread[] readers = new Thread[4];
+				for (int t = 0; t < readers.length; t++) {
+					readers[t] = new Thread(() -> {
+						try {
+							start.await();
+							// the first access decodes the section
+							IDialogSettings read = loaded.getSection("section");
+							for (int i = 0; i < 500; i++) {
+								assertEquals("value" + i, read.get("key" + i));
+							}
+						} catch (Throwable e) {
+							failure.compareAndSet(null, e);
+						}
+					});
+					readers[t].start();
+				}
+				start.countDown();
+				for (Thread reader : readers) {
+					reader.join();
+				}
+				if (failure.get() != null) {
+					throw new AssertionError("concurrent read failed", failure.get());
+				}
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testLoadDamagedBinary() throws IOException {
+		DialogSettings dialogSettings = new DialogSettings("root");
+		fill(dialogSettings);
+		Path file = Files.createTempFile("dialog_settings", ".bin");
+		try {
+			dialogSettings.saveBinary(file.toString());
+			byte[] bytes = Files.readAllBytes(file);
+			bytes[bytes.length - 1] ^= 1;
+			Files.write(file, bytes);
+			try {
+				new DialogSettings("").load(file.toString());
+				fail("IOException expected");
+			} catch (IOException e) {
+			}
+		} finally {
+			Files.delete(file);
+		}
 	}
 
 	@Test
@@ -14,19 +14,32 @@
 package org.eclipse.jface.tests.fieldassist;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.fieldassist.ContentProposal;
 import org.eclipse.jface.fieldassist.ContentProposalAdapter;
+import org.eclipse.jface.fieldassist.IAsyncContentProposalProvider;
+import org.eclipse.jface.fieldassist.IContentProposal;
 import org.eclipse.jface.fieldassist.IContentProposalProvider;
 import org.eclipse.jface.fieldassist.SimpleContentProposalProvider;
 import org.eclipse.jface.fieldassist.TextContentAdapter;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.Text;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
 import org.eclipse.ui.tests.harness.util.TestRunLogUtil;
 import org.junit.After;
 import org.junit.Before;
@@ -125,6 +138,100 @@ public class ContentProposalAdapterTest {
 		assertOneShellUp();
 	}
 
+	/**
+	 * Tests that the proposals of an asynchronous provider are all shown, even
+	 * if they are reported in several batches.
+	 */
+	@Test
+	public void testAsyncProposalProvider() {
+		contentProposalAdapter.setContentProposalProvider(new IAsyncContentProposalProvider() {
+			@Override
+			public void computeProposals(String contents, int position,
+					Consumer<IContentProposal[]> collector, IProgressMonitor monitor) {
+				String[] proposals = getProposals();
+				int half = proposals.length / 2;
+				collector.accept(toProposals(Arrays.copyOfRange(proposals, 0, half)));
+				collector.accept(toProposals(Arrays.copyOfRange(proposals, half, proposals.length)));
+			}
+		});
+		sendFocusInToControl();
+		contentProposalAdapter.openProposalPopup();
+
+		DisplayHelper.waitAndAssertCondition(getDisplay(), () -> {
+			assertTrue("The proposal popup should be open", contentProposalAdapter.isProposalPopupOpen());
+			assertEquals(getProposals().length, getProposalTable().getItemCount());
+		});
+	}
+
+	/**
+	 * Tests that disabling the adapter cancels the request in progress, and
+	 * that its late proposals do not open a popup.
+	 */
+	@Test
+	public void testDisablingCancelsAsyncRequest() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch canceled = new CountDownLatch(1);
+		contentProposalAdapter.setContentProposalProvider(new IAsyncContentProposalProvider() {
+			@Override
+			public void computeProposals(String contents, int position,
+					Consumer<IContentProposal[]> collector, IProgressMonitor monitor) {
+				started.countDown();
+				long end = System.currentTimeMillis() + 10000;
+				while (!monitor.isCanceled() && System.currentTimeMillis() < end) {
+					Thread.yield();
+				}
+				if (monitor.isCanceled()) {
+					canceled.countDown();
+				}
+				collector.accept(toProposals(getProposals()));
+			}
+		});
+		sendFocusInToControl();
+		contentProposalAdapter.openProposalPopup();
+		assertTrue("The request did not start", started.await(10, TimeUnit.SECONDS));
+
+		contentProposalAdapter.setEnabled(false);
+		assertTrue("The request was not canceled", canceled.await(10, TimeUnit.SECONDS));
+		spinEventLoop();
+		assertFalse(contentProposalAdapter.isProposalPopupOpen());
+		assertOneShellUp();
+	}
+
+	private static IContentProposal[] toProposals(String[] strings) {
+		IContentProposal[] proposals = new IContentProposal[strings.length];
+		for (int i = 0; i < strings.length; i++) {
+			proposals[i] = new ContentProposal(strings[i]);
+		}
+		return proposals;
+	}
+
+	private Table getProposalTable() {
+		for (Shell shell : getDisplay().getShells()) {
+			if (shell != controlShell) {
+				Table table = findTable(shell);
+				if (table != null) {
+					return table;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static Table findTable(Control control) {
+		if (control instanceof Table) {
+			return (Table) control;
+		}
+		if (control instanceof Composite) {
+			for (Control child : ((Composite) control).getChildren()) {
+				Table table = findTable(child);
+				if (table != null) {
+					return table;
+				}
+			}
+		}
+		return null;
+	}
+
 	// most of the following code is copied from AbstractFieldAssistTestCase
 
 	@Before
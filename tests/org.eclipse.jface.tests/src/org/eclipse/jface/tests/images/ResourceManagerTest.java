@@ -21,9 +21,11 @@ import org.eclipse.jface.resource.DeviceResourceDescriptor;
 import org.eclipse.jface.resource.DeviceResourceException;
 import org.eclipse.jface.resource.DeviceResourceManager;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.resource.LocalResourceManager;
 import org.eclipse.jface.resource.ResourceLocator;
 import org.eclipse.jface.resource.ResourceManager;
+import org.eclipse.jface.resource.ResourceStatistics;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.Image;
@@ -32,6 +34,7 @@ import org.eclipse.swt.graphics.ImageDataProvider;
 import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
 import org.junit.Assert;
 
 import junit.framework.TestCase;
@@ -224,6 +227,46 @@ public class ResourceManagerTest extends TestCase {
 		}
 	}
 
+	public void testDeviceManagerStatistics() throws Exception {
+		for (DeviceResourceDescriptor next : descriptors) {
+			globalResourceManager.create(next);
+		}
+
+		ResourceStatistics statistics = globalResourceManager.getStatistics();
+		Assert.assertEquals(descriptors.length, statistics.getRequestCount());
+		Assert.assertEquals(numDupes, statistics.getHitCount());
+		Assert.assertEquals(descriptors.length - numDupes, statistics.getAllocatedCount());
+		Assert.assertEquals(descriptors.length, statistics.getReferenceCount());
+
+		for (DeviceResourceDescriptor next : descriptors) {
+			globalResourceManager.destroy(next);
+		}
+
+		statistics = globalResourceManager.getStatistics();
+		Assert.assertEquals(0, statistics.getAllocatedCount());
+		Assert.assertEquals(0, statistics.getReferenceCount());
+		Assert.assertEquals(descriptors.length, statistics.getRequestCount());
+	}
+
+	public void testGlobalResourceStatistics() throws Exception {
+		Display display = Display.getCurrent();
+		ResourceManager global = JFaceResources.getResources(display);
+		ColorDescriptor color = ColorDescriptor.createFrom(new RGB(1, 2, 3));
+		long requests = JFaceResources.getResourceStatistics(display).getRequestCount();
+		long hits = JFaceResources.getResourceStatistics(display).getHitCount();
+
+		global.create(color);
+		global.create(color);
+		try {
+			ResourceStatistics statistics = JFaceResources.getResourceStatistics(display);
+			Assert.assertEquals(requests + 2, statistics.getRequestCount());
+			Assert.assertEquals(hits + 1, statistics.getHitCount());
+		} finally {
+			global.destroy(color);
+			global.destroy(color);
+		}
+	}
+
 	private void allocateResources(ResourceManager mgr, int[] toAllocate) throws Exception {
 		for (int j : toAllocate) {
 			validateResource(mgr.create(descriptors[j]));
@@ -282,6 +325,30 @@ public class ResourceManagerTest extends TestCase {
 
 	}
 
+	public void testCreateImageAsync() throws Exception {
+		ImageDescriptor descriptor = getImage("icons/view.gif");
+		LocalResourceManager lm = new LocalResourceManager(globalResourceManager);
+		int[] loaded = { 0 };
+		Image[] images = new Image[1];
+		Image placeholder = lm.createImageAsync(descriptor, () -> loaded[0]++);
+		assertNull("Image should not be allocated yet", globalResourceManager.find(descriptor));
+		assertSame("Loads should be shared", placeholder, lm.createImageAsync(descriptor, () -> {
+			loaded[0]++;
+			images[0] = lm.createImageAsync(descriptor, null);
+		}));
+
+		DisplayHelper.waitAndAssertCondition(Display.getCurrent(), () -> assertEquals(2, loaded[0]));
+		Image image = images[0];
+		validateResource(image);
+		assertSame("Image should be found once allocated", image, lm.createImageAsync(descriptor, null));
+		assertNotSame(placeholder, image);
+		assertSame(image, globalResourceManager.find(descriptor));
+
+		lm.dispose();
+		assertTrue("Image should be released with the manager", image.isDisposed());
+		assertTrue("Placeholder should be released with the manager", placeholder.isDisposed());
+	}
+
 	public void testImageDataResourceAllocations() throws Exception {
 		// These arrays are indices into the descriptors array. For example, {0,1,7}
 		// is a quick shorthand to indicate we should allocate resources 0, 1, and 7.
@@ -13,6 +13,13 @@
  ******************************************************************************/
 package org.eclipse.jface.tests.images;
 
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.swt.graphics.ImageData;
 
@@ -30,6 +37,59 @@ public class UrlImageDescriptorTest extends TestCase {
 		assertEquals(imageData.width * 2, imageDataZoomed.width);
 	}
 
+	public void testImageDataIsCopied() {
+		ImageDescriptor descriptor = ImageDescriptor
+				.createFromURL(FileImageDescriptorTest.class.getResource("/icons/imagetests/zoomIn.png"));
+		ImageData imageData = descriptor.getImageData(100);
+		byte[] pixels = imageData.data.clone();
+		imageData.data[0] = (byte) ~imageData.data[0];
+		ImageData imageDataAgain = descriptor.getImageData(100);
+		assertNotSame(imageData, imageDataAgain);
+		assertTrue(Arrays.equals(pixels, imageDataAgain.data));
+		ImageData imageDataZoomed = descriptor.getImageData(200);
+		assertEquals(imageDataAgain.width * 2, imageDataZoomed.width);
+	}
+
+	public void testChangedFileIsReadAgain() throws Exception {
+		Path directory = Files.createTempDirectory("imagetests");
+		Path file = directory.resolve("zoomIn.png");
+		try {
+			try (InputStream in = FileImageDescriptorTest.class.getResourceAsStream("/icons/imagetests/16x16/zoomIn.png")) {
+				Files.copy(in, file);
+			}
+			ImageDescriptor descriptor = ImageDescriptor.createFromURL(file.toUri().toURL());
+			assertEquals(16, descriptor.getImageData(100).width);
+
+			try (InputStream in = FileImageDescriptorTest.class.getResourceAsStream("/icons/imagetests/32x32/zoomIn.png")) {
+				Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			// file systems with a coarse time stamp may not tell the change otherwise
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+			assertEquals(32, descriptor.getImageData(100).width);
+		} finally {
+			Files.deleteIfExists(file);
+			Files.delete(directory);
+		}
+	}
+
+	public void testFileCreatedLaterIsRead() throws Exception {
+		// the space is encoded in the URL of the file
+		Path directory = Files.createTempDirectory("image tests");
+		Path file = directory.resolve("zoomIn.png");
+		try {
+			ImageDescriptor descriptor = ImageDescriptor.createFromURL(file.toUri().toURL());
+			assertNull(descriptor.getImageData(100));
+
+			try (InputStream in = FileImageDescriptorTest.class.getResourceAsStream("/icons/imagetests/16x16/zoomIn.png")) {
+				Files.copy(in, file);
+			}
+			assertEquals(16, descriptor.getImageData(100).width);
+		} finally {
+			Files.deleteIfExists(file);
+			Files.delete(directory);
+		}
+	}
+
 	public void testGetxPath() {
 		ImageDescriptor descriptor = ImageDescriptor
 				.createFromURL(FileImageDescriptorTest.class.getResource("/icons/imagetests/16x16/zoomIn.png"));
@@ -19,7 +19,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ FontRegistryTest.class })
+@Suite.SuiteClasses({ FontRegistryTest.class, ColorRegistryTest.class })
 public class AllResourcesTests {
 
 	public static void main(String[] args) {
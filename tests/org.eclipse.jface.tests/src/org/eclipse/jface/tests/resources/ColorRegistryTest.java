@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.tests.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.resource.ColorRegistry;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.resource.ResourceManager;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+import org.junit.Test;
+
+public class ColorRegistryTest {
+
+	private static final RGB RED = new RGB(255, 0, 0);
+	private static final RGB GREEN = new RGB(0, 255, 0);
+	private static final RGB BLUE = new RGB(0, 0, 255);
+
+	/*
+	 * A registry which releases its colors when disposed, like one hooked to
+	 * the display.
+	 */
+	private static final class DisposableColorRegistry extends ColorRegistry {
+
+		DisposableColorRegistry() {
+			super(Display.getCurrent(), false);
+		}
+
+		void dispose() {
+			clearCaches();
+		}
+	}
+
+	@Test
+	public void testBatchCoalescesChanges() {
+		ColorRegistry registry = new ColorRegistry(Display.getCurrent(), false);
+		registry.put("a", RED);
+		registry.put("b", RED);
+		List<PropertyChangeEvent> events = new ArrayList<>();
+		registry.addListener(events::add);
+
+		registry.runBatch(() -> {
+			registry.put("a", GREEN);
+			registry.put("b", GREEN);
+			registry.runBatch(() -> registry.put("a", BLUE));
+			// back to its original value
+			registry.put("b", RED);
+			assertEquals(0, events.size());
+		});
+
+		assertEquals(1, events.size());
+		assertEquals("a", events.get(0).getProperty());
+		assertEquals(RED, events.get(0).getOldValue());
+		assertEquals(BLUE, events.get(0).getNewValue());
+	}
+
+	@Test
+	public void testColorsAreShared() {
+		RGB rgb = new RGB(17, 34, 51);
+		DisposableColorRegistry first = new DisposableColorRegistry();
+		DisposableColorRegistry second = new DisposableColorRegistry();
+		first.put("a", rgb);
+		second.put("b", rgb);
+		ResourceManager resources = JFaceResources.getResources(Display.getCurrent());
+		Color color = resources.createColor(rgb);
+		try {
+			assertSame(color, first.get("a"));
+			assertSame(color, second.get("b"));
+		} finally {
+			resources.destroyColor(rgb);
+			first.dispose();
+			second.dispose();
+		}
+	}
+
+	@Test
+	public void testReplacedColorStaysAllocated() {
+		DisposableColorRegistry registry = new DisposableColorRegistry();
+		try {
+			registry.put("a", new RGB(68, 85, 102));
+			Color old = registry.get("a");
+
+			registry.put("a", new RGB(119, 136, 153));
+
+			// Widgets may still use the old color
+			assertFalse(old.isDisposed());
+			assertEquals(new RGB(119, 136, 153), registry.get("a").getRGB());
+		} finally {
+			registry.dispose();
+		}
+	}
+}
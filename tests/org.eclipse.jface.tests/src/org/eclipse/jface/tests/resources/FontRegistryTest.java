@@ -14,7 +14,11 @@
 package org.eclipse.jface.tests.resources;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
+import org.eclipse.jface.resource.FontRegistry;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
@@ -23,6 +27,21 @@ import org.junit.Test;
 
 public class FontRegistryTest {
 
+	/*
+	 * A registry which releases its fonts when disposed, like one hooked to the
+	 * display.
+	 */
+	private static final class DisposableFontRegistry extends FontRegistry {
+
+		DisposableFontRegistry() {
+			super(Display.getCurrent(), false);
+		}
+
+		void dispose() {
+			clearCaches();
+		}
+	}
+
 	@Test
 	public void testBug544026() {
 		FontData[] fontData = JFaceResources.getDefaultFont().getFontData();
@@ -41,4 +60,47 @@ public class FontRegistryTest {
 		assertArrayEquals(fontData, JFaceResources.getDefaultFont().getFontData());
 	}
 
+	private static FontData[] createUnusedFontData() {
+		FontData[] fontData = JFaceResources.getDefaultFont().getFontData();
+		fontData[0].setHeight(fontData[0].getHeight() + 7);
+		return fontData;
+	}
+
+	@Test
+	public void testFontsAreShared() {
+		FontData[] fontData = createUnusedFontData();
+		DisposableFontRegistry first = new DisposableFontRegistry();
+		DisposableFontRegistry second = new DisposableFontRegistry();
+		try {
+			first.put("a", fontData);
+			second.put("b", fontData);
+			// Allocated once through the shared resource manager
+			assertSame(first.get("a"), second.get("b"));
+			assertSame(first.getBold("a"), second.getBold("b"));
+		} finally {
+			first.dispose();
+			second.dispose();
+		}
+	}
+
+	@Test
+	public void testReplacedFontStaysAllocated() {
+		DisposableFontRegistry registry = new DisposableFontRegistry();
+		try {
+			registry.put("a", createUnusedFontData());
+			Font old = registry.get("a");
+			Font oldItalic = registry.getItalic("a");
+
+			FontData[] larger = createUnusedFontData();
+			larger[0].setHeight(larger[0].getHeight() + 1);
+			registry.put("a", larger);
+
+			// Widgets may still use the old fonts
+			assertFalse(old.isDisposed());
+			assertFalse(oldItalic.isDisposed());
+			assertNotSame(old, registry.get("a"));
+		} finally {
+			registry.dispose();
+		}
+	}
 }
@@ -15,7 +15,11 @@ package org.eclipse.jface.tests.viewers;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.swt.widgets.Item;
@@ -151,6 +155,74 @@ public abstract class AbstractTreeViewerTest extends StructuredItemViewerTest {
 		assertNotNull("first3 is visible", fViewer.testFindItem(first3));
 	}
 
+	public void testExpandToLevelInBackground() {
+		TestElement first = fRootElement.getFirstChild();
+		TestElement first2 = first.getFirstChild();
+		TestElement first3 = first2.getFirstChild();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			fViewer.setRefreshExecutor(executor);
+			NullProgressMonitor canceled = new NullProgressMonitor();
+			canceled.setCanceled(true);
+			fTreeViewer.expandToLevelInBackground(fRootElement, AbstractTreeViewer.ALL_LEVELS, canceled);
+			processEvents();
+			assertNull("first3 is not visible", fViewer.testFindItem(first3));
+
+			boolean[] done = { false };
+			fTreeViewer.expandToLevelInBackground(fRootElement, AbstractTreeViewer.ALL_LEVELS, new NullProgressMonitor() {
+				@Override
+				public void done() {
+					done[0] = true;
+				}
+			});
+			DisplayHelper.waitAndAssertCondition(fShell.getDisplay(), () -> {
+				assertTrue("expansion done", done[0]);
+			});
+			assertTrue("first2 is expanded", fTreeViewer.getExpandedState(first2));
+			assertNotNull("first3 is visible", fViewer.testFindItem(first3));
+		} finally {
+			executor.shutdownNow();
+			fViewer.setRefreshExecutor(null);
+		}
+	}
+
+	public void testExpandToLevelInBackgroundResumesAfterRefresh() {
+		TestElement first = fRootElement.getFirstChild();
+		TestElement first2 = first.getFirstChild();
+		TestElement first3 = first2.getFirstChild();
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			// nothing is fetched until the refresh interrupted the expansion
+			fViewer.setRefreshExecutor(command -> pool.execute(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				command.run();
+			}));
+			int[] done = { 0 };
+			fTreeViewer.expandToLevelInBackground(fRootElement, AbstractTreeViewer.ALL_LEVELS, new NullProgressMonitor() {
+				@Override
+				public void done() {
+					done[0]++;
+				}
+			});
+			fViewer.refresh();
+			release.countDown();
+			DisplayHelper.waitAndAssertCondition(fShell.getDisplay(), () -> {
+				assertEquals("expansion done", 1, done[0]);
+			});
+			assertTrue("first2 is expanded", fTreeViewer.getExpandedState(first2));
+			assertNotNull("first3 is visible", fViewer.testFindItem(first3));
+		} finally {
+			release.countDown();
+			pool.shutdownNow();
+			fViewer.setRefreshExecutor(null);
+		}
+	}
+
 	public void testFilterExpanded() {
 		TestElement first = fRootElement.getFirstChild();
 		TestElement first2 = first.getFirstChild();
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.deferred.DeferredContentProvider;
+import org.eclipse.jface.viewers.deferred.DeferredTreeContentProvider;
+import org.eclipse.jface.viewers.deferred.SetModel;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the change queue and the background sorting behind
+ * <code>DeferredContentProvider</code> and
+ * <code>DeferredTreeContentProvider</code>.
+ */
+public class DeferredContentProviderTest extends TestCase {
+
+	private static final int ADD = 0;
+
+	private static final int REMOVE = 1;
+
+	private static final int SET = 2;
+
+	private static final int UPDATE = 3;
+
+	/*
+	 * ChangeQueue is internal to its package and the tests are not a
+	 * fragment, so it is used reflectively.
+	 */
+	private static final class Queue {
+
+		private final Object queue;
+
+		private final Method enqueue;
+
+		private final Method dequeue;
+
+		private final Method getType;
+
+		private final Method getElements;
+
+		Queue() throws Exception {
+			Class<?> queueClass = Class.forName("org.eclipse.jface.viewers.deferred.ChangeQueue",
+					true, DeferredContentProvider.class.getClassLoader());
+			Constructor<?> constructor = queueClass.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			queue = constructor.newInstance();
+			enqueue = queueClass.getMethod("enqueue", int.class, Object[].class);
+			enqueue.setAccessible(true);
+			dequeue = queueClass.getMethod("dequeue");
+			dequeue.setAccessible(true);
+			Class<?> changeClass = dequeue.getReturnType();
+			getType = changeClass.getMethod("getType");
+			getType.setAccessible(true);
+			getElements = changeClass.getMethod("getElements");
+			getElements.setAccessible(true);
+		}
+
+		void enqueue(int type, Object... elements) throws Exception {
+			enqueue.invoke(queue, Integer.valueOf(type), elements);
+		}
+
+		/* the type and elements of the next change, or null */
+		Object[] dequeue() throws Exception {
+			Object change = dequeue.invoke(queue);
+			if (change == null) {
+				return null;
+			}
+			return new Object[] { getType.invoke(change), getElements.invoke(change) };
+		}
+
+		void assertNext(int type, Object... elements) throws Exception {
+			Object[] next = dequeue();
+			assertNotNull("missing change", next);
+			assertEquals(Integer.valueOf(type), next[0]);
+			assertEquals(Arrays.asList(elements), Arrays.asList((Object[]) next[1]));
+		}
+	}
+
+	private Shell shell;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		shell = new Shell(Display.getCurrent());
+		shell.setLayout(new FillLayout());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		shell.dispose();
+		super.tearDown();
+	}
+
+	public void testSetSupersedesEarlierChanges() throws Exception {
+		Queue queue = new Queue();
+		queue.enqueue(ADD, "added");
+		queue.enqueue(REMOVE, "removed");
+		queue.enqueue(UPDATE, "updated");
+		queue.enqueue(SET, "first");
+		queue.enqueue(SET, "second");
+		queue.enqueue(ADD, "added later");
+
+		// updates are kept, they may refer to elements of the set
+		queue.assertNext(UPDATE, "updated");
+		queue.assertNext(SET, "second");
+		queue.assertNext(ADD, "added later");
+		assertNull(queue.dequeue());
+
+		// the set is forgotten once dequeued
+		queue.enqueue(ADD, "after");
+		queue.assertNext(ADD, "after");
+		assertNull(queue.dequeue());
+	}
+
+	public void testConcurrentEnqueueAndDrain() throws Exception {
+		Queue queue = new Queue();
+		int producers = 4;
+		int changesPerProducer = 10000;
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean failed = new AtomicBoolean();
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; p++) {
+			Integer producer = Integer.valueOf(p);
+			threads[p] = new Thread(() -> {
+				try {
+					start.await();
+					for (int i = 0; i < changesPerProducer; i++) {
+						queue.enqueue(ADD, producer, Integer.valueOf(i));
+					}
+				} catch (Exception e) {
+					failed.set(true);
+				}
+			});
+			threads[p].start();
+		}
+		start.countDown();
+
+		// drain while the producers are running
+		int[] nextIndex = new int[producers];
+		int drained = 0;
+		while (drained < producers * changesPerProducer) {
+			Object[] next = queue.dequeue();
+			if (next == null) {
+				assertFalse("producer failed", failed.get());
+				Thread.yield();
+				continue;
+			}
+			Object[] elements = (Object[]) next[1];
+			int producer = ((Integer) elements[0]).intValue();
+			assertEquals("changes of one producer keep their order", nextIndex[producer],
+					((Integer) elements[1]).intValue());
+			nextIndex[producer]++;
+			drained++;
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertNull(queue.dequeue());
+		assertFalse(failed.get());
+	}
+
+	public void testResortWhileSorting() throws Exception {
+		CountDownLatch sorting = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Comparator<Object> ascending = (a, b) -> {
+			if (Display.getCurrent() == null) {
+				// hold the first sort until the changes are made
+				sorting.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return ((String) a).compareTo((String) b);
+		};
+		Comparator<Object> descending = (a, b) -> ((String) b).compareTo((String) a);
+
+		TableViewer viewer = new TableViewer(shell, SWT.VIRTUAL);
+		viewer.setLabelProvider(new LabelProvider());
+		DeferredContentProvider contentProvider = new DeferredContentProvider(ascending);
+		viewer.setContentProvider(contentProvider);
+		SetModel model = new SetModel();
+		model.set(new Object[] { "b", "d", "a" });
+		shell.open();
+		try {
+			viewer.setInput(model);
+			assertTrue("sort did not start", sorting.await(10, TimeUnit.SECONDS));
+
+			// both must be picked up by another run once the current one ends
+			model.addAll(new Object[] { "c" });
+			contentProvider.setSortOrder(descending);
+			release.countDown();
+
+			Table table = viewer.getTable();
+			DisplayHelper.waitAndAssertCondition(shell.getDisplay(), () -> {
+				List<Object> shown = new ArrayList<>();
+				for (int i = 0; i < table.getItemCount(); i++) {
+					shown.add(table.getItem(i).getData());
+				}
+				assertEquals(Arrays.asList("d", "c", "b", "a"), shown);
+			});
+		} finally {
+			release.countDown();
+			viewer.setInput(null);
+		}
+	}
+
+	public void testTreeChildrenAreSorted() throws Exception {
+		Comparator<Object> ascending = (a, b) -> ((String) a).compareTo((String) b);
+		SetModel children = new SetModel();
+		children.set(new Object[] { "a2", "a1" });
+		TreeViewer viewer = new TreeViewer(shell, SWT.VIRTUAL);
+		viewer.setLabelProvider(new LabelProvider());
+		viewer.setContentProvider(
+				new DeferredTreeContentProvider(ascending, element -> "a".equals(element) ? children : null));
+		SetModel model = new SetModel();
+		model.set(new Object[] { "b", "a" });
+		shell.open();
+		try {
+			viewer.setInput(model);
+			Tree tree = viewer.getTree();
+			DisplayHelper.waitAndAssertCondition(shell.getDisplay(), () -> {
+				assertEquals(Arrays.asList("a", "b"), getData(tree.getItems()));
+				assertEquals(Arrays.asList("a1", "a2"), getData(tree.getItem(0).getItems()));
+				assertEquals(0, tree.getItem(1).getItemCount());
+			});
+
+			children.addAll(new Object[] { "a0" });
+			model.removeAll(new Object[] { "b" });
+			DisplayHelper.waitAndAssertCondition(shell.getDisplay(), () -> {
+				assertEquals(Arrays.asList("a"), getData(tree.getItems()));
+				assertEquals(Arrays.asList("a0", "a1", "a2"), getData(tree.getItem(0).getItems()));
+			});
+		} finally {
+			viewer.setInput(null);
+		}
+	}
+
+	private static List<Object> getData(TreeItem[] items) {
+		List<Object> data = new ArrayList<>();
+		for (TreeItem item : items) {
+			data.add(item.getData());
+		}
+		return data;
+	}
+}
@@ -14,6 +14,11 @@
 
 package org.eclipse.jface.tests.viewers;
 
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
 import org.eclipse.jface.viewers.ListViewer;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.ViewerComparator;
@@ -65,6 +70,25 @@ public class ListViewerComparatorTest extends ViewerComparatorTest {
 		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
 	}
 
+	public void testViewerComparatorSortByKeys() {
+		ViewerComparator comparator = new ViewerComparator(Collator.getInstance(Locale.ENGLISH)) {
+			@Override
+			public int category(Object element) {
+				return ((String) element).length() % 3;
+			}
+		};
+		Random random = new Random(42);
+		String[] elements = new String[10000];
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = Integer.toString(random.nextInt(5000), 36) + (random.nextBoolean() ? "A" : "a");
+		}
+		String[] expected = elements.clone();
+		Arrays.sort(expected, (a, b) -> comparator.compare(null, a, b));
+
+		comparator.sort(null, elements);
+		assertTrue(Arrays.equals(expected, elements));
+	}
+
 	private void assertSortedResult(String[] expected) {
 		String[] items = getListViewer().getList().getItems();
 		for (int i = 0; i < items.length; i++) {
@@ -16,9 +16,16 @@
  *******************************************************************************/
 package org.eclipse.jface.tests.viewers;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.IBaseLabelProvider;
 import org.eclipse.jface.viewers.IBasicPropertyConstants;
+import org.eclipse.jface.viewers.IElementComparer;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.LabelProvider;
@@ -29,6 +36,7 @@ import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.tests.harness.util.DisplayHelper;
 
 public abstract class StructuredViewerTest extends ViewerTestCase {
@@ -173,6 +181,37 @@ public abstract class StructuredViewerTest extends ViewerTestCase {
 		assertNull("first child is not visible", fViewer.testFindItem(first));
 	}
 
+	public void testDeleteManySiblings() {
+		TestElement[] added = new TestElement[200];
+		for (int i = 0; i < added.length; i++) {
+			added[i] = fRootElement.basicAddChild();
+		}
+		fViewer.refresh();
+		for (int i = 0; i < added.length; i += 2) {
+			fRootElement.basicDeleteChild(added[i]);
+		}
+		fViewer.refresh();
+		for (int i = 0; i < added.length; i += 2) {
+			assertNull("deleted child is not visible", fViewer.testFindItem(added[i]));
+		}
+		TestElement first = fRootElement.getFirstChild();
+		assertNotNull("first child is visible", fViewer.testFindItem(first));
+
+		fViewer.setComparer(new IElementComparer() {
+			@Override
+			public boolean equals(Object a, Object b) {
+				return a.equals(b);
+			}
+
+			@Override
+			public int hashCode(Object element) {
+				return element.hashCode();
+			}
+		});
+		assertNotNull("first child is visible after changing the comparer", fViewer.testFindItem(first));
+		assertNull("deleted child is not visible after changing the comparer", fViewer.testFindItem(added[0]));
+	}
+
 	/**
 	 * Tests to ensure that the viewer is properly diposed.  Includes:
 	 *     removal of filters
@@ -213,6 +252,99 @@ public abstract class StructuredViewerTest extends ViewerTestCase {
 		assertEquals("unfiltered count", 10, getItemCount());
 	}
 
+	public void testRefreshInBackground() {
+		TestLabelFilter labelFilter = new TestLabelFilter();
+		boolean[] active = { false };
+		fViewer.setFilters(new ViewerFilter() {
+			@Override
+			public boolean select(Viewer viewer, Object parentElement, Object element) {
+				return !active[0] || labelFilter.select(viewer, parentElement, element);
+			}
+		});
+		assertEquals("unfiltered count", 10, getItemCount());
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			fViewer.setRefreshExecutor(executor);
+			active[0] = true;
+			fViewer.refreshInBackground(null, true);
+			assertEquals("applied later", 10, getItemCount());
+			DisplayHelper.waitAndAssertCondition(fShell.getDisplay(), () -> {
+				assertEquals("filtered count", 5, getItemCount());
+			});
+
+			active[0] = false;
+			fViewer.refreshInBackground(null, true);
+			// superseded by the synchronous refresh
+			active[0] = true;
+			fViewer.refresh();
+			assertEquals("filtered count", 5, getItemCount());
+			processEvents();
+			executor.shutdown();
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+			processEvents();
+			assertEquals("filtered count", 5, getItemCount());
+		} catch (InterruptedException e) {
+			fail(e.toString());
+		} finally {
+			executor.shutdownNow();
+			fViewer.setRefreshExecutor(null);
+		}
+	}
+
+	public void testAddDuringBackgroundRefresh() {
+		AtomicInteger backgroundFilterRuns = new AtomicInteger();
+		fViewer.setFilters(new ViewerFilter() {
+			@Override
+			public Object[] filter(Viewer viewer, Object parent, Object[] elements) {
+				if (Display.getCurrent() == null) {
+					backgroundFilterRuns.incrementAndGet();
+				}
+				return super.filter(viewer, parent, elements);
+			}
+
+			@Override
+			public boolean select(Viewer viewer, Object parentElement, Object element) {
+				return true;
+			}
+		});
+		assertEquals(10, getItemCount());
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			// hold the request back until the element is added
+			executor.execute(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			fViewer.setRefreshExecutor(executor);
+			fViewer.refreshInBackground(null, true);
+			TestElement newElement = fRootElement.addChild(TestModelChange.INSERT);
+			assertNotNull("added right away", fViewer.testFindItem(newElement));
+			release.countDown();
+
+			// the request obtained the children before the add, so it is made again
+			DisplayHelper.waitAndAssertCondition(fShell.getDisplay(), () -> {
+				assertEquals(1, backgroundFilterRuns.get());
+			});
+			executor.shutdown();
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+			processEvents();
+			assertEquals(11, getItemCount());
+			assertNotNull("kept after the refresh", fViewer.testFindItem(newElement));
+		} catch (InterruptedException e) {
+			fail(e.toString());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+			fViewer.setRefreshExecutor(null);
+		}
+	}
+
 	public void testSetAndGetData() {
 
 		//get with no data
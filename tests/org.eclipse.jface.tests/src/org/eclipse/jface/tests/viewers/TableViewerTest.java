@@ -29,6 +29,7 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
 
 public class TableViewerTest extends StructuredItemViewerTest {
 	public static class TableTestLabelProvider extends TestLabelProvider implements ITableLabelProvider {
@@ -182,6 +183,45 @@ public class TableViewerTest extends StructuredItemViewerTest {
 		fViewer.refresh();
 	}
 
+	public void testDeferOffscreenLabelUpdates() {
+		TableViewer viewer = (TableViewer) fViewer;
+		if ((viewer.getTable().getStyle() & SWT.VIRTUAL) != 0) {
+			// off-screen items of virtual tables are not even created
+			return;
+		}
+		for (int i = 0; i < 200; i++) {
+			fRootElement.basicAddChild();
+		}
+		viewer.refresh();
+		processEvents();
+		TableTestLabelProvider provider = (TableTestLabelProvider) viewer.getLabelProvider();
+		viewer.setDeferOffscreenLabelUpdates(true);
+		try {
+			provider.fExtended = true;
+			long calls = viewer.getLabelProviderCallCount();
+			TestElement[] children = fRootElement.getChildren();
+			viewer.update(children, null);
+			assertTrue("off-screen rows are deferred", viewer.getDeferredLabelUpdateCount() > 0);
+			assertTrue("fewer label provider calls",
+					viewer.getLabelProviderCallCount() - calls < 2 * children.length);
+			assertEquals("visible row is updated", providedString(children[0]), getItemText(0));
+			int last = children.length - 1;
+			assertEquals("off-screen row is not updated", children[last].toString(), getItemText(last));
+
+			viewer.getTable().setTopIndex(last);
+			DisplayHelper.waitAndAssertCondition(fShell.getDisplay(), () -> {
+				assertEquals("row is updated when scrolled into view", providedString(children[last]),
+						getItemText(last));
+			});
+
+			viewer.setDeferOffscreenLabelUpdates(false);
+			assertEquals("pending rows are updated", providedString(children[last / 2]), getItemText(last / 2));
+		} finally {
+			provider.fExtended = false;
+			viewer.setDeferOffscreenLabelUpdates(false);
+		}
+	}
+
 	public void testRemove() {
 		TableViewer tableviewer = (TableViewer) fViewer;
 		TestElement first = fRootElement.getFirstChild();
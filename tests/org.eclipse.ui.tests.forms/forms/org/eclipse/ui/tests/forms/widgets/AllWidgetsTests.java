@@ -20,7 +20,7 @@ import org.junit.runners.Suite;
  * Tests forms widgets (automated).
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ExpandableCompositeTest.class, FormTextModelTest.class, ScrolledFormTest.class })
+@Suite.SuiteClasses({ ExpandableCompositeTest.class, FormTextModelTest.class, FormTextTest.class, ScrolledFormTest.class })
 public class AllWidgetsTests {
 
 }
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.forms.widgets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.forms.widgets.FormText;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the sizes cached by form text follow its content.
+ */
+public class FormTextTest {
+	private static final String TEXT = "<form><p>A hedgehog is any of the spiny mammals of the subfamily Erinaceinae.</p>" //$NON-NLS-1$
+			+ "<p>There are seventeen species of hedgehog in five genera.</p></form>"; //$NON-NLS-1$
+
+	private static Display display;
+	private Shell shell;
+	private FormText formText;
+	private Font font;
+
+	static {
+		try {
+			display = PlatformUI.getWorkbench().getDisplay();
+		} catch (Throwable e) {
+			// this is to run without eclipse
+			display = new Display();
+		}
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		font = new Font(display, "Arial", 24, SWT.NORMAL);
+		shell = new Shell(display);
+		formText = new FormText(shell, SWT.NONE);
+		formText.setText(TEXT, true, false);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		shell.dispose();
+		font.dispose();
+	}
+
+	// sizes are computed with changed == false, as layouts do once they
+	// cached the size of a control, so that the cached text sizes are used
+
+	@Test
+	public void testRepeatedComputeSize() {
+		Point wide = formText.computeSize(400, SWT.DEFAULT, false);
+		Point narrow = formText.computeSize(100, SWT.DEFAULT, false);
+		assertTrue(narrow.y > wide.y);
+		assertEquals(wide, formText.computeSize(400, SWT.DEFAULT, false));
+		assertEquals(narrow, formText.computeSize(100, SWT.DEFAULT, false));
+	}
+
+	@Test
+	public void testSizeFollowsText() {
+		Point size = formText.computeSize(400, SWT.DEFAULT, false);
+		formText.setText(TEXT, true, false);
+		assertEquals(size, formText.computeSize(400, SWT.DEFAULT, false));
+		formText.setText("<form><p>Hedgehog</p></form>", true, false); //$NON-NLS-1$
+		assertTrue(formText.computeSize(400, SWT.DEFAULT, false).y < size.y);
+	}
+
+	@Test
+	public void testSizeFollowsFont() {
+		Point size = formText.computeSize(400, SWT.DEFAULT, false);
+		formText.setFont(font);
+		assertNotEquals(size, formText.computeSize(400, SWT.DEFAULT, false));
+	}
+
+	@Test
+	public void testSizeFollowsParagraphSeparation() {
+		Point size = formText.computeSize(400, SWT.DEFAULT, false);
+		formText.setParagraphsSeparated(false);
+		assertTrue(formText.computeSize(400, SWT.DEFAULT, false).y < size.y);
+	}
+}
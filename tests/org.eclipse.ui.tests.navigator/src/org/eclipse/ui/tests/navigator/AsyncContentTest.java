@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.ui.tests.navigator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.ui.internal.navigator.AsyncContentFetcher;
+import org.eclipse.ui.internal.navigator.NavigatorContentService;
+import org.eclipse.ui.internal.navigator.NavigatorContentServiceContentProvider;
+import org.eclipse.ui.internal.navigator.extensions.NavigatorContentExtension;
+import org.eclipse.ui.navigator.CommonViewer;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.junit.Test;
+
+/**
+ * Tests fetching the children of an element from the content extensions
+ * asynchronously.
+ */
+public class AsyncContentTest extends NavigatorTestBase {
+
+	private Shell shell;
+
+	private CommonViewer asyncViewer;
+
+	public AsyncContentTest() {
+		_navigatorInstanceId = TEST_VIEWER;
+	}
+
+	@Override
+	public void setUp() {
+		super.setUp();
+		shell = new Shell(Display.getCurrent());
+		shell.setLayout(new FillLayout());
+		asyncViewer = new CommonViewer(TEST_VIEWER_ASYNC, shell, SWT.NONE);
+		asyncViewer.setInput(ResourcesPlugin.getWorkspace().getRoot());
+		shell.open();
+	}
+
+	@Override
+	public void tearDown() {
+		shell.dispose();
+		super.tearDown();
+	}
+
+	private List<Object> getChildItemData(Object parent) {
+		TreeItem item = (TreeItem) asyncViewer.testFindItem(parent);
+		assertNotNull(item);
+		List<Object> data = new ArrayList<>();
+		for (TreeItem child : item.getItems()) {
+			data.add(child.getData());
+		}
+		return data;
+	}
+
+	private static boolean isPending(List<Object> children) {
+		for (Object child : children) {
+			if (child instanceof PendingUpdateAdapter) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void expandProjectAndWait() {
+		asyncViewer.expandToLevel(_project, 1);
+		DisplayHelper.waitAndAssertCondition(Display.getCurrent(), () -> {
+			List<Object> children = getChildItemData(_project);
+			assertFalse(isPending(children));
+			assertTrue(children.containsAll(_expectedChildren));
+		});
+	}
+
+	@Test
+	public void testChildrenArriveAsynchronously() {
+		asyncViewer.expandToLevel(_project, 1);
+		// Answered before the extensions ran
+		assertTrue(isPending(getChildItemData(_project)));
+
+		expandProjectAndWait();
+	}
+
+	@Test
+	public void testRefreshKeepsKnownChildren() {
+		expandProjectAndWait();
+		asyncViewer.expandToLevel(_project.getFolder("src"), 1);
+
+		asyncViewer.refresh(_project);
+		// The children known so far are kept while the extensions are asked again
+		List<Object> children = getChildItemData(_project);
+		assertFalse(isPending(children));
+		assertTrue(children.containsAll(_expectedChildren));
+		assertTrue(asyncViewer.getExpandedState(_project));
+
+		DisplayHelper.waitAndAssertCondition(Display.getCurrent(), () -> {
+			assertEquals(children, getChildItemData(_project));
+		});
+		assertTrue(asyncViewer.getExpandedState(_project));
+	}
+
+	@Test
+	public void testKnownChildrenAreFetchedAgainOnlyWhenInvalidated() {
+		NavigatorContentService contentService = (NavigatorContentService) asyncViewer.getNavigatorContentService();
+		Set<NavigatorContentExtension> enabled = contentService.findContentExtensionsByTriggerPoint(_project);
+		NavigatorContentExtension[] extensions = enabled.toArray(new NavigatorContentExtension[enabled.size()]);
+		AsyncContentFetcher fetcher = new AsyncContentFetcher(
+				(NavigatorContentServiceContentProvider) asyncViewer.getContentProvider(), 0);
+		AtomicInteger scheduled = new AtomicInteger();
+		IJobChangeListener listener = new JobChangeAdapter() {
+			@Override
+			public void scheduled(IJobChangeEvent event) {
+				if (event.getJob().belongsTo(fetcher)) {
+					scheduled.incrementAndGet();
+				}
+			}
+		};
+		Job.getJobManager().addJobChangeListener(listener);
+		try {
+			fetcher.getChildren(asyncViewer, _project, _project, extensions, enabled);
+			DisplayHelper.waitAndAssertCondition(Display.getCurrent(), () -> assertFalse(isPending(
+					Arrays.asList(fetcher.getChildren(asyncViewer, _project, _project, extensions, enabled)))));
+			int fetched = scheduled.get();
+
+			// Known children are answered without asking the extensions again
+			for (int i = 0; i < 5; i++) {
+				fetcher.getChildren(asyncViewer, _project, _project, extensions, enabled);
+			}
+			assertEquals(fetched, scheduled.get());
+
+			fetcher.invalidate(_project);
+			Object[] known = fetcher.getChildren(asyncViewer, _project, _project, extensions, enabled);
+			assertFalse(isPending(Arrays.asList(known)));
+			assertEquals(2 * fetched, scheduled.get());
+		} finally {
+			Job.getJobManager().removeJobChangeListener(listener);
+			fetcher.dispose();
+		}
+	}
+
+	@Test
+	public void testChildrenOffUiThreadAreSynchronous() throws Exception {
+		NavigatorContentServiceContentProvider contentProvider = (NavigatorContentServiceContentProvider) asyncViewer
+				.getContentProvider();
+		Object[][] children = new Object[1][];
+		Thread thread = new Thread(() -> children[0] = contentProvider.getChildren(_project));
+		thread.start();
+		thread.join();
+
+		List<Object> result = Arrays.asList(children[0]);
+		assertFalse(isPending(result));
+		assertTrue(result.containsAll(_expectedChildren));
+	}
+
+	@Test
+	public void testResetForgetsKnownChildren() {
+		NavigatorContentService contentService = (NavigatorContentService) asyncViewer.getNavigatorContentService();
+		Set<NavigatorContentExtension> enabled = contentService.findContentExtensionsByTriggerPoint(_project);
+		NavigatorContentExtension[] extensions = enabled.toArray(new NavigatorContentExtension[enabled.size()]);
+		AsyncContentFetcher fetcher = new AsyncContentFetcher(
+				(NavigatorContentServiceContentProvider) asyncViewer.getContentProvider(), 0);
+		try {
+			Object[] first = fetcher.getChildren(asyncViewer, _project, _project, extensions, enabled);
+			assertEquals(1, first.length);
+			assertTrue(first[0] instanceof PendingUpdateAdapter);
+
+			DisplayHelper.waitAndAssertCondition(Display.getCurrent(), () -> {
+				List<Object> children = Arrays.asList(
+						fetcher.getChildren(asyncViewer, _project, _project, extensions, enabled));
+				assertFalse(isPending(children));
+				assertTrue(children.containsAll(_expectedChildren));
+			});
+			// Known now, answered while fetching again
+			assertFalse(isPending(
+					Arrays.asList(fetcher.getChildren(asyncViewer, _project, _project, extensions, enabled))));
+
+			fetcher.reset();
+			Object[] afterReset = fetcher.getChildren(asyncViewer, _project, _project, extensions, enabled);
+			assertTrue(isPending(Arrays.asList(afterReset)));
+		} finally {
+			fetcher.dispose();
+		}
+	}
+}
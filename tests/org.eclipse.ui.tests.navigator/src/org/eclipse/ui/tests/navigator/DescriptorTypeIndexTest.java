@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.ui.tests.navigator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IAdapterFactory;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.ui.internal.navigator.NavigatorContentService;
+import org.eclipse.ui.internal.navigator.extensions.NavigatorContentDescriptor;
+import org.eclipse.ui.internal.navigator.extensions.NavigatorContentDescriptorManager;
+import org.eclipse.ui.navigator.INavigatorContentDescriptor;
+import org.junit.Test;
+
+/**
+ * Tests the per type memoization of trigger point and possible children
+ * expressions.
+ */
+public class DescriptorTypeIndexTest extends NavigatorTestBase {
+
+	public DescriptorTypeIndexTest() {
+		_navigatorInstanceId = TEST_VIEWER;
+	}
+
+	private static NavigatorContentDescriptor getDescriptor(String id) {
+		return NavigatorContentDescriptorManager.getInstance().getContentDescriptor(id);
+	}
+
+	@Test
+	public void testInstanceofIsDeterminedByType() {
+		NavigatorContentDescriptor descriptor = getDescriptor(TEST_CONTENT);
+		IFile file = _project.getFile("model.properties");
+
+		assertTrue(descriptor.isDeterminedByType(file.getClass(), true));
+		assertTrue(descriptor.isPossibleChild(file));
+		// Answered from the memo this time
+		assertTrue(descriptor.isPossibleChild(file));
+		assertFalse(descriptor.isPossibleChild(new Object()));
+		assertFalse(descriptor.isPossibleChild(new Object()));
+	}
+
+	@Test
+	public void testPropertyTestIsNotDeterminedByType() {
+		NavigatorContentDescriptor descriptor = getDescriptor(TEST_CONTENT_HAS_CHILDREN);
+		IFile datFile = _project.getFile("test.dat");
+		IFile propertiesFile = _project.getFile("model.properties");
+
+		assertFalse(descriptor.isDeterminedByType(datFile.getClass(), false));
+		assertTrue(descriptor.isTriggerPoint(datFile));
+		// Same class, different answer: must not come from a memo
+		assertFalse(descriptor.isTriggerPoint(propertiesFile));
+	}
+
+	@Test
+	public void testAdaptFalseIsNotRemembered() {
+		NavigatorContentDescriptor descriptor = getDescriptor(TEST_CONTENT);
+		class Adaptee {
+			// adapted to the project once the factory is registered
+		}
+		assertTrue(descriptor.isDeterminedByType(Adaptee.class, false));
+		assertFalse(descriptor.isTriggerPoint(new Adaptee()));
+		assertFalse(descriptor.isExcludedByType(new Adaptee(), false));
+
+		IAdapterFactory factory = new IAdapterFactory() {
+			@Override
+			public <T> T getAdapter(Object adaptableObject, Class<T> adapterType) {
+				return adapterType.cast(_project);
+			}
+
+			@Override
+			public Class<?>[] getAdapterList() {
+				return new Class<?>[] { IProject.class };
+			}
+		};
+		Platform.getAdapterManager().registerAdapters(factory, Adaptee.class);
+		try {
+			assertTrue(descriptor.isTriggerPoint(new Adaptee()));
+		} finally {
+			Platform.getAdapterManager().unregisterAdapters(factory, Adaptee.class);
+		}
+	}
+
+	@Test
+	public void testFindDescriptorsStableAcrossIndex() {
+		NavigatorContentService contentService = (NavigatorContentService) _contentService;
+		IFile first = _project.getFile("model.properties");
+		IFile second = _project.getFile(".classpath");
+
+		NavigatorContentDescriptorManager.getInstance().clearCache();
+		contentService.findDescriptorsWithPossibleChild(first, false);
+		// Answered through the type index built for the first file
+		Set<INavigatorContentDescriptor> indexed = contentService.findDescriptorsWithPossibleChild(second, false);
+
+		NavigatorContentDescriptorManager.getInstance().clearCache();
+		Set<INavigatorContentDescriptor> evaluated = contentService.findDescriptorsWithPossibleChild(second, false);
+
+		assertEquals(evaluated, indexed);
+	}
+}
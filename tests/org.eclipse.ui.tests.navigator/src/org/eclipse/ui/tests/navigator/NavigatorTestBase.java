@@ -67,6 +67,7 @@ public class NavigatorTestBase {
 
 	public static final String TEST_VIEWER = "org.eclipse.ui.tests.navigator.TestView";
 	public static final String TEST_VIEWER_PROGRAMMATIC = "org.eclipse.ui.tests.navigator.ProgrammaticTestView";
+	public static final String TEST_VIEWER_ASYNC = "org.eclipse.ui.tests.navigator.AsyncTestView";
 	public static final String TEST_VIEWER_PIPELINE = "org.eclipse.ui.tests.navigator.PipelineTestView";
 	public static final String TEST_VIEWER_HIDE_EXTENSIONS = "org.eclipse.ui.tests.navigator.HideAvailableExtensionsTestView";
 	public static final String TEST_VIEWER_INHERITED = "org.eclipse.ui.tests.navigator.InheritedTestView";
@@ -32,7 +32,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		ProgrammaticOpenTest.class, PipelineTest.class, PipelineChainTest.class, JstPipelineTest.class,
 		LabelProviderTest.class, SorterTest.class, ViewerTest.class, CdtTest.class, M12Tests.class,
 		FirstClassM1Tests.class, LinkHelperTest.class, ShowInTest.class, ResourceTransferTest.class,
-		EvaluationCacheTest.class,
+		EvaluationCacheTest.class, DescriptorTypeIndexTest.class, AsyncContentTest.class,
 		NestedResourcesTests.class, PathComparatorTest.class
 		// DnDTest.class, // DnDTest.testSetDragOperation() fails
 		// PerformanceTest.class // Does not pass on all platforms see bug 264449
@@ -14,13 +14,21 @@
 
 package org.eclipse.ui.tests.commands;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.eclipse.core.commands.Category;
 import org.eclipse.core.commands.Command;
 import org.eclipse.core.commands.CommandManager;
+import org.eclipse.core.commands.CommandManagerEvent;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.ICommandManagerListener;
 import org.eclipse.core.commands.IExecutionListener;
 import org.eclipse.core.commands.NotHandledException;
 import org.junit.Test;
@@ -111,4 +119,112 @@ public final class CommandManagerTest {
 				listener.notHandledException);
 
 	}
+
+	@Test
+	public final void testRunBatch() {
+		final CommandManager commandManager = new CommandManager();
+		final List<CommandManagerEvent[]> batches = new ArrayList<>();
+		final List<CommandManagerEvent> singleEvents = new ArrayList<>();
+		commandManager.addCommandManagerListener(new ICommandManagerListener() {
+			@Override
+			public void commandManagerChanged(CommandManagerEvent commandManagerEvent) {
+				singleEvents.add(commandManagerEvent);
+			}
+
+			@Override
+			public void commandManagerChanged(CommandManagerEvent[] commandManagerEvents) {
+				batches.add(commandManagerEvents);
+			}
+		});
+
+		commandManager.runBatch(() -> {
+			final Category category = commandManager.getCategory("batchCategory");
+			category.define("name", null);
+			for (int i = 0; i < 100; i++) {
+				commandManager.getCommand("batchCommand" + i).define("name", null, category);
+			}
+			// defined and undefined again, so not reported
+			final Command transientCommand = commandManager.getCommand("transientCommand");
+			transientCommand.define("name", null, category);
+			transientCommand.undefine();
+			commandManager.runBatch(() -> commandManager.getCommand("nestedCommand").define("name", null, category));
+			assertTrue("Nothing should be reported while the batch runs", batches.isEmpty());
+		});
+
+		assertEquals("All changes should be reported at once", 1, batches.size());
+		assertTrue("No single events should be reported", singleEvents.isEmpty());
+		final CommandManagerEvent[] events = batches.get(0);
+		assertEquals(102, events.length);
+		assertTrue(events[0].isCategoryChanged());
+		assertEquals("batchCategory", events[0].getCategoryId());
+		assertEquals("batchCommand0", events[1].getCommandId());
+		assertTrue(events[1].isCommandDefined());
+		assertEquals("nestedCommand", events[101].getCommandId());
+		assertEquals(101, commandManager.getDefinedCommandIds().size());
+	}
+
+	@Test
+	public final void testRunBatchReportsCategoriesFirst() {
+		final CommandManager commandManager = new CommandManager();
+		final List<CommandManagerEvent> events = new ArrayList<>();
+		commandManager.addCommandManagerListener(commandManagerEvent -> events.add(commandManagerEvent));
+
+		commandManager.runBatch(() -> {
+			commandManager.getParameterType("batchParameterType").define(null, null);
+			final Category category = commandManager.getCategory("batchCategory");
+			commandManager.getCommand("batchCommand").define("name", null, category);
+			category.define("name", null);
+		});
+
+		assertEquals(3, events.size());
+		assertEquals("batchCategory", events.get(0).getCategoryId());
+		assertEquals("batchCommand", events.get(1).getCommandId());
+		assertTrue(events.get(2).isParameterTypeChanged());
+		assertEquals("batchParameterType", events.get(2).getParameterTypeId());
+	}
+
+	@Test
+	public final void testConcurrentLookups() throws Exception {
+		final CommandManager commandManager = new CommandManager();
+		final ExecutionListener listener = new ExecutionListener();
+		commandManager.addExecutionListener(listener);
+
+		final int threadCount = 4;
+		final Command[][] commands = new Command[threadCount][100];
+		final CountDownLatch start = new CountDownLatch(1);
+		final Thread[] threads = new Thread[threadCount];
+		for (int t = 0; t < threadCount; t++) {
+			final Command[] found = commands[t];
+			threads[t] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < found.length; i++) {
+					found[i] = commandManager.getCommand("concurrentCommand" + i);
+				}
+			});
+			threads[t].start();
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		for (int i = 0; i < 100; i++) {
+			final Command command = commandManager.getCommand("concurrentCommand" + i);
+			for (int t = 0; t < threadCount; t++) {
+				assertSame("Every thread should get the same command", command, commands[t][i]);
+			}
+		}
+		// the commands that lost the race must not report to the manager
+		final Command command = commandManager.getCommand("concurrentCommand0");
+		try {
+			command.execute(new ExecutionEvent());
+		} catch (final ExecutionException | NotHandledException e) {
+			// not handled
+		}
+		assertEquals("concurrentCommand0", listener.notHandledId);
+	}
 }
@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 	ImportExportWizardsCategoryTests.class,
 	SmartImportTests.class,
 	ZipSlipTests.class,
+	ProjectFilesScannerTest.class,
 })
 public class DataTransferTestSuite {
 }
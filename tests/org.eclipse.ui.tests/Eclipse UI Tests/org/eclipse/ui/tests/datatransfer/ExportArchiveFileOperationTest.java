@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ui.tests.datatransfer;
 
+import static org.junit.Assert.assertArrayEquals;
+
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -23,10 +25,12 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -41,6 +45,7 @@ import org.eclipse.ui.internal.wizards.datatransfer.ArchiveFileExportOperation;
 import org.eclipse.ui.internal.wizards.datatransfer.TarEntry;
 import org.eclipse.ui.internal.wizards.datatransfer.TarException;
 import org.eclipse.ui.internal.wizards.datatransfer.TarFile;
+import org.eclipse.ui.internal.wizards.datatransfer.ZipFileExporter;
 import org.eclipse.ui.tests.harness.util.FileUtil;
 import org.eclipse.ui.tests.harness.util.UITestCase;
 import org.junit.Test;
@@ -117,6 +122,64 @@ public class ExportArchiveFileOperationTest extends UITestCase implements
 		verifyCompressed(ZIP_FILE_EXT);
 	}
 
+	@Test
+	public void testExportZipStoresCompressedFormats() throws Exception {
+		IFile archive = project.getFile("archive.jar");
+		archive.create(new ByteArrayInputStream("already compressed".getBytes()), true, new NullProgressMonitor());
+		filePath = localDirectory + "/" + FILE_NAME + "." + ZIP_FILE_EXT;
+		List<IProject> resources = new ArrayList<>();
+		resources.add(project);
+		ArchiveFileExportOperation operation =
+			new ArchiveFileExportOperation(resources, filePath);
+
+		operation.setUseCompression(true);
+		operation.setUseTarFormat(false);
+		operation.run(new NullProgressMonitor());
+
+		try (ZipFile zipFile = new ZipFile(filePath)) {
+			ZipEntry stored = zipFile.getEntry(project.getName() + "/archive.jar");
+			assertEquals(ZipEntry.STORED, stored.getMethod());
+			try (InputStream contents = zipFile.getInputStream(stored)) {
+				assertEquals("already compressed", new String(contents.readAllBytes()));
+			}
+			ZipEntry deflated = zipFile.getEntry(project.getName() + "/" + directoryNames[0] + "/" + fileNames[0]);
+			assertEquals(ZipEntry.DEFLATED, deflated.getMethod());
+		}
+	}
+
+	@Test
+	public void testExportZipAbortDeletesArchive() throws Exception {
+		filePath = localDirectory + "/" + FILE_NAME + "." + ZIP_FILE_EXT;
+		ZipFileExporter exporter = new ZipFileExporter(filePath, true, false);
+		IFile file = project.getFile("aborted.txt");
+		file.create(new ByteArrayInputStream("never archived".getBytes()), true, new NullProgressMonitor());
+		exporter.write(file, file.getName());
+		assertTrue(new File(filePath).exists());
+
+		exporter.abort();
+
+		assertFalse(new File(filePath).exists());
+	}
+
+	@Test
+	public void testExportZipStoresLargeCompressedFormats() throws Exception {
+		byte[] contents = new byte[5 * 1024 * 1024];
+		new Random(42).nextBytes(contents);
+		IFile archive = project.getFile("large.zip");
+		archive.create(new ByteArrayInputStream(contents), true, new NullProgressMonitor());
+		filePath = localDirectory + "/" + FILE_NAME + "." + ZIP_FILE_EXT;
+		ZipFileExporter exporter = new ZipFileExporter(filePath, true, false);
+		exporter.write(archive, archive.getName());
+		exporter.finished();
+
+		// read as a stream, which checks the checksum of the local header
+		try (ZipInputStream in = new ZipInputStream(new FileInputStream(filePath))) {
+			ZipEntry stored = in.getNextEntry();
+			assertEquals(ZipEntry.STORED, stored.getMethod());
+			assertArrayEquals(contents, in.readAllBytes());
+		}
+	}
+
 	@Test
 	public void testExportZipCreateSelectedDirectories() throws Exception {
 		filePath = localDirectory + "/" + FILE_NAME + "." + ZIP_FILE_EXT;
@@ -13,13 +13,19 @@
  *******************************************************************************/
 package org.eclipse.ui.tests.datatransfer;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -33,6 +39,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.ui.dialogs.IOverwriteQuery;
+import org.eclipse.ui.internal.wizards.datatransfer.TarEntry;
 import org.eclipse.ui.internal.wizards.datatransfer.TarFile;
 import org.eclipse.ui.internal.wizards.datatransfer.TarLeveledStructureProvider;
 import org.eclipse.ui.internal.wizards.datatransfer.ZipLeveledStructureProvider;
@@ -295,6 +302,50 @@ public class ImportArchiveOperationTest extends UITestCase implements IOverwrite
 
 	}
 
+	@Test
+	public void testTarReadOutOfOrder() throws Exception {
+		setup(ARCHIVE_SOURCE_PROPERTY);
+		project = FileUtil.createProject("ImportTarReadOutOfOrder");
+		File tar = new File(tarFileURL.getPath());
+		File tarGz = File.createTempFile("ImportTarReadOutOfOrder", ".tar.gz");
+		try {
+			try (OutputStream out = new GZIPOutputStream(new FileOutputStream(tarGz))) {
+				Files.copy(tar.toPath(), out);
+			}
+			assertReadOutOfOrder(tar);
+			assertReadOutOfOrder(tarGz);
+		} finally {
+			tarGz.delete();
+		}
+	}
+
+	private void assertReadOutOfOrder(File archive) throws Exception {
+		TarFile tarFile = new TarFile(archive);
+		try {
+			List<TarEntry> entries = new ArrayList<>();
+			for (Enumeration<?> e = tarFile.entries(); e.hasMoreElements();) {
+				TarEntry entry = (TarEntry) e.nextElement();
+				if (entry.getFileType() == TarEntry.FILE) {
+					entries.add(entry);
+				}
+			}
+			assertTrue(entries.size() > 1);
+			List<String> inOrder = new ArrayList<>();
+			for (TarEntry entry : entries) {
+				inOrder.add(readContents(tarFile, entry));
+			}
+			for (int i = entries.size() - 1; i >= 0; i--) {
+				assertEquals(entries.get(i).getName(), inOrder.get(i), readContents(tarFile, entries.get(i)));
+			}
+		} finally {
+			tarFile.close();
+		}
+	}
+
+	private String readContents(TarFile tarFile, TarEntry entry) throws Exception {
+		return new String(tarFile.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8);
+	}
+
 	/**
 	 * Verifies that all files were imported.
 	 *
@@ -16,11 +16,14 @@ package org.eclipse.ui.tests.datatransfer;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 
 import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -242,6 +245,28 @@ public class ImportOperationTest extends UITestCase implements IOverwriteQuery {
 		openTestWindow().run(true, true, operation);
 	}
 
+	@Test
+	public void testImportKeepsContentsAndTimeStamp() throws Exception {
+		project = FileUtil.createProject("ImportContents");
+		File file = new File(localDirectory + File.separator + directoryNames[0], fileNames[0]);
+		Files.write(file.toPath(), "contents".getBytes(StandardCharsets.UTF_8));
+		long timeStamp = file.lastModified() - 60_000;
+		file.setLastModified(timeStamp);
+		ImportOperation operation = new ImportOperation(project.getFullPath(),
+				new File(localDirectory), FileSystemStructureProvider.INSTANCE, this);
+		operation.setCreateContainerStructure(false);
+		openTestWindow().run(true, true, operation);
+
+		assertTrue(operation.getStatus().isOK());
+		IFile imported = project.getFile(new Path(directoryNames[0]).append(fileNames[0]));
+		assertTrue("Import failed", imported.exists());
+		assertTrue(imported.isSynchronized(IResource.DEPTH_ZERO));
+		try (InputStream contents = imported.getContents()) {
+			assertEquals("contents", new String(contents.readAllBytes(), StandardCharsets.UTF_8));
+		}
+		assertEquals(file.lastModified(), imported.getLocalTimeStamp());
+	}
+
 	/**
 	 * Verifies that all files were imported.
 	 *
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.datatransfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.ui.internal.wizards.datatransfer.ProjectFilesScanner;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the parallel search for project description files.
+ */
+public class ProjectFilesScannerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File root;
+
+	private File createProject(String path) throws IOException {
+		File directory = new File(root, path);
+		directory.mkdirs();
+		File projectFile = new File(directory, ".project");
+		projectFile.createNewFile();
+		return projectFile;
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		root = folder.newFolder("root");
+	}
+
+	@Test
+	public void testFindsProjectsSortedByPath() throws IOException {
+		File b = createProject("b");
+		File a = createProject("a/x");
+		createProject(".metadata/c");
+		new File(root, "empty/deep/deeper").mkdirs();
+
+		List<File> files = new ArrayList<>();
+		assertTrue(new ProjectFilesScanner(false).scan(files, root, new NullProgressMonitor()));
+
+		assertEquals(Arrays.asList(a, b), files);
+	}
+
+	@Test
+	public void testNestedProjects() throws IOException {
+		File outer = createProject("outer");
+		File inner = createProject("outer/inner");
+
+		List<File> files = new ArrayList<>();
+		assertTrue(new ProjectFilesScanner(false).scan(files, root, new NullProgressMonitor()));
+		assertEquals(Arrays.asList(outer), files);
+
+		files.clear();
+		assertTrue(new ProjectFilesScanner(true).scan(files, root, new NullProgressMonitor()));
+		assertEquals(Arrays.asList(inner, outer), files);
+	}
+
+	@Test
+	public void testListenerReceivesEveryProject() throws IOException {
+		for (int i = 0; i < 20; i++) {
+			createProject("p" + i);
+		}
+
+		List<File> files = new ArrayList<>();
+		List<File> reported = new ArrayList<>();
+		Thread caller = Thread.currentThread();
+		assertTrue(new ProjectFilesScanner(false).scan(files, root, new NullProgressMonitor(), found -> {
+			assertEquals(caller, Thread.currentThread());
+			reported.addAll(found);
+		}));
+
+		assertEquals(20, files.size());
+		assertEquals(new HashSet<>(files), new HashSet<>(reported));
+		assertEquals(files.size(), reported.size());
+	}
+
+	@Test
+	public void testCanceled() throws IOException {
+		createProject("a");
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+
+		List<File> files = new ArrayList<>();
+		assertFalse(new ProjectFilesScanner(false).scan(files, root, monitor));
+		assertTrue(files.isEmpty());
+	}
+
+	@Test
+	public void testUnreadableRoot() {
+		List<File> files = new ArrayList<>();
+		assertFalse(new ProjectFilesScanner(false).scan(files, new File(root, "missing"), new NullProgressMonitor()));
+	}
+}
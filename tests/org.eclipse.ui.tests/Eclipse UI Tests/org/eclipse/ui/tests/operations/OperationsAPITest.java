@@ -37,6 +37,7 @@ import org.eclipse.core.commands.operations.OperationHistoryEvent;
 import org.eclipse.core.commands.operations.OperationHistoryFactory;
 import org.eclipse.core.commands.operations.OperationStatus;
 import org.eclipse.core.commands.operations.TriggeredOperations;
+import org.eclipse.core.commands.operations.UndoContext;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -179,6 +180,180 @@ public class OperationsAPITest {
 		assertSame(history.getUndoOperation(contextA), op6);
 	}
 
+	@Test
+	public void testContextAddedAfterQuery() throws ExecutionException {
+		IUndoContext contextD = new ObjectUndoContext("D");
+		assertNull(history.getUndoOperation(contextD));
+		assertFalse(history.canUndo(contextD));
+		op3.addContext(contextD);
+		assertSame(op3, history.getUndoOperation(contextD));
+		op5.addContext(contextD);
+		assertSame(op5, history.getUndoOperation(contextD));
+		assertEquals(2, history.getUndoHistory(contextD).length);
+		op5.removeContext(contextD);
+		assertSame(op3, history.getUndoOperation(contextD));
+		((ObjectUndoContext) contextD).addMatch(contextB);
+		assertSame(op5, history.getUndoOperation(contextD));
+	}
+
+	@Test
+	public void testMemoryLimit() throws ExecutionException {
+		DefaultOperationHistory sizedHistory = new DefaultOperationHistory();
+		SizedTestOperation[] ops = new SizedTestOperation[5];
+		for (int i = 0; i < ops.length; i++) {
+			ops[i] = new SizedTestOperation("sized" + i, 100);
+			ops[i].addContext(i % 2 == 0 ? contextA : contextB);
+			sizedHistory.execute(ops[i], null, null);
+		}
+		assertEquals(500, sizedHistory.getSizeEstimate());
+
+		// compacting the four older operations is enough
+		sizedHistory.setMemoryLimit(300);
+		assertEquals(300, sizedHistory.getSizeEstimate());
+		assertEquals(0, ops[4].compactCount);
+		for (int i = 0; i < 4; i++) {
+			assertEquals(1, ops[i].compactCount);
+		}
+		assertEquals(5, sizedHistory.getUndoHistory(IOperationHistory.GLOBAL_UNDO_CONTEXT).length);
+
+		// then the oldest operations are removed, across contexts
+		sizedHistory.setMemoryLimit(200);
+		assertEquals(3, sizedHistory.getUndoHistory(IOperationHistory.GLOBAL_UNDO_CONTEXT).length);
+		assertEquals(200, sizedHistory.getSizeEstimate());
+		assertSame(ops[2], sizedHistory.getUndoHistory(contextA)[0]);
+
+		// the most recent operation is always kept
+		sizedHistory.setMemoryLimit(1);
+		assertEquals(1, sizedHistory.getUndoHistory(IOperationHistory.GLOBAL_UNDO_CONTEXT).length);
+		assertSame(ops[4], sizedHistory.getUndoOperation(contextA));
+		assertEquals(100, sizedHistory.getSizeEstimate());
+
+		sizedHistory.setMemoryLimit(0);
+		sizedHistory.undo(contextA, null, null);
+		assertSame(ops[4], sizedHistory.getRedoOperation(contextA));
+		assertEquals(100, sizedHistory.getSizeEstimate());
+		sizedHistory.dispose(IOperationHistory.GLOBAL_UNDO_CONTEXT, true, true, false);
+		assertEquals(0, sizedHistory.getSizeEstimate());
+	}
+
+	@Test
+	public void testCompactWithoutHistoryLock() throws Exception {
+		DefaultOperationHistory sizedHistory = new DefaultOperationHistory();
+		boolean[] answered = new boolean[1];
+		SizedTestOperation old = new SizedTestOperation("old", 100) {
+			@Override
+			public long compact() {
+				// another thread asking the history must not wait for compact
+				Thread thread = new Thread(() -> answered[0] = sizedHistory.canUndo(contextA));
+				thread.start();
+				try {
+					thread.join(10000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.compact();
+			}
+		};
+		old.addContext(contextA);
+		sizedHistory.add(old);
+		SizedTestOperation recent = new SizedTestOperation("recent", 100);
+		recent.addContext(contextA);
+		sizedHistory.add(recent);
+
+		sizedHistory.setMemoryLimit(150);
+		assertEquals(1, old.compactCount);
+		assertTrue(answered[0]);
+		assertEquals(150, sizedHistory.getSizeEstimate());
+	}
+
+	@Test
+	public void testGrownOperationIsCompactedAgain() throws ExecutionException {
+		DefaultOperationHistory sizedHistory = new DefaultOperationHistory();
+		SizedTestOperation old = new SizedTestOperation("old", 100);
+		old.addContext(contextA);
+		sizedHistory.execute(old, null, null);
+		SizedTestOperation recent = new SizedTestOperation("recent", 100);
+		recent.addContext(contextA);
+		sizedHistory.execute(recent, null, null);
+		sizedHistory.setMemoryLimit(150);
+		assertEquals(1, old.compactCount);
+
+		// compacted operations are not asked again while they keep their size
+		sizedHistory.operationChanged(old);
+		assertEquals(1, old.compactCount);
+
+		old.size = 80;
+		sizedHistory.operationChanged(old);
+		assertEquals(2, old.compactCount);
+		assertEquals(140, sizedHistory.getSizeEstimate());
+	}
+
+	@Test
+	public void testCustomContextMatchingIsNotRemembered() {
+		boolean[] matching = new boolean[1];
+		IUndoContext custom = new UndoContext() {
+			@Override
+			public boolean matches(IUndoContext context) {
+				return matching[0] && context == contextA || super.matches(context);
+			}
+		};
+		assertSame(op6, history.getUndoOperation(contextA));
+		assertNull(history.getUndoOperation(custom));
+		matching[0] = true;
+		assertSame(op6, history.getUndoOperation(custom));
+		assertEquals(3, history.getUndoHistory(custom).length);
+
+		// nor are other contexts while an operation has the custom context
+		IUndoableOperation op7 = new TestOperation("op7");
+		op7.addContext(custom);
+		history.add(op7);
+		matching[0] = false;
+		assertSame(op6, history.getUndoOperation(contextA));
+		matching[0] = true;
+		assertSame(op7, history.getUndoOperation(contextA));
+	}
+
+	@Test
+	public void testFilteredHistoryFollowsChanges() throws ExecutionException {
+		assertSame(op6, history.getUndoOperation(contextA));
+		assertEquals(3, history.getUndoHistory(contextA).length);
+		history.undo(contextA, null, null);
+		assertSame(op4, history.getUndoOperation(contextA));
+		assertSame(op6, history.getRedoOperation(contextC));
+		history.redo(contextC, null, null);
+		assertSame(op6, history.getUndoOperation(contextA));
+		IUndoableOperation op7 = new TestOperation("op7");
+		op7.addContext(contextA);
+		history.add(op7);
+		assertSame(op7, history.getUndoOperation(contextA));
+		assertEquals(4, history.getUndoHistory(contextA).length);
+		IUndoableOperation op8 = new TestOperation("op8");
+		op8.addContext(contextB);
+		history.replaceOperation(op4, new IUndoableOperation[] { op8 });
+		assertEquals(3, history.getUndoHistory(contextA).length);
+		assertEquals(3, history.getUndoHistory(contextB).length);
+	}
+
+	@Test
+	public void testOperationInTwoHistories() {
+		DefaultOperationHistory other = new DefaultOperationHistory();
+		IUndoContext contextD = new ObjectUndoContext("D");
+		history.add(op1);
+		other.add(op1);
+		assertNull(history.getUndoOperation(contextD));
+		assertNull(other.getUndoOperation(contextD));
+
+		// both histories see the change
+		op1.addContext(contextD);
+		assertSame(op1, history.getUndoOperation(contextD));
+		assertSame(op1, other.getUndoOperation(contextD));
+
+		// and still see changes once the operation left one of them
+		other.dispose(IOperationHistory.GLOBAL_UNDO_CONTEXT, true, true, false);
+		op1.removeContext(contextD);
+		assertNull(history.getUndoOperation(contextD));
+	}
+
 	@Test
 	public void testHistoryLimit() throws ExecutionException {
 		history.setLimit(contextA, 2);
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.operations;
+
+import org.eclipse.core.commands.operations.IAdvancedUndoableOperation3;
+
+/**
+ * A test operation that reports a size and halves it when compacted.
+ */
+public class SizedTestOperation extends TestOperation implements IAdvancedUndoableOperation3 {
+
+	long size;
+
+	int compactCount;
+
+	SizedTestOperation(String label, long size) {
+		super(label);
+		this.size = size;
+	}
+
+	@Override
+	public long getSizeEstimate() {
+		return size;
+	}
+
+	@Override
+	public long compact() {
+		compactCount++;
+		size /= 2;
+		return size;
+	}
+}
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -34,6 +35,7 @@ import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.preference.PreferenceConverter;
 import org.eclipse.jface.resource.ColorRegistry;
 import org.eclipse.jface.resource.FontRegistry;
+import org.eclipse.jface.resource.ResourceRegistry;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.ui.internal.themes.ColorDefinition;
@@ -50,6 +52,15 @@ import org.osgi.service.event.Event;
  *
  */
 public class WorkbenchThemeChangedHandlerTest {
+	private static <T extends ResourceRegistry> T mockRegistry(Class<T> type) {
+		T registry = mock(type);
+		doAnswer(invocation -> {
+			invocation.<Runnable>getArgument(0).run();
+			return null;
+		}).when(registry).runBatch(any());
+		return registry;
+	}
+
 	@Test
 	public void testOverrideThemeDefinitions() throws Exception {
 		//given
@@ -71,9 +82,9 @@ public class WorkbenchThemeChangedHandlerTest {
 		doReturn(new FontDefinition[]{fontDefinition1, fontDefinition2}).when(themeRegistry).getFonts();
 		doReturn(new ColorDefinition[] {colorDefinition}).when(themeRegistry).getColors();
 
-		FontRegistry fontRegistry = mock(FontRegistry.class);
+		FontRegistry fontRegistry = mockRegistry(FontRegistry.class);
 
-		ColorRegistry colorRegistry = mock(ColorRegistry.class);
+		ColorRegistry colorRegistry = mockRegistry(ColorRegistry.class);
 
 		ThemesExtension themesExtension = mock(ThemesExtension.class);
 
@@ -146,9 +157,9 @@ public class WorkbenchThemeChangedHandlerTest {
 		doReturn(new FontDefinition[]{fontDefinition1, fontDefinition2}).when(themeRegistry).getFonts();
 		doReturn(new ColorDefinition[] {colorDefinition1, colorDefinition2}).when(themeRegistry).getColors();
 
-		FontRegistry fontRegistry = mock(FontRegistry.class);
+		FontRegistry fontRegistry = mockRegistry(FontRegistry.class);
 
-		ColorRegistry colorRegistry = mock(ColorRegistry.class);
+		ColorRegistry colorRegistry = mockRegistry(ColorRegistry.class);
 
 		ThemesExtension themesExtension = mock(ThemesExtension.class);
 
@@ -200,9 +211,9 @@ public class WorkbenchThemeChangedHandlerTest {
 
 		ThemeRegistry themeRegistry = spy(new ThemeRegistry());
 
-		FontRegistry fontRegistry = mock(FontRegistry.class);
+		FontRegistry fontRegistry = mockRegistry(FontRegistry.class);
 
-		ColorRegistry colorRegistry = mock(ColorRegistry.class);
+		ColorRegistry colorRegistry = mockRegistry(ColorRegistry.class);
 
 		ThemesExtension themesExtension = mock(ThemesExtension.class);
 		doReturn(Arrays.asList(fontDefinition, colorDefinition)).when(themesExtension).getDefinitions();
@@ -264,9 +275,9 @@ public class WorkbenchThemeChangedHandlerTest {
 		doReturn(new FontDefinition[]{fontDefinition1, fontDefinition2}).when(themeRegistry).getFonts();
 		doReturn(new ColorDefinition[] {colorDefinition1, colorDefinition2}).when(themeRegistry).getColors();
 
-		FontRegistry fontRegistry = mock(FontRegistry.class);
+		FontRegistry fontRegistry = mockRegistry(FontRegistry.class);
 
-		ColorRegistry colorRegistry = mock(ColorRegistry.class);
+		ColorRegistry colorRegistry = mockRegistry(ColorRegistry.class);
 
 		ThemesExtension themesExtension = mock(ThemesExtension.class);
 
@@ -352,9 +363,9 @@ public class WorkbenchThemeChangedHandlerTest {
 		doReturn(new FontDefinition[]{fontDefinition1, fontDefinition2, fontDefinition3}).when(themeRegistry).getFonts();
 		doReturn(new ColorDefinition[] {colorDefinition1, colorDefinition2, colorDefinition3}).when(themeRegistry).getColors();
 
-		FontRegistry fontRegistry = mock(FontRegistry.class);
+		FontRegistry fontRegistry = mockRegistry(FontRegistry.class);
 
-		ColorRegistry colorRegistry = mock(ColorRegistry.class);
+		ColorRegistry colorRegistry = mockRegistry(ColorRegistry.class);
 
 		WorkbenchThemeChangedHandlerTestable handler = spy(new WorkbenchThemeChangedHandlerTestable());
 